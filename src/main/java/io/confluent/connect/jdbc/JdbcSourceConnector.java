@@ -33,12 +33,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.dialect.DatabaseDialects;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
 import io.confluent.connect.jdbc.source.JdbcSourceTask;
 import io.confluent.connect.jdbc.source.JdbcSourceTaskConfig;
+import io.confluent.connect.jdbc.source.NamedQuery;
 import io.confluent.connect.jdbc.source.TableMonitorThread;
 import io.confluent.connect.jdbc.util.CachedConnectionProvider;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
@@ -109,7 +111,18 @@ public class JdbcSourceConnector extends SourceConnector {
                                  + "exclusive.");
     }
     String query = config.getString(JdbcSourceConnectorConfig.QUERY_CONFIG);
-    if (!query.isEmpty()) {
+    List<NamedQuery> namedQueries;
+    try {
+      namedQueries = NamedQuery.fromConfig(config);
+    } catch (ConfigException e) {
+      throw new ConnectException("Couldn't start JdbcSourceConnector due to configuration error",
+                                 e);
+    }
+    if (!query.isEmpty() && !namedQueries.isEmpty()) {
+      throw new ConnectException(JdbcSourceConnectorConfig.QUERY_CONFIG + " and "
+                                 + JdbcSourceConnectorConfig.QUERIES_CONFIG + " are exclusive.");
+    }
+    if (!query.isEmpty() || !namedQueries.isEmpty()) {
       if (whitelistSet != null || blacklistSet != null) {
         log.error(
             "Configuration error: {} is set, but table whitelist or blacklist is also specified."
@@ -133,7 +146,7 @@ public class JdbcSourceConnector extends SourceConnector {
         blacklistSet,
         Time.SYSTEM
     );
-    if (query.isEmpty()) {
+    if (query.isEmpty() && namedQueries.isEmpty()) {
       tableMonitorThread.start();
       log.info("Starting Table Monitor Thread");
     }
@@ -161,8 +174,23 @@ public class JdbcSourceConnector extends SourceConnector {
   public List<Map<String, String>> taskConfigs(int maxTasks) {
     log.info("Starting with the task Configuration method.");
     String query = config.getString(JdbcSourceConnectorConfig.QUERY_CONFIG);
+    List<String> namedQueries = config.getList(JdbcSourceConnectorConfig.QUERIES_CONFIG);
     List<Map<String, String>> taskConfigs;
-    if (!query.isEmpty()) {
+    if (!namedQueries.isEmpty()) {
+      log.info("Named queries provided, generating task configurations for the queries");
+      int numGroups = Math.min(namedQueries.size(), maxTasks);
+      List<List<String>> queriesGrouped = ConnectorUtils.groupPartitions(namedQueries, numGroups);
+      taskConfigs = new ArrayList<>(queriesGrouped.size());
+      for (List<String> taskQueries : queriesGrouped) {
+        Map<String, String> taskProps = new HashMap<>(configProperties);
+        taskProps.put(JdbcSourceConnectorConfig.QUERIES_CONFIG, String.join(",", taskQueries));
+        taskProps.put(JdbcSourceTaskConfig.TABLES_CONFIG, "");
+        taskProps.put(JdbcSourceTaskConfig.TABLES_FETCHED, "true");
+        taskConfigs.add(taskProps);
+      }
+      log.trace("Producing task configs for named queries: {}", namedQueries);
+      return taskConfigs;
+    } else if (!query.isEmpty()) {
       log.info("Custom query provided, generating task configuration for the query");
       Map<String, String> taskProps = new HashMap<>(configProperties);
       taskProps.put(JdbcSourceTaskConfig.TABLES_CONFIG, "");
@@ -193,6 +221,8 @@ public class JdbcSourceConnector extends SourceConnector {
           log.warn("No tables were found so there's no work to be done.");
         }
         taskConfigs.add(taskProps);
+      } else if (config.getInt(JdbcSourceConnectorConfig.TABLE_SLICES_CONFIG) > 1) {
+        taskConfigs = slicedTaskConfigs(currentTables, maxTasks);
       } else {
         int numGroups = Math.min(currentTables.size(), maxTasks);
         List<List<TableId>> tablesGrouped =
@@ -216,6 +246,44 @@ public class JdbcSourceConnector extends SourceConnector {
     return taskConfigs;
   }
 
+  /**
+   * Generate the task configurations when every table is split into slices. The slices are
+   * assigned round-robin, so that the slices of each table are spread over as many tasks as
+   * possible.
+   */
+  private List<Map<String, String>> slicedTaskConfigs(List<TableId> tables, int maxTasks) {
+    int sliceCount = config.getInt(JdbcSourceConnectorConfig.TABLE_SLICES_CONFIG);
+    int numGroups = Math.min(tables.size() * sliceCount, maxTasks);
+    List<List<TableId>> tablesGrouped = new ArrayList<>(numGroups);
+    List<List<Integer>> slicesGrouped = new ArrayList<>(numGroups);
+    for (int i = 0; i < numGroups; ++i) {
+      tablesGrouped.add(new ArrayList<>());
+      slicesGrouped.add(new ArrayList<>());
+    }
+    int unit = 0;
+    for (TableId table : tables) {
+      for (int slice = 0; slice < sliceCount; ++slice, ++unit) {
+        tablesGrouped.get(unit % numGroups).add(table);
+        slicesGrouped.get(unit % numGroups).add(slice);
+      }
+    }
+    List<Map<String, String>> taskConfigs = new ArrayList<>(numGroups);
+    for (int i = 0; i < numGroups; ++i) {
+      Map<String, String> taskProps = new HashMap<>(configProperties);
+      ExpressionBuilder builder = dialect.expressionBuilder();
+      builder.appendList().delimitedBy(",").of(tablesGrouped.get(i));
+      taskProps.put(JdbcSourceTaskConfig.TABLES_CONFIG, builder.toString());
+      taskProps.put(
+          JdbcSourceTaskConfig.TABLE_SLICE_INDEXES_CONFIG,
+          slicesGrouped.get(i).stream().map(String::valueOf).collect(Collectors.joining(","))
+      );
+      taskProps.put(JdbcSourceTaskConfig.TABLES_FETCHED, "true");
+      taskConfigs.add(taskProps);
+    }
+    log.info("Current Tables size: {}, split into {} slices each", tables.size(), sliceCount);
+    return taskConfigs;
+  }
+
   @Override
   public void stop() throws ConnectException {
     log.info("Stopping table monitoring thread");
@@ -26,6 +26,7 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
 import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
@@ -303,6 +304,78 @@ public interface DatabaseDialect extends ConnectionProvider {
       List<ColumnId> timestampColumns
   );
 
+  /**
+   * Append to the builder the condition that selects the rows of one slice of a table, which are
+   * the rows whose integer slice column value modulo the number of slices equals the slice index.
+   * The condition must also select rows with negative values in exactly one slice.
+   *
+   * <p>By default this uses the {@code MOD} function.
+   *
+   * @param builder    the builder to which the condition should be appended; never null
+   * @param column     the identifier of the integer column used to slice the table; never null
+   * @param sliceCount the number of slices; always positive
+   * @param sliceIndex the zero-based index of the slice
+   */
+  default void appendSliceCondition(
+      ExpressionBuilder builder,
+      ColumnId column,
+      int sliceCount,
+      int sliceIndex
+  ) {
+    builder.append("ABS(MOD(")
+           .append(column)
+           .append(", ")
+           .append(sliceCount)
+           .append(")) = ")
+           .append(sliceIndex);
+  }
+
+  /**
+   * Determine whether the database compares row values, such as {@code (a, b) > (?, ?)}, in
+   * lexicographic order. Queries on several keyset columns use a row value comparison when it is
+   * supported, and otherwise the equivalent condition with one disjunct per column.
+   *
+   * <p>By default this returns false, which is always correct but may not use indexes as well.
+   *
+   * @return true if the database supports row value comparisons, or false otherwise
+   */
+  default boolean supportsRowValueComparison() {
+    return false;
+  }
+
+  /**
+   * Append to the builder the clause that limits the number of rows returned by a query. The
+   * clause is appended after the {@code ORDER BY} clause of the query.
+   *
+   * <p>By default this uses the standard {@code FETCH FIRST} clause.
+   *
+   * @param builder the builder to which the clause should be appended; never null
+   * @param limit   the maximum number of rows; always positive
+   */
+  default void appendLimit(ExpressionBuilder builder, int limit) {
+    builder.append(" FETCH FIRST ")
+           .append(limit)
+           .append(" ROWS ONLY");
+  }
+
+  /**
+   * Get a token that changes whenever rows of a table are inserted, updated or deleted, read from
+   * the statistics that the database keeps about its tables. A bulk querier can skip reading a
+   * table whose token is the same as when the table was last read.
+   *
+   * <p>The token may change when the rows did not, but must not stay the same after a change
+   * that was not committed when the token was read. By default this returns null, which means
+   * that the changes of the table cannot be detected.
+   *
+   * @param connection the database connection; never null
+   * @param table      the identifier of the table; never null
+   * @return the token, or null if it is not known whether the table changed
+   * @throws SQLException if there is an error reading the statistics
+   */
+  default String tableChangeToken(Connection connection, TableId table) throws SQLException {
+    return null;
+  }
+
   /**
    * Use the supplied {@link SchemaBuilder} to add a field that corresponds to the column with the
    * specified definition.
@@ -476,6 +549,46 @@ public interface DatabaseDialect extends ConnectionProvider {
     return buildUpsertQueryStatement(table, keyColumns, nonKeyColumns);
   }
 
+  /**
+   * Build the INSERT or upsert prepared statement expression that writes the given number of rows
+   * at once using a multi-row {@code VALUES} list. The variables of each row follow those of the
+   * previous row, and within a row they are in the same order as in the statements built by
+   * {@link #buildInsertStatement(TableId, Collection, Collection, TableDefinition)} and
+   * {@link #buildUpsertQueryStatement(TableId, Collection, Collection, TableDefinition)}.
+   *
+   * <p>By default, dialects do not support multi-row statements and this method returns null.
+   * Dialects that do must make sure that {@link #maxStatementParameters()} returns their limit.
+   *
+   * @param table         the identifier of the table; may not be null
+   * @param keyColumns    the identifiers of the columns in the primary/unique key; may not be null
+   *                      but may be empty
+   * @param nonKeyColumns the identifiers of the other columns in the table; may not be null but may
+   *                      be empty
+   * @param definition    the table definition; may be null if unknown
+   * @param insertMode    the insert mode; may not be null
+   * @param rowCount      the number of rows; must be positive
+   * @return the statement, or null if the dialect cannot write multiple rows in the insert mode
+   */
+  default String buildMultiRowInsertStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      TableDefinition definition,
+      JdbcSinkConfig.InsertMode insertMode,
+      int rowCount
+  ) {
+    return null;
+  }
+
+  /**
+   * Get the maximum number of variables that a single prepared statement may have.
+   *
+   * @return the maximum number of variables; always positive
+   */
+  default int maxStatementParameters() {
+    return Short.MAX_VALUE;
+  }
+
   /**
    * Build the DELETE prepared statement expression for the given table and its columns. Variables
    * for each key column should also appear in the WHERE clause of the statement.
@@ -565,6 +678,71 @@ public interface DatabaseDialect extends ConnectionProvider {
     return statementBinder(statement, pkMode, schemaPair, fieldsMetadata, insertMode);
   }
 
+  /**
+   * Create a component that loads the buffered records into the table using a bulk-load mechanism
+   * of the database, which is usually much faster than executing a batch of prepared statements.
+   * The values of the records are mapped in the same way as by the {@link StatementBinder}.
+   *
+   * <p>By default, dialects have no bulk-load mechanism and this method returns null.
+   *
+   * @param connection      the connection to the database; may not be null
+   * @param table           the identifier of the destination table; may not be null
+   * @param pkMode          the primary key mode; may not be null
+   * @param schemaPair      the key and value schemas; may not be null
+   * @param fieldsMetadata  the field metadata; may not be null
+   * @param tableDefinition the table definition; may be null
+   * @param insertMode      the insert mode; may not be null
+   * @return the bulk loader, or null if the dialect cannot bulk load records with the insert mode
+   * @throws SQLException if there is an error accessing the connection
+   */
+  default BulkLoader bulkLoader(
+      Connection connection,
+      TableId table,
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata,
+      TableDefinition tableDefinition,
+      JdbcSinkConfig.InsertMode insertMode
+  ) throws SQLException {
+    return null;
+  }
+
+  /**
+   * Start listening on the given connection for the notifications that are sent on the given
+   * channel when tables change. The connection is used only by the returned listener, which
+   * closes it when it is closed.
+   *
+   * <p>By default, dialects have no change notifications and this method returns null.
+   *
+   * @param connection the connection dedicated to the listener; may not be null
+   * @param channel    the name of the notification channel; may not be null or empty
+   * @return the listener, or null if the dialect or the connection has no change notifications
+   * @throws SQLException if there is an error starting to listen
+   * @see #buildChangeNotificationStatements(TableId, String)
+   */
+  default ChangeListener changeListener(
+      Connection connection,
+      String channel
+  ) throws SQLException {
+    return null;
+  }
+
+  /**
+   * Build the statements that make the database send a notification with the name of the given
+   * table on the given channel whenever rows of the table are changed. The statements replace any
+   * notifications that were previously created for the table.
+   *
+   * <p>By default, dialects have no change notifications and this method returns null.
+   *
+   * @param table   the identifier of the table; may not be null
+   * @param channel the name of the notification channel; may not be null or empty
+   * @return the statements, or null if the dialect has no change notifications
+   * @see #changeListener(Connection, String)
+   */
+  default List<String> buildChangeNotificationStatements(TableId table, String channel) {
+    return null;
+  }
+
   /**
    * Validate if dialect specific column types are compatible with connector.
    * Sometimes JDBC treats some column types in a SQL database the same
@@ -636,6 +814,59 @@ public interface DatabaseDialect extends ConnectionProvider {
      * @throws SQLException if there is a problem binding values into the statement
      */
     void bindRecord(SinkRecord record) throws SQLException;
+
+    /**
+     * Bind the values in the supplied record into the variables starting at the given index,
+     * without adding a batch to the statement. This is used for statements that write several
+     * records at once.
+     *
+     * @param record the sink record with values to be bound into the statement; never null
+     * @param index  the index of the first variable to be bound
+     * @return the index of the variable following the variables of the record
+     * @throws SQLException if there is a problem binding values into the statement
+     * @throws UnsupportedOperationException if the binder does not support binding at an index
+     */
+    default int bindRecord(SinkRecord record, int index) throws SQLException {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * A component that collects the bound records and loads them into the table all at once.
+   */
+  interface BulkLoader extends StatementBinder {
+
+    /**
+     * Load all records bound since the last load into the table.
+     *
+     * @return the number of records that were loaded
+     * @throws SQLException if there is a problem loading the records
+     */
+    int executeLoad() throws SQLException;
+  }
+
+  /**
+   * A component that waits for the notifications sent by the database when tables change.
+   */
+  interface ChangeListener extends AutoCloseable {
+
+    /**
+     * Wait until at least one notification has been received or the timeout has elapsed.
+     *
+     * @param timeoutMs the maximum time to wait in milliseconds
+     * @return the names of the tables that changed since the last call; never null but may be
+     *         empty
+     * @throws SQLException if there is an error with the database connection
+     */
+    Set<String> awaitChanges(long timeoutMs) throws SQLException;
+
+    /**
+     * Stop listening and close the connection of the listener.
+     *
+     * @throws SQLException if there is an error closing the connection
+     */
+    @Override
+    void close() throws SQLException;
   }
 
   /**
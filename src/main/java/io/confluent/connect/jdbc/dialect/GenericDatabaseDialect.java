@@ -32,10 +32,14 @@ import org.apache.kafka.connect.errors.ConnectException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Connection;
@@ -77,6 +81,7 @@ import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
 import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
 import io.confluent.connect.jdbc.source.ColumnMapping;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig.LobOverflowHandling;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig.NumericMapping;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig.TimestampGranularity;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig.TransactionIsolationMode;
@@ -164,6 +169,10 @@ public class GenericDatabaseDialect implements DatabaseDialect {
   private final TimeZone timeZone;
   private final TimeZone dateTimeZone;
   private final JdbcSourceConnectorConfig.TimestampGranularity tsGranularity;
+  // The largest LOB value read into a record, or zero to read LOB values completely
+  private final int lobMaxBytes;
+  private final LobOverflowHandling lobOverflowHandling;
+  private final String lobPlaceholder;
 
   /**
    * Create a new dialect instance with the given connector configuration.
@@ -210,9 +219,18 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     if (config instanceof JdbcSourceConnectorConfig) {
       mapNumerics = ((JdbcSourceConnectorConfig)config).numericMapping();
       batchMaxRows = config.getInt(JdbcSourceConnectorConfig.BATCH_MAX_ROWS_CONFIG);
+      lobMaxBytes = (int) Math.min(
+          config.getLong(JdbcSourceConnectorConfig.LOB_MAX_BYTES_CONFIG),
+          Integer.MAX_VALUE - 1
+      );
+      lobOverflowHandling = ((JdbcSourceConnectorConfig) config).lobOverflowHandling();
+      lobPlaceholder = config.getString(JdbcSourceConnectorConfig.LOB_PLACEHOLDER_CONFIG);
     } else {
       mapNumerics = NumericMapping.NONE;
       batchMaxRows = 0;
+      lobMaxBytes = 0;
+      lobOverflowHandling = LobOverflowHandling.TRUNCATE;
+      lobPlaceholder = "";
     }
 
     // https://github.com/confluentinc/kafka-connect-jdbc/pull/1398
@@ -244,6 +262,10 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     return timeZone;
   }
 
+  protected TimeZone dateTimeZone() {
+    return dateTimeZone;
+  }
+
   @Override
   public Connection getConnection() throws SQLException {
     JdbcCredentials jdbcCredentials = jdbcCredentialsProvider.getJdbcCredentials();
@@ -683,7 +705,7 @@ public class GenericDatabaseDialect implements DatabaseDialect {
         schemaPattern,
         tablePattern
     );
-    Map<ColumnId, ColumnDefinition> results = new HashMap<>();
+    Map<ColumnId, ColumnDefinition> results = new LinkedHashMap<>();
     try (ResultSet rs = connection.getMetaData().getColumns(
         catalogPattern,
         schemaPattern,
@@ -1397,19 +1419,24 @@ public class GenericDatabaseDialect implements DatabaseDialect {
       case Types.DECIMAL: {
         final int precision = defn.precision();
         glog.debug("DECIMAL with precision: '{}' and scale: '{}'", precision, defn.scale());
-        final int scale = decimalScale(defn);
-        return rs -> rs.getBigDecimal(col, scale);
+        return decimalConverterFor(defn, col, decimalScale(defn));
       }
 
       case Types.CHAR:
       case Types.VARCHAR:
       case Types.LONGVARCHAR: {
+        if (lobMaxBytes > 0 && defn.type() == Types.LONGVARCHAR) {
+          return rs -> readLob(defn, rs.getCharacterStream(col));
+        }
         return rs -> rs.getString(col);
       }
 
       case Types.NCHAR:
       case Types.NVARCHAR:
       case Types.LONGNVARCHAR: {
+        if (lobMaxBytes > 0 && defn.type() == Types.LONGNVARCHAR) {
+          return rs -> readLob(defn, rs.getNCharacterStream(col));
+        }
         return rs -> rs.getNString(col);
       }
 
@@ -1417,6 +1444,9 @@ public class GenericDatabaseDialect implements DatabaseDialect {
       case Types.BINARY:
       case Types.VARBINARY:
       case Types.LONGVARBINARY: {
+        if (lobMaxBytes > 0 && defn.type() == Types.LONGVARBINARY) {
+          return rs -> readLob(defn, rs.getBinaryStream(col));
+        }
         return rs -> rs.getBytes(col);
       }
 
@@ -1455,10 +1485,14 @@ public class GenericDatabaseDialect implements DatabaseDialect {
             return null;
           } else {
             try {
-              if (blob.length() > Integer.MAX_VALUE) {
+              long length = blob.length();
+              if (lobMaxBytes > 0 && length > lobMaxBytes) {
+                return lobOverflow(defn, true, () -> blob.getBytes(1, lobMaxBytes));
+              }
+              if (length > Integer.MAX_VALUE) {
                 throw new IOException("Can't process BLOBs longer than " + Integer.MAX_VALUE);
               }
-              return blob.getBytes(1, (int) blob.length());
+              return blob.getBytes(1, (int) length);
             } finally {
               if (isJdbc4) {
                 free(blob);
@@ -1474,10 +1508,14 @@ public class GenericDatabaseDialect implements DatabaseDialect {
             return null;
           } else {
             try {
-              if (clob.length() > Integer.MAX_VALUE) {
+              long length = clob.length();
+              if (lobMaxBytes > 0 && length > lobMaxBytes) {
+                return lobOverflow(defn, false, () -> clob.getSubString(1, lobMaxBytes));
+              }
+              if (length > Integer.MAX_VALUE) {
                 throw new IOException("Can't process CLOBs longer than " + Integer.MAX_VALUE);
               }
-              return clob.getSubString(1, (int) clob.length());
+              return clob.getSubString(1, (int) length);
             } finally {
               if (isJdbc4) {
                 free(clob);
@@ -1492,10 +1530,14 @@ public class GenericDatabaseDialect implements DatabaseDialect {
             return null;
           } else {
             try {
-              if (clob.length() > Integer.MAX_VALUE) {
+              long length = clob.length();
+              if (lobMaxBytes > 0 && length > lobMaxBytes) {
+                return lobOverflow(defn, false, () -> clob.getSubString(1, lobMaxBytes));
+              }
+              if (length > Integer.MAX_VALUE) {
                 throw new IOException("Can't process NCLOBs longer than " + Integer.MAX_VALUE);
               }
-              return clob.getSubString(1, (int) clob.length());
+              return clob.getSubString(1, (int) length);
             } finally {
               if (isJdbc4) {
                 free(clob);
@@ -1530,6 +1572,24 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     return null;
   }
 
+  /**
+   * Create the converter of a DECIMAL or NUMERIC column whose values are converted to
+   * {@link Decimal} values with the given scale.
+   *
+   * @param defn  the definition of the column; never null
+   * @param col   the index of the column in the result set
+   * @param scale the scale of the {@link Decimal} values
+   * @return the converter; never null
+   */
+  protected ColumnConverter decimalConverterFor(ColumnDefinition defn, int col, int scale) {
+    final int precision = defn.precision();
+    if (scale == 0 && precision > 0 && precision <= MAX_INTEGER_TYPE_PRECISION) {
+      // integer values fit in a long, so avoid parsing the driver's decimal representation
+      return rs -> BigDecimal.valueOf(rs.getLong(col));
+    }
+    return rs -> rs.getBigDecimal(col, scale);
+  }
+
   protected int decimalScale(ColumnDefinition defn) {
     return defn.scale() == NUMERIC_TYPE_SCALE_UNSET ? NUMERIC_TYPE_SCALE_HIGH : defn.scale();
   }
@@ -1554,12 +1614,129 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     clob.free();
   }
 
+  /**
+   * Read a binary LOB value from the stream, but no more than one byte past the maximum LOB size.
+   *
+   * @param defn   the definition of the column; never null
+   * @param stream the stream of the value; may be null
+   * @return the value as read or as handled if it is larger than the maximum LOB size
+   * @throws IOException if there is an error reading the stream or the value is too large
+   */
+  private Object readLob(ColumnDefinition defn, InputStream stream)
+      throws SQLException, IOException {
+    if (stream == null) {
+      return null;
+    }
+    try (InputStream in = stream) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(lobMaxBytes + 1, 8192));
+      byte[] buffer = new byte[8192];
+      int remaining = lobMaxBytes + 1;
+      int read;
+      while (remaining > 0 && (read = in.read(buffer, 0, Math.min(buffer.length, remaining))) > 0) {
+        out.write(buffer, 0, read);
+        remaining -= read;
+      }
+      byte[] value = out.toByteArray();
+      if (value.length > lobMaxBytes) {
+        return lobOverflow(defn, true, () -> Arrays.copyOf(value, lobMaxBytes));
+      }
+      return value;
+    }
+  }
+
+  /**
+   * Read a character LOB value from the reader, but no more than one character past the maximum
+   * LOB size.
+   *
+   * @param defn   the definition of the column; never null
+   * @param reader the reader of the value; may be null
+   * @return the value as read or as handled if it is larger than the maximum LOB size
+   * @throws IOException if there is an error reading the value or the value is too large
+   */
+  private Object readLob(ColumnDefinition defn, Reader reader) throws SQLException, IOException {
+    if (reader == null) {
+      return null;
+    }
+    try (Reader in = reader) {
+      StringBuilder value = new StringBuilder(Math.min(lobMaxBytes + 1, 8192));
+      char[] buffer = new char[8192];
+      int remaining = lobMaxBytes + 1;
+      int read;
+      while (remaining > 0 && (read = in.read(buffer, 0, Math.min(buffer.length, remaining))) > 0) {
+        value.append(buffer, 0, read);
+        remaining -= read;
+      }
+      if (value.length() > lobMaxBytes) {
+        return lobOverflow(defn, false, () -> value.substring(0, lobMaxBytes));
+      }
+      return value.toString();
+    }
+  }
+
+  /**
+   * Handle a LOB value that is larger than the maximum LOB size, as configured by
+   * {@link JdbcSourceConnectorConfig#LOB_OVERFLOW_HANDLING_CONFIG}.
+   *
+   * @param defn      the definition of the column; never null
+   * @param binary    true if the value is binary, or false if it is made of characters
+   * @param truncated the reader of the first bytes or characters of the value, which is only
+   *                  called if the value is truncated; never null
+   * @return the value that replaces the LOB value
+   * @throws IOException if the task should fail on large LOB values
+   */
+  private Object lobOverflow(
+      ColumnDefinition defn,
+      boolean binary,
+      LobPrefix truncated
+  ) throws SQLException, IOException {
+    switch (lobOverflowHandling) {
+      case TRUNCATE:
+        log.trace("Truncating the value of {} to {}", defn.id(), lobMaxBytes);
+        return truncated.read();
+      case PLACEHOLDER:
+        log.trace("Replacing the value of {} by the placeholder", defn.id());
+        return binary ? lobPlaceholder.getBytes(StandardCharsets.UTF_8) : lobPlaceholder;
+      default:
+        throw new IOException("The value of " + defn.id() + " is larger than "
+            + JdbcSourceConnectorConfig.LOB_MAX_BYTES_CONFIG + "=" + lobMaxBytes);
+    }
+  }
+
+  /**
+   * A function that reads the first bytes or characters of a LOB value.
+   */
+  @FunctionalInterface
+  private interface LobPrefix {
+    Object read() throws SQLException, IOException;
+  }
+
   @Override
   @SuppressWarnings("deprecation")
   public String buildInsertStatement(
       TableId table,
       Collection<ColumnId> keyColumns,
       Collection<ColumnId> nonKeyColumns
+  ) {
+    return buildMultiRowInsert(table, keyColumns, nonKeyColumns, 1);
+  }
+
+  /**
+   * Build the standard INSERT statement with the given number of rows of variables. Dialects
+   * that support multi-row inserts can use this in
+   * {@link #buildMultiRowInsertStatement(TableId, Collection, Collection, TableDefinition,
+   * InsertMode, int)}.
+   *
+   * @param table         the identifier of the table; may not be null
+   * @param keyColumns    the identifiers of the key columns; may not be null but may be empty
+   * @param nonKeyColumns the identifiers of the other columns; may not be null but may be empty
+   * @param rowCount      the number of rows; must be positive
+   * @return the INSERT statement; never null
+   */
+  protected String buildMultiRowInsert(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      int rowCount
   ) {
     ExpressionBuilder builder = expressionBuilder();
     builder.append("INSERT INTO ");
@@ -1569,12 +1746,52 @@ public class GenericDatabaseDialect implements DatabaseDialect {
            .delimitedBy(",")
            .transformedBy(ExpressionBuilder.columnNames())
            .of(keyColumns, nonKeyColumns);
-    builder.append(") VALUES(");
-    builder.appendMultiple(",", "?", keyColumns.size() + nonKeyColumns.size());
-    builder.append(")");
+    builder.append(") VALUES");
+    appendValueRows(builder, keyColumns.size() + nonKeyColumns.size(), rowCount);
     return builder.toString();
   }
 
+  /**
+   * Append the given number of parenthesized rows of variables, such as {@code (?,?),(?,?)}.
+   *
+   * @param builder     the builder; may not be null
+   * @param columnCount the number of variables in each row
+   * @param rowCount    the number of rows; must be positive
+   */
+  protected void appendValueRows(ExpressionBuilder builder, int columnCount, int rowCount) {
+    for (int row = 0; row < rowCount; ++row) {
+      if (row > 0) {
+        builder.append(",");
+      }
+      builder.append("(");
+      builder.appendMultiple(",", "?", columnCount);
+      builder.append(")");
+    }
+  }
+
+  /**
+   * Append the slice condition of {@link #appendSliceCondition} using the {@code %} operator
+   * instead of the {@code MOD} function, for the databases that do not have the function.
+   *
+   * @param builder    the builder to which the condition should be appended; never null
+   * @param column     the identifier of the integer column used to slice the table; never null
+   * @param sliceCount the number of slices; always positive
+   * @param sliceIndex the zero-based index of the slice
+   */
+  protected void appendModuloOperatorSliceCondition(
+      ExpressionBuilder builder,
+      ColumnId column,
+      int sliceCount,
+      int sliceIndex
+  ) {
+    builder.append("ABS(")
+           .append(column)
+           .append(" % ")
+           .append(sliceCount)
+           .append(") = ")
+           .append(sliceIndex);
+  }
+
   @Override
   @SuppressWarnings("deprecation")
   public String buildUpdateStatement(
@@ -25,14 +25,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collection;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialectProvider.SubprotocolBasedProvider;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.InsertMode;
 import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
 import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.ExpressionBuilder.Transform;
 import io.confluent.connect.jdbc.util.IdentifierRules;
+import io.confluent.connect.jdbc.util.TableDefinition;
 import io.confluent.connect.jdbc.util.TableId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -134,6 +137,100 @@ public class MySqlDatabaseDialect extends GenericDatabaseDialect {
       TableId table,
       Collection<ColumnId> keyColumns,
       Collection<ColumnId> nonKeyColumns
+  ) {
+    return buildMultiRowUpsert(table, keyColumns, nonKeyColumns, 1);
+  }
+
+  @Override
+  public String buildMultiRowInsertStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      TableDefinition definition,
+      InsertMode insertMode,
+      int rowCount
+  ) {
+    switch (insertMode) {
+      case INSERT:
+        return buildMultiRowInsert(table, keyColumns, nonKeyColumns, rowCount);
+      case UPSERT:
+        return buildMultiRowUpsert(table, keyColumns, nonKeyColumns, rowCount);
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public int maxStatementParameters() {
+    // The number of placeholders is sent as an unsigned 2-byte integer
+    return 65535;
+  }
+
+  @Override
+  public boolean supportsRowValueComparison() {
+    return true;
+  }
+
+  @Override
+  public void appendLimit(ExpressionBuilder builder, int limit) {
+    builder.append(" LIMIT ").append(limit);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This uses the {@code UPDATE_TIME} of the table in {@code information_schema.TABLES}, which
+   * is set when transactions commit but is not kept by all storage engines and versions. On
+   * MySQL 8 these statistics are cached for {@code information_schema_stats_expiry} seconds, so
+   * the caching is disabled for the session of the connection.
+   */
+  @Override
+  public String tableChangeToken(Connection connection, TableId table) throws SQLException {
+    disableStatisticsCache(connection);
+    String sql = "SELECT UPDATE_TIME, NOW() FROM information_schema.TABLES "
+                 + "WHERE TABLE_SCHEMA = COALESCE(?, DATABASE()) AND TABLE_NAME = ?";
+    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+      stmt.setString(1, table.catalogName());
+      stmt.setString(2, table.tableName());
+      try (ResultSet rs = stmt.executeQuery()) {
+        if (!rs.next()) {
+          return null;
+        }
+        java.sql.Timestamp updated = rs.getTimestamp(1);
+        java.sql.Timestamp now = rs.getTimestamp(2);
+        // The time only has a precision of a second, so a change later in the same second would
+        // not change the token
+        if (updated == null || !updated.before(now)) {
+          return null;
+        }
+        return updated.toString();
+      }
+    }
+  }
+
+  private void disableStatisticsCache(Connection connection) throws SQLException {
+    // The variable only exists in MySQL 8 and later, where the statistics are cached
+    String expiry = null;
+    try (Statement stmt = connection.createStatement();
+         ResultSet rs = stmt.executeQuery(
+             "SHOW SESSION VARIABLES LIKE 'information_schema_stats_expiry'")) {
+      if (rs.next()) {
+        expiry = rs.getString(2);
+      }
+    }
+    if (expiry != null && !"0".equals(expiry.trim())) {
+      log.debug("Disabling the information_schema statistics cache of {} seconds", expiry);
+      try (Statement stmt = connection.createStatement()) {
+        stmt.execute("SET SESSION information_schema_stats_expiry = 0");
+      }
+    }
+  }
+
+  private String buildMultiRowUpsert(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      int rowCount
   ) {
     //MySql doesn't support SQL 2003:merge so here how the upsert is handled
     final Transform<ColumnId> transform = (builder, col) -> {
@@ -151,9 +248,9 @@ public class MySqlDatabaseDialect extends GenericDatabaseDialect {
            .delimitedBy(",")
            .transformedBy(ExpressionBuilder.columnNames())
            .of(keyColumns, nonKeyColumns);
-    builder.append(") values(");
-    builder.appendMultiple(",", "?", keyColumns.size() + nonKeyColumns.size());
-    builder.append(") on duplicate key update ");
+    builder.append(") values");
+    appendValueRows(builder, keyColumns.size() + nonKeyColumns.size(), rowCount);
+    builder.append(" on duplicate key update ");
     builder.appendList()
            .delimitedBy(",")
            .transformedBy(transform)
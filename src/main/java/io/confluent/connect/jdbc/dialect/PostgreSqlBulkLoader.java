@@ -0,0 +1,500 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.dialect;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect.BulkLoader;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.InsertMode;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.PrimaryKeyMode;
+import io.confluent.connect.jdbc.sink.PreparedStatementBinder;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.DateTimeUtils;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.QuoteMethod;
+import io.confluent.connect.jdbc.util.TableDefinition;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * A {@link BulkLoader} that streams records into a PostgreSQL table with
+ * {@code COPY ... FROM STDIN} in text format.
+ *
+ * <p>In upsert mode, the records are copied into a temporary staging table that is then merged
+ * into the table with a single {@code INSERT ... ON CONFLICT} statement. Since one statement may
+ * not update the same row twice, only the last of several records with the same key is loaded.
+ *
+ * <p>The record values are extracted by a {@link PreparedStatementBinder} and are formatted the
+ * same way as they are bound by {@link GenericDatabaseDialect#bindField}: dates, times and
+ * timestamps use the configured time zones, and arrays are formatted as PostgreSQL array literals.
+ */
+class PostgreSqlBulkLoader implements BulkLoader {
+
+  private static final Logger log = LoggerFactory.getLogger(PostgreSqlBulkLoader.class);
+
+  static final String NULL_VALUE = "\\N";
+
+  // The number of characters that are buffered before they are written to the COPY stream
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  static final String STAGING_TABLE_PREFIX = "connect_stage_";
+
+  // The maximum length in bytes of identifiers with the default NAMEDATALEN, beyond which
+  // PostgreSQL silently truncates them
+  static final int MAX_STAGING_TABLE_NAME_LENGTH = 63;
+
+  // The number of bytes of the digest of the table identifier appended to staging table names
+  private static final int STAGING_TABLE_HASH_LENGTH = 8;
+
+  private final Connection connection;
+  private final CopyManager copyManager;
+  private final TimeZone timeZone;
+  private final TimeZone dateTimeZone;
+  private final boolean upsert;
+  private final int keyColumnCount;
+  private final String copySql;
+  private final String createStagingTableSql;
+  private final String upsertSql;
+  private final String dropStagingTableSql;
+  private final RowBinder rowBinder;
+  // The rows in COPY text format, each terminated by a newline
+  private final List<String> rows = new ArrayList<>();
+  // The index in the rows of the last row with each key, only used for upserts
+  private final Map<List<String>, Integer> rowIndexByKey = new HashMap<>();
+
+  PostgreSqlBulkLoader(
+      PostgreSqlDatabaseDialect dialect,
+      Connection connection,
+      CopyManager copyManager,
+      TableId table,
+      PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata,
+      TableDefinition tableDefinition,
+      InsertMode insertMode,
+      boolean upsert
+  ) {
+    this.connection = connection;
+    this.copyManager = copyManager;
+    this.timeZone = dialect.timeZone();
+    this.dateTimeZone = dialect.dateTimeZone();
+    this.upsert = upsert;
+    this.keyColumnCount = fieldsMetadata.keyFieldNames.size();
+    this.rowBinder = new RowBinder(
+        dialect,
+        pkMode,
+        schemaPair,
+        fieldsMetadata,
+        tableDefinition,
+        insertMode
+    );
+
+    Collection<ColumnId> keyColumns = columns(table, fieldsMetadata.keyFieldNames);
+    Collection<ColumnId> nonKeyColumns = columns(table, fieldsMetadata.nonKeyFieldNames);
+    if (upsert) {
+      TableId stagingTable = stagingTableId(table);
+      this.copySql = dialect.buildCopyStatement(stagingTable, keyColumns, nonKeyColumns);
+      this.createStagingTableSql = dialect.buildCreateStagingTableStatement(
+          stagingTable,
+          table,
+          keyColumns,
+          nonKeyColumns
+      );
+      this.upsertSql = dialect.buildUpsertFromStatement(
+          table,
+          stagingTable,
+          keyColumns,
+          nonKeyColumns
+      );
+      this.dropStagingTableSql = dialect.buildDropTableStatement(stagingTable, new DropOptions());
+    } else {
+      this.copySql = dialect.buildCopyStatement(table, keyColumns, nonKeyColumns);
+      this.createStagingTableSql = null;
+      this.upsertSql = null;
+      this.dropStagingTableSql = null;
+    }
+    log.debug("Bulk loading records into {} with: {}", table, copySql);
+  }
+
+  @Override
+  public void bindRecord(SinkRecord record) throws SQLException {
+    rowBinder.bindRecord(record);
+  }
+
+  @Override
+  public int executeLoad() throws SQLException {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    try {
+      if (upsert) {
+        try (Statement statement = connection.createStatement()) {
+          statement.executeUpdate(createStagingTableSql);
+          copy();
+          statement.executeUpdate(upsertSql);
+          statement.executeUpdate(dropStagingTableSql);
+        }
+      } else {
+        copy();
+      }
+      return rows.size();
+    } finally {
+      rows.clear();
+      rowIndexByKey.clear();
+    }
+  }
+
+  private void copy() throws SQLException {
+    CopyIn copyIn = copyManager.copyIn(copySql);
+    try {
+      StringBuilder buffer = new StringBuilder(WRITE_BUFFER_SIZE);
+      for (String row : rows) {
+        buffer.append(row);
+        if (buffer.length() >= WRITE_BUFFER_SIZE) {
+          write(copyIn, buffer);
+        }
+      }
+      write(copyIn, buffer);
+      long rowCount = copyIn.endCopy();
+      log.debug("Copied {} rows", rowCount);
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+  }
+
+  private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+    if (buffer.length() > 0) {
+      byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+      copyIn.writeToCopy(bytes, 0, bytes.length);
+      buffer.setLength(0);
+    }
+  }
+
+  private void addRow(List<String> values) {
+    String row = String.join("\t", values) + "\n";
+    if (!upsert) {
+      rows.add(row);
+      return;
+    }
+    List<String> key = new ArrayList<>(values.subList(0, keyColumnCount));
+    Integer index = rowIndexByKey.get(key);
+    if (index != null) {
+      rows.set(index, row);
+    } else {
+      rowIndexByKey.put(key, rows.size());
+      rows.add(row);
+    }
+  }
+
+  /**
+   * Format the value in the COPY text format.
+   *
+   * @param schema the schema of the value; may not be null
+   * @param value  the value; may be null
+   * @return the formatted value; never null
+   */
+  String formatValue(Schema schema, Object value) {
+    if (value == null) {
+      return NULL_VALUE;
+    }
+    if (schema.name() != null) {
+      switch (schema.name()) {
+        case Date.LOGICAL_NAME:
+          return DateTimeUtils.formatDate((java.util.Date) value, dateTimeZone);
+        case Decimal.LOGICAL_NAME:
+          return ((BigDecimal) value).toPlainString();
+        case Time.LOGICAL_NAME:
+          return DateTimeUtils.formatTime((java.util.Date) value, timeZone);
+        case Timestamp.LOGICAL_NAME:
+          return formatTimestamp((java.util.Date) value);
+        default:
+          break;
+      }
+    }
+    switch (schema.type()) {
+      case INT8:
+      case INT16:
+      case INT32:
+      case INT64:
+      case FLOAT32:
+      case FLOAT64:
+        return value.toString();
+      case BOOLEAN:
+        return (Boolean) value ? "t" : "f";
+      case STRING:
+        return escape((String) value);
+      case BYTES:
+        return formatBytes(value);
+      case ARRAY:
+        return escape(formatArray(value));
+      default:
+        throw new ConnectException("Unsupported source data type: " + schema.type());
+    }
+  }
+
+  /**
+   * Format the timestamp with the offset of the time zone, so that the value is the local time in
+   * the time zone for {@code timestamp} columns and the same instant for {@code timestamptz}
+   * columns, as when the value is bound with the time zone's calendar.
+   */
+  private String formatTimestamp(java.util.Date value) {
+    StringBuilder result = new StringBuilder(DateTimeUtils.formatTimestamp(value, timeZone));
+    int offsetMinutes = timeZone.getOffset(value.getTime()) / 60000;
+    result.append(offsetMinutes < 0 ? '-' : '+');
+    offsetMinutes = Math.abs(offsetMinutes);
+    appendTwoDigits(result, offsetMinutes / 60);
+    result.append(':');
+    appendTwoDigits(result, offsetMinutes % 60);
+    return result.toString();
+  }
+
+  private static void appendTwoDigits(StringBuilder builder, int value) {
+    if (value < 10) {
+      builder.append('0');
+    }
+    builder.append(value);
+  }
+
+  private static String formatBytes(Object value) {
+    final byte[] bytes;
+    if (value instanceof ByteBuffer) {
+      final ByteBuffer buffer = ((ByteBuffer) value).slice();
+      bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+    } else {
+      bytes = (byte[]) value;
+    }
+    // The bytea hex format, whose leading backslash is escaped for the COPY text format
+    StringBuilder result = new StringBuilder(3 + bytes.length * 2);
+    result.append("\\\\x");
+    for (byte b : bytes) {
+      result.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+    return result.toString();
+  }
+
+  private static String formatArray(Object value) {
+    final Collection<?> items;
+    if (value instanceof Collection) {
+      items = (Collection<?>) value;
+    } else if (value.getClass().isArray()) {
+      items = Arrays.asList((Object[]) value);
+    } else {
+      throw new DataException(
+          String.format("Type '%s' is not supported for Array.", value.getClass().getName())
+      );
+    }
+    StringBuilder result = new StringBuilder("{");
+    boolean first = true;
+    for (Object item : items) {
+      if (!first) {
+        result.append(',');
+      }
+      first = false;
+      if (item == null) {
+        result.append("NULL");
+      } else if (item instanceof String) {
+        result.append('"');
+        String str = (String) item;
+        for (int i = 0; i < str.length(); ++i) {
+          char c = str.charAt(i);
+          if (c == '"' || c == '\\') {
+            result.append('\\');
+          }
+          result.append(c);
+        }
+        result.append('"');
+      } else if (item instanceof Number) {
+        result.append(item);
+      } else if (item instanceof Boolean) {
+        result.append((Boolean) item ? "t" : "f");
+      } else {
+        throw new ConnectException(
+            "Unsupported type for array item: " + item.getClass().getName()
+        );
+      }
+    }
+    return result.append('}').toString();
+  }
+
+  /**
+   * Escape the backslashes and the delimiter and line break characters in a value.
+   */
+  static String escape(String value) {
+    StringBuilder result = null;
+    for (int i = 0; i < value.length(); ++i) {
+      final char c = value.charAt(i);
+      final String replacement;
+      switch (c) {
+        case '\\':
+          replacement = "\\\\";
+          break;
+        case '\n':
+          replacement = "\\n";
+          break;
+        case '\r':
+          replacement = "\\r";
+          break;
+        case '\t':
+          replacement = "\\t";
+          break;
+        default:
+          if (result != null) {
+            result.append(c);
+          }
+          continue;
+      }
+      if (result == null) {
+        result = new StringBuilder(value.length() + 16);
+        result.append(value, 0, i);
+      }
+      result.append(replacement);
+    }
+    return result != null ? result.toString() : value;
+  }
+
+  /**
+   * Get the identifier of the staging table for the given table. Temporary tables can only be
+   * created in the session's {@code pg_temp} schema, so when the table is qualified with a catalog
+   * or schema, or when the name would be longer than PostgreSQL allows, the name is shortened as
+   * needed and suffixed with a hash of the fully qualified table identifier. This way tables with
+   * the same name in different schemas, or with long names sharing a prefix, never share a
+   * staging table.
+   *
+   * @param table the identifier of the table; may not be null
+   * @return the identifier of the staging table in the {@code pg_temp} schema; never null
+   */
+  static TableId stagingTableId(TableId table) {
+    String name = STAGING_TABLE_PREFIX + table.tableName();
+    boolean qualified = table.catalogName() != null || table.schemaName() != null;
+    if (qualified || utf8Length(name) > MAX_STAGING_TABLE_NAME_LENGTH) {
+      String suffix = "_" + hash(table);
+      name = truncate(name, MAX_STAGING_TABLE_NAME_LENGTH - suffix.length()) + suffix;
+    }
+    return new TableId(null, "pg_temp", name);
+  }
+
+  private static String hash(TableId table) {
+    String qualifiedName = ExpressionBuilder.create()
+        .append(table, QuoteMethod.ALWAYS)
+        .toString();
+    final byte[] digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256")
+          .digest(qualifiedName.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new ConnectException("Unable to hash the name of the staging table", e);
+    }
+    StringBuilder result = new StringBuilder(STAGING_TABLE_HASH_LENGTH * 2);
+    for (int i = 0; i < STAGING_TABLE_HASH_LENGTH; ++i) {
+      result.append(HEX_DIGITS[(digest[i] >> 4) & 0xF]).append(HEX_DIGITS[digest[i] & 0xF]);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Truncate the value to at most the given number of UTF-8 bytes without splitting a character.
+   */
+  private static String truncate(String value, int maxBytes) {
+    int bytes = 0;
+    int end = 0;
+    while (end < value.length()) {
+      int codePoint = value.codePointAt(end);
+      int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+      if (bytes + length > maxBytes) {
+        break;
+      }
+      bytes += length;
+      end += Character.charCount(codePoint);
+    }
+    return value.substring(0, end);
+  }
+
+  private static int utf8Length(String value) {
+    return value.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private static Collection<ColumnId> columns(TableId table, Collection<String> names) {
+    List<ColumnId> columns = new ArrayList<>(names.size());
+    for (String name : names) {
+      columns.add(new ColumnId(table, name));
+    }
+    return columns;
+  }
+
+  /**
+   * Extracts the key and non-key values of each record in the same order as they are bound into
+   * an insert or upsert statement, and adds them as a row.
+   */
+  private final class RowBinder extends PreparedStatementBinder {
+
+    private final List<String> values = new ArrayList<>();
+
+    private RowBinder(
+        PostgreSqlDatabaseDialect dialect,
+        PrimaryKeyMode pkMode,
+        SchemaPair schemaPair,
+        FieldsMetadata fieldsMetadata,
+        TableDefinition tableDefinition,
+        InsertMode insertMode
+    ) {
+      super(dialect, null, pkMode, schemaPair, fieldsMetadata, tableDefinition, insertMode);
+    }
+
+    @Override
+    protected void bindField(int index, Schema schema, Object value, String fieldName) {
+      values.add(formatValue(schema, value));
+    }
+
+    @Override
+    protected void addBatch() {
+      addRow(values);
+      values.clear();
+    }
+  }
+}
@@ -16,6 +16,10 @@
 package io.confluent.connect.jdbc.dialect;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialectProvider.SubprotocolBasedProvider;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.InsertMode;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.PrimaryKeyMode;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
 import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
 import io.confluent.connect.jdbc.source.ColumnMapping;
 import io.confluent.connect.jdbc.util.ColumnDefinition;
@@ -36,6 +40,8 @@ import org.apache.kafka.connect.data.Time;
 import org.apache.kafka.connect.data.Timestamp;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.errors.DataException;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,10 +49,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -79,6 +88,12 @@ public class PostgreSqlDatabaseDialect extends GenericDatabaseDialect {
   static final String JSONB_TYPE_NAME = "jsonb";
   static final String UUID_TYPE_NAME = "uuid";
 
+  /**
+   * The prefix of the name of the trigger function that notifies the listeners of a channel of
+   * changes, and of the triggers that call it. The name of the channel follows the prefix.
+   */
+  static final String NOTIFY_FUNCTION_PREFIX = "connect_jdbc_notify_";
+
   /**
    * Define the PG datatypes that require casting upon insert/update statements.
    */
@@ -170,6 +185,37 @@ public class PostgreSqlDatabaseDialect extends GenericDatabaseDialect {
     return result;
   }
 
+  @Override
+  public boolean supportsRowValueComparison() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This uses the counters of inserted, updated and deleted rows in
+   * {@code pg_stat_user_tables}, which include the rows of a transaction only once it ends. The
+   * counters also change when they are reset, and are not used for partitioned tables, whose
+   * rows are counted in their partitions.
+   */
+  @Override
+  public String tableChangeToken(Connection connection, TableId table) throws SQLException {
+    String sql = "SELECT c.relkind, s.n_tup_ins, s.n_tup_upd, s.n_tup_del, s.n_live_tup "
+                 + "FROM pg_stat_user_tables s JOIN pg_class c ON c.oid = s.relid "
+                 + "WHERE s.schemaname = COALESCE(?, current_schema()) AND s.relname = ?";
+    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+      stmt.setString(1, table.schemaName());
+      stmt.setString(2, table.tableName());
+      try (ResultSet rs = stmt.executeQuery()) {
+        if (!rs.next() || !"r".equals(rs.getString(1))) {
+          return null;
+        }
+        // The number of live rows also changes when the table is truncated
+        return rs.getLong(2) + "/" + rs.getLong(3) + "/" + rs.getLong(4) + "/" + rs.getLong(5);
+      }
+    }
+  }
+
   /**
    * Perform any operations on a {@link PreparedStatement} before it is used. This is called from
    * the {@link #createPreparedStatement(Connection, String)} method after the statement is
@@ -348,21 +394,7 @@ public class PostgreSqlDatabaseDialect extends GenericDatabaseDialect {
       Collection<ColumnId> nonKeyColumns,
       TableDefinition definition
   ) {
-    ExpressionBuilder builder = expressionBuilder();
-    builder.append("INSERT INTO ");
-    builder.append(table);
-    builder.append(" (");
-    builder.appendList()
-           .delimitedBy(",")
-           .transformedBy(ExpressionBuilder.columnNames())
-           .of(keyColumns, nonKeyColumns);
-    builder.append(") VALUES (");
-    builder.appendList()
-           .delimitedBy(",")
-           .transformedBy(this.columnValueVariables(definition))
-           .of(keyColumns, nonKeyColumns);
-    builder.append(")");
-    return builder.toString();
+    return buildMultiRowInsert(table, keyColumns, nonKeyColumns, definition, 1);
   }
 
   @Override
@@ -396,6 +428,55 @@ public class PostgreSqlDatabaseDialect extends GenericDatabaseDialect {
       Collection<ColumnId> keyColumns,
       Collection<ColumnId> nonKeyColumns,
       TableDefinition definition
+  ) {
+    return buildMultiRowUpsert(table, keyColumns, nonKeyColumns, definition, 1);
+  }
+
+  @Override
+  public String buildMultiRowInsertStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      TableDefinition definition,
+      InsertMode insertMode,
+      int rowCount
+  ) {
+    switch (insertMode) {
+      case INSERT:
+        return buildMultiRowInsert(table, keyColumns, nonKeyColumns, definition, rowCount);
+      case UPSERT:
+        return buildMultiRowUpsert(table, keyColumns, nonKeyColumns, definition, rowCount);
+      default:
+        return null;
+    }
+  }
+
+  private String buildMultiRowInsert(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      TableDefinition definition,
+      int rowCount
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("INSERT INTO ");
+    builder.append(table);
+    builder.append(" (");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(") VALUES ");
+    appendValueRows(builder, keyColumns, nonKeyColumns, definition, rowCount);
+    return builder.toString();
+  }
+
+  private String buildMultiRowUpsert(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      TableDefinition definition,
+      int rowCount
   ) {
     final Transform<ColumnId> transform = (builder, col) -> {
       builder.appendColumnName(col.name())
@@ -411,12 +492,278 @@ public class PostgreSqlDatabaseDialect extends GenericDatabaseDialect {
            .delimitedBy(",")
            .transformedBy(ExpressionBuilder.columnNames())
            .of(keyColumns, nonKeyColumns);
-    builder.append(") VALUES (");
+    builder.append(") VALUES ");
+    appendValueRows(builder, keyColumns, nonKeyColumns, definition, rowCount);
+    builder.append(" ON CONFLICT (");
     builder.appendList()
            .delimitedBy(",")
-           .transformedBy(this.columnValueVariables(definition))
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns);
+    if (nonKeyColumns.isEmpty()) {
+      builder.append(") DO NOTHING");
+    } else {
+      builder.append(") DO UPDATE SET ");
+      builder.appendList()
+              .delimitedBy(",")
+              .transformedBy(transform)
+              .of(nonKeyColumns);
+    }
+    return builder.toString();
+  }
+
+  private void appendValueRows(
+      ExpressionBuilder builder,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      TableDefinition definition,
+      int rowCount
+  ) {
+    for (int row = 0; row < rowCount; ++row) {
+      if (row > 0) {
+        builder.append(",");
+      }
+      builder.append("(");
+      builder.appendList()
+             .delimitedBy(",")
+             .transformedBy(this.columnValueVariables(definition))
+             .of(keyColumns, nonKeyColumns);
+      builder.append(")");
+    }
+  }
+
+  /**
+   * Create a loader that copies the records into the table with {@code COPY ... FROM STDIN}.
+   * Records are only bulk loaded in {@code insert} mode and, when the table has a primary key, in
+   * {@code upsert} mode.
+   */
+  @Override
+  public BulkLoader bulkLoader(
+      Connection connection,
+      TableId table,
+      PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata,
+      TableDefinition tableDefinition,
+      InsertMode insertMode
+  ) throws SQLException {
+    final boolean upsert;
+    switch (insertMode) {
+      case INSERT:
+        upsert = false;
+        break;
+      case UPSERT:
+        upsert = true;
+        if (fieldsMetadata.keyFieldNames.isEmpty()) {
+          return null;
+        }
+        break;
+      default:
+        return null;
+    }
+    if (!connection.isWrapperFor(PGConnection.class)) {
+      log.debug("Connection {} does not support COPY; using batched statements", connection);
+      return null;
+    }
+    return new PostgreSqlBulkLoader(
+        this,
+        connection,
+        connection.unwrap(PGConnection.class).getCopyAPI(),
+        table,
+        pkMode,
+        schemaPair,
+        fieldsMetadata,
+        tableDefinition,
+        insertMode,
+        upsert
+    );
+  }
+
+  /**
+   * Create a listener that executes {@code LISTEN} on the connection and waits for the
+   * notifications with {@link PGConnection#getNotifications(int)}. The payload of each
+   * notification is the name of the table that changed.
+   */
+  @Override
+  public ChangeListener changeListener(
+      Connection connection,
+      String channel
+  ) throws SQLException {
+    if (!connection.isWrapperFor(PGConnection.class)) {
+      log.debug("Connection {} does not support notifications", connection);
+      return null;
+    }
+    final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+    // Notifications are only delivered outside of transactions
+    connection.setAutoCommit(true);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(buildListenStatement(channel));
+    }
+    return new ChangeListener() {
+      @Override
+      public Set<String> awaitChanges(long timeoutMs) throws SQLException {
+        // A timeout of 0 would wait forever
+        int timeout = (int) Math.min(Math.max(1L, timeoutMs), Integer.MAX_VALUE);
+        PGNotification[] notifications = pgConnection.getNotifications(timeout);
+        if (notifications == null || notifications.length == 0) {
+          return Collections.emptySet();
+        }
+        Set<String> tables = new HashSet<>();
+        for (PGNotification notification : notifications) {
+          tables.add(notification.getParameter());
+        }
+        return tables;
+      }
+
+      @Override
+      public void close() throws SQLException {
+        connection.close();
+      }
+    };
+  }
+
+  /**
+   * Build the statements that create a trigger function for the channel, shared by all tables,
+   * and a statement trigger on the table that calls {@code pg_notify} with the schema-qualified
+   * table name. Both are named after the channel, so connectors that notify different channels
+   * do not replace each other's triggers.
+   */
+  @Override
+  public List<String> buildChangeNotificationStatements(TableId table, String channel) {
+    final String name = NOTIFY_FUNCTION_PREFIX + channel.replace("\"", "\"\"");
+
+    ExpressionBuilder function = expressionBuilder();
+    function.append("CREATE OR REPLACE FUNCTION ");
+    function.appendIdentifierQuoted(name);
+    function.append("() RETURNS trigger AS $$ BEGIN ");
+    function.append("PERFORM pg_notify(TG_ARGV[0], TG_TABLE_SCHEMA || '.' || TG_TABLE_NAME); ");
+    function.append("RETURN NULL; END; $$ LANGUAGE plpgsql");
+
+    ExpressionBuilder drop = expressionBuilder();
+    drop.append("DROP TRIGGER IF EXISTS ");
+    drop.appendIdentifierQuoted(name);
+    drop.append(" ON ");
+    drop.append(table);
+
+    ExpressionBuilder create = expressionBuilder();
+    create.append("CREATE TRIGGER ");
+    create.appendIdentifierQuoted(name);
+    create.append(" AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON ");
+    create.append(table);
+    create.append(" FOR EACH STATEMENT EXECUTE PROCEDURE ");
+    create.appendIdentifierQuoted(name);
+    create.append("(");
+    create.appendStringQuoted(channel.replace("'", "''"));
+    create.append(")");
+
+    return Arrays.asList(function.toString(), drop.toString(), create.toString());
+  }
+
+  /**
+   * Build the {@code LISTEN} statement for the given channel.
+   *
+   * @param channel the name of the notification channel; may not be null
+   * @return the LISTEN statement; never null
+   */
+  protected String buildListenStatement(String channel) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("LISTEN ");
+    builder.appendIdentifierQuoted(channel.replace("\"", "\"\""));
+    return builder.toString();
+  }
+
+  /**
+   * Build the {@code COPY} statement that reads the values of the given columns from the client
+   * in text format.
+   *
+   * @param table         the identifier of the table; may not be null
+   * @param keyColumns    the identifiers of the key columns; may not be null but may be empty
+   * @param nonKeyColumns the identifiers of the other columns; may not be null but may be empty
+   * @return the COPY statement; never null
+   */
+  protected String buildCopyStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("COPY ");
+    builder.append(table);
+    builder.append(" (");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(") FROM STDIN");
+    return builder.toString();
+  }
+
+  /**
+   * Build the statement that creates an empty temporary table with the given columns of the
+   * table, which is dropped at the end of the transaction.
+   *
+   * @param stagingTable  the identifier of the temporary table; may not be null
+   * @param table         the identifier of the table; may not be null
+   * @param keyColumns    the identifiers of the key columns; may not be null but may be empty
+   * @param nonKeyColumns the identifiers of the other columns; may not be null but may be empty
+   * @return the CREATE TEMPORARY TABLE statement; never null
+   */
+  protected String buildCreateStagingTableStatement(
+      TableId stagingTable,
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("CREATE TEMPORARY TABLE ");
+    builder.append(stagingTable);
+    builder.append(" ON COMMIT DROP AS SELECT ");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(" FROM ");
+    builder.append(table);
+    builder.append(" WITH NO DATA");
+    return builder.toString();
+  }
+
+  /**
+   * Build the statement that upserts all rows of the staging table into the table.
+   *
+   * @param table         the identifier of the table; may not be null
+   * @param stagingTable  the identifier of the staging table; may not be null
+   * @param keyColumns    the identifiers of the key columns; may not be null or empty
+   * @param nonKeyColumns the identifiers of the other columns; may not be null but may be empty
+   * @return the INSERT ... SELECT ... ON CONFLICT statement; never null
+   */
+  protected String buildUpsertFromStatement(
+      TableId table,
+      TableId stagingTable,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    final Transform<ColumnId> transform = (builder, col) -> {
+      builder.appendColumnName(col.name())
+             .append("=EXCLUDED.")
+             .appendColumnName(col.name());
+    };
+
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("INSERT INTO ");
+    builder.append(table);
+    builder.append(" (");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(") SELECT ");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
            .of(keyColumns, nonKeyColumns);
-    builder.append(") ON CONFLICT (");
+    builder.append(" FROM ");
+    builder.append(stagingTable);
+    builder.append(" ON CONFLICT (");
     builder.appendList()
            .delimitedBy(",")
            .transformedBy(ExpressionBuilder.columnNames())
@@ -60,6 +60,11 @@ public class SapHanaDatabaseDialect extends GenericDatabaseDialect {
   public SapHanaDatabaseDialect(AbstractConfig config) {
     super(config, new IdentifierRules(".", "\"", "\""));
   }
+
+  @Override
+  public void appendLimit(ExpressionBuilder builder, int limit) {
+    builder.append(" LIMIT ").append(limit);
+  }
   
   @Override
   protected String currentTimestampDatabaseQuery() {
@@ -27,6 +27,7 @@ import org.apache.kafka.connect.data.Timestamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -217,6 +218,62 @@ public class SqlServerDatabaseDialect extends GenericDatabaseDialect {
     return (jdbcDatabaseMajorVersionValue >= MSSQL_2016_VERSION);
   }
 
+  @Override
+  public void appendSliceCondition(
+      ExpressionBuilder builder,
+      ColumnId column,
+      int sliceCount,
+      int sliceIndex
+  ) {
+    appendModuloOperatorSliceCondition(builder, column, sliceCount, sliceIndex);
+  }
+
+  @Override
+  public void appendLimit(ExpressionBuilder builder, int limit) {
+    // SQL Server only accepts FETCH after an OFFSET
+    builder.append(" OFFSET 0 ROWS FETCH NEXT ").append(limit).append(" ROWS ONLY");
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This uses the time of the last change to the indexes or heap of the table in
+   * {@code sys.dm_db_index_usage_stats}, which requires the {@code VIEW SERVER STATE}
+   * permission. The statistics are cleared when the database goes offline, and are updated when
+   * statements run rather than when they commit, so there is no token while another transaction
+   * holds a lock for changing the table.
+   */
+  @Override
+  public String tableChangeToken(Connection connection, TableId table) throws SQLException {
+    String name = expressionBuilder().append(table).toString();
+    String token;
+    String usageSql = "SELECT MAX(last_user_update) FROM sys.dm_db_index_usage_stats "
+                      + "WHERE database_id = DB_ID() AND object_id = OBJECT_ID(?)";
+    try (PreparedStatement stmt = connection.prepareStatement(usageSql)) {
+      stmt.setString(1, name);
+      try (ResultSet rs = stmt.executeQuery()) {
+        java.sql.Timestamp updated = rs.next() ? rs.getTimestamp(1) : null;
+        if (updated == null) {
+          return null;
+        }
+        token = updated.toString();
+      }
+    }
+    // Read after the token, so that a change counted in the token is either committed or locked.
+    // Besides the intent and exclusive locks of changed rows, bulk loads with TABLOCK hold BU
+    // locks and TRUNCATE TABLE holds a Sch-M lock on the table
+    String lockSql = "SELECT COUNT(*) FROM sys.dm_tran_locks "
+                     + "WHERE resource_type = 'OBJECT' AND resource_database_id = DB_ID() "
+                     + "AND resource_associated_entity_id = OBJECT_ID(?) "
+                     + "AND request_mode IN ('IX', 'SIX', 'UIX', 'X', 'BU', 'Sch-M')";
+    try (PreparedStatement stmt = connection.prepareStatement(lockSql)) {
+      stmt.setString(1, name);
+      try (ResultSet rs = stmt.executeQuery()) {
+        return rs.next() && rs.getInt(1) == 0 ? token : null;
+      }
+    }
+  }
+
   @Override
   protected boolean useCatalog() {
     // SQL Server uses JDBC's catalog to represent the database,
@@ -21,16 +21,21 @@ import org.apache.kafka.connect.data.Decimal;
 import org.apache.kafka.connect.data.Time;
 import org.apache.kafka.connect.data.Timestamp;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialectProvider.SubprotocolBasedProvider;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.InsertMode;
 import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.IdentifierRules;
+import io.confluent.connect.jdbc.util.TableDefinition;
 import io.confluent.connect.jdbc.util.TableId;
 
 /**
@@ -67,6 +72,17 @@ public class SqliteDatabaseDialect extends GenericDatabaseDialect {
     return !table.tableName().startsWith("sqlite_");
   }
 
+  @Override
+  protected ColumnConverter decimalConverterFor(ColumnDefinition defn, int col, int scale) {
+    // SQLite stores values of any type in a column whatever its declared type, so a column
+    // declared with scale 0 may hold fractional values, and the driver cannot read a decimal with
+    // a given scale
+    return rs -> {
+      BigDecimal value = rs.getBigDecimal(col);
+      return value != null ? value.setScale(scale, RoundingMode.HALF_UP) : null;
+    };
+  }
+
   @Override
   protected String getSqlType(SinkRecordField field) {
     if (field.schemaName() != null) {
@@ -116,6 +132,40 @@ public class SqliteDatabaseDialect extends GenericDatabaseDialect {
       TableId table,
       Collection<ColumnId> keyColumns,
       Collection<ColumnId> nonKeyColumns
+  ) {
+    return buildMultiRowUpsert(table, keyColumns, nonKeyColumns, 1);
+  }
+
+  @Override
+  public String buildMultiRowInsertStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      TableDefinition definition,
+      InsertMode insertMode,
+      int rowCount
+  ) {
+    switch (insertMode) {
+      case INSERT:
+        return buildMultiRowInsert(table, keyColumns, nonKeyColumns, rowCount);
+      case UPSERT:
+        return buildMultiRowUpsert(table, keyColumns, nonKeyColumns, rowCount);
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public int maxStatementParameters() {
+    // The default SQLITE_MAX_VARIABLE_NUMBER of SQLite versions before 3.32.0
+    return 999;
+  }
+
+  private String buildMultiRowUpsert(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      int rowCount
   ) {
     ExpressionBuilder builder = expressionBuilder();
     builder.append("INSERT OR REPLACE INTO ");
@@ -125,12 +175,26 @@ public class SqliteDatabaseDialect extends GenericDatabaseDialect {
            .delimitedBy(",")
            .transformedBy(ExpressionBuilder.columnNames())
            .of(keyColumns, nonKeyColumns);
-    builder.append(") VALUES(");
-    builder.appendMultiple(",", "?", keyColumns.size() + nonKeyColumns.size());
-    builder.append(")");
+    builder.append(") VALUES");
+    appendValueRows(builder, keyColumns.size() + nonKeyColumns.size(), rowCount);
     return builder.toString();
   }
 
+  @Override
+  public void appendSliceCondition(
+      ExpressionBuilder builder,
+      ColumnId column,
+      int sliceCount,
+      int sliceIndex
+  ) {
+    appendModuloOperatorSliceCondition(builder, column, sliceCount, sliceIndex);
+  }
+
+  @Override
+  public void appendLimit(ExpressionBuilder builder, int limit) {
+    builder.append(" LIMIT ").append(limit);
+  }
+
   @Override
   protected String currentTimestampDatabaseQuery() {
     return "SELECT strftime('%Y-%m-%d %H:%M:%S.%f','now')";
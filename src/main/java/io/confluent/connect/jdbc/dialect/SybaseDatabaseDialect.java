@@ -83,6 +83,21 @@ public class SybaseDatabaseDialect extends GenericDatabaseDialect {
     return true;
   }
 
+  @Override
+  public void appendSliceCondition(
+      ExpressionBuilder builder,
+      ColumnId column,
+      int sliceCount,
+      int sliceIndex
+  ) {
+    appendModuloOperatorSliceCondition(builder, column, sliceCount, sliceIndex);
+  }
+
+  @Override
+  public void appendLimit(ExpressionBuilder builder, int limit) {
+    // Sybase only limits rows with TOP in the select list, so rely on the statement's maximum rows
+  }
+
   @Override
   protected String currentTimestampDatabaseQuery() {
     return "select getdate()";
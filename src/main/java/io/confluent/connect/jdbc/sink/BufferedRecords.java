@@ -16,24 +16,31 @@
 package io.confluent.connect.jdbc.sink;
 
 import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.BatchUpdateException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect.BulkLoader;
 import io.confluent.connect.jdbc.dialect.DatabaseDialect.StatementBinder;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.InsertMode;
 import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
 import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
 import io.confluent.connect.jdbc.util.ColumnId;
@@ -59,6 +66,13 @@ public class BufferedRecords {
   private PreparedStatement updatePreparedStatement;
   private PreparedStatement deletePreparedStatement;
   private StatementBinder updateStatementBinder;
+  private BulkLoader bulkLoader;
+  private SchemaPair schemaPair;
+  // The number of records written by each multi-row statement, or 1 if they are not used
+  private int rowsPerStatement = 1;
+  private MultiRowStatement fullMultiRowStatement;
+  // The statement for the last records of a flush, which are fewer than rowsPerStatement
+  private MultiRowStatement partialMultiRowStatement;
   private StatementBinder deleteStatementBinder;
   private boolean deletesInBatch = false;
 
@@ -108,7 +122,7 @@ public class BufferedRecords {
       flushed.addAll(flush());
 
       // re-initialize everything that depends on the record schema
-      final SchemaPair schemaPair = new SchemaPair(
+      schemaPair = new SchemaPair(
           record.keySchema(),
           record.valueSchema()
       );
@@ -135,15 +149,33 @@ public class BufferedRecords {
           fieldsMetadata
       );
       close();
-      updatePreparedStatement = dbDialect.createPreparedStatement(connection, insertSql);
-      updateStatementBinder = dbDialect.statementBinder(
-          updatePreparedStatement,
-          config.pkMode,
-          schemaPair,
-          fieldsMetadata,
-          dbStructure.tableDefinition(connection, tableId),
-          config.insertMode
-      );
+      bulkLoader = null;
+      rowsPerStatement = 1;
+      if (config.bulkLoadEnabled) {
+        bulkLoader = dbDialect.bulkLoader(
+            connection,
+            tableId,
+            config.pkMode,
+            schemaPair,
+            fieldsMetadata,
+            dbStructure.tableDefinition(connection, tableId),
+            config.insertMode
+        );
+      }
+      if (nonNull(bulkLoader)) {
+        updateStatementBinder = bulkLoader;
+      } else {
+        updatePreparedStatement = dbDialect.createPreparedStatement(connection, insertSql);
+        updateStatementBinder = dbDialect.statementBinder(
+            updatePreparedStatement,
+            config.pkMode,
+            schemaPair,
+            fieldsMetadata,
+            dbStructure.tableDefinition(connection, tableId),
+            config.insertMode
+        );
+        rowsPerStatement = multiRowStatementSize();
+      }
       if (config.deleteEnabled && nonNull(deleteSql)) {
         deletePreparedStatement = dbDialect.createPreparedStatement(connection, deleteSql);
         deleteStatementBinder = dbDialect.statementBinder(
@@ -176,14 +208,22 @@ public class BufferedRecords {
       return new ArrayList<>();
     }
     log.debug("Flushing {} buffered records", records.size());
+    final List<SinkRecord> multiRowUpdates =
+        rowsPerStatement > 1 ? new ArrayList<>(records.size()) : null;
     for (SinkRecord record : records) {
       if (isNull(record.value()) && nonNull(deleteStatementBinder)) {
         deleteStatementBinder.bindRecord(record);
+      } else if (nonNull(multiRowUpdates)) {
+        multiRowUpdates.add(record);
       } else {
         updateStatementBinder.bindRecord(record);
       }
     }
-    executeUpdates();
+    if (nonNull(multiRowUpdates)) {
+      executeMultiRowUpdates(multiRowUpdates);
+    } else {
+      executeUpdates();
+    }
     executeDeletes();
 
     final List<SinkRecord> flushedRecords = records;
@@ -193,6 +233,10 @@ public class BufferedRecords {
   }
 
   private void executeUpdates() throws SQLException {
+    if (nonNull(bulkLoader)) {
+      bulkLoader.executeLoad();
+      return;
+    }
     int[] batchStatus = updatePreparedStatement.executeBatch();
     for (int updateCount : batchStatus) {
       if (updateCount == Statement.EXECUTE_FAILED) {
@@ -202,6 +246,55 @@ public class BufferedRecords {
     }
   }
 
+  private void executeMultiRowUpdates(List<SinkRecord> updates) throws SQLException {
+    try {
+      executeMultiRowStatements(updates);
+    } catch (UnsupportedOperationException e) {
+      // The binder of a custom dialect may not bind records at an index, which it reports when
+      // the first record is bound, so no values have been bound to the multi-row statement yet
+      log.warn(
+          "The {} dialect cannot bind several records to one statement; writing one record per "
+          + "statement to table '{}'",
+          dbDialect.name(),
+          tableId
+      );
+      closeMultiRowStatements();
+      rowsPerStatement = 1;
+      for (SinkRecord record : updates) {
+        updateStatementBinder.bindRecord(record);
+      }
+      executeUpdates();
+    }
+  }
+
+  private void executeMultiRowStatements(List<SinkRecord> updates) throws SQLException {
+    if (config.insertMode == InsertMode.UPSERT) {
+      // Some databases reject a statement that upserts the same row twice
+      updates = lastRecordOfEachKey(updates);
+    }
+    final int fullCount = updates.size() - updates.size() % rowsPerStatement;
+    if (fullCount > 0) {
+      if (isNull(fullMultiRowStatement)) {
+        fullMultiRowStatement = prepareMultiRowStatement(rowsPerStatement);
+      }
+      fullMultiRowStatement.execute(updates.subList(0, fullCount));
+    }
+    final int partialCount = updates.size() - fullCount;
+    if (partialCount == 1) {
+      updateStatementBinder.bindRecord(updates.get(fullCount));
+      executeUpdates();
+    } else if (partialCount > 1) {
+      if (isNull(partialMultiRowStatement) || partialMultiRowStatement.rowCount != partialCount) {
+        if (nonNull(partialMultiRowStatement)) {
+          partialMultiRowStatement.statement.close();
+          partialMultiRowStatement = null;
+        }
+        partialMultiRowStatement = prepareMultiRowStatement(partialCount);
+      }
+      partialMultiRowStatement.execute(updates.subList(fullCount, updates.size()));
+    }
+  }
+
   private void executeDeletes() throws SQLException {
     if (nonNull(deletePreparedStatement)) {
       int[] batchStatus = deletePreparedStatement.executeBatch();
@@ -228,6 +321,142 @@ public class BufferedRecords {
       deletePreparedStatement.close();
       deletePreparedStatement = null;
     }
+    closeMultiRowStatements();
+  }
+
+  private void closeMultiRowStatements() throws SQLException {
+    if (nonNull(fullMultiRowStatement)) {
+      fullMultiRowStatement.statement.close();
+      fullMultiRowStatement = null;
+    }
+    if (nonNull(partialMultiRowStatement)) {
+      partialMultiRowStatement.statement.close();
+      partialMultiRowStatement = null;
+    }
+  }
+
+  /**
+   * Determine how many records each multi-row statement writes, which is limited by the
+   * configuration and by the number of statement parameters the database allows.
+   *
+   * @return the number of rows, or 1 if multi-row statements are not used
+   */
+  private int multiRowStatementSize() throws SQLException {
+    if (config.insertRowsPerStatement <= 1) {
+      return 1;
+    }
+    final int columnCount =
+        fieldsMetadata.keyFieldNames.size() + fieldsMetadata.nonKeyFieldNames.size();
+    final int rowCount = Math.min(
+        config.insertRowsPerStatement,
+        dbDialect.maxStatementParameters() / Math.max(columnCount, 1)
+    );
+    if (rowCount <= 1 || isNull(getMultiRowInsertSql(rowCount))) {
+      return 1;
+    }
+    return rowCount;
+  }
+
+  private MultiRowStatement prepareMultiRowStatement(int rowCount) throws SQLException {
+    final String sql = getMultiRowInsertSql(rowCount);
+    log.debug("{} sql for {} rows: {}", config.insertMode, rowCount, sql);
+    final PreparedStatement statement = dbDialect.createPreparedStatement(connection, sql);
+    final StatementBinder binder = dbDialect.statementBinder(
+        statement,
+        config.pkMode,
+        schemaPair,
+        fieldsMetadata,
+        dbStructure.tableDefinition(connection, tableId),
+        config.insertMode
+    );
+    return new MultiRowStatement(rowCount, statement, binder);
+  }
+
+  private String getMultiRowInsertSql(int rowCount) throws SQLException {
+    return dbDialect.buildMultiRowInsertStatement(
+        tableId,
+        asColumns(fieldsMetadata.keyFieldNames),
+        asColumns(fieldsMetadata.nonKeyFieldNames),
+        dbStructure.tableDefinition(connection, tableId),
+        config.insertMode,
+        rowCount
+    );
+  }
+
+  private List<SinkRecord> lastRecordOfEachKey(List<SinkRecord> records) {
+    final Map<Object, SinkRecord> recordsByKey = new LinkedHashMap<>();
+    for (SinkRecord record : records) {
+      recordsByKey.put(keyOf(record), record);
+    }
+    if (recordsByKey.size() == records.size()) {
+      return records;
+    }
+    return new ArrayList<>(recordsByKey.values());
+  }
+
+  private Object keyOf(SinkRecord record) {
+    switch (config.pkMode) {
+      case KAFKA:
+        return Arrays.asList(record.topic(), record.kafkaPartition(), record.kafkaOffset());
+      case RECORD_KEY:
+        if (schemaPair.keySchema.type().isPrimitive()) {
+          return comparable(record.key());
+        }
+        return fieldValues((Struct) record.key());
+      case RECORD_VALUE:
+        return fieldValues((Struct) record.value());
+      default:
+        return record;
+    }
+  }
+
+  private List<Object> fieldValues(Struct struct) {
+    final List<Object> values = new ArrayList<>(fieldsMetadata.keyFieldNames.size());
+    for (String fieldName : fieldsMetadata.keyFieldNames) {
+      values.add(comparable(struct.get(fieldName)));
+    }
+    return values;
+  }
+
+  private static Object comparable(Object value) {
+    // Byte arrays are only equal by identity
+    return value instanceof byte[] ? ByteBuffer.wrap((byte[]) value) : value;
+  }
+
+  /**
+   * A prepared statement that writes a fixed number of records at once.
+   */
+  private static final class MultiRowStatement {
+    private final int rowCount;
+    private final PreparedStatement statement;
+    private final StatementBinder binder;
+
+    private MultiRowStatement(int rowCount, PreparedStatement statement, StatementBinder binder) {
+      this.rowCount = rowCount;
+      this.statement = statement;
+      this.binder = binder;
+    }
+
+    private void execute(List<SinkRecord> records) throws SQLException {
+      assert records.size() % rowCount == 0;
+      int index = 1;
+      int rows = 0;
+      for (SinkRecord record : records) {
+        index = binder.bindRecord(record, index);
+        if (++rows == rowCount) {
+          statement.addBatch();
+          index = 1;
+          rows = 0;
+        }
+      }
+      int[] batchStatus = statement.executeBatch();
+      for (int updateCount : batchStatus) {
+        if (updateCount == Statement.EXECUTE_FAILED) {
+          throw new BatchUpdateException(
+                  "Execution failed for part of the batch update", batchStatus);
+        }
+      }
+    }
   }
 
   private String getInsertSql() throws SQLException {
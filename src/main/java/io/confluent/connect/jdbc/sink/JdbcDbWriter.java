@@ -20,13 +20,23 @@ import org.apache.kafka.connect.sink.SinkRecord;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.util.CachedConnectionProvider;
+import io.confluent.connect.jdbc.util.SharedConnectionProvider;
 import io.confluent.connect.jdbc.util.TableId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +49,11 @@ public class JdbcDbWriter {
   private final DbStructure dbStructure;
   final CachedConnectionProvider cachedConnectionProvider;
 
+  // The connections that the tables are written on, where each table is always written on the
+  // same connection so that its cached statements remain usable. The first uses the provider above.
+  private final List<WriterConnection> writerConnections;
+  private ExecutorService executor;
+
   JdbcDbWriter(final JdbcSinkConfig config, DatabaseDialect dbDialect, DbStructure dbStructure) {
     this.config = config;
     this.dbDialect = dbDialect;
@@ -48,10 +63,27 @@ public class JdbcDbWriter {
         config.connectionAttempts,
         config.connectionBackoffMs
     );
+    this.writerConnections = new ArrayList<>(config.tableFlushParallelism);
+    this.writerConnections.add(new WriterConnection(cachedConnectionProvider));
+    for (int i = 1; i < config.tableFlushParallelism; ++i) {
+      this.writerConnections.add(new WriterConnection(connectionProvider(
+          config.connectionAttempts,
+          config.connectionBackoffMs
+      )));
+    }
   }
 
+  /**
+   * Create the connection provider for one of the writer connections. Closing it closes only the
+   * writer's own connection, since closing the dialect would close the connections of every other
+   * writer as well. The dialect is closed in {@link #closeQuietly()}.
+   */
   protected CachedConnectionProvider connectionProvider(int maxConnAttempts, long retryBackoff) {
-    return new CachedConnectionProvider(this.dbDialect, maxConnAttempts, retryBackoff) {
+    return new CachedConnectionProvider(
+        new SharedConnectionProvider(dbDialect),
+        maxConnAttempts,
+        retryBackoff
+    ) {
       @Override
       protected void onConnect(final Connection connection) throws SQLException {
         log.info("JdbcDbWriter Connected");
@@ -62,7 +94,12 @@ public class JdbcDbWriter {
 
   void write(final Collection<SinkRecord> records)
       throws SQLException, TableAlterOrCreateException {
-    final Connection connection = cachedConnectionProvider.getConnection();
+    if (writerConnections.size() > 1) {
+      writeInParallel(records);
+      return;
+    }
+    final WriterConnection writerConnection = writerConnections.get(0);
+    final Connection connection = writerConnection.connection();
     String schemaName = getSchemaSafe(connection).orElse(null);
     String catalogName = getCatalogSafe(connection).orElse(null);
     try {
@@ -71,7 +108,7 @@ public class JdbcDbWriter {
         final TableId tableId = destinationTable(record.topic(), schemaName, catalogName);
         BufferedRecords buffer = bufferByTable.get(tableId);
         if (buffer == null) {
-          buffer = new BufferedRecords(config, tableId, dbDialect, dbStructure, connection);
+          buffer = writerConnection.buffer(tableId);
           bufferByTable.put(tableId, buffer);
         }
         buffer.add(record);
@@ -81,27 +118,149 @@ public class JdbcDbWriter {
         BufferedRecords buffer = entry.getValue();
         log.debug("Flushing records in JDBC Writer for table ID: {}", tableId);
         buffer.flush();
-        buffer.close();
       }
       log.trace("Committing transaction");
       connection.commit();
     } catch (SQLException | TableAlterOrCreateException e) {
       log.error("Error during write operation. Attempting rollback.", e);
+      writerConnection.rollback(e);
+      throw e;
+    }
+    writerConnection.evictBuffers(config.tableStatementCacheSize);
+    log.info("Completed write operation for {} records to the database", records.size());
+  }
+
+  /**
+   * Write the records of different tables concurrently. The tables of each connection are
+   * written in one transaction, and the transactions are only committed after the records of all
+   * tables have been flushed. The records of each table are written in their original order.
+   */
+  private void writeInParallel(final Collection<SinkRecord> records)
+      throws SQLException, TableAlterOrCreateException {
+    final Connection firstConnection = writerConnections.get(0).connection();
+    String schemaName = getSchemaSafe(firstConnection).orElse(null);
+    String catalogName = getCatalogSafe(firstConnection).orElse(null);
+    final List<Map<TableId, List<SinkRecord>>> recordsByConnection =
+        new ArrayList<>(writerConnections.size());
+    for (int i = 0; i < writerConnections.size(); ++i) {
+      recordsByConnection.add(new LinkedHashMap<>());
+    }
+    for (SinkRecord record : records) {
+      final TableId tableId = destinationTable(record.topic(), schemaName, catalogName);
+      int index = Math.floorMod(tableId.hashCode(), writerConnections.size());
+      recordsByConnection.get(index)
+          .computeIfAbsent(tableId, t -> new ArrayList<>())
+          .add(record);
+    }
+
+    final List<WriterConnection> active = new ArrayList<>();
+    final List<Callable<Void>> flushes = new ArrayList<>();
+    // The connection that each active writer flushed its tables on, in the same order
+    final Connection[] flushedConnections = new Connection[writerConnections.size()];
+    for (int i = 0; i < writerConnections.size(); ++i) {
+      final WriterConnection writerConnection = writerConnections.get(i);
+      final Map<TableId, List<SinkRecord>> recordsByTable = recordsByConnection.get(i);
+      if (!recordsByTable.isEmpty()) {
+        final int index = active.size();
+        active.add(writerConnection);
+        flushes.add(() -> {
+          flushedConnections[index] = writerConnection.flush(recordsByTable);
+          return null;
+        });
+      }
+    }
+    try {
+      invokeAll(flushes);
+      // Commit barrier: only commit once every connection has flushed its tables
+      final List<Callable<Void>> commits = new ArrayList<>(active.size());
+      for (int i = 0; i < active.size(); ++i) {
+        final WriterConnection writerConnection = active.get(i);
+        final Connection flushedConnection = flushedConnections[i];
+        commits.add(() -> {
+          writerConnection.commit(flushedConnection);
+          return null;
+        });
+      }
+      invokeAll(commits);
+    } catch (SQLException | RuntimeException e) {
+      log.error("Error during parallel write operation. Attempting rollback.", e);
+      // Transactions that were committed before the failure are not affected by the rollback, and
+      // their records are written again when the records are redelivered
+      for (WriterConnection writerConnection : active) {
+        writerConnection.rollback(e);
+      }
+      throw e;
+    }
+    for (WriterConnection writerConnection : active) {
+      writerConnection.evictBuffers(config.tableStatementCacheSize);
+    }
+    log.info(
+        "Completed write operation for {} records to the database on {} connections",
+        records.size(),
+        active.size()
+    );
+  }
+
+  /**
+   * Run the tasks on the executor and wait for all of them to complete, rethrowing the first
+   * failure and adding the other failures as suppressed exceptions.
+   */
+  private void invokeAll(List<Callable<Void>> tasks)
+      throws SQLException, TableAlterOrCreateException {
+    if (executor == null) {
+      executor = Executors.newFixedThreadPool(writerConnections.size(), runnable -> {
+        Thread thread = new Thread(runnable, "jdbc-sink-flush-" + config.connectorName);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    List<Future<Void>> futures;
+    try {
+      futures = executor.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectException("Interrupted while writing records", e);
+    }
+    Throwable failure = null;
+    for (Future<Void> future : futures) {
       try {
-        connection.rollback();
-        log.info("Successfully rolled back transaction");
-      } catch (SQLException sqle) {
-        log.error("Failed to rollback transaction", sqle);
-        e.addSuppressed(sqle);
-      } finally {
-        throw e;
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ConnectException("Interrupted while writing records", e);
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        } else {
+          failure.addSuppressed(e.getCause());
+        }
       }
     }
-    log.info("Completed write operation for {} records to the database", records.size());
+    if (failure instanceof SQLException) {
+      throw (SQLException) failure;
+    } else if (failure instanceof RuntimeException) {
+      // Including TableAlterOrCreateException
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new ConnectException(failure);
+    }
   }
 
   void closeQuietly() {
-    cachedConnectionProvider.close();
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    for (WriterConnection writerConnection : writerConnections) {
+      writerConnection.close();
+    }
+    try {
+      dbDialect.close();
+    } catch (Throwable t) {
+      log.warn("Error while closing the {} dialect: ", dbDialect.name(), t);
+    }
   }
 
   TableId destinationTable(String topic, String schemaName, String catalogName) {
@@ -140,4 +299,130 @@ public class JdbcDbWriter {
       return Optional.empty();
     }
   }
+
+  /**
+   * A connection that a subset of the tables is written on, with the buffers of its recently
+   * written tables.
+   */
+  private class WriterConnection {
+
+    private final CachedConnectionProvider provider;
+    // The buffers of recently written tables in access order, which keep their prepared statements
+    // and binders between writes. The buffers are only valid for the connection they were built on.
+    private final Map<TableId, BufferedRecords> cachedBuffers =
+        new LinkedHashMap<>(16, 0.75f, true);
+    private Connection cachedBuffersConnection;
+
+    WriterConnection(CachedConnectionProvider provider) {
+      this.provider = provider;
+    }
+
+    Connection connection() {
+      final Connection connection = provider.getConnection();
+      if (connection != cachedBuffersConnection) {
+        // The connection was reset, so the cached statements are no longer usable
+        closeBuffers();
+        cachedBuffersConnection = connection;
+      }
+      return connection;
+    }
+
+    BufferedRecords buffer(TableId tableId) {
+      BufferedRecords buffer = cachedBuffers.get(tableId);
+      if (buffer == null) {
+        buffer = new BufferedRecords(
+            config,
+            tableId,
+            dbDialect,
+            dbStructure,
+            cachedBuffersConnection
+        );
+        // Never evicted during a write, since the buffer may hold records that are not yet flushed
+        cachedBuffers.put(tableId, buffer);
+      }
+      return buffer;
+    }
+
+    /**
+     * Flush the records of the tables in the current transaction.
+     *
+     * @return the connection that the records were flushed on, which must be committed
+     */
+    Connection flush(Map<TableId, List<SinkRecord>> recordsByTable)
+        throws SQLException, TableAlterOrCreateException {
+      final Connection connection = connection();
+      for (Map.Entry<TableId, List<SinkRecord>> entry : recordsByTable.entrySet()) {
+        BufferedRecords buffer = buffer(entry.getKey());
+        for (SinkRecord record : entry.getValue()) {
+          buffer.add(record);
+        }
+        log.debug("Flushing records in JDBC Writer for table ID: {}", entry.getKey());
+        buffer.flush();
+      }
+      return connection;
+    }
+
+    /**
+     * Commit the transaction on the connection that the records were flushed on. The connection
+     * is not obtained from the provider again, since a reconnect would silently replace it with a
+     * new connection that has nothing to commit while the flushed records are lost.
+     *
+     * @param flushedConnection the connection returned by {@link #flush(Map)}
+     * @throws SQLException if the connection was replaced after the flush or the commit failed
+     */
+    void commit(Connection flushedConnection) throws SQLException {
+      if (flushedConnection != cachedBuffersConnection) {
+        throw new SQLException(
+            "The connection was reset after the records were flushed and before they were committed"
+        );
+      }
+      log.trace("Committing transaction");
+      flushedConnection.commit();
+    }
+
+    void rollback(Exception cause) {
+      final Connection connection = cachedBuffersConnection;
+      // The buffers may still hold records and statement batches of the failed write
+      closeBuffers();
+      if (connection == null) {
+        return;
+      }
+      try {
+        connection.rollback();
+        log.info("Successfully rolled back transaction");
+      } catch (SQLException e) {
+        log.error("Failed to rollback transaction", e);
+        cause.addSuppressed(e);
+      }
+    }
+
+    /**
+     * Close and remove the least recently used buffers until at most the given number remain.
+     *
+     * @param maxSize the maximum number of buffers to keep
+     */
+    void evictBuffers(int maxSize) {
+      Iterator<Map.Entry<TableId, BufferedRecords>> iter = cachedBuffers.entrySet().iterator();
+      while (cachedBuffers.size() > maxSize && iter.hasNext()) {
+        Map.Entry<TableId, BufferedRecords> entry = iter.next();
+        iter.remove();
+        log.debug("Closing cached statements for table ID: {}", entry.getKey());
+        try {
+          entry.getValue().close();
+        } catch (SQLException e) {
+          log.warn("Failed to close cached statements for table ID: {}", entry.getKey(), e);
+        }
+      }
+    }
+
+    void closeBuffers() {
+      evictBuffers(0);
+      cachedBuffersConnection = null;
+    }
+
+    void close() {
+      closeBuffers();
+      provider.close();
+    }
+  }
 }
@@ -143,6 +143,69 @@ public class JdbcSinkConfig extends AbstractConfig {
       + " table, when possible.";
   private static final String BATCH_SIZE_DISPLAY = "Batch Size";
 
+  public static final String TABLE_STATEMENT_CACHE_SIZE = "table.statement.cache.size";
+  private static final int TABLE_STATEMENT_CACHE_SIZE_DEFAULT = 32;
+  private static final String TABLE_STATEMENT_CACHE_SIZE_DOC =
+      "The maximum number of destination tables whose prepared statements are kept open between"
+      + " writes, so that the statements are not prepared again for every batch. The statements"
+      + " of a table are prepared again when the record schema changes or the connection is"
+      + " reset. When 0, the statements are closed after every write.";
+  private static final String TABLE_STATEMENT_CACHE_SIZE_DISPLAY = "Table Statement Cache Size";
+
+  public static final String BULK_LOAD_ENABLED = "bulk.load.enabled";
+  private static final String BULK_LOAD_ENABLED_DEFAULT = "false";
+  private static final String BULK_LOAD_ENABLED_DOC =
+      "Whether to write each batch with the bulk-load mechanism of the database instead of a"
+      + " batch of prepared statements, when the dialect supports it for the insert mode. The"
+      + " PostgreSQL dialect supports ``insert`` mode and, for tables with a primary key,"
+      + " ``upsert`` mode using ``COPY``. In ``upsert`` mode, only the last of several records"
+      + " with the same key in a batch is written.";
+  private static final String BULK_LOAD_ENABLED_DISPLAY = "Bulk Load";
+
+  public static final String INSERT_ROWS_PER_STATEMENT = "insert.rows.per.statement";
+  private static final int INSERT_ROWS_PER_STATEMENT_DEFAULT = 1;
+  private static final String INSERT_ROWS_PER_STATEMENT_DOC =
+      "The maximum number of records written by each statement in ``insert`` and ``upsert`` modes."
+      + " When greater than 1 and supported by the dialect, each batch is written with statements"
+      + " that have a multi-row ``VALUES`` list, which does not rely on the JDBC driver rewriting"
+      + " batches. The number of rows is also limited by the maximum number of statement"
+      + " parameters of the database. In ``upsert`` mode, only the last of several records with"
+      + " the same key in a batch is written.";
+  private static final String INSERT_ROWS_PER_STATEMENT_DISPLAY = "Insert Rows Per Statement";
+
+  public static final String ASYNC_WRITES_ENABLED = "async.writes.enabled";
+  private static final String ASYNC_WRITES_ENABLED_DEFAULT = "false";
+  private static final String ASYNC_WRITES_ENABLED_DOC =
+      "Whether to write the records to the database on a separate thread, so that the task can "
+      + "fetch and convert the next records while the previous ones are written. The offsets of "
+      + "records are only committed after the transaction that wrote them has been committed. "
+      + "Failed writes are retried on the writer thread according to ``max.retries`` and "
+      + "``retry.backoff.ms``. In Connect runtimes older than 3.6, which do not provide the "
+      + "original topics of transformed records, every offset commit waits for all pending "
+      + "batches to be written when transforms rename topics, so asynchronous writes give little "
+      + "benefit with such transforms.";
+  private static final String ASYNC_WRITES_ENABLED_DISPLAY = "Enable Asynchronous Writes";
+
+  public static final String ASYNC_WRITES_QUEUE_SIZE = "async.writes.queue.size";
+  private static final int ASYNC_WRITES_QUEUE_SIZE_DEFAULT = 4;
+  private static final String ASYNC_WRITES_QUEUE_SIZE_DOC =
+      "The maximum number of batches waiting to be written when asynchronous writes are enabled. "
+      + "When the queue is full, the task stops consuming until the writer thread has written "
+      + "a batch.";
+  private static final String ASYNC_WRITES_QUEUE_SIZE_DISPLAY = "Asynchronous Writes Queue Size";
+
+  public static final String TABLE_FLUSH_PARALLELISM = "table.flush.parallelism";
+  private static final int TABLE_FLUSH_PARALLELISM_DEFAULT = 1;
+  private static final String TABLE_FLUSH_PARALLELISM_DOC =
+      "The number of database connections used by each task to write the records of different "
+      + "tables concurrently. Each table is always written on the same connection, so the records "
+      + "of a table are written in order. The tables of each connection are written in one "
+      + "transaction, and the transactions are only committed after all tables of the batch have "
+      + "been written. If committing one of the transactions fails, the records of the tables "
+      + "that were already committed are written again when the batch is retried. The "
+      + "``table.statement.cache.size`` applies to each connection.";
+  private static final String TABLE_FLUSH_PARALLELISM_DISPLAY = "Table Flush Parallelism";
+
   public static final String DELETE_ENABLED = "delete.enabled";
   private static final String DELETE_ENABLED_DEFAULT = "false";
   private static final String DELETE_ENABLED_DOC =
@@ -439,6 +502,76 @@ public class JdbcSinkConfig extends AbstractConfig {
             ConfigDef.Width.MEDIUM,
             TABLE_TYPES_DISPLAY
         )
+        .define(
+            TABLE_STATEMENT_CACHE_SIZE,
+            ConfigDef.Type.INT,
+            TABLE_STATEMENT_CACHE_SIZE_DEFAULT,
+            NON_NEGATIVE_INT_VALIDATOR,
+            ConfigDef.Importance.LOW,
+            TABLE_STATEMENT_CACHE_SIZE_DOC,
+            WRITES_GROUP,
+            5,
+            ConfigDef.Width.SHORT,
+            TABLE_STATEMENT_CACHE_SIZE_DISPLAY
+        )
+        .define(
+            BULK_LOAD_ENABLED,
+            ConfigDef.Type.BOOLEAN,
+            BULK_LOAD_ENABLED_DEFAULT,
+            ConfigDef.Importance.LOW,
+            BULK_LOAD_ENABLED_DOC,
+            WRITES_GROUP,
+            6,
+            ConfigDef.Width.SHORT,
+            BULK_LOAD_ENABLED_DISPLAY
+        )
+        .define(
+            INSERT_ROWS_PER_STATEMENT,
+            ConfigDef.Type.INT,
+            INSERT_ROWS_PER_STATEMENT_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            ConfigDef.Importance.LOW,
+            INSERT_ROWS_PER_STATEMENT_DOC,
+            WRITES_GROUP,
+            7,
+            ConfigDef.Width.SHORT,
+            INSERT_ROWS_PER_STATEMENT_DISPLAY
+        )
+        .define(
+            ASYNC_WRITES_ENABLED,
+            ConfigDef.Type.BOOLEAN,
+            ASYNC_WRITES_ENABLED_DEFAULT,
+            ConfigDef.Importance.LOW,
+            ASYNC_WRITES_ENABLED_DOC,
+            WRITES_GROUP,
+            8,
+            ConfigDef.Width.SHORT,
+            ASYNC_WRITES_ENABLED_DISPLAY
+        )
+        .define(
+            ASYNC_WRITES_QUEUE_SIZE,
+            ConfigDef.Type.INT,
+            ASYNC_WRITES_QUEUE_SIZE_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            ConfigDef.Importance.LOW,
+            ASYNC_WRITES_QUEUE_SIZE_DOC,
+            WRITES_GROUP,
+            9,
+            ConfigDef.Width.SHORT,
+            ASYNC_WRITES_QUEUE_SIZE_DISPLAY
+        )
+        .define(
+            TABLE_FLUSH_PARALLELISM,
+            ConfigDef.Type.INT,
+            TABLE_FLUSH_PARALLELISM_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            ConfigDef.Importance.LOW,
+            TABLE_FLUSH_PARALLELISM_DOC,
+            WRITES_GROUP,
+            10,
+            ConfigDef.Width.SHORT,
+            TABLE_FLUSH_PARALLELISM_DISPLAY
+        )
         // Data Mapping
         .define(
             TABLE_NAME_FORMAT,
@@ -594,6 +727,12 @@ public class JdbcSinkConfig extends AbstractConfig {
   public final long connectionBackoffMs;
   public final String tableNameFormat;
   public final int batchSize;
+  public final int tableStatementCacheSize;
+  public final boolean bulkLoadEnabled;
+  public final int insertRowsPerStatement;
+  public final boolean asyncWritesEnabled;
+  public final int asyncWritesQueueSize;
+  public final int tableFlushParallelism;
   public final boolean deleteEnabled;
   public final int maxRetries;
   public final int retryBackoffMs;
@@ -621,6 +760,12 @@ public class JdbcSinkConfig extends AbstractConfig {
     connectionBackoffMs = getLong(CONNECTION_BACKOFF);
     tableNameFormat = getString(TABLE_NAME_FORMAT).trim();
     batchSize = getInt(BATCH_SIZE);
+    tableStatementCacheSize = getInt(TABLE_STATEMENT_CACHE_SIZE);
+    bulkLoadEnabled = getBoolean(BULK_LOAD_ENABLED);
+    insertRowsPerStatement = getInt(INSERT_ROWS_PER_STATEMENT);
+    asyncWritesEnabled = getBoolean(ASYNC_WRITES_ENABLED);
+    asyncWritesQueueSize = getInt(ASYNC_WRITES_QUEUE_SIZE);
+    tableFlushParallelism = getInt(TABLE_FLUSH_PARALLELISM);
     deleteEnabled = getBoolean(DELETE_ENABLED);
     maxRetries = getInt(MAX_RETRIES);
     retryBackoffMs = getInt(RETRY_BACKOFF_MS);
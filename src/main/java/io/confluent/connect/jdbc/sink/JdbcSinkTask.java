@@ -42,6 +42,7 @@ public class JdbcSinkTask extends SinkTask {
   DatabaseDialect dialect;
   JdbcSinkConfig config;
   JdbcDbWriter writer;
+  PipelinedWriter pipelinedWriter;
   int remainingRetries;
 
   boolean shouldTrimSensitiveLogs;
@@ -59,6 +60,24 @@ public class JdbcSinkTask extends SinkTask {
       // Will occur in Connect runtimes earlier than 2.6
       reporter = null;
     }
+    if (config.asyncWritesEnabled) {
+      String transforms = props.get("transforms");
+      if (transforms != null && !transforms.trim().isEmpty()
+          && !PipelinedWriter.tracksConsumedPartitions()) {
+        log.warn(
+            "This Connect runtime does not provide the original topics of transformed records. "
+            + "If the transforms {} rename topics, every offset commit waits for all pending "
+            + "batches to be written, and asynchronous writes give little benefit.",
+            transforms
+        );
+      }
+      pipelinedWriter = new PipelinedWriter(
+          "jdbc-sink-writer-" + config.connectorName,
+          this::writeWithRetries,
+          config.asyncWritesQueueSize
+      );
+      pipelinedWriter.start();
+    }
   }
 
   void initWriter() {
@@ -86,6 +105,10 @@ public class JdbcSinkTask extends SinkTask {
         + "database...",
         recordsCount, first.topic(), first.kafkaPartition(), first.kafkaOffset()
     );
+    if (pipelinedWriter != null) {
+      pipelinedWriter.submit(records);
+      return;
+    }
     try {
       writer.write(records);
       log.info("Successfully wrote {} records.", recordsCount);
@@ -137,6 +160,49 @@ public class JdbcSinkTask extends SinkTask {
     remainingRetries = config.maxRetries;
   }
 
+  /**
+   * Write the records on the thread of the {@link PipelinedWriter}. Failed writes are retried
+   * after the backoff on this thread, because the records cannot be redelivered to the task
+   * without also redelivering the batches queued after them.
+   */
+  private void writeWithRetries(Collection<SinkRecord> records)
+      throws SQLException, InterruptedException {
+    while (true) {
+      try {
+        writer.write(records);
+        log.info("Successfully wrote {} records.", records.size());
+        remainingRetries = config.maxRetries;
+        return;
+      } catch (TableAlterOrCreateException tace) {
+        if (reporter == null) {
+          throw tace;
+        }
+        unrollAndRetry(records);
+        return;
+      } catch (SQLException sqle) {
+        SQLException sqlAllMessagesException = getAllMessagesException(sqle);
+        if (remainingRetries > 0) {
+          log.warn(
+              "Write of {} records failed, remainingRetries={}",
+              records.size(),
+              remainingRetries,
+              sqlAllMessagesException
+          );
+          writer.closeQuietly();
+          initWriter();
+          remainingRetries--;
+          Thread.sleep(config.retryBackoffMs);
+        } else if (reporter != null) {
+          unrollAndRetry(records);
+          remainingRetries = config.maxRetries;
+          return;
+        } else {
+          throw new ConnectException(sqlAllMessagesException);
+        }
+      }
+    }
+  }
+
   private void unrollAndRetry(Collection<SinkRecord> records) {
     writer.closeQuietly();
     initWriter();
@@ -174,21 +240,33 @@ public class JdbcSinkTask extends SinkTask {
     // Not necessary
   }
 
+  @Override
+  public Map<TopicPartition, OffsetAndMetadata> preCommit(
+      Map<TopicPartition, OffsetAndMetadata> currentOffsets
+  ) {
+    if (pipelinedWriter == null) {
+      return super.preCommit(currentOffsets);
+    }
+    // Only the records whose transaction has been committed are safe to commit
+    return pipelinedWriter.writtenOffsets(currentOffsets);
+  }
+
+  @Override
+  public void close(Collection<TopicPartition> partitions) {
+    if (pipelinedWriter != null) {
+      pipelinedWriter.closePartitions(partitions);
+    }
+  }
+
   public void stop() {
     log.info("Stopping task");
-    try {
-      writer.closeQuietly();
-    } finally {
-      try {
-        if (dialect != null) {
-          dialect.close();
-        }
-      } catch (Throwable t) {
-        log.warn("Error while closing the {} dialect: ", dialect.name(), t);
-      } finally {
-        dialect = null;
-      }
+    if (pipelinedWriter != null) {
+      pipelinedWriter.stop();
+      pipelinedWriter = null;
     }
+    // The writer owns the dialect it was initialized with and closes it
+    writer.closeQuietly();
+    dialect = null;
   }
 
   @Override
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes batches of records on a separate thread, so that the task can fetch and convert the next
+ * batches while the previous ones are written to the database. The batches are written in the
+ * order they were submitted, and the offsets of a batch are only reported as written after the
+ * batch writer returned, which is after the transaction with the records has been committed.
+ *
+ * <p>The queue of pending batches is bounded, and {@link #submit(Collection)} blocks while it is
+ * full. A failure of the writer stops the thread, and is rethrown to the task by the next call to
+ * {@link #submit(Collection)} or {@link #writtenOffsets(Map)}.
+ */
+public class PipelinedWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(PipelinedWriter.class);
+
+  private static final long POLL_INTERVAL_MS = 100L;
+
+  private static final long SHUTDOWN_TIMEOUT_MS = 30000L;
+
+  // The accessors of the topic, partition and offset that records were consumed from before any
+  // transformation changed them, which Connect only provides in version 3.6 and later
+  private static final Method ORIGINAL_TOPIC = sinkRecordMethod("originalTopic");
+  private static final Method ORIGINAL_PARTITION = sinkRecordMethod("originalKafkaPartition");
+  private static final Method ORIGINAL_OFFSET = sinkRecordMethod("originalKafkaOffset");
+
+  /**
+   * Writes a batch of records and commits the transaction.
+   */
+  @FunctionalInterface
+  public interface BatchWriter {
+
+    /**
+     * Write and commit the records.
+     *
+     * @param records the records; never null
+     * @throws Exception if the records could not be written and the writer should fail
+     */
+    void write(Collection<SinkRecord> records) throws Exception;
+  }
+
+  private final BatchWriter batchWriter;
+  private final BlockingQueue<List<SinkRecord>> queue;
+  // The offsets to commit for each partition, which are guarded by this instance
+  private final Map<TopicPartition, OffsetAndMetadata> writtenOffsets = new HashMap<>();
+  private final Thread thread;
+  private volatile boolean running;
+  private volatile Throwable failure;
+  // The number of submitted batches that have not been written, which is guarded by this instance
+  private int pendingBatches;
+
+  /**
+   * Create the writer.
+   *
+   * @param name        the name of the writer thread; may not be null
+   * @param batchWriter the function that writes each batch; may not be null
+   * @param queueSize   the maximum number of batches waiting to be written; must be positive
+   */
+  public PipelinedWriter(String name, BatchWriter batchWriter, int queueSize) {
+    this.batchWriter = batchWriter;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.thread = new Thread(this::run, name);
+    this.thread.setDaemon(true);
+  }
+
+  public void start() {
+    running = true;
+    thread.start();
+  }
+
+  /**
+   * Add the records to the end of the queue, waiting while the queue is full.
+   *
+   * @param records the records; may not be null
+   * @throws ConnectException if the writer failed or was interrupted
+   */
+  public void submit(Collection<SinkRecord> records) {
+    List<SinkRecord> batch = new ArrayList<>(records);
+    synchronized (this) {
+      ++pendingBatches;
+    }
+    try {
+      while (!queue.offer(batch, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+        checkFailure();
+        if (!running) {
+          throw new ConnectException("The writer has been stopped");
+        }
+      }
+    } catch (InterruptedException e) {
+      batchDone();
+      Thread.currentThread().interrupt();
+      throw new ConnectException("Interrupted while waiting to submit records", e);
+    } catch (RuntimeException e) {
+      batchDone();
+      throw e;
+    }
+    checkFailure();
+  }
+
+  /**
+   * Get the offsets to commit for the consumed partitions, which only cover the records whose
+   * transaction has been committed.
+   *
+   * <p>The written offsets are tracked by the partitions that the records were consumed from. In
+   * Connect runtimes older than 3.6, which do not provide them, the offsets are tracked by the
+   * topics of the records, which transformations like RegexRouter may have changed to topics that
+   * are not consumed. When the written offsets include such a topic, this waits until all
+   * submitted batches have been written, so that every consumed record has been written and the
+   * current offsets can be committed.
+   *
+   * @param currentOffsets the offsets of the records consumed by the task; may not be null
+   * @return the offsets of the partitions that have written records; never null
+   * @throws ConnectException if the writer failed or was interrupted
+   */
+  public Map<TopicPartition, OffsetAndMetadata> writtenOffsets(
+      Map<TopicPartition, OffsetAndMetadata> currentOffsets
+  ) {
+    checkFailure();
+    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    synchronized (this) {
+      if (!currentOffsets.keySet().containsAll(writtenOffsets.keySet())) {
+        log.debug("Waiting for records of transformed topics to be written before committing");
+        awaitPendingBatches();
+        if (pendingBatches == 0) {
+          // The offsets of the other topics are only useful to detect the transformed topics
+          writtenOffsets.keySet().retainAll(currentOffsets.keySet());
+          offsets.putAll(currentOffsets);
+          return offsets;
+        }
+      }
+      for (TopicPartition partition : currentOffsets.keySet()) {
+        OffsetAndMetadata offset = writtenOffsets.get(partition);
+        if (offset != null) {
+          offsets.put(partition, offset);
+        }
+      }
+    }
+    return offsets;
+  }
+
+  /**
+   * Wait until all submitted batches have been written, and then forget the offsets of the
+   * given partitions, which are no longer assigned to the task.
+   *
+   * @param partitions the partitions; may not be null
+   * @throws ConnectException if the writer failed or was interrupted
+   */
+  public void closePartitions(Collection<TopicPartition> partitions) {
+    synchronized (this) {
+      awaitPendingBatches();
+      writtenOffsets.keySet().removeAll(partitions);
+    }
+    checkFailure();
+  }
+
+  /**
+   * Wait until all submitted batches have been written or the writer stopped. The caller must
+   * hold the lock of this instance.
+   *
+   * @throws ConnectException if the writer failed or was interrupted
+   */
+  private void awaitPendingBatches() {
+    try {
+      while (pendingBatches > 0 && running) {
+        wait(POLL_INTERVAL_MS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectException("Interrupted while waiting for records to be written", e);
+    }
+    checkFailure();
+  }
+
+  /**
+   * Stop the writer thread. The thread is interrupted, so that it does not keep waiting to retry
+   * the batch being written, and the batches that are still queued are discarded; their offsets
+   * have not been reported and the records will be consumed again.
+   */
+  public void stop() {
+    running = false;
+    thread.interrupt();
+    try {
+      thread.join(SHUTDOWN_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (thread.isAlive()) {
+      log.warn("The writer thread {} did not stop within {} ms", thread.getName(),
+          SHUTDOWN_TIMEOUT_MS);
+    }
+    int discarded = queue.size();
+    queue.clear();
+    if (discarded > 0) {
+      log.info("Discarded {} batches of records that were not written", discarded);
+    }
+  }
+
+  private void run() {
+    while (running) {
+      List<SinkRecord> batch;
+      try {
+        batch = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        break;
+      }
+      if (batch == null) {
+        continue;
+      }
+      try {
+        batchWriter.write(batch);
+      } catch (Throwable t) {
+        if (!running) {
+          // The writer was stopped, which may have interrupted the write
+          log.info("Discarded {} records whose write was stopped", batch.size(), t);
+          batchDone();
+          break;
+        }
+        log.error("Failed to write {} records, stopping the writer", batch.size(), t);
+        failure = t;
+        running = false;
+        batchDone();
+        break;
+      }
+      synchronized (this) {
+        for (SinkRecord record : batch) {
+          recordWritten(record);
+        }
+      }
+      batchDone();
+    }
+  }
+
+  private void recordWritten(SinkRecord record) {
+    TopicPartition partition;
+    long kafkaOffset;
+    if (tracksConsumedPartitions()) {
+      try {
+        partition = new TopicPartition(
+            (String) ORIGINAL_TOPIC.invoke(record),
+            (Integer) ORIGINAL_PARTITION.invoke(record)
+        );
+        kafkaOffset = (Long) ORIGINAL_OFFSET.invoke(record);
+      } catch (ReflectiveOperationException e) {
+        throw new ConnectException("Unable to get the consumed partition of a record", e);
+      }
+    } else {
+      partition = new TopicPartition(record.topic(), record.kafkaPartition());
+      kafkaOffset = record.kafkaOffset();
+    }
+    OffsetAndMetadata offset = writtenOffsets.get(partition);
+    if (offset == null || offset.offset() <= kafkaOffset) {
+      writtenOffsets.put(partition, new OffsetAndMetadata(kafkaOffset + 1));
+    }
+  }
+
+  /**
+   * Determine whether the written offsets are tracked by the partitions that the records were
+   * consumed from, which the Connect runtime only provides in version 3.6 and later. Otherwise
+   * offsets of records whose topics were renamed by transformations can only be committed once
+   * all pending batches have been written.
+   *
+   * @return true if the consumed partitions are tracked, or false otherwise
+   */
+  public static boolean tracksConsumedPartitions() {
+    return ORIGINAL_TOPIC != null && ORIGINAL_PARTITION != null && ORIGINAL_OFFSET != null;
+  }
+
+  private static Method sinkRecordMethod(String name) {
+    try {
+      return SinkRecord.class.getMethod(name);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  private synchronized void batchDone() {
+    --pendingBatches;
+    notifyAll();
+  }
+
+  private void checkFailure() {
+    Throwable t = failure;
+    if (t instanceof ConnectException) {
+      throw (ConnectException) t;
+    } else if (t != null) {
+      throw new ConnectException("Failed to write records to the database", t);
+    }
+  }
+}
@@ -83,6 +83,12 @@ public class PreparedStatementBinder implements StatementBinder {
 
   @Override
   public void bindRecord(SinkRecord record) throws SQLException {
+    bindRecord(record, 1);
+    addBatch();
+  }
+
+  @Override
+  public int bindRecord(SinkRecord record, int index) throws SQLException {
     final Struct valueStruct = (Struct) record.value();
     final boolean isDelete = isNull(valueStruct);
     // Assumption: the relevant SQL has placeholders for keyFieldNames first followed by
@@ -92,26 +98,29 @@ public class PreparedStatementBinder implements StatementBinder {
     //             the relevant SQL has placeholders for nonKeyFieldNames first followed by
     //             keyFieldNames, in iteration order for all UPDATE queries
 
-    int index = 1;
     if (isDelete) {
-      bindKeyFields(record, index);
+      index = bindKeyFields(record, index);
     } else {
       switch (insertMode) {
         case INSERT:
         case UPSERT:
           index = bindKeyFields(record, index);
-          bindNonKeyFields(record, valueStruct, index);
+          index = bindNonKeyFields(record, valueStruct, index);
           break;
 
         case UPDATE:
           index = bindNonKeyFields(record, valueStruct, index);
-          bindKeyFields(record, index);
+          index = bindKeyFields(record, index);
           break;
         default:
           throw new AssertionError();
 
       }
     }
+    return index;
+  }
+
+  protected void addBatch() throws SQLException {
     statement.addBatch();
   }
 
@@ -17,28 +17,68 @@ package io.confluent.connect.jdbc.source;
 
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.ConnectException;
-import org.apache.kafka.connect.errors.DataException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
-import io.confluent.connect.jdbc.source.SchemaMapping.FieldSetter;
+import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 
 /**
  * BulkTableQuerier always returns the entire table.
+ *
+ * <p>When a chunk size is configured, the table is read as a series of queries over consecutive,
+ * inclusive ranges of an integer chunk column, each in its own short read transaction. The bounds
+ * of the snapshot are fixed by the minimum and maximum values of the column when the snapshot
+ * starts. Every record carries the start of the range it was read from as its source offset, so a
+ * restarted task resumes the snapshot with the first range that may not have been fully delivered.
+ * The rows are read one row ahead, so that the last record of a snapshot is marked as completing
+ * the snapshot, and a task restarted after that record starts a new snapshot instead.
+ *
+ * <p>When unchanged tables are skipped, the change token of the table is read from the dialect
+ * before each snapshot, and the snapshot is skipped if the token is the same as before the last
+ * completed snapshot.
  */
 public class BulkTableQuerier extends TableQuerier {
   private static final Logger log = LoggerFactory.getLogger(BulkTableQuerier.class);
 
+  static final String CHUNK_START_FIELD = "chunk_start";
+  static final String SNAPSHOT_END_FIELD = "snapshot_end";
+  static final String SNAPSHOT_COMPLETE_FIELD = "snapshot_complete";
+
+  private final String chunkColumnName;
+  private final long chunkSize;
+  private ColumnId chunkColumn;
+
+  // The inclusive upper bound of the running snapshot, or null when no snapshot is in progress
+  private Long snapshotEnd;
+  // The inclusive bounds of the chunk currently being read
+  private long chunkStart;
+  private long chunkEnd;
+  // In chunked mode, the current row and the row read ahead of it, with their source offsets
+  private Struct row;
+  private Map<String, Object> rowOffset;
+  private Struct nextRow;
+  private Map<String, Object> nextRowOffset;
+
+  private boolean skipUnchanged;
+  // The change token read before the last completed snapshot, or null if it is not known
+  private String lastChangeToken;
+  // The change token read before the running snapshot
+  private String snapshotChangeToken;
+  // Whether the current query was skipped because the table did not change
+  private boolean skipped;
+
   public BulkTableQuerier(
       DatabaseDialect dialect,
       QueryMode mode,
@@ -46,7 +86,91 @@ public class BulkTableQuerier extends TableQuerier {
       String topicPrefix,
       String suffix
   ) {
-    super(dialect, mode, name, topicPrefix, suffix);
+    this(dialect, mode, name, topicPrefix, suffix, "", 0L, null);
+  }
+
+  public BulkTableQuerier(
+      DatabaseDialect dialect,
+      QueryMode mode,
+      String name,
+      String topicPrefix,
+      String suffix,
+      String chunkColumnName,
+      long chunkSize,
+      Map<String, Object> offsetMap
+  ) {
+    this(dialect, mode, name, topicPrefix, suffix, chunkColumnName, chunkSize, offsetMap, null);
+  }
+
+  public BulkTableQuerier(
+      DatabaseDialect dialect,
+      QueryMode mode,
+      String name,
+      String topicPrefix,
+      String suffix,
+      String chunkColumnName,
+      long chunkSize,
+      Map<String, Object> offsetMap,
+      TableSlice slice
+  ) {
+    super(dialect, mode, name, topicPrefix, suffix, slice);
+    this.chunkColumnName = chunkColumnName != null ? chunkColumnName : "";
+    if (chunkSize > 0 && mode != QueryMode.TABLE) {
+      log.warn("Chunked bulk snapshots are only supported in table mode; reading {} in one query",
+          this);
+    }
+    this.chunkSize = mode == QueryMode.TABLE ? chunkSize : 0L;
+    if (chunked() && offsetMap != null && offsetMap.get(SNAPSHOT_END_FIELD) != null) {
+      if (Boolean.TRUE.equals(offsetMap.get(SNAPSHOT_COMPLETE_FIELD))) {
+        log.info("The last snapshot of {} was completed; starting a new snapshot", tableId);
+      } else {
+        this.snapshotEnd = ((Number) offsetMap.get(SNAPSHOT_END_FIELD)).longValue();
+        this.chunkStart = ((Number) offsetMap.get(CHUNK_START_FIELD)).longValue();
+        log.info("Resuming snapshot of {} at chunk starting with {}", tableId, chunkStart);
+      }
+    }
+  }
+
+  private boolean chunked() {
+    return chunkSize > 0;
+  }
+
+  /**
+   * Skip reading the table when its change token shows that it did not change since it was last
+   * read completely. Only supported in table mode.
+   *
+   * @param skipUnchanged whether to skip unchanged tables
+   */
+  public void setSkipUnchanged(boolean skipUnchanged) {
+    this.skipUnchanged = skipUnchanged && mode == QueryMode.TABLE;
+  }
+
+  @Override
+  public void maybeStartQuery(Connection db) throws SQLException {
+    if (!querying() && skipUnchanged && snapshotEnd == null) {
+      String token = readChangeToken(db);
+      if (token != null && token.equals(lastChangeToken)) {
+        log.debug("Skipping {}, which did not change since it was last read", tableId);
+        // Keep the connection, so that the read transaction ends when this querier is reset
+        this.db = db;
+        skipped = true;
+        return;
+      }
+      snapshotChangeToken = token;
+    }
+    super.maybeStartQuery(db);
+  }
+
+  private String readChangeToken(Connection db) throws SQLException {
+    try {
+      return dialect.tableChangeToken(db, tableId);
+    } catch (SQLException e) {
+      log.warn("Unable to detect changes to {}, which will be read every time", tableId, e);
+      skipUnchanged = false;
+      // Some databases do not run more statements in a transaction with a failed statement
+      db.rollback();
+      return null;
+    }
   }
 
   @Override
@@ -54,7 +178,28 @@ public class BulkTableQuerier extends TableQuerier {
     ExpressionBuilder builder = dialect.expressionBuilder();  
     switch (mode) {
       case TABLE:
-        builder.append("SELECT * FROM ").append(tableId);
+        if (chunked()) {
+          chunkColumn = findChunkColumn(db);
+        }
+        ColumnId sliceColumn = slice != null ? findSliceColumn(db, chunkColumn) : null;
+        builder.append("SELECT ");
+        appendSelectedColumns(builder, db, chunkColumn, sliceColumn);
+        builder.append(" FROM ").append(tableId);
+        ExpressionBuilder condition = dialect.expressionBuilder();
+        if (slice != null) {
+          appendSliceCondition(condition, sliceColumn);
+        }
+        if (chunked()) {
+          condition.append(slice != null ? " AND " : "")
+                   .append(chunkColumn)
+                   .append(" >= ? AND ")
+                   .append(chunkColumn)
+                   .append(" <= ?");
+        }
+        String where = withFilter(condition.toString());
+        if (where != null) {
+          builder.append(" WHERE ").append(where);
+        }
 
         break;
       case QUERY:
@@ -74,44 +219,161 @@ public class BulkTableQuerier extends TableQuerier {
     stmt = dialect.createPreparedStatement(db, queryStr);
   }
 
+  private ColumnId findChunkColumn(Connection db) throws SQLException {
+    if (!chunkColumnName.isEmpty()) {
+      return new ColumnId(tableId, chunkColumnName);
+    }
+    List<ColumnId> pkColumns = primaryKeyColumns(db);
+    if (pkColumns.size() != 1) {
+      throw new ConnectException(
+          "Chunked bulk snapshots of " + tableId + " require either a single-column primary key "
+          + "or the '" + JdbcSourceConnectorConfig.BULK_CHUNK_COLUMN_CONFIG + "' property, but "
+          + "the primary key has " + pkColumns.size() + " columns"
+      );
+    }
+    return new ColumnId(tableId, pkColumns.get(0).name());
+  }
+
   @Override
   protected ResultSet executeQuery() throws SQLException {
+    if (chunked()) {
+      if (snapshotEnd == null) {
+        startSnapshot();
+      }
+      // Compare the remaining width as unsigned so that very wide key ranges cannot overflow
+      chunkEnd = chunkStart > snapshotEnd
+                 || Long.compareUnsigned(snapshotEnd - chunkStart, chunkSize) < 0
+                 ? snapshotEnd : chunkStart + chunkSize - 1;
+      log.debug("Reading chunk [{}, {}] of {}", chunkStart, chunkEnd, tableId);
+      stmt.setLong(1, chunkStart);
+      stmt.setLong(2, chunkEnd);
+    }
     return stmt.executeQuery();
   }
 
+  private void startSnapshot() throws SQLException {
+    ExpressionBuilder builder = dialect.expressionBuilder();
+    builder.append("SELECT MIN(")
+           .append(chunkColumn)
+           .append("), MAX(")
+           .append(chunkColumn)
+           .append(") FROM ")
+           .append(tableId);
+    String boundsQuery = builder.toString();
+    log.trace("{} determining snapshot bounds with SQL query: {}", this, boundsQuery);
+    try (PreparedStatement boundsStmt = dialect.createPreparedStatement(db, boundsQuery);
+         ResultSet rs = boundsStmt.executeQuery()) {
+      rs.next();
+      long min = rs.getLong(1);
+      if (rs.wasNull()) {
+        // The table is empty, so use an empty range
+        chunkStart = 1L;
+        snapshotEnd = 0L;
+      } else {
+        chunkStart = min;
+        snapshotEnd = rs.getLong(2);
+      }
+    }
+    log.info("Starting snapshot of {} over keys [{}, {}] in chunks of {}",
+        tableId, chunkStart, snapshotEnd, chunkSize);
+  }
+
   @Override
-  public SourceRecord extractRecord() throws SQLException {
-    Struct record = new Struct(schemaMapping.schema());
-    for (FieldSetter setter : schemaMapping.fieldSetters()) {
-      try {
-        setter.setField(record, resultSet);
-      } catch (IOException e) {
-        log.warn("Error mapping fields into Connect record", e);
-        throw new ConnectException(e);
-      } catch (SQLException e) {
-        log.warn("SQL error mapping fields into Connect record", e);
-        throw new DataException(e);
+  public boolean next() throws SQLException {
+    if (skipped) {
+      return false;
+    }
+    if (!chunked()) {
+      return super.next();
+    }
+    if (nextRow == null) {
+      if (snapshotEnd == null || !advance()) {
+        return false;
+      }
+      readAhead();
+    }
+    row = nextRow;
+    rowOffset = nextRowOffset;
+    nextRow = null;
+    nextRowOffset = null;
+    if (advance()) {
+      readAhead();
+    } else {
+      // A task restarted after this record must not resume the completed snapshot
+      rowOffset.put(SNAPSHOT_COMPLETE_FIELD, true);
+    }
+    return true;
+  }
+
+  private boolean advance() throws SQLException {
+    while (!resultSet.next()) {
+      if (!nextChunk()) {
+        return false;
       }
     }
+    return true;
+  }
+
+  private void readAhead() {
+    nextRow = extractStruct();
+    nextRowOffset = new HashMap<>();
+    nextRowOffset.put(CHUNK_START_FIELD, chunkStart);
+    nextRowOffset.put(SNAPSHOT_END_FIELD, snapshotEnd);
+  }
+
+  private boolean nextChunk() throws SQLException {
+    if (chunkEnd >= snapshotEnd) {
+      log.info("Completed snapshot of {}", tableId);
+      snapshotEnd = null;
+      return false;
+    }
+    resultSet.close();
+    // End the read transaction of the completed chunk so no chunk holds locks for long
+    db.commit();
+    chunkStart = chunkEnd + 1;
+    resultSet = executeQuery();
+    return true;
+  }
+
+  @Override
+  public SourceRecord extractRecord() throws SQLException {
+    Struct record = chunked() ? row : extractStruct();
     // TODO: key from primary key? partition?
     final String topic;
     final Map<String, String> partition;
     switch (mode) {
       case TABLE:
         String name = tableId.tableName(); // backwards compatible
-        partition = Collections.singletonMap(JdbcSourceConnectorConstants.TABLE_NAME_KEY, name);
+        partition = slice != null
+                    ? OffsetProtocols.sourcePartitionForSlice(tableId, slice)
+                    : Collections.singletonMap(JdbcSourceConnectorConstants.TABLE_NAME_KEY, name);
         topic = topicPrefix + name;
         break;
       case QUERY:
-        partition = Collections.singletonMap(JdbcSourceConnectorConstants.QUERY_NAME_KEY,
-                                             JdbcSourceConnectorConstants.QUERY_NAME_VALUE
-        );
+        partition = queryPartition();
         topic = topicPrefix;
         break;
       default:
         throw new ConnectException("Unexpected query mode: " + mode);
     }
-    return new SourceRecord(partition, null, topic, record.schema(), record);
+    Map<String, Object> offset = chunked() ? rowOffset : null;
+    return new SourceRecord(partition, offset, topic, record.schema(), record);
+  }
+
+  @Override
+  public void reset(long now, boolean resetOffset) {
+    if (!skipped && !resetOffset && snapshotEnd == null) {
+      // The table was read completely since the token was read
+      lastChangeToken = snapshotChangeToken;
+    }
+    skipped = false;
+    snapshotChangeToken = null;
+    // A row read ahead is read again, since an interrupted snapshot resumes at its current chunk
+    row = null;
+    rowOffset = null;
+    nextRow = null;
+    nextRowOffset = null;
+    super.reset(now, resetOffset);
   }
 
   @Override
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect.ChangeListener;
+
+/**
+ * A thread that listens on a dedicated connection for the notifications that the database sends
+ * when tables change, and wakes up the queriers of those tables.
+ *
+ * <p>When the connection fails, the listener reconnects after the connection backoff. Since
+ * notifications may have been missed in the meantime, all queriers are woken up after every
+ * reconnect.
+ */
+class ChangeNotificationListener {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangeNotificationListener.class);
+
+  // Upper bound on how long the listener waits for notifications before re-checking the stop flag
+  private static final long AWAIT_TIMEOUT_MS = 500L;
+
+  private static final long SHUTDOWN_TIMEOUT_MS = 5000L;
+
+  private final DatabaseDialect dialect;
+  private final String channel;
+  private final long retryBackoffMs;
+  private final QuerierWakeups wakeups;
+  private final CountDownLatch stopped = new CountDownLatch(1);
+  private Thread thread;
+
+  /**
+   * Create a listener.
+   *
+   * @param dialect        the dialect used to connect and to listen; may not be null
+   * @param channel        the name of the notification channel; may not be null or empty
+   * @param retryBackoffMs the time to wait before reconnecting after an error
+   * @param wakeups        the wakeups of the task's queriers; may not be null
+   */
+  ChangeNotificationListener(
+      DatabaseDialect dialect,
+      String channel,
+      long retryBackoffMs,
+      QuerierWakeups wakeups
+  ) {
+    this.dialect = dialect;
+    this.channel = channel;
+    this.retryBackoffMs = retryBackoffMs;
+    this.wakeups = wakeups;
+  }
+
+  public synchronized void start() {
+    if (thread != null) {
+      return;
+    }
+    thread = new Thread(this::run, "jdbc-source-notifications-" + channel);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Stop listening and wait for the thread to close its connection.
+   */
+  public synchronized void stop() {
+    stopped.countDown();
+    if (thread == null) {
+      return;
+    }
+    try {
+      thread.join(SHUTDOWN_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    thread = null;
+  }
+
+  private boolean running() {
+    return stopped.getCount() > 0;
+  }
+
+  private void run() {
+    boolean reconnect = false;
+    while (running()) {
+      ChangeListener listener = null;
+      try {
+        listener = listen();
+        if (listener == null) {
+          log.warn(
+              "The {} dialect does not support change notifications; tables are only polled",
+              dialect.name()
+          );
+          return;
+        }
+        log.info("Listening for change notifications on channel {}", channel);
+        if (reconnect) {
+          wakeups.wakeUpAll();
+        }
+        while (running()) {
+          Set<String> tables = listener.awaitChanges(AWAIT_TIMEOUT_MS);
+          if (!tables.isEmpty()) {
+            wakeups.wakeUp(tables);
+          }
+        }
+      } catch (SQLException e) {
+        log.warn(
+            "Error while listening for change notifications on channel {}; reconnecting in {} ms",
+            channel,
+            retryBackoffMs,
+            e
+        );
+        reconnect = true;
+        try {
+          stopped.await(retryBackoffMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+          return;
+        }
+      } finally {
+        closeQuietly(listener);
+      }
+    }
+  }
+
+  private ChangeListener listen() throws SQLException {
+    Connection connection = dialect.getConnection();
+    ChangeListener listener = null;
+    try {
+      listener = dialect.changeListener(connection, channel);
+      return listener;
+    } finally {
+      if (listener == null) {
+        connection.close();
+      }
+    }
+  }
+
+  private void closeQuietly(ChangeListener listener) {
+    if (listener != null) {
+      try {
+        listener.close();
+      } catch (Throwable t) {
+        log.warn("Error while closing the change notification listener", t);
+      }
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.errors.ConnectException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.ConfigUtils;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * The columns selected from one table, given by the columns to include and the columns to exclude.
+ * Column names are matched case-insensitively. The columns needed to track offsets or to slice
+ * the table are always selected, even if they are not included or are excluded.
+ */
+public final class ColumnProjection {
+
+  private static final String LIST_FORMAT = "<table>=<column>;<column>...";
+
+  private final Set<String> included;
+  private final Set<String> excluded;
+
+  /**
+   * Create a projection.
+   *
+   * @param included the names of the columns to include, or an empty collection to include all
+   *                 columns; may not be null
+   * @param excluded the names of the columns to exclude; may not be null
+   */
+  public ColumnProjection(Collection<String> included, Collection<String> excluded) {
+    this.included = normalize(included);
+    this.excluded = normalize(excluded);
+  }
+
+  /**
+   * Select the columns of a table.
+   *
+   * @param tableId  the table; may not be null
+   * @param columns  the definitions of the table's columns, in the order of the table; may not
+   *                 be null
+   * @param required the columns that must be selected; may not be null but may contain nulls
+   * @return the selected columns in the order of the table; never null or empty
+   * @throws ConnectException if an included column does not exist or if no column is selected
+   */
+  public List<ColumnId> resolve(
+      TableId tableId,
+      Collection<ColumnDefinition> columns,
+      Collection<ColumnId> required
+  ) {
+    Set<String> requiredNames = new HashSet<>();
+    for (ColumnId column : required) {
+      if (column != null) {
+        requiredNames.add(normalize(column.name()));
+      }
+    }
+    Set<String> missing = new LinkedHashSet<>(included);
+    List<ColumnId> selected = new ArrayList<>();
+    for (ColumnDefinition defn : columns) {
+      String name = normalize(defn.id().name());
+      missing.remove(name);
+      if (requiredNames.contains(name)
+          || ((included.isEmpty() || included.contains(name)) && !excluded.contains(name))) {
+        selected.add(defn.id());
+      }
+    }
+    if (!missing.isEmpty()) {
+      throw new ConnectException(
+          "The columns " + missing + " included for " + tableId + " do not exist in the table"
+      );
+    }
+    if (selected.isEmpty()) {
+      throw new ConnectException("No columns of " + tableId + " are included");
+    }
+    return selected;
+  }
+
+  /**
+   * Build the projections of the tables from the per-table lists of columns to include and to
+   * exclude.
+   *
+   * @param includes the lists of columns to include, of the form
+   *                 {@code <table>=<column>;<column>...}; may not be null
+   * @param excludes the lists of columns to exclude, of the same form; may not be null
+   * @return the projections keyed by table name; never null
+   * @throws ConfigException if a list is not valid
+   */
+  public static Map<String, ColumnProjection> parse(List<String> includes, List<String> excludes) {
+    Map<String, List<String>> included = parseColumnLists(
+        JdbcSourceConnectorConfig.TABLE_COLUMNS_INCLUDE_CONFIG,
+        includes
+    );
+    Map<String, List<String>> excluded = parseColumnLists(
+        JdbcSourceConnectorConfig.TABLE_COLUMNS_EXCLUDE_CONFIG,
+        excludes
+    );
+    Set<String> tables = new HashSet<>(included.keySet());
+    tables.addAll(excluded.keySet());
+    Map<String, ColumnProjection> projections = new HashMap<>();
+    for (String table : tables) {
+      projections.put(
+          table,
+          new ColumnProjection(
+              included.getOrDefault(table, Collections.emptyList()),
+              excluded.getOrDefault(table, Collections.emptyList())
+          )
+      );
+    }
+    return projections;
+  }
+
+  /**
+   * Parse the per-table column lists of the form {@code <table>=<column>;<column>...}.
+   *
+   * @param name  the name of the configuration property, for errors; may not be null
+   * @param lists the column lists; may not be null
+   * @return the column names keyed by table name; never null
+   * @throws ConfigException if a list is not valid
+   */
+  public static Map<String, List<String>> parseColumnLists(String name, List<String> lists) {
+    Map<String, List<String>> columnsByTable = new HashMap<>();
+    Map<String, String> values = ConfigUtils.parseTableValues(name, lists, LIST_FORMAT);
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      List<String> columns = new ArrayList<>();
+      for (String column : entry.getValue().split(";")) {
+        if (column.trim().isEmpty()) {
+          throw new ConfigException(
+              name,
+              entry.getKey() + "=" + entry.getValue(),
+              "Column names may not be empty"
+          );
+        }
+        columns.add(column.trim());
+      }
+      columnsByTable.put(entry.getKey(), columns);
+    }
+    return columnsByTable;
+  }
+
+  private static Set<String> normalize(Collection<String> names) {
+    Set<String> normalized = new HashSet<>();
+    for (String name : names) {
+      normalized.add(normalize(name));
+    }
+    return normalized;
+  }
+
+  private static String normalize(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnProjection{included=" + included + ", excluded=" + excluded + '}';
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+
+/**
+ * An estimate of the current time of the database that is shared by the queriers of a task, so
+ * that not every query with timestamp criteria needs a separate query of the database time.
+ *
+ * <p>The database time is queried at most once per sync interval. In between, the time is
+ * estimated by adding the monotonic time elapsed since the end of the last sync to the time
+ * returned by the database. The database returned its time before the sync ended, so the estimate
+ * never runs ahead of the database because of the round trip. The estimate is reduced by the
+ * maximum drift, which covers the clocks running at slightly different rates until the next
+ * sync.
+ */
+public class DatabaseClock {
+
+  private static final Logger log = LoggerFactory.getLogger(DatabaseClock.class);
+
+  private final DatabaseDialect dialect;
+  private final Time time;
+  private final long syncIntervalNanos;
+  private final long maxDriftMs;
+
+  // The database time of the last sync, and the monotonic time when the sync completed
+  private long syncedDbTimeMs;
+  private long syncedNanos;
+  private boolean synced;
+
+  /**
+   * Create a clock.
+   *
+   * @param dialect        the dialect used to query the database time; may not be null
+   * @param time           the source of the monotonic time; may not be null
+   * @param syncIntervalMs the interval between queries of the database time; must be positive
+   * @param maxDriftMs     the margin by which the estimate is reduced; may not be negative
+   */
+  public DatabaseClock(
+      DatabaseDialect dialect,
+      Time time,
+      long syncIntervalMs,
+      long maxDriftMs
+  ) {
+    this.dialect = dialect;
+    this.time = time;
+    this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMs);
+    this.maxDriftMs = maxDriftMs;
+  }
+
+  /**
+   * Get the estimated current time of the database, querying the database if the last sync is
+   * older than the sync interval.
+   *
+   * @param connection the connection used to query the database time; may not be null
+   * @param cal        the calendar used to read the database time; may not be null
+   * @return the estimated time; never null
+   * @throws SQLException if the database time could not be queried
+   */
+  public synchronized Timestamp currentTimeOnDB(
+      Connection connection,
+      Calendar cal
+  ) throws SQLException {
+    long now = time.nanoseconds();
+    if (!synced || now - syncedNanos >= syncIntervalNanos) {
+      long dbTimeMs = dialect.currentTimeOnDB(connection, cal).getTime();
+      long completedNanos = time.nanoseconds();
+      if (synced) {
+        // The database time was read after the query started, so it cannot be earlier than the
+        // estimate for the start of the query unless the clocks drifted apart
+        long driftMs = estimate(now) + maxDriftMs - dbTimeMs;
+        if (driftMs > maxDriftMs) {
+          log.warn(
+              "The estimated database time was {} ms ahead of the database, which is more than "
+              + "the maximum drift of {} ms",
+              driftMs,
+              maxDriftMs
+          );
+        }
+      }
+      syncedDbTimeMs = dbTimeMs;
+      syncedNanos = completedNanos;
+      synced = true;
+      now = completedNanos;
+    }
+    return new Timestamp(estimate(now));
+  }
+
+  private long estimate(long nanos) {
+    return syncedDbTimeMs + TimeUnit.NANOSECONDS.toMillis(nanos - syncedNanos) - maxDriftMs;
+  }
+}
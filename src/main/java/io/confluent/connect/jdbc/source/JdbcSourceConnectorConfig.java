@@ -105,6 +105,24 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
   public static final int POLL_INTERVAL_MS_DEFAULT = 5000;
   private static final String POLL_INTERVAL_MS_DISPLAY = "Poll Interval (ms)";
 
+  public static final String POLL_INTERVAL_MAX_MS_CONFIG = "poll.interval.max.ms";
+  private static final String POLL_INTERVAL_MAX_MS_DOC =
+      "The maximum interval in ms between the queries of a table that keeps returning no rows. "
+      + "After every query without rows, the interval of the table is doubled up to this maximum, "
+      + "and it goes back to ``" + POLL_INTERVAL_MS_CONFIG + "`` as soon as a query returns rows. "
+      + "The default of 0 polls every table at ``" + POLL_INTERVAL_MS_CONFIG + "``.";
+  public static final long POLL_INTERVAL_MAX_MS_DEFAULT = 0L;
+  private static final String POLL_INTERVAL_MAX_MS_DISPLAY = "Maximum Poll Interval (ms)";
+
+  public static final String POLL_INTERVAL_OVERRIDES_CONFIG = "poll.interval.overrides";
+  private static final String POLL_INTERVAL_OVERRIDES_DOC =
+      "List of per-table minimum and maximum poll intervals of the form "
+      + "``<table>=<min ms>:<max ms>``, which replace ``" + POLL_INTERVAL_MS_CONFIG + "`` and ``"
+      + POLL_INTERVAL_MAX_MS_CONFIG + "`` for the table. The table is either the unqualified "
+      + "name of the table or the name as it appears in the list of tables.";
+  public static final String POLL_INTERVAL_OVERRIDES_DEFAULT = "";
+  private static final String POLL_INTERVAL_OVERRIDES_DISPLAY = "Poll Interval Overrides";
+
   public static final String BATCH_MAX_ROWS_CONFIG = "batch.max.rows";
   private static final String BATCH_MAX_ROWS_DOC =
       "Maximum number of rows to include in a single batch when polling for new data. This "
@@ -112,6 +130,18 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
   public static final int BATCH_MAX_ROWS_DEFAULT = 100;
   private static final String BATCH_MAX_ROWS_DISPLAY = "Max Rows Per Batch";
 
+  public static final String BATCH_MAX_BYTES_CONFIG = "batch.max.bytes";
+  private static final String BATCH_MAX_BYTES_DOC =
+      "Maximum estimated size in bytes of the rows in a single batch when polling for new data. "
+      + "A batch always contains at least one row. The fetch size of each table is also adapted "
+      + "to the average size of its rows, so that each round trip to the database fetches "
+      + "about this many bytes but never more than ``" + BATCH_MAX_ROWS_CONFIG + "`` rows. "
+      + "Raise ``" + BATCH_MAX_ROWS_CONFIG + "`` along with this setting to fetch small rows in "
+      + "larger round trips. The default of 0 limits batches only by ``" + BATCH_MAX_ROWS_CONFIG
+      + "``.";
+  public static final long BATCH_MAX_BYTES_DEFAULT = 0L;
+  private static final String BATCH_MAX_BYTES_DISPLAY = "Max Bytes Per Batch";
+
   public static final String NUMERIC_PRECISION_MAPPING_CONFIG = "numeric.precision.mapping";
   private static final String NUMERIC_PRECISION_MAPPING_DOC =
       "Whether or not to attempt mapping NUMERIC values by precision to integral types. This "
@@ -149,6 +179,37 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
   private static final EnumRecommender NUMERIC_MAPPING_RECOMMENDER =
       EnumRecommender.in(NumericMapping.values());
 
+  public static final String LOB_MAX_BYTES_CONFIG = "lob.max.bytes";
+  private static final String LOB_MAX_BYTES_DOC =
+      "The maximum size of a single BLOB, CLOB, NCLOB, LONGVARBINARY, LONGVARCHAR or "
+      + "LONGNVARCHAR value that is read into a record, in bytes for binary values and in "
+      + "characters for character values. Values are read from the database only up to this "
+      + "size, and larger values are handled as set by ``lob.overflow.handling``. The default of "
+      + "0 reads every value completely.";
+  public static final long LOB_MAX_BYTES_DEFAULT = 0L;
+  private static final String LOB_MAX_BYTES_DISPLAY = "Max LOB Size";
+
+  public static final String LOB_OVERFLOW_HANDLING_CONFIG = "lob.overflow.handling";
+  private static final String LOB_OVERFLOW_HANDLING_DOC =
+      "How to handle a LOB value that is larger than ``" + LOB_MAX_BYTES_CONFIG + "``. Options "
+      + "include:\n"
+      + "  * truncate (default): the first ``" + LOB_MAX_BYTES_CONFIG + "`` bytes or characters "
+      + "of the value\n"
+      + "  * placeholder: the value of ``lob.placeholder`` instead of the value\n"
+      + "  * fail: fail the task\n";
+  public static final String LOB_OVERFLOW_HANDLING_DEFAULT = "truncate";
+  private static final String LOB_OVERFLOW_HANDLING_DISPLAY = "LOB Overflow Handling";
+  private static final EnumRecommender LOB_OVERFLOW_HANDLING_RECOMMENDER =
+      EnumRecommender.in(LobOverflowHandling.values());
+
+  public static final String LOB_PLACEHOLDER_CONFIG = "lob.placeholder";
+  private static final String LOB_PLACEHOLDER_DOC =
+      "The value that replaces LOB values larger than ``" + LOB_MAX_BYTES_CONFIG + "`` when ``"
+      + LOB_OVERFLOW_HANDLING_CONFIG + "`` is ``placeholder``. Binary values are replaced by the "
+      + "UTF-8 encoding of this value.";
+  public static final String LOB_PLACEHOLDER_DEFAULT = "";
+  private static final String LOB_PLACEHOLDER_DISPLAY = "LOB Placeholder";
+
   public static final String DIALECT_NAME_CONFIG = "dialect.name";
   private static final String DIALECT_NAME_DISPLAY = "Database Dialect";
   public static final String DIALECT_NAME_DEFAULT = "";
@@ -171,7 +232,11 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
       + "monotonically incrementing, but not necessarily unique.\n"
       + "  * timestamp+incrementing: use two columns, a timestamp column that detects new and "
       + "modified rows and a strictly incrementing column which provides a globally unique ID for "
-      + "updates so each row can be assigned a unique stream offset.";
+      + "updates so each row can be assigned a unique stream offset.\n"
+      + "  * keyset: use an ordered set of columns that uniquely identify each row, such as a "
+      + "composite primary key, to detect new rows. Each query reads the rows after the last key "
+      + "seen, in pages of a bounded number of rows. Note that this will not detect modifications "
+      + "or deletions of existing rows.";
   private static final String MODE_DISPLAY = "Table Loading Mode";
 
   public static final String MODE_UNSPECIFIED = "";
@@ -179,6 +244,7 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
   public static final String MODE_TIMESTAMP = "timestamp";
   public static final String MODE_INCREMENTING = "incrementing";
   public static final String MODE_TIMESTAMP_INCREMENTING = "timestamp+incrementing";
+  public static final String MODE_KEYSET = "keyset";
 
   public static final String INCREMENTING_COLUMN_NAME_CONFIG = "incrementing.column.name";
   private static final String INCREMENTING_COLUMN_NAME_DOC =
@@ -197,6 +263,16 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
   public static final String TIMESTAMP_COLUMN_NAME_DEFAULT = "";
   private static final String TIMESTAMP_COLUMN_NAME_DISPLAY = "Timestamp Column Name";
 
+  public static final String TIMESTAMP_COLUMNS_EXPAND_CONFIG = "timestamp.columns.expand";
+  private static final String TIMESTAMP_COLUMNS_EXPAND_DOC =
+      "Whether to compare each of several timestamp columns separately instead of comparing their "
+      + "COALESCE. The condition is expanded into one disjunct per column, which requires the "
+      + "previous columns to be null, so the selected rows are the same but the database can use "
+      + "an index on each column rather than scanning the whole table. Has no effect with a "
+      + "single timestamp column.";
+  public static final boolean TIMESTAMP_COLUMNS_EXPAND_DEFAULT = false;
+  private static final String TIMESTAMP_COLUMNS_EXPAND_DISPLAY = "Expand Timestamp Columns";
+
   public static final String TIMESTAMP_INITIAL_CONFIG = "timestamp.initial";
   public static final Long TIMESTAMP_INITIAL_DEFAULT = null;
   public static final Long TIMESTAMP_INITIAL_CURRENT = Long.valueOf(-1);
@@ -205,6 +281,66 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
       + "Use -1 to use the current time. If not specified, all data will be retrieved.";
   public static final String TIMESTAMP_INITIAL_DISPLAY = "Unix time value of initial timestamp";
 
+  public static final String BULK_CHUNK_SIZE_CONFIG = "bulk.chunk.size";
+  private static final String BULK_CHUNK_SIZE_DOC =
+      "In bulk mode, the width of the key range read by each query. When greater than 0, each "
+      + "table is copied as a series of short queries over consecutive ranges of the chunk column, "
+      + "and the start of the current range is recorded in the source offset so that a restarted "
+      + "task resumes the snapshot instead of starting over. The last record of a snapshot marks "
+      + "it as complete, so a task restarted after it starts a new snapshot. Only supported in "
+      + "table mode. The "
+      + "default of 0 reads each table with a single query.";
+  public static final long BULK_CHUNK_SIZE_DEFAULT = 0L;
+  private static final String BULK_CHUNK_SIZE_DISPLAY = "Bulk Chunk Size";
+
+  public static final String BULK_CHUNK_COLUMN_CONFIG = "bulk.chunk.column";
+  private static final String BULK_CHUNK_COLUMN_DOC =
+      "The name of the integer column whose values are split into ranges when "
+      + "``" + BULK_CHUNK_SIZE_CONFIG + "`` is set. The column should be indexed. An empty value "
+      + "uses the table's primary key, which must then consist of a single column.";
+  public static final String BULK_CHUNK_COLUMN_DEFAULT = "";
+  private static final String BULK_CHUNK_COLUMN_DISPLAY = "Bulk Chunk Column";
+
+  public static final String BULK_DIFF_DIR_CONFIG = "bulk.diff.dir";
+  private static final String BULK_DIFF_DIR_DOC =
+      "In bulk mode, the local directory where the primary keys of each table are kept together "
+      + "with a hash of the contents of their rows. When set, each scan of a table only produces "
+      + "the rows that were inserted or changed since the previous scan, keyed by their primary "
+      + "key, and a tombstone with a null value for each primary key that was deleted. A table "
+      + "is only scanned again once Kafka acknowledged all records of its previous scan. Only "
+      + "supported in table mode and for tables with a primary key, and ``" + BULK_CHUNK_SIZE_CONFIG
+      + "`` is then ignored. Each connector must use its own directory, on a disk that is kept "
+      + "across restarts of the worker. The default is an empty value, which produces every row of "
+      + "each scan.";
+  public static final String BULK_DIFF_DIR_DEFAULT = "";
+  private static final String BULK_DIFF_DIR_DISPLAY = "Bulk Diff Directory";
+
+  public static final String BULK_SKIP_UNCHANGED_CONFIG = "bulk.skip.unchanged";
+  private static final String BULK_SKIP_UNCHANGED_DOC =
+      "In bulk mode, whether to skip reading a table when the statistics that the database keeps "
+      + "about its tables show that the table did not change since it was last read completely. "
+      + "Supported for PostgreSQL, MySQL and SQL Server, and only in table mode; other tables are "
+      + "always read. On MySQL 8 the connector sets ``information_schema_stats_expiry`` to 0 for "
+      + "its session, and on SQL Server it requires the VIEW SERVER STATE permission.";
+  public static final boolean BULK_SKIP_UNCHANGED_DEFAULT = false;
+  private static final String BULK_SKIP_UNCHANGED_DISPLAY = "Bulk Skip Unchanged Tables";
+
+  public static final String KEYSET_COLUMN_NAMES_CONFIG = "keyset.column.names";
+  private static final String KEYSET_COLUMN_NAMES_DOC =
+      "In keyset mode, the comma separated list of the columns that uniquely identify each row, in "
+      + "the order in which rows are read. The values of these columns must be integers or strings "
+      + "and may not be null. An empty list uses the primary key of each table, and is only "
+      + "supported in table mode.";
+  public static final String KEYSET_COLUMN_NAMES_DEFAULT = "";
+  private static final String KEYSET_COLUMN_NAMES_DISPLAY = "Keyset Column Names";
+
+  public static final String KEYSET_PAGE_SIZE_CONFIG = "keyset.page.size";
+  private static final String KEYSET_PAGE_SIZE_DOC =
+      "In keyset mode, the maximum number of rows read by each query. When a query returns this "
+      + "many rows, the next page is read immediately after the last key of the page.";
+  public static final int KEYSET_PAGE_SIZE_DEFAULT = 10000;
+  private static final String KEYSET_PAGE_SIZE_DISPLAY = "Keyset Page Size";
+
   public static final String TIMESTAMP_GRANULARITY_CONFIG = "timestamp.granularity";
   public static final String TIMESTAMP_GRANULARITY_DOC =
       "Define the granularity of the Timestamp column. Options include: \n"
@@ -309,6 +445,19 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
       + "querying with time-based criteria. Defaults to UTC.";
   private static final String DB_TIMEZONE_CONFIG_DISPLAY = "DB time zone";
 
+  public static final String QUERIES_CONFIG = "queries";
+  public static final String QUERIES_PREFIX = QUERIES_CONFIG + ".";
+  public static final String QUERIES_DEFAULT = "";
+  private static final String QUERIES_DOC =
+      "List of the names of custom queries to run instead of copying whole tables or running the "
+      + "single ``" + QUERY_CONFIG + "``. Each query is configured with properties that begin "
+      + "with ``queries.<name>.``: ``sql`` is the query and is required, ``topic`` is the topic to "
+      + "publish to and defaults to the topic prefix followed by the name, and ``mode``, ``"
+      + "incrementing.column.name`` and ``timestamp.column.name`` default to the connector's "
+      + "settings. Each query has its own source offset keyed by its name, so the names must be "
+      + "unique and must not be ``query``, and the queries are distributed over the tasks.";
+  private static final String QUERIES_DISPLAY = "Named Queries";
+
   public static final String QUOTE_SQL_IDENTIFIERS_CONFIG = "quote.sql.identifiers";
   public static final String QUOTE_SQL_IDENTIFIERS_DEFAULT = QuoteMethod.ALWAYS.name().toString();
   public static final String QUOTE_SQL_IDENTIFIERS_DOC =
@@ -328,6 +477,114 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
           "Number of times to retry SQL exceptions encountered when executing queries.";
   public static final String QUERY_RETRIES_DISPLAY = "Query Retry Attempts";
 
+  public static final String QUERY_WORKER_THREADS_CONFIG = "query.worker.threads";
+  public static final int QUERY_WORKER_THREADS_DEFAULT = 1;
+  private static final String QUERY_WORKER_THREADS_DOC =
+      "Maximum number of tables each task queries concurrently. Each worker thread uses its own "
+      + "database connection, so a task opens up to this many additional connections. The "
+      + "default of 1 queries the task's tables one at a time on the task thread.";
+  private static final String QUERY_WORKER_THREADS_DISPLAY = "Query Worker Threads";
+
+  public static final String QUERY_READ_AHEAD_BATCHES_CONFIG = "query.read.ahead.batches";
+  public static final int QUERY_READ_AHEAD_BATCHES_DEFAULT = 0;
+  private static final String QUERY_READ_AHEAD_BATCHES_DOC =
+      "Maximum number of batches of records each task reads ahead of the batches polled by "
+      + "Connect. When greater than 0, tables are queried on worker threads even when ``"
+      + QUERY_WORKER_THREADS_CONFIG + "`` is 1, so the rows of the next batch are fetched while "
+      + "Connect converts and sends the records of the previous batch. Each buffered batch holds "
+      + "up to ``batch.max.rows`` records in memory. The default of 0 reads each batch when "
+      + "Connect polls for it, or buffers one batch per worker thread.";
+  private static final String QUERY_READ_AHEAD_BATCHES_DISPLAY = "Query Read-Ahead Batches";
+
+  public static final String TABLE_SLICES_CONFIG = "table.slices";
+  public static final int TABLE_SLICES_DEFAULT = 1;
+  private static final String TABLE_SLICES_DOC =
+      "Number of slices each table is split into. Each slice reads the rows whose slice column "
+      + "value modulo this number equals the slice index, and is assigned to the tasks "
+      + "independently of the other slices of the same table, so a single large table can be "
+      + "read by several tasks at once. Each slice has its own source offset. The default of 1 "
+      + "reads each table in one slice. Only used in table mode.";
+  private static final String TABLE_SLICES_DISPLAY = "Table Slices";
+
+  public static final String TABLE_SLICE_COLUMN_CONFIG = "table.slice.column";
+  public static final String TABLE_SLICE_COLUMN_DEFAULT = "";
+  private static final String TABLE_SLICE_COLUMN_DOC =
+      "The name of the integer column used to split tables into slices. If empty, the "
+      + "incrementing column is used in incrementing modes, the chunk column in bulk mode when "
+      + "``" + BULK_CHUNK_SIZE_CONFIG + "`` is set, and otherwise the table's single-column "
+      + "primary key.";
+  private static final String TABLE_SLICE_COLUMN_DISPLAY = "Table Slice Column";
+
+  public static final String TABLE_COLUMNS_INCLUDE_CONFIG = "table.columns.include";
+  public static final String TABLE_COLUMNS_INCLUDE_DEFAULT = "";
+  private static final String TABLE_COLUMNS_INCLUDE_DOC =
+      "List of the columns to select from specific tables, of the form "
+      + "``<table>=<column>;<column>...``. The table is either the unqualified name of the table "
+      + "or the name as it appears in the list of tables. Tables that are not listed have all "
+      + "their columns selected. The incrementing, timestamp, chunk and slice columns are always "
+      + "selected. Only used in table mode.";
+  private static final String TABLE_COLUMNS_INCLUDE_DISPLAY = "Included Table Columns";
+
+  public static final String TABLE_COLUMNS_EXCLUDE_CONFIG = "table.columns.exclude";
+  public static final String TABLE_COLUMNS_EXCLUDE_DEFAULT = "";
+  private static final String TABLE_COLUMNS_EXCLUDE_DOC =
+      "List of the columns not to select from specific tables, of the form "
+      + "``<table>=<column>;<column>...``, which are removed from the included columns. The "
+      + "incrementing, timestamp, chunk and slice columns are always selected. Only used in "
+      + "table mode.";
+  private static final String TABLE_COLUMNS_EXCLUDE_DISPLAY = "Excluded Table Columns";
+
+  public static final String DB_CLOCK_SYNC_INTERVAL_MS_CONFIG = "db.clock.sync.interval.ms";
+  public static final long DB_CLOCK_SYNC_INTERVAL_MS_DEFAULT = 0L;
+  private static final String DB_CLOCK_SYNC_INTERVAL_MS_DOC =
+      "How often to query the current time of the database, in milliseconds, when querying "
+      + "with timestamp criteria. Between these queries, the current time of the database is "
+      + "estimated from the elapsed time of the task, which avoids a separate query of the "
+      + "database time before every query of a table. The default of 0 queries the database "
+      + "time before every query.";
+  private static final String DB_CLOCK_SYNC_INTERVAL_MS_DISPLAY = "DB Clock Sync Interval (ms)";
+
+  public static final String DB_CLOCK_MAX_DRIFT_MS_CONFIG = "db.clock.max.drift.ms";
+  public static final long DB_CLOCK_MAX_DRIFT_MS_DEFAULT = 100L;
+  private static final String DB_CLOCK_MAX_DRIFT_MS_DOC =
+      "The maximum difference, in milliseconds, between the clocks of the task and of the "
+      + "database that can accumulate between two queries of the database time. The estimated "
+      + "database time is reduced by this margin in addition to ``"
+      + "timestamp.delay.interval.ms``, so that rows are never queried before the database time "
+      + "has passed their timestamp. Only used when ``" + DB_CLOCK_SYNC_INTERVAL_MS_CONFIG
+      + "`` is positive.";
+  private static final String DB_CLOCK_MAX_DRIFT_MS_DISPLAY = "DB Clock Max Drift (ms)";
+
+  public static final String NOTIFICATION_CHANNEL_CONFIG = "notification.channel";
+  public static final String NOTIFICATION_CHANNEL_DEFAULT = "";
+  private static final String NOTIFICATION_CHANNEL_DOC =
+      "The name of a PostgreSQL ``LISTEN``/``NOTIFY`` channel on which the database sends the "
+      + "name of a table, either ``<schema>.<table>`` or ``<table>``, whenever the table changes. "
+      + "A notified table is queried right away instead of at the end of its poll interval, so "
+      + "``" + POLL_INTERVAL_MS_CONFIG + "`` and ``" + POLL_INTERVAL_MAX_MS_CONFIG + "`` can be "
+      + "set much higher and only act as a fallback for missed notifications. Each task holds "
+      + "one additional connection to listen on the channel. The default of an empty channel "
+      + "disables notifications. Only supported by the PostgreSQL dialect.";
+  private static final String NOTIFICATION_CHANNEL_DISPLAY = "Notification Channel";
+
+  public static final String NOTIFICATION_TRIGGERS_CREATE_CONFIG = "notification.triggers.create";
+  public static final boolean NOTIFICATION_TRIGGERS_CREATE_DEFAULT = false;
+  private static final String NOTIFICATION_TRIGGERS_CREATE_DOC =
+      "Whether the tasks create a statement trigger on each of their tables that sends the "
+      + "notifications on ``" + NOTIFICATION_CHANNEL_CONFIG + "``, replacing a trigger that was "
+      + "previously created by the connector for the same channel. The trigger and its function "
+      + "are both named ``connect_jdbc_notify_<channel>``. This requires the privileges to create "
+      + "functions and triggers. Only used when ``" + NOTIFICATION_CHANNEL_CONFIG + "`` is set.";
+  private static final String NOTIFICATION_TRIGGERS_CREATE_DISPLAY = "Create Notification Triggers";
+
+  /**
+   * The properties that begin with this prefix are per-table row filters of the form
+   * {@code table.filter.<table>=<condition>}, where the table is either the unqualified name of
+   * the table or the name as it appears in the list of tables. Only the rows that satisfy the SQL
+   * condition are selected from the table. Only used in table mode.
+   */
+  public static final String TABLE_FILTER_PREFIX = "table.filter.";
+
   /**
    * The properties that begin with this prefix will be used to configure a class, specified by
    * {@code jdbc.credentials.provider.class} if it implements {@link Configurable}.
@@ -570,6 +827,39 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         Width.SHORT,
         NUMERIC_MAPPING_DISPLAY,
         NUMERIC_MAPPING_RECOMMENDER
+    ).define(
+        LOB_MAX_BYTES_CONFIG,
+        Type.LONG,
+        LOB_MAX_BYTES_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        LOB_MAX_BYTES_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        LOB_MAX_BYTES_DISPLAY
+    ).define(
+        LOB_OVERFLOW_HANDLING_CONFIG,
+        Type.STRING,
+        LOB_OVERFLOW_HANDLING_DEFAULT,
+        LOB_OVERFLOW_HANDLING_RECOMMENDER,
+        Importance.LOW,
+        LOB_OVERFLOW_HANDLING_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        LOB_OVERFLOW_HANDLING_DISPLAY,
+        LOB_OVERFLOW_HANDLING_RECOMMENDER
+    ).define(
+        LOB_PLACEHOLDER_CONFIG,
+        Type.STRING,
+        LOB_PLACEHOLDER_DEFAULT,
+        Importance.LOW,
+        LOB_PLACEHOLDER_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.MEDIUM,
+        LOB_PLACEHOLDER_DISPLAY
     ).define(
         DIALECT_NAME_CONFIG,
         Type.STRING,
@@ -595,7 +885,8 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
             MODE_BULK,
             MODE_TIMESTAMP,
             MODE_INCREMENTING,
-            MODE_TIMESTAMP_INCREMENTING
+            MODE_TIMESTAMP_INCREMENTING,
+            MODE_KEYSET
         ),
         Importance.HIGH,
         MODE_DOC,
@@ -606,7 +897,13 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         Arrays.asList(
             INCREMENTING_COLUMN_NAME_CONFIG,
             TIMESTAMP_COLUMN_NAME_CONFIG,
-            VALIDATE_NON_NULL_CONFIG
+            VALIDATE_NON_NULL_CONFIG,
+            BULK_CHUNK_SIZE_CONFIG,
+            BULK_CHUNK_COLUMN_CONFIG,
+            BULK_DIFF_DIR_CONFIG,
+            BULK_SKIP_UNCHANGED_CONFIG,
+            KEYSET_COLUMN_NAMES_CONFIG,
+            KEYSET_PAGE_SIZE_CONFIG
         )
     ).define(
         INCREMENTING_COLUMN_NAME_CONFIG,
@@ -630,6 +927,16 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         Width.MEDIUM,
         TIMESTAMP_COLUMN_NAME_DISPLAY,
         MODE_DEPENDENTS_RECOMMENDER
+    ).define(
+        TIMESTAMP_COLUMNS_EXPAND_CONFIG,
+        Type.BOOLEAN,
+        TIMESTAMP_COLUMNS_EXPAND_DEFAULT,
+        Importance.LOW,
+        TIMESTAMP_COLUMNS_EXPAND_DOC,
+        MODE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        TIMESTAMP_COLUMNS_EXPAND_DISPLAY
     ).define(
         TIMESTAMP_INITIAL_CONFIG,
         Type.LONG,
@@ -662,6 +969,21 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         ++orderInGroup,
         Width.SHORT,
         QUERY_DISPLAY
+    ).define(
+        QUERIES_CONFIG,
+        Type.LIST,
+        QUERIES_DEFAULT,
+        (name, value) -> {
+          @SuppressWarnings("unchecked")
+          List<String> names = (List<String>) value;
+          NamedQuery.validateNames(name, names);
+        },
+        Importance.MEDIUM,
+        QUERIES_DOC,
+        MODE_GROUP,
+        ++orderInGroup,
+        Width.LONG,
+        QUERIES_DISPLAY
     ).define(
         QUOTE_SQL_IDENTIFIERS_CONFIG,
         Type.STRING,
@@ -704,6 +1026,74 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         ++orderInGroup,
         Width.MEDIUM,
         QUERY_RETRIES_DISPLAY
+    ).define(
+        BULK_CHUNK_SIZE_CONFIG,
+        Type.LONG,
+        BULK_CHUNK_SIZE_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        BULK_CHUNK_SIZE_DOC,
+        MODE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        BULK_CHUNK_SIZE_DISPLAY,
+        MODE_DEPENDENTS_RECOMMENDER
+    ).define(
+        BULK_CHUNK_COLUMN_CONFIG,
+        Type.STRING,
+        BULK_CHUNK_COLUMN_DEFAULT,
+        Importance.LOW,
+        BULK_CHUNK_COLUMN_DOC,
+        MODE_GROUP,
+        ++orderInGroup,
+        Width.MEDIUM,
+        BULK_CHUNK_COLUMN_DISPLAY,
+        MODE_DEPENDENTS_RECOMMENDER
+    ).define(
+        BULK_DIFF_DIR_CONFIG,
+        Type.STRING,
+        BULK_DIFF_DIR_DEFAULT,
+        Importance.LOW,
+        BULK_DIFF_DIR_DOC,
+        MODE_GROUP,
+        ++orderInGroup,
+        Width.LONG,
+        BULK_DIFF_DIR_DISPLAY,
+        MODE_DEPENDENTS_RECOMMENDER
+    ).define(
+        BULK_SKIP_UNCHANGED_CONFIG,
+        Type.BOOLEAN,
+        BULK_SKIP_UNCHANGED_DEFAULT,
+        Importance.LOW,
+        BULK_SKIP_UNCHANGED_DOC,
+        MODE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        BULK_SKIP_UNCHANGED_DISPLAY,
+        MODE_DEPENDENTS_RECOMMENDER
+    ).define(
+        KEYSET_COLUMN_NAMES_CONFIG,
+        Type.LIST,
+        KEYSET_COLUMN_NAMES_DEFAULT,
+        Importance.MEDIUM,
+        KEYSET_COLUMN_NAMES_DOC,
+        MODE_GROUP,
+        ++orderInGroup,
+        Width.MEDIUM,
+        KEYSET_COLUMN_NAMES_DISPLAY,
+        MODE_DEPENDENTS_RECOMMENDER
+    ).define(
+        KEYSET_PAGE_SIZE_CONFIG,
+        Type.INT,
+        KEYSET_PAGE_SIZE_DEFAULT,
+        ConfigDef.Range.atLeast(1),
+        Importance.LOW,
+        KEYSET_PAGE_SIZE_DOC,
+        MODE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        KEYSET_PAGE_SIZE_DISPLAY,
+        MODE_DEPENDENTS_RECOMMENDER
     );
   }
 
@@ -729,6 +1119,32 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         ++orderInGroup,
         Width.SHORT,
         POLL_INTERVAL_MS_DISPLAY
+    ).define(
+        POLL_INTERVAL_MAX_MS_CONFIG,
+        Type.LONG,
+        POLL_INTERVAL_MAX_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        POLL_INTERVAL_MAX_MS_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        POLL_INTERVAL_MAX_MS_DISPLAY
+    ).define(
+        POLL_INTERVAL_OVERRIDES_CONFIG,
+        Type.LIST,
+        POLL_INTERVAL_OVERRIDES_DEFAULT,
+        (name, value) -> {
+          @SuppressWarnings("unchecked")
+          List<String> overrides = (List<String>) value;
+          PollInterval.parseOverrides(name, overrides);
+        },
+        Importance.LOW,
+        POLL_INTERVAL_OVERRIDES_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.LONG,
+        POLL_INTERVAL_OVERRIDES_DISPLAY
     ).define(
         BATCH_MAX_ROWS_CONFIG,
         Type.INT,
@@ -739,6 +1155,17 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         ++orderInGroup,
         Width.SHORT,
         BATCH_MAX_ROWS_DISPLAY
+    ).define(
+        BATCH_MAX_BYTES_CONFIG,
+        Type.LONG,
+        BATCH_MAX_BYTES_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        BATCH_MAX_BYTES_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        BATCH_MAX_BYTES_DISPLAY
     ).defineInternal(
         TABLE_MONITORING_STARTUP_POLLING_LIMIT_MS_CONFIG,
         Type.LONG,
@@ -817,7 +1244,122 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         ++orderInGroup,
         Width.MEDIUM,
         TIMESTAMP_GRANULARITY_DISPLAY,
-        TIMESTAMP_GRANULARITY_RECOMMENDER);
+        TIMESTAMP_GRANULARITY_RECOMMENDER
+    ).define(
+        QUERY_WORKER_THREADS_CONFIG,
+        Type.INT,
+        QUERY_WORKER_THREADS_DEFAULT,
+        ConfigDef.Range.atLeast(1),
+        Importance.LOW,
+        QUERY_WORKER_THREADS_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        QUERY_WORKER_THREADS_DISPLAY
+    ).define(
+        QUERY_READ_AHEAD_BATCHES_CONFIG,
+        Type.INT,
+        QUERY_READ_AHEAD_BATCHES_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        QUERY_READ_AHEAD_BATCHES_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        QUERY_READ_AHEAD_BATCHES_DISPLAY
+    ).define(
+        TABLE_SLICES_CONFIG,
+        Type.INT,
+        TABLE_SLICES_DEFAULT,
+        ConfigDef.Range.atLeast(1),
+        Importance.LOW,
+        TABLE_SLICES_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        TABLE_SLICES_DISPLAY
+    ).define(
+        TABLE_SLICE_COLUMN_CONFIG,
+        Type.STRING,
+        TABLE_SLICE_COLUMN_DEFAULT,
+        Importance.LOW,
+        TABLE_SLICE_COLUMN_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.MEDIUM,
+        TABLE_SLICE_COLUMN_DISPLAY
+    ).define(
+        TABLE_COLUMNS_INCLUDE_CONFIG,
+        Type.LIST,
+        TABLE_COLUMNS_INCLUDE_DEFAULT,
+        (name, value) -> {
+          @SuppressWarnings("unchecked")
+          List<String> lists = (List<String>) value;
+          ColumnProjection.parseColumnLists(name, lists);
+        },
+        Importance.LOW,
+        TABLE_COLUMNS_INCLUDE_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.LONG,
+        TABLE_COLUMNS_INCLUDE_DISPLAY
+    ).define(
+        TABLE_COLUMNS_EXCLUDE_CONFIG,
+        Type.LIST,
+        TABLE_COLUMNS_EXCLUDE_DEFAULT,
+        (name, value) -> {
+          @SuppressWarnings("unchecked")
+          List<String> lists = (List<String>) value;
+          ColumnProjection.parseColumnLists(name, lists);
+        },
+        Importance.LOW,
+        TABLE_COLUMNS_EXCLUDE_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.LONG,
+        TABLE_COLUMNS_EXCLUDE_DISPLAY
+    ).define(
+        DB_CLOCK_SYNC_INTERVAL_MS_CONFIG,
+        Type.LONG,
+        DB_CLOCK_SYNC_INTERVAL_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        DB_CLOCK_SYNC_INTERVAL_MS_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        DB_CLOCK_SYNC_INTERVAL_MS_DISPLAY
+    ).define(
+        DB_CLOCK_MAX_DRIFT_MS_CONFIG,
+        Type.LONG,
+        DB_CLOCK_MAX_DRIFT_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        DB_CLOCK_MAX_DRIFT_MS_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        DB_CLOCK_MAX_DRIFT_MS_DISPLAY
+    ).define(
+        NOTIFICATION_CHANNEL_CONFIG,
+        Type.STRING,
+        NOTIFICATION_CHANNEL_DEFAULT,
+        Importance.LOW,
+        NOTIFICATION_CHANNEL_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.MEDIUM,
+        NOTIFICATION_CHANNEL_DISPLAY
+    ).define(
+        NOTIFICATION_TRIGGERS_CREATE_CONFIG,
+        Type.BOOLEAN,
+        NOTIFICATION_TRIGGERS_CREATE_DEFAULT,
+        Importance.LOW,
+        NOTIFICATION_TRIGGERS_CREATE_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        NOTIFICATION_TRIGGERS_CREATE_DISPLAY);
   }
 
   public static final ConfigDef CONFIG_DEF = baseConfigDef();
@@ -908,7 +1450,8 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
       String mode = (String) config.get(MODE_CONFIG);
       switch (mode) {
         case MODE_BULK:
-          return false;
+          return name.equals(BULK_CHUNK_SIZE_CONFIG) || name.equals(BULK_CHUNK_COLUMN_CONFIG)
+                 || name.equals(BULK_DIFF_DIR_CONFIG) || name.equals(BULK_SKIP_UNCHANGED_CONFIG);
         case MODE_TIMESTAMP:
           return name.equals(TIMESTAMP_COLUMN_NAME_CONFIG) || name.equals(VALIDATE_NON_NULL_CONFIG);
         case MODE_INCREMENTING:
@@ -918,6 +1461,8 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
           return name.equals(TIMESTAMP_COLUMN_NAME_CONFIG)
                  || name.equals(INCREMENTING_COLUMN_NAME_CONFIG)
                  || name.equals(VALIDATE_NON_NULL_CONFIG);
+        case MODE_KEYSET:
+          return name.equals(KEYSET_COLUMN_NAMES_CONFIG) || name.equals(KEYSET_PAGE_SIZE_CONFIG);
         case MODE_UNSPECIFIED:
           throw new ConfigException("Query mode must be specified");
         default:
@@ -957,6 +1502,24 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
     }
   }
 
+  public enum LobOverflowHandling {
+    TRUNCATE,
+    PLACEHOLDER,
+    FAIL;
+
+    private static final Map<String, LobOverflowHandling> reverse = new HashMap<>(values().length);
+    static {
+      for (LobOverflowHandling val : values()) {
+        reverse.put(val.name().toLowerCase(Locale.ROOT), val);
+      }
+    }
+
+    public static LobOverflowHandling get(String prop) {
+      // not adding a check for null value because the recommender/validator should catch those.
+      return reverse.get(prop.toLowerCase(Locale.ROOT));
+    }
+  }
+
   public enum TimestampGranularity {
     CONNECT_LOGICAL(optional -> optional
         ? org.apache.kafka.connect.data.Timestamp.builder().optional().build()
@@ -1045,6 +1608,26 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
     return NumericMapping.get(this);
   }
 
+  /**
+   * Get the per-table row filters.
+   *
+   * @return the SQL conditions keyed by table name; never null
+   * @see #TABLE_FILTER_PREFIX
+   */
+  public Map<String, String> tableFilters() {
+    Map<String, String> filters = new HashMap<>();
+    originalsWithPrefix(TABLE_FILTER_PREFIX).forEach((table, condition) -> {
+      if (condition != null && !condition.toString().trim().isEmpty()) {
+        filters.put(table, condition.toString().trim());
+      }
+    });
+    return filters;
+  }
+
+  public LobOverflowHandling lobOverflowHandling() {
+    return LobOverflowHandling.get(getString(LOB_OVERFLOW_HANDLING_CONFIG));
+  }
+
   public TimeZone timeZone() {
     String dbTimeZone = getString(JdbcSourceTaskConfig.DB_TIMEZONE_CONFIG);
     return TimeZone.getTimeZone(ZoneId.of(dbTimeZone));
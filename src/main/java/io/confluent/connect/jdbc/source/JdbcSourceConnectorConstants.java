@@ -21,4 +21,5 @@ public class JdbcSourceConnectorConstants {
   public static final String QUERY_NAME_VALUE = "query";
   public static final String OFFSET_PROTOCOL_VERSION_KEY = "protocol";
   public static final String PROTOCOL_VERSION_ONE = "1";
+  public static final String TABLE_SLICE_KEY = "slice";
 }
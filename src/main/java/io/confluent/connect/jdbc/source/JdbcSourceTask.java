@@ -15,8 +15,10 @@
 
 package io.confluent.connect.jdbc.source;
 
+import java.nio.file.Paths;
 import java.sql.SQLNonTransientException;
 import java.util.TimeZone;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.utils.SystemTime;
 import org.apache.kafka.common.utils.Time;
@@ -49,6 +51,7 @@ import io.confluent.connect.jdbc.dialect.DatabaseDialects;
 import io.confluent.connect.jdbc.util.CachedConnectionProvider;
 import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.SharedConnectionProvider;
 import io.confluent.connect.jdbc.util.TableId;
 import io.confluent.connect.jdbc.util.Version;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig.TransactionIsolationMode;
@@ -60,6 +63,8 @@ import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig.TransactionIso
 public class JdbcSourceTask extends SourceTask {
   // When no results, periodically return control flow to caller to give it a chance to pause us.
   private static final int CONSECUTIVE_EMPTY_RESULTS_BEFORE_RETURN = 3;
+  // How long poll() waits for a batch from the querier workers before re-checking the stop flag
+  private static final long WORKER_POLL_TIMEOUT_MS = 100L;
 
   private static final Logger log = LoggerFactory.getLogger(JdbcSourceTask.class);
 
@@ -69,6 +74,13 @@ public class JdbcSourceTask extends SourceTask {
   //Visible for Testing
   CachedConnectionProvider cachedConnectionProvider;
   PriorityQueue<TableQuerier> tableQueue = new PriorityQueue<>();
+  QuerierWorkerPool workerPool;
+  QuerierWakeups wakeups;
+  ChangeNotificationListener notificationListener;
+  // The queriers of snapshot diffs by their source partition, which are told about the records
+  // that the producer acknowledged
+  private final Map<Map<String, String>, SnapshotDiffTableQuerier> snapshotDiffQueriers =
+      new HashMap<>();
   private final AtomicBoolean running = new AtomicBoolean(false);
   private final AtomicLong taskThreadId = new AtomicLong(0);
 
@@ -99,8 +111,9 @@ public class JdbcSourceTask extends SourceTask {
     List<String> tables = config.getList(JdbcSourceTaskConfig.TABLES_CONFIG);
     Boolean tablesFetched = config.getBoolean(JdbcSourceTaskConfig.TABLES_FETCHED);
     String query = config.getString(JdbcSourceTaskConfig.QUERY_CONFIG);
+    List<NamedQuery> namedQueries = NamedQuery.fromConfig(config);
 
-    if ((tables.isEmpty() && query.isEmpty())) {
+    if ((tables.isEmpty() && query.isEmpty() && namedQueries.isEmpty())) {
       // We are still waiting for the tables call to complete.
       // Start task but do nothing.
       if (!tablesFetched) {
@@ -123,6 +136,11 @@ public class JdbcSourceTask extends SourceTask {
               + " cannot have both a table and a query assigned to it");
     }
 
+    if (!namedQueries.isEmpty() && (!tables.isEmpty() || !query.isEmpty())) {
+      throw new ConfigException("Invalid configuration: a JdbcSourceTask cannot have named"
+              + " queries assigned to it together with a table or a query");
+    }
+
 
     final String url = config.getString(JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG);
     final int maxConnAttempts = config.getInt(JdbcSourceConnectorConfig.CONNECTION_ATTEMPTS_CONFIG);
@@ -150,34 +168,48 @@ public class JdbcSourceTask extends SourceTask {
                             )
                     )
     );
-    TableQuerier.QueryMode queryMode = !query.isEmpty() ? TableQuerier.QueryMode.QUERY :
-                                       TableQuerier.QueryMode.TABLE;
-    List<String> tablesOrQuery = queryMode == TableQuerier.QueryMode.QUERY
-                                 ? Collections.singletonList(query) : tables;
+    TableQuerier.QueryMode queryMode = !query.isEmpty() || !namedQueries.isEmpty()
+                                       ? TableQuerier.QueryMode.QUERY
+                                       : TableQuerier.QueryMode.TABLE;
+    List<String> tablesOrQuery;
+    if (!namedQueries.isEmpty()) {
+      tablesOrQuery = namedQueries.stream().map(NamedQuery::sql).collect(Collectors.toList());
+    } else if (queryMode == TableQuerier.QueryMode.QUERY) {
+      tablesOrQuery = Collections.singletonList(query);
+    } else {
+      tablesOrQuery = tables;
+    }
 
     String mode = config.getString(JdbcSourceTaskConfig.MODE_CONFIG);
+    long bulkChunkSize = config.getLong(JdbcSourceConnectorConfig.BULK_CHUNK_SIZE_CONFIG);
     //used only in table mode
-    Map<String, List<Map<String, String>>> partitionsByTableFqn = new HashMap<>();
+    List<TableSlice> slices = tableSlices(tables);
+    List<List<Map<String, String>>> partitionsByTable = new ArrayList<>(tables.size());
     Map<Map<String, String>, Map<String, Object>> offsets = null;
     if (mode.equals(JdbcSourceTaskConfig.MODE_INCREMENTING)
         || mode.equals(JdbcSourceTaskConfig.MODE_TIMESTAMP)
-        || mode.equals(JdbcSourceTaskConfig.MODE_TIMESTAMP_INCREMENTING)) {
+        || mode.equals(JdbcSourceTaskConfig.MODE_TIMESTAMP_INCREMENTING)
+        || mode.equals(JdbcSourceTaskConfig.MODE_KEYSET)
+        || (mode.equals(JdbcSourceTaskConfig.MODE_BULK) && bulkChunkSize > 0)
+        || !namedQueries.isEmpty()) {
       List<Map<String, String>> partitions = new ArrayList<>(tables.size());
       switch (queryMode) {
         case TABLE:
           log.trace("Starting in TABLE mode");
-          for (String table : tables) {
+          for (int i = 0; i < tables.size(); ++i) {
             // Find possible partition maps for different offset protocols
             // We need to search by all offset protocol partition keys to support compatibility
-            List<Map<String, String>> tablePartitions = possibleTablePartitions(table);
+            List<Map<String, String>> tablePartitions =
+                possibleTablePartitions(tables.get(i), slices.get(i));
             partitions.addAll(tablePartitions);
-            partitionsByTableFqn.put(table, tablePartitions);
+            partitionsByTable.add(tablePartitions);
           }
           break;
         case QUERY:
           log.trace("Starting in QUERY mode");
-          partitions.add(Collections.singletonMap(JdbcSourceConnectorConstants.QUERY_NAME_KEY,
-                                                  JdbcSourceConnectorConstants.QUERY_NAME_VALUE));
+          for (int i = 0; i < tablesOrQuery.size(); ++i) {
+            partitions.add(queryPartition(namedQueries.isEmpty() ? null : namedQueries.get(i)));
+          }
           break;
         default:
           throw new ConfigException("Unknown query mode: " + queryMode);
@@ -196,12 +228,24 @@ public class JdbcSourceTask extends SourceTask {
         = config.getBoolean(JdbcSourceTaskConfig.VALIDATE_NON_NULL_CONFIG);
     TimeZone timeZone = config.timeZone();
     String suffix = config.getString(JdbcSourceTaskConfig.QUERY_SUFFIX_CONFIG).trim();
+    String bulkChunkColumn = config.getString(JdbcSourceConnectorConfig.BULK_CHUNK_COLUMN_CONFIG);
+    List<String> keysetColumns
+        = config.getList(JdbcSourceConnectorConfig.KEYSET_COLUMN_NAMES_CONFIG);
+    int keysetPageSize = config.getInt(JdbcSourceConnectorConfig.KEYSET_PAGE_SIZE_CONFIG);
+    String bulkDiffDir = config.getString(JdbcSourceConnectorConfig.BULK_DIFF_DIR_CONFIG).trim();
+    if (!bulkDiffDir.isEmpty() && queryMode != TableQuerier.QueryMode.TABLE) {
+      log.warn("Bulk snapshot diffs are only supported in table mode; ignoring the '{}' property",
+          JdbcSourceConnectorConfig.BULK_DIFF_DIR_CONFIG);
+    }
 
     if (queryMode.equals(TableQuerier.QueryMode.TABLE)) {
       validateColumnsExist(mode, incrementingColumn, timestampColumns, tables.get(0));
     }
 
-    for (String tableOrQuery : tablesOrQuery) {
+    for (int i = 0; i < tablesOrQuery.size(); ++i) {
+      final String tableOrQuery = tablesOrQuery.get(i);
+      final NamedQuery namedQuery = namedQueries.isEmpty() ? null : namedQueries.get(i);
+      final TableSlice slice = queryMode == TableQuerier.QueryMode.TABLE ? slices.get(i) : null;
       final List<Map<String, String>> tablePartitionsToCheck;
       final Map<String, String> partition;
       log.trace("Task executing in {} mode",queryMode);
@@ -215,13 +259,10 @@ public class JdbcSourceTask extends SourceTask {
                 timestampColumns
             );
           }
-          tablePartitionsToCheck = partitionsByTableFqn.get(tableOrQuery);
+          tablePartitionsToCheck = offsets != null ? partitionsByTable.get(i) : null;
           break;
         case QUERY:
-          partition = Collections.singletonMap(
-              JdbcSourceConnectorConstants.QUERY_NAME_KEY,
-              JdbcSourceConnectorConstants.QUERY_NAME_VALUE
-          );
+          partition = queryPartition(namedQuery);
           tablePartitionsToCheck = Collections.singletonList(partition);
           break;
         default:
@@ -243,75 +284,232 @@ public class JdbcSourceTask extends SourceTask {
       }
       offset = computeInitialOffset(tableOrQuery, offset, timeZone);
 
-      String topicPrefix = config.topicPrefix();
+      // A named query has its own topic, mode and offset columns
+      String topicPrefix = namedQuery != null ? namedQuery.topic() : config.topicPrefix();
+      String querierMode = namedQuery != null ? namedQuery.mode() : mode;
+      String querierIncrementingColumn
+          = namedQuery != null ? namedQuery.incrementingColumn() : incrementingColumn;
+      List<String> querierTimestampColumns
+          = namedQuery != null ? namedQuery.timestampColumns() : timestampColumns;
+      List<String> querierKeysetColumns
+          = namedQuery != null ? namedQuery.keysetColumns() : keysetColumns;
       JdbcSourceConnectorConfig.TimestampGranularity timestampGranularity
           = JdbcSourceConnectorConfig.TimestampGranularity.get(config);
 
-      if (mode.equals(JdbcSourceTaskConfig.MODE_BULK)) {
-        tableQueue.add(
-            new BulkTableQuerier(
-                dialect, 
-                queryMode, 
-                tableOrQuery, 
-                topicPrefix, 
-                suffix
-            )
+      TableQuerier querier = null;
+      if (querierMode.equals(JdbcSourceTaskConfig.MODE_BULK)
+          && !bulkDiffDir.isEmpty()
+          && queryMode == TableQuerier.QueryMode.TABLE) {
+        querier = new SnapshotDiffTableQuerier(
+            dialect,
+            queryMode,
+            tableOrQuery,
+            topicPrefix,
+            suffix,
+            Paths.get(bulkDiffDir),
+            slice,
+            config.getInt(JdbcSourceTaskConfig.BATCH_MAX_ROWS_CONFIG)
         );
-      } else if (mode.equals(JdbcSourceTaskConfig.MODE_INCREMENTING)) {
-        tableQueue.add(
-            new TimestampIncrementingTableQuerier(
-                dialect,
-                queryMode,
-                tableOrQuery,
-                topicPrefix,
-                null,
-                incrementingColumn,
-                offset,
-                timestampDelayInterval,
-                timeZone,
-                suffix,
-                timestampGranularity
-            )
+      } else if (querierMode.equals(JdbcSourceTaskConfig.MODE_BULK)) {
+        querier = new BulkTableQuerier(
+            dialect,
+            queryMode,
+            tableOrQuery,
+            topicPrefix,
+            suffix,
+            bulkChunkColumn,
+            bulkChunkSize,
+            offset,
+            slice
         );
-      } else if (mode.equals(JdbcSourceTaskConfig.MODE_TIMESTAMP)) {
-        tableQueue.add(
-            new TimestampTableQuerier(
-                dialect,
-                queryMode,
-                tableOrQuery,
-                topicPrefix,
-                timestampColumns,
-                offset,
-                timestampDelayInterval,
-                timeZone,
-                suffix,
-                timestampGranularity
-            )
+      } else if (querierMode.equals(JdbcSourceTaskConfig.MODE_INCREMENTING)) {
+        querier = new TimestampIncrementingTableQuerier(
+            dialect,
+            queryMode,
+            tableOrQuery,
+            topicPrefix,
+            null,
+            querierIncrementingColumn,
+            offset,
+            timestampDelayInterval,
+            timeZone,
+            suffix,
+            timestampGranularity,
+            slice
         );
-      } else if (mode.endsWith(JdbcSourceTaskConfig.MODE_TIMESTAMP_INCREMENTING)) {
-        tableQueue.add(
-            new TimestampIncrementingTableQuerier(
-                dialect,
-                queryMode,
-                tableOrQuery,
-                topicPrefix,
-                timestampColumns,
-                incrementingColumn,
-                offset,
-                timestampDelayInterval,
-                timeZone,
-                suffix,
-                timestampGranularity
-            )
+      } else if (querierMode.equals(JdbcSourceTaskConfig.MODE_TIMESTAMP)) {
+        querier = new TimestampTableQuerier(
+            dialect,
+            queryMode,
+            tableOrQuery,
+            topicPrefix,
+            querierTimestampColumns,
+            offset,
+            timestampDelayInterval,
+            timeZone,
+            suffix,
+            timestampGranularity,
+            slice
+        );
+      } else if (querierMode.endsWith(JdbcSourceTaskConfig.MODE_TIMESTAMP_INCREMENTING)) {
+        querier = new TimestampIncrementingTableQuerier(
+            dialect,
+            queryMode,
+            tableOrQuery,
+            topicPrefix,
+            querierTimestampColumns,
+            querierIncrementingColumn,
+            offset,
+            timestampDelayInterval,
+            timeZone,
+            suffix,
+            timestampGranularity,
+            slice
+        );
+      } else if (querierMode.equals(JdbcSourceTaskConfig.MODE_KEYSET)) {
+        querier = new KeysetTableQuerier(
+            dialect,
+            queryMode,
+            tableOrQuery,
+            topicPrefix,
+            querierKeysetColumns,
+            keysetPageSize,
+            offset,
+            suffix,
+            slice
+        );
+      }
+      if (querier != null) {
+        if (namedQuery != null) {
+          querier.setQueryName(namedQuery.name());
+        }
+        tableQueue.add(querier);
+      }
+    }
+
+    assignPollIntervals();
+
+    if (queryMode == TableQuerier.QueryMode.TABLE) {
+      Map<String, ColumnProjection> projections = ColumnProjection.parse(
+          config.getList(JdbcSourceConnectorConfig.TABLE_COLUMNS_INCLUDE_CONFIG),
+          config.getList(JdbcSourceConnectorConfig.TABLE_COLUMNS_EXCLUDE_CONFIG)
+      );
+      if (!projections.isEmpty()) {
+        for (TableQuerier querier : tableQueue) {
+          querier.setColumnProjection(forTable(projections, querier.tableId));
+        }
+      }
+      Map<String, String> filters = config.tableFilters();
+      if (!filters.isEmpty()) {
+        for (TableQuerier querier : tableQueue) {
+          querier.setFilter(forTable(filters, querier.tableId));
+        }
+      }
+    }
+
+    long batchMaxBytes = config.getLong(JdbcSourceConnectorConfig.BATCH_MAX_BYTES_CONFIG);
+    if (batchMaxBytes > 0) {
+      for (TableQuerier querier : tableQueue) {
+        querier.setBatchMaxBytes(
+            batchMaxBytes,
+            config.getInt(JdbcSourceTaskConfig.BATCH_MAX_ROWS_CONFIG)
+        );
+      }
+    }
+
+    for (TableQuerier querier : tableQueue) {
+      if (querier instanceof SnapshotDiffTableQuerier) {
+        SnapshotDiffTableQuerier diffQuerier = (SnapshotDiffTableQuerier) querier;
+        snapshotDiffQueriers.put(diffQuerier.partition(), diffQuerier);
+      }
+    }
+
+    if (config.getBoolean(JdbcSourceConnectorConfig.BULK_SKIP_UNCHANGED_CONFIG)) {
+      for (TableQuerier querier : tableQueue) {
+        if (querier instanceof BulkTableQuerier) {
+          ((BulkTableQuerier) querier).setSkipUnchanged(true);
+        }
+      }
+    }
+
+    if (config.getBoolean(JdbcSourceConnectorConfig.TIMESTAMP_COLUMNS_EXPAND_CONFIG)) {
+      for (TableQuerier querier : tableQueue) {
+        if (querier instanceof TimestampIncrementingTableQuerier) {
+          ((TimestampIncrementingTableQuerier) querier).setExpandTimestampColumns(true);
+        }
+      }
+    }
+
+    long clockSyncIntervalMs
+        = config.getLong(JdbcSourceConnectorConfig.DB_CLOCK_SYNC_INTERVAL_MS_CONFIG);
+    if (clockSyncIntervalMs > 0) {
+      DatabaseClock databaseClock = new DatabaseClock(
+          dialect,
+          time,
+          clockSyncIntervalMs,
+          config.getLong(JdbcSourceConnectorConfig.DB_CLOCK_MAX_DRIFT_MS_CONFIG)
+      );
+      for (TableQuerier querier : tableQueue) {
+        if (querier instanceof TimestampIncrementingTableQuerier) {
+          ((TimestampIncrementingTableQuerier) querier).setDatabaseClock(databaseClock);
+        }
+      }
+    }
+
+    String notificationChannel
+        = config.getString(JdbcSourceConnectorConfig.NOTIFICATION_CHANNEL_CONFIG).trim();
+    if (!notificationChannel.isEmpty() && queryMode == TableQuerier.QueryMode.TABLE) {
+      if (config.getBoolean(JdbcSourceConnectorConfig.NOTIFICATION_TRIGGERS_CREATE_CONFIG)) {
+        createNotificationTriggers(tables, notificationChannel);
+      }
+      wakeups = new QuerierWakeups(tableQueue, tableQueue);
+      notificationListener = new ChangeNotificationListener(
+          dialect,
+          notificationChannel,
+          retryBackoff,
+          wakeups
+      );
+    }
+
+    maxRetriesPerQuerier = config.getInt(JdbcSourceConnectorConfig.QUERY_RETRIES_CONFIG);
+
+    int workerThreads = Math.min(
+        config.getInt(JdbcSourceConnectorConfig.QUERY_WORKER_THREADS_CONFIG),
+        tableQueue.size()
+    );
+    int readAheadBatches = config.getInt(JdbcSourceConnectorConfig.QUERY_READ_AHEAD_BATCHES_CONFIG);
+    // A single worker reads ahead of the task thread
+    if (workerThreads > 1 || (workerThreads == 1 && readAheadBatches > 0)) {
+      TransactionIsolationMode isolationMode = TransactionIsolationMode.valueOf(
+          config.getString(JdbcSourceConnectorConfig.TRANSACTION_ISOLATION_MODE_CONFIG)
+      );
+      List<CachedConnectionProvider> workerProviders = new ArrayList<>(workerThreads);
+      for (int i = 0; i < workerThreads; ++i) {
+        workerProviders.add(
+            workerConnectionProvider(maxConnAttempts, retryBackoff, isolationMode)
         );
       }
+      workerPool = new QuerierWorkerPool(
+          tableQueue,
+          workerProviders,
+          time,
+          config.getInt(JdbcSourceTaskConfig.POLL_INTERVAL_MS_CONFIG),
+          config.getInt(JdbcSourceTaskConfig.BATCH_MAX_ROWS_CONFIG),
+          maxRetriesPerQuerier,
+          wakeups,
+          readAheadBatches
+      );
     }
 
     running.set(true);
     taskThreadId.set(Thread.currentThread().getId());
+    if (workerPool != null) {
+      workerPool.start();
+    }
+    if (notificationListener != null) {
+      notificationListener.start();
+    }
     log.info("Started JDBC source task");
-
-    maxRetriesPerQuerier = config.getInt(JdbcSourceConnectorConfig.QUERY_RETRIES_CONFIG);
   }
 
   private void validateColumnsExist(
@@ -357,6 +555,35 @@ public class JdbcSourceTask extends SourceTask {
     }
   }
 
+  /**
+   * Create or replace the triggers that notify the task of changes to its tables. A table
+   * without a trigger is still polled, so failures are logged rather than failing the task.
+   */
+  private void createNotificationTriggers(List<String> tables, String channel) {
+    try {
+      final Connection conn = cachedConnectionProvider.getConnection();
+      for (String table : new HashSet<>(tables)) {
+        List<String> statements = dialect.buildChangeNotificationStatements(
+            dialect.parseTableIdentifier(table),
+            channel
+        );
+        if (statements == null) {
+          log.warn("The {} dialect cannot create notification triggers", dialect.name());
+          return;
+        }
+        try {
+          log.info("Creating the change notification trigger for table {}", table);
+          dialect.applyDdlStatements(conn, statements);
+        } catch (SQLException e) {
+          log.warn("Failed to create the change notification trigger for table {}", table, e);
+          conn.rollback();
+        }
+      }
+    } catch (SQLException e) {
+      log.warn("Failed to create the change notification triggers", e);
+    }
+  }
+
   protected CachedConnectionProvider connectionProvider(int maxConnAttempts, long retryBackoff) {
     return new CachedConnectionProvider(dialect, maxConnAttempts, retryBackoff) {
       @Override
@@ -367,16 +594,72 @@ public class JdbcSourceTask extends SourceTask {
     };
   }
 
+  /**
+   * Create the connection provider for one of the querier worker threads. Closing it closes only
+   * the worker's own connection, since closing the dialect would close the connections of the
+   * task and of every other worker as well.
+   */
+  protected CachedConnectionProvider workerConnectionProvider(
+      int maxConnAttempts,
+      long retryBackoff,
+      TransactionIsolationMode isolationMode
+  ) {
+    return new CachedConnectionProvider(
+        new SharedConnectionProvider(dialect),
+        maxConnAttempts,
+        retryBackoff
+    ) {
+      @Override
+      protected void onConnect(final Connection connection) throws SQLException {
+        super.onConnect(connection);
+        connection.setAutoCommit(false);
+        dialect.setConnectionIsolationMode(connection, isolationMode);
+      }
+    };
+  }
+
   //This method returns a list of possible partition maps for different offset protocols
   //This helps with the upgrades
-  private List<Map<String, String>> possibleTablePartitions(String table) {
+  private List<Map<String, String>> possibleTablePartitions(String table, TableSlice slice) {
     TableId tableId = dialect.parseTableIdentifier(table);
+    if (slice != null) {
+      // A table that was previously read without slices continues from the table's offset
+      return Arrays.asList(
+          OffsetProtocols.sourcePartitionForSlice(tableId, slice),
+          OffsetProtocols.sourcePartitionForProtocolV1(tableId),
+          OffsetProtocols.sourcePartitionForProtocolV0(tableId)
+      );
+    }
     return Arrays.asList(
         OffsetProtocols.sourcePartitionForProtocolV1(tableId),
         OffsetProtocols.sourcePartitionForProtocolV0(tableId)
     );
   }
 
+  /**
+   * Get the slice of each of the task's tables.
+   *
+   * @param tables the tables assigned to the task
+   * @return the slice for each table, with null for each table that is not sliced; never null
+   */
+  private List<TableSlice> tableSlices(List<String> tables) {
+    List<String> sliceIndexes = config.getList(JdbcSourceTaskConfig.TABLE_SLICE_INDEXES_CONFIG);
+    if (sliceIndexes.isEmpty()) {
+      return Collections.nCopies(tables.size(), null);
+    }
+    if (sliceIndexes.size() != tables.size()) {
+      throw new ConfigException("Invalid configuration: the task was assigned "
+          + sliceIndexes.size() + " table slices for " + tables.size() + " tables");
+    }
+    int sliceCount = config.getInt(JdbcSourceConnectorConfig.TABLE_SLICES_CONFIG);
+    String sliceColumn = config.getString(JdbcSourceConnectorConfig.TABLE_SLICE_COLUMN_CONFIG);
+    List<TableSlice> slices = new ArrayList<>(tables.size());
+    for (String sliceIndex : sliceIndexes) {
+      slices.add(new TableSlice(Integer.parseInt(sliceIndex.trim()), sliceCount, sliceColumn));
+    }
+    return slices;
+  }
+
   protected Map<String, Object> computeInitialOffset(
           String tableOrQuery,
           Map<String, Object> partitionOffset,
@@ -423,8 +706,24 @@ public class JdbcSourceTask extends SourceTask {
     }
   }
 
+  @Override
+  public void commitRecord(SourceRecord record, RecordMetadata metadata) {
+    if (!snapshotDiffQueriers.isEmpty()) {
+      SnapshotDiffTableQuerier querier = snapshotDiffQueriers.get(record.sourcePartition());
+      if (querier != null) {
+        querier.commitRecord(record);
+      }
+    }
+  }
+
   protected void closeResources() {
     log.info("Closing resources for JDBC source task");
+    if (notificationListener != null) {
+      notificationListener.stop();
+    }
+    if (workerPool != null) {
+      workerPool.stop();
+    }
     try {
       if (cachedConnectionProvider != null) {
         cachedConnectionProvider.close(true);
@@ -461,15 +760,27 @@ public class JdbcSourceTask extends SourceTask {
       return null;
     }
 
+    if (workerPool != null) {
+      return pollWorkers();
+    }
+
     Map<TableQuerier, Integer> consecutiveEmptyResults = tableQueue.stream().collect(
         Collectors.toMap(Function.identity(), (q) -> 0));
     while (running.get()) {
+      if (wakeups != null && !tableQueue.peek().querying()) {
+        // Never move another querier ahead of one that is in the middle of its query
+        wakeups.apply(
+            tableQueue,
+            time.milliseconds(),
+            config.getInt(JdbcSourceTaskConfig.POLL_INTERVAL_MS_CONFIG)
+        );
+      }
       final TableQuerier querier = tableQueue.peek();
 
       if (!querier.querying()) {
         // If not in the middle of an update, wait for next update time
-        final long nextUpdate = querier.getLastUpdate()
-            + config.getInt(JdbcSourceTaskConfig.POLL_INTERVAL_MS_CONFIG);
+        final long nextUpdate = querier.getLastUpdate() + querier.getPollIntervalMs(
+            config.getInt(JdbcSourceTaskConfig.POLL_INTERVAL_MS_CONFIG));
         final long now = time.milliseconds();
         final long sleepMs = Math.min(nextUpdate - now, 100);
 
@@ -486,13 +797,18 @@ public class JdbcSourceTask extends SourceTask {
         querier.maybeStartQuery(cachedConnectionProvider.getConnection());
 
         int batchMaxRows = config.getInt(JdbcSourceTaskConfig.BATCH_MAX_ROWS_CONFIG);
+        long batchMaxBytes = querier.getBatchMaxBytes();
+        long batchBytes = 0L;
         boolean hadNext = true;
-        while (results.size() < batchMaxRows && (hadNext = querier.next())) {
+        while (results.size() < batchMaxRows
+            && (batchMaxBytes <= 0 || batchBytes < batchMaxBytes)
+            && (hadNext = querier.next())) {
           results.add(querier.extractRecord());
+          batchBytes += querier.getLastRowBytes();
         }
         querier.resetRetryCount();
 
-        if (!hadNext) {
+        if (!hadNext && !querier.yielded()) {
           // If we finished processing the results from the current query, we can reset and send
           // the querier to the tail of the queue
           resetAndRequeueHead(querier, false);
@@ -553,7 +869,35 @@ public class JdbcSourceTask extends SourceTask {
     return null;
   }
 
+  private List<SourceRecord> pollWorkers() throws InterruptedException {
+    int emptyPolls = 0;
+    while (running.get()) {
+      final List<SourceRecord> results;
+      try {
+        results = workerPool.poll(WORKER_POLL_TIMEOUT_MS);
+      } catch (Throwable t) {
+        // A worker has failed, so close any resources (may be reopened if needed) before throwing
+        closeResources();
+        throw t;
+      }
+      if (results != null) {
+        return results;
+      }
+      if (++emptyPolls >= CONSECUTIVE_EMPTY_RESULTS_BEFORE_RETURN) {
+        log.trace("No results from querier workers, returning");
+        return null;
+      }
+    }
+
+    shutdown();
+    return null;
+  }
+
   private void shutdown() {
+    if (workerPool != null) {
+      // Stopped workers return their queriers to the queue, already reset to committed offsets
+      workerPool.stop();
+    }
     final TableQuerier querier = tableQueue.peek();
     if (querier != null) {
       resetAndRequeueHead(querier, true);
@@ -561,6 +905,72 @@ public class JdbcSourceTask extends SourceTask {
     closeResources();
   }
 
+  /**
+   * Give every querier an interval that adapts to the rows returned by its queries, when a
+   * maximum poll interval or per-table intervals are configured. The queue is rebuilt, since it
+   * is ordered by the next update of each querier.
+   */
+  private void assignPollIntervals() {
+    final long pollIntervalMs = config.getInt(JdbcSourceTaskConfig.POLL_INTERVAL_MS_CONFIG);
+    final long maxPollIntervalMs
+        = config.getLong(JdbcSourceConnectorConfig.POLL_INTERVAL_MAX_MS_CONFIG);
+    final Map<String, PollInterval> overrides = PollInterval.parseOverrides(
+        JdbcSourceConnectorConfig.POLL_INTERVAL_OVERRIDES_CONFIG,
+        config.getList(JdbcSourceConnectorConfig.POLL_INTERVAL_OVERRIDES_CONFIG)
+    );
+    if (maxPollIntervalMs <= pollIntervalMs && overrides.isEmpty()) {
+      return;
+    }
+    final List<TableQuerier> queriers = new ArrayList<>(tableQueue);
+    tableQueue.clear();
+    for (TableQuerier querier : queriers) {
+      PollInterval override = forTable(overrides, querier.tableId);
+      querier.setPollInterval(override != null
+          ? new PollInterval(override.minMs(), override.maxMs())
+          : new PollInterval(pollIntervalMs, maxPollIntervalMs));
+    }
+    tableQueue.addAll(queriers);
+  }
+
+  /**
+   * Get the source partition of a custom query.
+   *
+   * @param namedQuery the named query; may be null for the single query of the connector
+   * @return the partition; never null
+   */
+  private static Map<String, String> queryPartition(NamedQuery namedQuery) {
+    return Collections.singletonMap(
+        JdbcSourceConnectorConstants.QUERY_NAME_KEY,
+        namedQuery != null ? namedQuery.name() : JdbcSourceConnectorConstants.QUERY_NAME_VALUE
+    );
+  }
+
+  /**
+   * Find the per-table setting of a table, keyed either by the name of the table as it appears in
+   * the list of tables or by the unqualified name of the table.
+   *
+   * @param settings the settings keyed by table name; may not be null
+   * @param tableId  the table; may be null
+   * @return the setting of the table, or null if there is none
+   */
+  private <T> T forTable(Map<String, T> settings, TableId tableId) {
+    if (tableId == null) {
+      return null;
+    }
+    T unqualified = null;
+    for (Map.Entry<String, T> entry : settings.entrySet()) {
+      TableId settingTableId = dialect.parseTableIdentifier(entry.getKey());
+      if (settingTableId.schemaName() == null && settingTableId.catalogName() == null) {
+        if (settingTableId.tableName().equals(tableId.tableName())) {
+          unqualified = entry.getValue();
+        }
+      } else if (settingTableId.equals(tableId)) {
+        return entry.getValue();
+      }
+    }
+    return unqualified;
+  }
+
   private void resetAndRequeueHead(TableQuerier expectedHead, boolean resetOffset) {
     log.debug("Resetting querier {}", expectedHead.toString());
     TableQuerier removedQuerier = tableQueue.poll();
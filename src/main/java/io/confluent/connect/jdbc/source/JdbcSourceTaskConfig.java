@@ -30,10 +30,13 @@ public class JdbcSourceTaskConfig extends JdbcSourceConnectorConfig {
   public static final String TABLES_CONFIG = "tables";
   private static final String TABLES_DOC = "List of tables for this task to watch for changes.";
   public static final String TABLES_FETCHED = "tables.fetched";
+  // The slice index of each entry in the tables list, when the connector splits tables in slices
+  public static final String TABLE_SLICE_INDEXES_CONFIG = "table.slice.indexes";
 
   static ConfigDef config = baseConfigDef()
       .define(TABLES_CONFIG, Type.LIST, Importance.HIGH, TABLES_DOC)
-      .defineInternal(TABLES_FETCHED, Type.BOOLEAN, false, Importance.HIGH);
+      .defineInternal(TABLES_FETCHED, Type.BOOLEAN, false, Importance.HIGH)
+      .defineInternal(TABLE_SLICE_INDEXES_CONFIG, Type.LIST, "", Importance.HIGH);
 
   public JdbcSourceTaskConfig(Map<String, String> props) {
     super(config, props);
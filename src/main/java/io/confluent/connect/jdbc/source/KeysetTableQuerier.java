@@ -0,0 +1,343 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+
+/**
+ * <p>
+ *   KeysetTableQuerier performs incremental loading of data using an ordered set of key columns
+ *   that uniquely identify each row, such as a composite primary key. Each query reads the rows
+ *   whose key is greater than the key of the last row read, in the order of the key, and is
+ *   limited to a page of rows. When a page is full, the next page is read right away, so a table
+ *   is read with a series of short queries that can each use the index of the key.
+ * </p>
+ * <p>
+ *   The key values of the last row are stored in the source offset. Like the incrementing mode,
+ *   this detects new rows with greater keys but not modifications or deletions.
+ * </p>
+ */
+public class KeysetTableQuerier extends TableQuerier {
+  private static final Logger log = LoggerFactory.getLogger(KeysetTableQuerier.class);
+
+  private static final BigDecimal LONG_MAX_VALUE_AS_BIGDEC = new BigDecimal(Long.MAX_VALUE);
+  private static final BigDecimal LONG_MIN_VALUE_AS_BIGDEC = new BigDecimal(Long.MIN_VALUE);
+
+  private final List<String> keyColumnNames;
+  private final int pageSize;
+  private final String topic;
+  // The source partition in table mode; the partition in query mode depends on the query name
+  private final Map<String, String> tablePartition;
+  private List<ColumnId> keyColumns;
+  private TimestampIncrementingOffset committedOffset;
+  private TimestampIncrementingOffset offset;
+  // Whether the prepared statement selects only the rows after the key offset
+  private boolean afterKeyOffset;
+  private int rowsInPage;
+
+  public KeysetTableQuerier(
+      DatabaseDialect dialect,
+      QueryMode mode,
+      String name,
+      String topicPrefix,
+      List<String> keyColumnNames,
+      int pageSize,
+      Map<String, Object> offsetMap,
+      String suffix,
+      TableSlice slice
+  ) {
+    super(dialect, mode, name, topicPrefix, suffix, slice);
+    this.keyColumnNames = keyColumnNames != null ? keyColumnNames : Collections.emptyList();
+    this.pageSize = pageSize;
+    this.committedOffset = this.offset = TimestampIncrementingOffset.fromMap(offsetMap);
+
+    switch (mode) {
+      case TABLE:
+        topic = topicPrefix + tableId.tableName(); // backward compatible
+        tablePartition = this.slice != null
+                         ? OffsetProtocols.sourcePartitionForSlice(tableId, this.slice)
+                         : OffsetProtocols.sourcePartitionForProtocolV1(tableId);
+        break;
+      case QUERY:
+        topic = topicPrefix;
+        tablePartition = null;
+        break;
+      default:
+        throw new ConnectException("Unexpected query mode: " + mode);
+    }
+  }
+
+  @Override
+  protected void createPreparedStatement(Connection db) throws SQLException {
+    if (keyColumns == null) {
+      keyColumns = findKeyColumns(db);
+    }
+    ExpressionBuilder builder = dialect.expressionBuilder();
+    ColumnId sliceColumn = null;
+    switch (mode) {
+      case TABLE:
+        sliceColumn = slice != null ? findSliceColumn(db, null) : null;
+        List<ColumnId> requiredColumns = new ArrayList<>(keyColumns);
+        requiredColumns.add(sliceColumn);
+        builder.append("SELECT ");
+        appendSelectedColumns(builder, db, requiredColumns.toArray(new ColumnId[0]));
+        builder.append(" FROM ").append(tableId);
+        break;
+      case QUERY:
+        builder.append(query);
+        break;
+      default:
+        throw new ConnectException("Unknown mode encountered when preparing query: " + mode);
+    }
+
+    afterKeyOffset = offset.hasKeyOffset();
+    ExpressionBuilder condition = dialect.expressionBuilder();
+    if (slice != null) {
+      appendSliceCondition(condition, sliceColumn);
+    }
+    if (afterKeyOffset) {
+      condition.append(slice != null ? " AND " : "");
+      appendKeyCondition(condition);
+    }
+    String where = withFilter(condition.toString());
+    if (where != null) {
+      builder.append(" WHERE ").append(where);
+    }
+    builder.append(" ORDER BY ");
+    builder.appendList().delimitedBy(",").of(keyColumns);
+    dialect.appendLimit(builder, pageSize);
+
+    addSuffixIfPresent(builder);
+
+    String queryString = builder.toString();
+    recordQuery(queryString);
+    log.trace("{} prepared SQL query: {}", this, queryString);
+    stmt = dialect.createPreparedStatement(db, queryString);
+  }
+
+  private List<ColumnId> findKeyColumns(Connection db) throws SQLException {
+    List<ColumnId> columns = new ArrayList<>();
+    if (!keyColumnNames.isEmpty()) {
+      for (String name : keyColumnNames) {
+        columns.add(new ColumnId(tableId, name));
+      }
+      return columns;
+    }
+    if (mode != QueryMode.TABLE) {
+      throw new ConnectException(
+          "Keyset mode with a query requires the '"
+          + JdbcSourceConnectorConfig.KEYSET_COLUMN_NAMES_CONFIG + "' property"
+      );
+    }
+    for (ColumnId pkColumn : primaryKeyColumns(db)) {
+      columns.add(new ColumnId(tableId, pkColumn.name()));
+    }
+    if (columns.isEmpty()) {
+      throw new ConnectException(
+          "Keyset mode for " + tableId + " requires either a primary key or the '"
+          + JdbcSourceConnectorConfig.KEYSET_COLUMN_NAMES_CONFIG + "' property"
+      );
+    }
+    log.info("Using the primary key {} of {} as keyset columns", columns, tableId);
+    return columns;
+  }
+
+  /**
+   * Append the condition that selects the rows whose key is greater than the key offset. Keys
+   * are compared in lexicographic order, either with a row value comparison such as
+   * {@code (a,b) > (?,?)} or with the equivalent {@code (a > ?) OR (a = ? AND b > ?)}.
+   *
+   * @param builder the builder; may not be null
+   */
+  void appendKeyCondition(ExpressionBuilder builder) {
+    if (keyColumns.size() == 1) {
+      builder.append(keyColumns.get(0)).append(" > ?");
+    } else if (dialect.supportsRowValueComparison()) {
+      builder.append("(");
+      builder.appendList().delimitedBy(",").of(keyColumns);
+      builder.append(") > (");
+      builder.appendMultiple(",", "?", keyColumns.size());
+      builder.append(")");
+    } else {
+      builder.append("(");
+      for (int i = 0; i < keyColumns.size(); ++i) {
+        if (i > 0) {
+          builder.append(" OR ");
+        }
+        builder.append("(");
+        for (int j = 0; j < i; ++j) {
+          builder.append(keyColumns.get(j)).append(" = ? AND ");
+        }
+        builder.append(keyColumns.get(i)).append(" > ?)");
+      }
+      builder.append(")");
+    }
+  }
+
+  @Override
+  protected ResultSet executeQuery() throws SQLException {
+    if (afterKeyOffset) {
+      List<Object> keys = offset.getKeyOffset();
+      if (keys.size() != keyColumns.size()) {
+        throw new ConnectException(
+            "The key offset " + keys + " of " + this + " does not match the keyset columns "
+            + keyColumns
+        );
+      }
+      int index = 1;
+      if (keyColumns.size() == 1 || dialect.supportsRowValueComparison()) {
+        for (Object key : keys) {
+          setKeyParameter(index++, key);
+        }
+      } else {
+        for (int i = 0; i < keys.size(); ++i) {
+          for (int j = 0; j <= i; ++j) {
+            setKeyParameter(index++, keys.get(j));
+          }
+        }
+      }
+      log.debug("Reading the page of {} after key {}", this, keys);
+    }
+    // Also limits the rows with dialects that cannot limit the rows in the query
+    stmt.setMaxRows(pageSize);
+    rowsInPage = 0;
+    return stmt.executeQuery();
+  }
+
+  private void setKeyParameter(int index, Object key) throws SQLException {
+    if (key instanceof Long) {
+      stmt.setLong(index, (Long) key);
+    } else {
+      stmt.setString(index, key.toString());
+    }
+  }
+
+  @Override
+  public void maybeStartQuery(Connection db) throws SQLException, ConnectException {
+    super.maybeStartQuery(db);
+    // This is called before extracting records on every poll, so the previous records were
+    // delivered and the offset can move forward
+    this.committedOffset = this.offset;
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    while (!resultSet.next()) {
+      if (rowsInPage < pageSize) {
+        return false;
+      }
+      nextPage();
+    }
+    return true;
+  }
+
+  private void nextPage() throws SQLException {
+    resultSet.close();
+    // End the read transaction of the completed page so no page holds locks for long
+    db.commit();
+    if (!afterKeyOffset) {
+      // The first page of a table without a key offset is read without a key condition
+      stmt.close();
+      createPreparedStatement(db);
+    }
+    resultSet = executeQuery();
+  }
+
+  @Override
+  public SourceRecord extractRecord() throws SQLException {
+    Struct record = extractStruct();
+    ++rowsInPage;
+    List<Object> keys = new ArrayList<>(keyColumns.size());
+    for (ColumnId column : keyColumns) {
+      keys.add(keyValue(record, column));
+    }
+    offset = new TimestampIncrementingOffset(null, null, keys);
+    Map<String, String> partition = tablePartition != null ? tablePartition : queryPartition();
+    return new SourceRecord(partition, offset.toMap(), topic, record.schema(), record);
+  }
+
+  private static Object keyValue(Struct record, ColumnId column) {
+    Field field = record.schema().field(column.name());
+    if (field == null) {
+      throw new DataException(
+          "Keyset column " + column.name() + " not found in "
+          + record.schema().fields().stream().map(Field::name).collect(Collectors.joining(","))
+      );
+    }
+    Object value = record.get(field);
+    if (value == null) {
+      throw new ConnectException("Null value for keyset column " + column.name());
+    } else if (value instanceof Long || value instanceof Integer
+               || value instanceof Short || value instanceof Byte) {
+      return ((Number) value).longValue();
+    } else if (value instanceof BigDecimal) {
+      BigDecimal decimal = (BigDecimal) value;
+      if (decimal.scale() != 0
+          || decimal.compareTo(LONG_MAX_VALUE_AS_BIGDEC) > 0
+          || decimal.compareTo(LONG_MIN_VALUE_AS_BIGDEC) < 0) {
+        throw new ConnectException(
+            "Decimal values of keyset column " + column.name() + " must be integers in the range "
+            + "of a long"
+        );
+      }
+      return decimal.longValue();
+    } else if (value instanceof String) {
+      return value;
+    }
+    throw new ConnectException(
+        "Invalid type for keyset column " + column.name() + ": " + field.schema().type()
+    );
+  }
+
+  @Override
+  public void reset(long now, boolean resetOffset) {
+    // the task is being reset, any uncommitted offset needs to be reset as well
+    if (resetOffset) {
+      this.offset = this.committedOffset;
+    }
+    super.reset(now, resetOffset);
+  }
+
+  @Override
+  public String toString() {
+    return "KeysetTableQuerier{"
+           + "table=" + tableId
+           + ", query='" + query + '\''
+           + ", topicPrefix='" + topicPrefix + '\''
+           + ", keysetColumns=" + keyColumnNames
+           + '}';
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One of the named queries of a connector, with its own source partition, topic, mode and offset
+ * columns. Each query is configured by the properties that begin with
+ * {@code queries.<name>.}; the mode and the offset columns default to those of the connector.
+ */
+public final class NamedQuery {
+
+  public static final String SQL_SUFFIX = "sql";
+  public static final String TOPIC_SUFFIX = "topic";
+
+  private static final List<String> MODES = Arrays.asList(
+      JdbcSourceConnectorConfig.MODE_BULK,
+      JdbcSourceConnectorConfig.MODE_TIMESTAMP,
+      JdbcSourceConnectorConfig.MODE_INCREMENTING,
+      JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING,
+      JdbcSourceConnectorConfig.MODE_KEYSET
+  );
+
+  private final String name;
+  private final String sql;
+  private final String mode;
+  private final String incrementingColumn;
+  private final List<String> timestampColumns;
+  private final List<String> keysetColumns;
+  private final String topic;
+
+  public NamedQuery(
+      String name,
+      String sql,
+      String mode,
+      String incrementingColumn,
+      List<String> timestampColumns,
+      List<String> keysetColumns,
+      String topic
+  ) {
+    this.name = name;
+    this.sql = sql;
+    this.mode = mode;
+    this.incrementingColumn = incrementingColumn;
+    this.timestampColumns = Collections.unmodifiableList(new ArrayList<>(timestampColumns));
+    this.keysetColumns = Collections.unmodifiableList(new ArrayList<>(keysetColumns));
+    this.topic = topic;
+  }
+
+  /**
+   * The name of the query, which keys its source partition.
+   */
+  public String name() {
+    return name;
+  }
+
+  public String sql() {
+    return sql;
+  }
+
+  public String mode() {
+    return mode;
+  }
+
+  public String incrementingColumn() {
+    return incrementingColumn;
+  }
+
+  public List<String> timestampColumns() {
+    return timestampColumns;
+  }
+
+  public List<String> keysetColumns() {
+    return keysetColumns;
+  }
+
+  public String topic() {
+    return topic;
+  }
+
+  /**
+   * Validate the list of query names. The names must be unique, since each keys the source
+   * partition of its query, and must not be {@code query}, which keys the partition of the
+   * single query of {@link JdbcSourceConnectorConfig#QUERY_CONFIG}.
+   *
+   * @param name  the name of the configuration property; may not be null
+   * @param names the names of the queries; may be null
+   * @throws ConfigException if a name is reserved or listed more than once
+   */
+  public static void validateNames(String name, List<String> names) {
+    if (names == null) {
+      return;
+    }
+    Set<String> seen = new HashSet<>();
+    for (String queryName : names) {
+      if (JdbcSourceConnectorConstants.QUERY_NAME_VALUE.equals(queryName)) {
+        throw new ConfigException(
+            name,
+            names,
+            "The name '" + queryName + "' is reserved for the source partition of the "
+            + JdbcSourceConnectorConfig.QUERY_CONFIG + " setting"
+        );
+      }
+      if (!seen.add(queryName)) {
+        throw new ConfigException(
+            name,
+            names,
+            "The name '" + queryName + "' is listed more than once"
+        );
+      }
+    }
+  }
+
+  /**
+   * Get the named queries listed in the configuration.
+   *
+   * @param config the connector or task configuration; may not be null
+   * @return the queries in the order of the list; never null
+   * @throws ConfigException if a query is not valid
+   */
+  public static List<NamedQuery> fromConfig(JdbcSourceConnectorConfig config) {
+    List<String> names = config.getList(JdbcSourceConnectorConfig.QUERIES_CONFIG);
+    if (names.isEmpty()) {
+      return Collections.emptyList();
+    }
+    validateNames(JdbcSourceConnectorConfig.QUERIES_CONFIG, names);
+    Map<String, Object> props
+        = config.originalsWithPrefix(JdbcSourceConnectorConfig.QUERIES_PREFIX);
+    List<NamedQuery> queries = new ArrayList<>(names.size());
+    for (String name : names) {
+      String sql = property(props, name, SQL_SUFFIX, "");
+      if (sql.isEmpty()) {
+        throw new ConfigException(
+            JdbcSourceConnectorConfig.QUERIES_PREFIX + name + "." + SQL_SUFFIX,
+            null,
+            "Every named query requires a SQL query"
+        );
+      }
+      String mode = property(
+          props,
+          name,
+          JdbcSourceConnectorConfig.MODE_CONFIG,
+          config.getString(JdbcSourceConnectorConfig.MODE_CONFIG)
+      );
+      if (!MODES.contains(mode)) {
+        throw new ConfigException(
+            JdbcSourceConnectorConfig.QUERIES_PREFIX + name + "."
+            + JdbcSourceConnectorConfig.MODE_CONFIG,
+            mode,
+            "Expected one of " + MODES
+        );
+      }
+      String timestampColumns = property(
+          props,
+          name,
+          JdbcSourceConnectorConfig.TIMESTAMP_COLUMN_NAME_CONFIG,
+          String.join(",", config.getList(JdbcSourceConnectorConfig.TIMESTAMP_COLUMN_NAME_CONFIG))
+      );
+      String keysetColumns = property(
+          props,
+          name,
+          JdbcSourceConnectorConfig.KEYSET_COLUMN_NAMES_CONFIG,
+          String.join(",", config.getList(JdbcSourceConnectorConfig.KEYSET_COLUMN_NAMES_CONFIG))
+      );
+      queries.add(new NamedQuery(
+          name,
+          sql,
+          mode,
+          property(
+              props,
+              name,
+              JdbcSourceConnectorConfig.INCREMENTING_COLUMN_NAME_CONFIG,
+              config.getString(JdbcSourceConnectorConfig.INCREMENTING_COLUMN_NAME_CONFIG)
+          ),
+          columnNames(timestampColumns),
+          columnNames(keysetColumns),
+          property(props, name, TOPIC_SUFFIX, config.topicPrefix() + name)
+      ));
+    }
+    return queries;
+  }
+
+  private static List<String> columnNames(String columns) {
+    return Arrays.stream(columns.split(","))
+        .map(String::trim)
+        .filter(column -> !column.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  private static String property(
+      Map<String, Object> props,
+      String name,
+      String suffix,
+      String defaultValue
+  ) {
+    Object value = props.get(name + "." + suffix);
+    return value != null ? value.toString().trim() : defaultValue;
+  }
+
+  @Override
+  public String toString() {
+    return "NamedQuery{name='" + name + "', mode='" + mode + "', topic='" + topic + "'}";
+  }
+}
@@ -45,6 +45,20 @@ public class OffsetProtocols {
     return partitionForV1;
   }
 
+  /**
+   * Provides the partition map for one slice of a table. This is the V1 partition map with an
+   * additional key that identifies both the slice and the number of slices, so that changing the
+   * number of slices never mixes up the offsets of different slices.
+   * @param tableId the tableId that requires partition keys
+   * @param slice the slice of the table
+   * @return the partition map for the slice
+   */
+  public static Map<String, String> sourcePartitionForSlice(TableId tableId, TableSlice slice) {
+    Map<String, String> partition = sourcePartitionForProtocolV1(tableId);
+    partition.put(JdbcSourceConnectorConstants.TABLE_SLICE_KEY, slice.id());
+    return partition;
+  }
+
   /**
    * Provides the partition map for V0 protocol. The table name included is unqualified
    * and there is no explicit protocol key.
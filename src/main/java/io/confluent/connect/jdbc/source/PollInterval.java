@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.util.ConfigUtils;
+
+/**
+ * The interval between the queries of one querier, which adapts to how often the table changes.
+ * The interval is doubled after every query that returned no rows, up to the maximum, and goes
+ * back to the minimum as soon as a query returns rows.
+ */
+public final class PollInterval {
+
+  private static final String OVERRIDE_FORMAT = "<table>=<min ms>:<max ms>";
+
+  private final long minMs;
+  private final long maxMs;
+  private long currentMs;
+
+  /**
+   * Create an interval that starts at the minimum.
+   *
+   * @param minMs the minimum interval; may not be negative
+   * @param maxMs the maximum interval; the minimum is used if this is smaller
+   */
+  public PollInterval(long minMs, long maxMs) {
+    this.minMs = minMs;
+    this.maxMs = Math.max(minMs, maxMs);
+    this.currentMs = minMs;
+  }
+
+  public long minMs() {
+    return minMs;
+  }
+
+  public long maxMs() {
+    return maxMs;
+  }
+
+  public long currentMs() {
+    return currentMs;
+  }
+
+  /**
+   * Update the interval after a query.
+   *
+   * @param rows the number of rows returned by the query
+   */
+  public void update(long rows) {
+    if (rows > 0) {
+      currentMs = minMs;
+    } else if (currentMs > maxMs / 2) {
+      currentMs = maxMs;
+    } else {
+      currentMs = Math.max(1L, currentMs) * 2;
+    }
+  }
+
+  /**
+   * Parse the per-table intervals of the form {@code <table>=<min ms>:<max ms>}.
+   *
+   * @param name      the name of the configuration property, for errors; may not be null
+   * @param overrides the overrides; may not be null
+   * @return the intervals keyed by table name; never null
+   * @throws ConfigException if an override is not valid
+   */
+  public static Map<String, PollInterval> parseOverrides(String name, List<String> overrides) {
+    Map<String, PollInterval> intervals = new HashMap<>();
+    Map<String, String> values = ConfigUtils.parseTableValues(name, overrides, OVERRIDE_FORMAT);
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      String value = entry.getValue();
+      String override = entry.getKey() + "=" + value;
+      int colon = value.indexOf(':');
+      if (colon < 0) {
+        throw new ConfigException(name, override, "Expected " + OVERRIDE_FORMAT);
+      }
+      try {
+        long minMs = Long.parseLong(value.substring(0, colon).trim());
+        long maxMs = Long.parseLong(value.substring(colon + 1).trim());
+        if (minMs < 0 || maxMs < minMs) {
+          throw new ConfigException(
+              name,
+              override,
+              "The minimum must not be negative or greater than the maximum"
+          );
+        }
+        intervals.put(entry.getKey(), new PollInterval(minMs, maxMs));
+      } catch (NumberFormatException e) {
+        throw new ConfigException(name, override, "Expected " + OVERRIDE_FORMAT);
+      }
+    }
+    return intervals;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * The queriers of a task whose tables the database notified as changed, and which are to be
+ * queried without waiting for the end of their poll interval.
+ *
+ * <p>Notifications may arrive on any thread. A querier stays pending until it is waiting in the
+ * table queue, so a notification that arrives while its querier is running is not lost but causes
+ * another query once the running query has completed.
+ */
+class QuerierWakeups {
+
+  private static final Logger log = LoggerFactory.getLogger(QuerierWakeups.class);
+
+  private final List<TableQuerier> queriers;
+  private final Object monitor;
+  private final Set<TableQuerier> pending = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Create the wakeups for the given queriers.
+   *
+   * @param queriers the queriers of the task; may not be null
+   * @param monitor  the object whose waiting threads are notified when queriers are woken up;
+   *                 may not be null
+   */
+  QuerierWakeups(Collection<TableQuerier> queriers, Object monitor) {
+    this.queriers = new ArrayList<>(queriers);
+    this.monitor = monitor;
+  }
+
+  /**
+   * Wake up the queriers of the given tables. The names of tables that are not queried by the
+   * task are ignored.
+   *
+   * @param tables the names of the tables, either {@code <schema>.<table>} or {@code <table>};
+   *               may not be null
+   */
+  void wakeUp(Collection<String> tables) {
+    boolean added = false;
+    for (String table : tables) {
+      for (TableQuerier querier : queriers) {
+        if (matches(querier.tableId, table)) {
+          log.trace("Notified of changes to {}", querier);
+          added |= pending.add(querier);
+        }
+      }
+    }
+    if (added) {
+      signal();
+    }
+  }
+
+  /**
+   * Wake up the queriers of all tables, because notifications may have been missed.
+   */
+  void wakeUpAll() {
+    pending.addAll(queriers);
+    signal();
+  }
+
+  /**
+   * Make the pending queriers that are waiting in the given queue due now. The caller must have
+   * exclusive access to the queue.
+   *
+   * @param queue             the queue of queriers ordered by their next update time; may not be
+   *                          null
+   * @param now               the current time in milliseconds
+   * @param defaultIntervalMs the interval used for queriers without an adaptive interval
+   */
+  void apply(PriorityQueue<TableQuerier> queue, long now, long defaultIntervalMs) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<TableQuerier> woken = new ArrayList<>();
+    for (Iterator<TableQuerier> iter = queue.iterator(); iter.hasNext(); ) {
+      TableQuerier querier = iter.next();
+      if (!querier.querying() && pending.remove(querier)) {
+        iter.remove();
+        woken.add(querier);
+      }
+    }
+    for (TableQuerier querier : woken) {
+      querier.wakeUp(now, defaultIntervalMs);
+      queue.add(querier);
+    }
+  }
+
+  private void signal() {
+    synchronized (monitor) {
+      monitor.notifyAll();
+    }
+  }
+
+  static boolean matches(TableId tableId, String table) {
+    if (tableId == null) {
+      return false;
+    }
+    int dot = table.lastIndexOf('.');
+    if (!tableId.tableName().equals(table.substring(dot + 1))) {
+      return false;
+    }
+    // An unqualified name on either side matches the table in any schema
+    return dot < 0
+           || tableId.schemaName() == null
+           || tableId.schemaName().equals(table.substring(0, dot));
+  }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.utils.Time;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.confluent.connect.jdbc.util.CachedConnectionProvider;
+
+/**
+ * A bounded pool of worker threads that run {@link TableQuerier} queries concurrently on behalf of
+ * a single {@link JdbcSourceTask}.
+ *
+ * <p>Each worker owns one {@link CachedConnectionProvider}, so every worker has its own database
+ * connection and its own read transaction. A worker takes the querier that is due next from the
+ * shared table queue, runs the query to completion in batches bounded by {@code batch.max.rows}
+ * records, and hands each batch to the task thread through a bounded queue. A querier is only ever
+ * run by one worker at a time and is removed from the table queue while it runs, so its offsets,
+ * retry count and reset semantics are exactly the same as when the task thread runs it itself.
+ *
+ * <p>A worker reads the next batch of its querier while the previous batches wait in the queue
+ * to be polled, so a pool with a single worker reads ahead of the task thread, and fetches rows
+ * while Connect converts and sends the records of the previous batch.
+ */
+class QuerierWorkerPool {
+
+  private static final Logger log = LoggerFactory.getLogger(QuerierWorkerPool.class);
+
+  // Upper bound on how long a worker waits to hand off a batch before re-checking the stop flag
+  private static final long MAX_IDLE_SLEEP_MS = 100L;
+
+  private static final long SHUTDOWN_TIMEOUT_MS = 30000L;
+
+  private final PriorityQueue<TableQuerier> tableQueue;
+  private final List<CachedConnectionProvider> connectionProviders;
+  private final Time time;
+  private final int pollIntervalMs;
+  private final int batchMaxRows;
+  private final int maxRetriesPerQuerier;
+  private final QuerierWakeups wakeups;
+  private final BlockingQueue<Result> handoff;
+  private final AtomicBoolean running = new AtomicBoolean(false);
+  private ExecutorService executor;
+
+  /**
+   * Create a pool with one worker per supplied connection provider.
+   *
+   * @param tableQueue           the queue of queriers ordered by their next update time; access
+   *                             is synchronized on this queue; may not be null
+   * @param connectionProviders  the connection providers, one per worker; may not be null or empty
+   * @param time                 the time source; may not be null
+   * @param pollIntervalMs       the interval between two queries of the same querier, for
+   *                             queriers without an adaptive poll interval
+   * @param batchMaxRows         the maximum number of records in each batch
+   * @param maxRetriesPerQuerier the number of retries for retriable SQL errors, or a negative value
+   *                             for unlimited retries
+   */
+  QuerierWorkerPool(
+      PriorityQueue<TableQuerier> tableQueue,
+      List<CachedConnectionProvider> connectionProviders,
+      Time time,
+      int pollIntervalMs,
+      int batchMaxRows,
+      int maxRetriesPerQuerier
+  ) {
+    this(
+        tableQueue,
+        connectionProviders,
+        time,
+        pollIntervalMs,
+        batchMaxRows,
+        maxRetriesPerQuerier,
+        null
+    );
+  }
+
+  /**
+   * Create a pool with one worker per supplied connection provider, whose workers also run the
+   * queriers of tables that the database notified as changed.
+   *
+   * @param tableQueue           the queue of queriers ordered by their next update time; access
+   *                             is synchronized on this queue; may not be null
+   * @param connectionProviders  the connection providers, one per worker; may not be null or empty
+   * @param time                 the time source; may not be null
+   * @param pollIntervalMs       the interval between two queries of the same querier, for
+   *                             queriers without an adaptive poll interval
+   * @param batchMaxRows         the maximum number of records in each batch
+   * @param maxRetriesPerQuerier the number of retries for retriable SQL errors, or a negative value
+   *                             for unlimited retries
+   * @param wakeups              the wakeups of the queriers, which must signal the table queue;
+   *                             may be null if the database does not notify of changes
+   */
+  QuerierWorkerPool(
+      PriorityQueue<TableQuerier> tableQueue,
+      List<CachedConnectionProvider> connectionProviders,
+      Time time,
+      int pollIntervalMs,
+      int batchMaxRows,
+      int maxRetriesPerQuerier,
+      QuerierWakeups wakeups
+  ) {
+    this(
+        tableQueue,
+        connectionProviders,
+        time,
+        pollIntervalMs,
+        batchMaxRows,
+        maxRetriesPerQuerier,
+        wakeups,
+        0
+    );
+  }
+
+  /**
+   * Create a pool with one worker per supplied connection provider, whose workers also run the
+   * queriers of tables that the database notified as changed, and that buffers up to the given
+   * number of batches that were read ahead of the task thread.
+   *
+   * @param tableQueue           the queue of queriers ordered by their next update time; access
+   *                             is synchronized on this queue; may not be null
+   * @param connectionProviders  the connection providers, one per worker; may not be null or empty
+   * @param time                 the time source; may not be null
+   * @param pollIntervalMs       the interval between two queries of the same querier, for
+   *                             queriers without an adaptive poll interval
+   * @param batchMaxRows         the maximum number of records in each batch
+   * @param maxRetriesPerQuerier the number of retries for retriable SQL errors, or a negative value
+   *                             for unlimited retries
+   * @param wakeups              the wakeups of the queriers, which must signal the table queue;
+   *                             may be null if the database does not notify of changes
+   * @param readAheadBatches     the number of batches waiting to be polled, or 0 for one batch
+   *                             per worker
+   */
+  QuerierWorkerPool(
+      PriorityQueue<TableQuerier> tableQueue,
+      List<CachedConnectionProvider> connectionProviders,
+      Time time,
+      int pollIntervalMs,
+      int batchMaxRows,
+      int maxRetriesPerQuerier,
+      QuerierWakeups wakeups,
+      int readAheadBatches
+  ) {
+    assert !connectionProviders.isEmpty();
+    this.tableQueue = tableQueue;
+    this.connectionProviders = connectionProviders;
+    this.time = time;
+    this.pollIntervalMs = pollIntervalMs;
+    this.batchMaxRows = batchMaxRows;
+    this.maxRetriesPerQuerier = maxRetriesPerQuerier;
+    this.wakeups = wakeups;
+    this.handoff = new ArrayBlockingQueue<>(
+        Math.max(connectionProviders.size(), readAheadBatches)
+    );
+  }
+
+  public synchronized void start() {
+    if (!running.compareAndSet(false, true)) {
+      return;
+    }
+    log.info("Starting {} querier worker threads", connectionProviders.size());
+    executor = Executors.newFixedThreadPool(connectionProviders.size(), new WorkerThreadFactory());
+    for (CachedConnectionProvider provider : connectionProviders) {
+      executor.submit(() -> runWorker(provider));
+    }
+  }
+
+  /**
+   * Wait for the next batch of records produced by any of the workers.
+   *
+   * @param timeoutMs the maximum time to wait
+   * @return the records, or null if no batch became available before the timeout
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   * @throws ConnectException     if a worker failed and the task must be stopped
+   */
+  public List<SourceRecord> poll(long timeoutMs) throws InterruptedException {
+    Result result = handoff.poll(timeoutMs, TimeUnit.MILLISECONDS);
+    if (result == null) {
+      return null;
+    }
+    if (result.error != null) {
+      Throwable error = result.error;
+      if (error instanceof RuntimeException) {
+        throw (RuntimeException) error;
+      } else if (error instanceof Error) {
+        throw (Error) error;
+      }
+      throw new ConnectException(error);
+    }
+    log.debug("Returning {} records for {}", result.records.size(), result.querier);
+    return result.records;
+  }
+
+  /**
+   * Signal all workers to stop, wait for them to return their queriers to the table queue, and
+   * close the workers' connections. Batches that were produced but not yet polled are discarded;
+   * their queriers are reset to the last committed offset.
+   */
+  public synchronized void stop() {
+    if (!running.compareAndSet(true, false)) {
+      return;
+    }
+    log.info("Stopping querier worker threads");
+    synchronized (tableQueue) {
+      // Wake up the workers that are waiting for a querier to become due
+      tableQueue.notifyAll();
+    }
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        log.warn("Querier worker threads did not stop within {} ms", SHUTDOWN_TIMEOUT_MS);
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    handoff.clear();
+    for (CachedConnectionProvider provider : connectionProviders) {
+      try {
+        provider.close(true);
+      } catch (Throwable t) {
+        log.warn("Error while closing a querier worker connection", t);
+      }
+    }
+  }
+
+  private void runWorker(CachedConnectionProvider provider) {
+    while (running.get() && !Thread.currentThread().isInterrupted()) {
+      final TableQuerier querier = takeDueQuerier();
+      if (querier != null && !runQuerier(querier, provider)) {
+        // The task has failed; the task thread will stop the pool when it sees the error
+        return;
+      }
+    }
+  }
+
+  /**
+   * Remove and return the querier at the head of the table queue once it is due. The worker waits
+   * until the head is due, or until another worker returns a querier to the queue, a querier is
+   * woken up or the pool is stopped, since any of these may change what is due next.
+   *
+   * @return the querier, or null if the pool is stopping
+   */
+  private TableQuerier takeDueQuerier() {
+    synchronized (tableQueue) {
+      while (running.get()) {
+        if (wakeups != null) {
+          wakeups.apply(tableQueue, time.milliseconds(), pollIntervalMs);
+        }
+        TableQuerier head = tableQueue.peek();
+        long waitMs = 0L;
+        if (head != null) {
+          long nextUpdate = head.getLastUpdate() + head.getPollIntervalMs(pollIntervalMs);
+          long now = time.milliseconds();
+          if (nextUpdate <= now) {
+            return tableQueue.poll();
+          }
+          waitMs = nextUpdate - now;
+        }
+        // With no head, all queriers are currently being run by other workers
+        try {
+          tableQueue.wait(waitMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Run the query of the given querier to completion and return it to the table queue.
+   *
+   * @return true if the worker may continue, or false if the task must fail
+   */
+  private boolean runQuerier(TableQuerier querier, CachedConnectionProvider provider) {
+    boolean hadNext = true;
+    try {
+      while (running.get() && hadNext) {
+        log.debug("Checking for next block of results from {}", querier);
+        // Called before every batch so incremental queriers advance their committed offset only
+        // once the previous batch has been handed off, as when the task thread runs them
+        querier.maybeStartQuery(provider.getConnection());
+        List<SourceRecord> results = new ArrayList<>();
+        long batchMaxBytes = querier.getBatchMaxBytes();
+        long batchBytes = 0L;
+        while (results.size() < batchMaxRows
+            && (batchMaxBytes <= 0 || batchBytes < batchMaxBytes)
+            && (hadNext = querier.next())) {
+          results.add(querier.extractRecord());
+          batchBytes += querier.getLastRowBytes();
+        }
+        // A querier that yielded continues its query after the stop flag is checked again
+        hadNext = hadNext || querier.yielded();
+        querier.resetRetryCount();
+        if (results.isEmpty()) {
+          log.trace("No updates for {}", querier);
+        } else if (!handOff(new Result(querier, results, null))) {
+          break;
+        }
+      }
+      // If the pool is stopping in the middle of a query, roll back to the committed offset
+      requeue(querier, hadNext || !running.get());
+      return true;
+    } catch (SQLNonTransientException sqle) {
+      log.error("Non-transient SQL exception while running query for table: {}", querier, sqle);
+      requeue(querier, true);
+      fail(querier, new ConnectException(sqle));
+      return false;
+    } catch (SQLException sqle) {
+      log.error(
+          "SQL exception while running query for table: {}, {}."
+              + " Attempting retry {} of {} attempts.",
+          querier,
+          sqle,
+          querier.getAttemptedRetryCount() + 1,
+          maxRetriesPerQuerier
+      );
+      requeue(querier, true);
+      if (maxRetriesPerQuerier > 0
+          && querier.getAttemptedRetryCount() >= maxRetriesPerQuerier) {
+        fail(querier, new ConnectException("Failed to Query table after retries", sqle));
+        return false;
+      }
+      querier.incrementRetryCount();
+      return true;
+    } catch (Throwable t) {
+      log.error("Failed to run query for table: {}", querier, t);
+      requeue(querier, true);
+      fail(querier, t);
+      return false;
+    }
+  }
+
+  private void requeue(TableQuerier querier, boolean resetOffset) {
+    log.debug("Resetting querier {}", querier);
+    querier.reset(time.milliseconds(), resetOffset);
+    synchronized (tableQueue) {
+      tableQueue.add(querier);
+      tableQueue.notifyAll();
+    }
+  }
+
+  private boolean handOff(Result result) {
+    try {
+      while (running.get()) {
+        if (handoff.offer(result, MAX_IDLE_SLEEP_MS, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  private void fail(TableQuerier querier, Throwable error) {
+    // Make room for the error if the task thread is not draining, so it is never lost
+    while (!handoff.offer(new Result(querier, null, error))) {
+      handoff.poll();
+    }
+  }
+
+  private static final class Result {
+    private final TableQuerier querier;
+    private final List<SourceRecord> records;
+    private final Throwable error;
+
+    private Result(TableQuerier querier, List<SourceRecord> records, Throwable error) {
+      this.querier = querier;
+      this.records = records;
+      this.error = error;
+    }
+  }
+
+  private static final class WorkerThreadFactory implements ThreadFactory {
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final int poolId = POOL_COUNT.incrementAndGet();
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(
+          runnable,
+          "jdbc-source-querier-" + poolId + "-" + threadCount.incrementAndGet()
+      );
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
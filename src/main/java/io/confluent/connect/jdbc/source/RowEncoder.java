@@ -0,0 +1,284 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the values of rows into bytes, to compare rows and their keys without keeping the rows.
+ * Each value is preceded by a tag of its type, so that values of different types never have the
+ * same encoding and the values of keys can be decoded again.
+ *
+ * <p>An encoder reuses its buffer, and is not thread safe.
+ */
+final class RowEncoder {
+
+  private static final byte NULL = 0;
+  private static final byte BOOLEAN = 1;
+  private static final byte INT8 = 2;
+  private static final byte INT16 = 3;
+  private static final byte INT32 = 4;
+  private static final byte INT64 = 5;
+  private static final byte FLOAT32 = 6;
+  private static final byte FLOAT64 = 7;
+  private static final byte STRING = 8;
+  private static final byte BYTES = 9;
+  private static final byte DECIMAL = 10;
+  private static final byte DATE = 11;
+  private static final byte ARRAY = 12;
+  private static final byte MAP = 13;
+  private static final byte STRUCT = 14;
+
+  private final Buffer buffer = new Buffer();
+  private final DataOutputStream out = new DataOutputStream(buffer);
+
+  /**
+   * Encode the values of the key fields of a row.
+   *
+   * @param row       the row; may not be null
+   * @param keyFields the fields of the key, in order; may not be null
+   * @return the encoded key; never null
+   */
+  byte[] encodeKey(Struct row, Field[] keyFields) {
+    buffer.reset();
+    for (Field field : keyFields) {
+      write(row.get(field));
+    }
+    return buffer.toByteArray();
+  }
+
+  /**
+   * Compute a 64-bit hash of all the values of a row.
+   *
+   * @param row the row; may not be null
+   * @return the hash
+   */
+  long hashRow(Struct row) {
+    buffer.reset();
+    write(row);
+    return hash64(buffer.bytes(), buffer.size());
+  }
+
+  /**
+   * Decode the values of a key encoded by {@link #encodeKey(Struct, Field[])}.
+   *
+   * @param key the encoded key; may not be null
+   * @return the values of the key fields, in order; never null
+   * @throws DataException if the key cannot be decoded
+   */
+  static List<Object> decodeKey(byte[] key) {
+    List<Object> values = new ArrayList<>();
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(key))) {
+      while (in.available() > 0) {
+        values.add(read(in));
+      }
+    } catch (IOException e) {
+      throw new DataException("Invalid encoded key", e);
+    }
+    return values;
+  }
+
+  private void write(Object value) {
+    try {
+      if (value == null) {
+        out.writeByte(NULL);
+      } else if (value instanceof Boolean) {
+        out.writeByte(BOOLEAN);
+        out.writeBoolean((Boolean) value);
+      } else if (value instanceof Byte) {
+        out.writeByte(INT8);
+        out.writeByte((Byte) value);
+      } else if (value instanceof Short) {
+        out.writeByte(INT16);
+        out.writeShort((Short) value);
+      } else if (value instanceof Integer) {
+        out.writeByte(INT32);
+        out.writeInt((Integer) value);
+      } else if (value instanceof Long) {
+        out.writeByte(INT64);
+        out.writeLong((Long) value);
+      } else if (value instanceof Float) {
+        out.writeByte(FLOAT32);
+        out.writeFloat((Float) value);
+      } else if (value instanceof Double) {
+        out.writeByte(FLOAT64);
+        out.writeDouble((Double) value);
+      } else if (value instanceof String) {
+        out.writeByte(STRING);
+        writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+      } else if (value instanceof byte[]) {
+        out.writeByte(BYTES);
+        writeBytes((byte[]) value);
+      } else if (value instanceof ByteBuffer) {
+        ByteBuffer bytes = ((ByteBuffer) value).duplicate();
+        byte[] array = new byte[bytes.remaining()];
+        bytes.get(array);
+        out.writeByte(BYTES);
+        writeBytes(array);
+      } else if (value instanceof BigDecimal) {
+        BigDecimal decimal = (BigDecimal) value;
+        out.writeByte(DECIMAL);
+        out.writeInt(decimal.scale());
+        writeBytes(decimal.unscaledValue().toByteArray());
+      } else if (value instanceof Date) {
+        out.writeByte(DATE);
+        out.writeLong(((Date) value).getTime());
+      } else if (value instanceof List) {
+        List<?> list = (List<?>) value;
+        out.writeByte(ARRAY);
+        out.writeInt(list.size());
+        for (Object element : list) {
+          write(element);
+        }
+      } else if (value instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        out.writeByte(MAP);
+        out.writeInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          write(entry.getKey());
+          write(entry.getValue());
+        }
+      } else if (value instanceof Struct) {
+        Struct struct = (Struct) value;
+        List<Field> fields = struct.schema().fields();
+        out.writeByte(STRUCT);
+        out.writeInt(fields.size());
+        for (Field field : fields) {
+          write(struct.get(field));
+        }
+      } else {
+        throw new DataException("Cannot encode value of " + value.getClass());
+      }
+    } catch (IOException e) {
+      // The buffer is in memory, so this never happens
+      throw new DataException(e);
+    }
+  }
+
+  private void writeBytes(byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static Object read(DataInputStream in) throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case BOOLEAN:
+        return in.readBoolean();
+      case INT8:
+        return in.readByte();
+      case INT16:
+        return in.readShort();
+      case INT32:
+        return in.readInt();
+      case INT64:
+        return in.readLong();
+      case FLOAT32:
+        return in.readFloat();
+      case FLOAT64:
+        return in.readDouble();
+      case STRING:
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+      case BYTES:
+        return readBytes(in);
+      case DECIMAL:
+        int scale = in.readInt();
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+      case DATE:
+        return new Date(in.readLong());
+      default:
+        throw new DataException("Cannot decode key value with tag " + tag);
+    }
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * Compute the 64-bit MurmurHash2 of bytes.
+   *
+   * @param bytes  the bytes; may not be null
+   * @param length the number of bytes to hash from the start of the array
+   * @return the hash
+   */
+  static long hash64(byte[] bytes, int length) {
+    final long m = 0xc6a4a7935bd1e995L;
+    final int r = 47;
+    long h = 0x9747b28cL ^ (length * m);
+    int i = 0;
+    for (; i + 8 <= length; i += 8) {
+      long k = (bytes[i] & 0xffL)
+               | (bytes[i + 1] & 0xffL) << 8
+               | (bytes[i + 2] & 0xffL) << 16
+               | (bytes[i + 3] & 0xffL) << 24
+               | (bytes[i + 4] & 0xffL) << 32
+               | (bytes[i + 5] & 0xffL) << 40
+               | (bytes[i + 6] & 0xffL) << 48
+               | (bytes[i + 7] & 0xffL) << 56;
+      k *= m;
+      k ^= k >>> r;
+      k *= m;
+      h ^= k;
+      h *= m;
+    }
+    if (i < length) {
+      long k = 0;
+      for (int j = length - 1; j >= i; --j) {
+        k = k << 8 | (bytes[j] & 0xffL);
+      }
+      h ^= k;
+      h *= m;
+    }
+    h ^= h >>> r;
+    h *= m;
+    h ^= h >>> r;
+    return h;
+  }
+
+  /**
+   * A byte array output stream whose array can be read without copying it.
+   */
+  private static final class Buffer extends ByteArrayOutputStream {
+    Buffer() {
+      super(256);
+    }
+
+    byte[] bytes() {
+      return buf;
+    }
+  }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An index from the primary keys of the rows of a table to a hash of the contents of the rows.
+ * The index is kept in two memory-mapped files, so that tables of any size can be indexed without
+ * keeping the keys on the heap: a keys file with the encoded keys one after the other, and an
+ * index file with an open addressing hash table of fixed-size slots that refer to the keys.
+ *
+ * <p>An index is written once, by a scan of the table, and can only be searched once it is
+ * finished. A finished index records the number of its slots and keys in the header of the index
+ * file, and a random identifier of the index that is also the start of the keys file, so that an
+ * index whose files were not both written completely is never opened.
+ */
+final class RowHashIndex implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(RowHashIndex.class);
+
+  private static final int MAGIC = 0x4a524849;
+  private static final int VERSION = 1;
+  // magic, version, identifier, capacity, size and length of the keys file, padded to a
+  // multiple of the size of the slots
+  private static final int HEADER_BYTES = 64;
+  // hash of the key, hash of the row, position and length of the key, padding
+  private static final int SLOT_BYTES = 32;
+  // The files are mapped in segments, and slots never span two segments
+  private static final int SEGMENT_SHIFT = 30;
+  private static final int SEGMENT_BYTES = 1 << SEGMENT_SHIFT;
+  private static final long MIN_CAPACITY = 1024;
+
+  private final Path indexFile;
+  private final Path keysFile;
+  private final long id;
+  private long capacity;
+  private long size;
+  private MappedByteBuffer[] slots;
+  private long keysLength;
+  // The keys file is written while the index is built, and mapped once it is finished
+  private DataOutputStream keysOut;
+  private MappedByteBuffer[] keys;
+
+  private RowHashIndex(Path indexFile, Path keysFile, long id, long capacity) {
+    this.indexFile = indexFile;
+    this.keysFile = keysFile;
+    this.id = id;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Create an empty index, replacing any existing files.
+   *
+   * @param indexFile    the index file; may not be null
+   * @param keysFile     the keys file; may not be null
+   * @param expectedSize the expected number of keys, used to size the index
+   * @return the index; never null
+   * @throws IOException if the files cannot be created
+   */
+  static RowHashIndex create(Path indexFile, Path keysFile, long expectedSize) throws IOException {
+    long capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    RowHashIndex index = new RowHashIndex(
+        indexFile,
+        keysFile,
+        ThreadLocalRandom.current().nextLong(),
+        capacity
+    );
+    index.slots = mapSlots(indexFile, capacity);
+    index.keysOut = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(keysFile), 1 << 16)
+    );
+    index.keysOut.writeLong(index.id);
+    index.keysLength = Long.BYTES;
+    return index;
+  }
+
+  /**
+   * Open a finished index.
+   *
+   * @param indexFile the index file; may not be null
+   * @param keysFile  the keys file; may not be null
+   * @return the index, or null if the files do not exist or are not a finished index
+   * @throws IOException if the files cannot be read
+   */
+  static RowHashIndex open(Path indexFile, Path keysFile) throws IOException {
+    if (!Files.isRegularFile(indexFile) || !Files.isRegularFile(keysFile)) {
+      return null;
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+        // read the whole header
+      }
+      header.flip();
+      if (header.remaining() < HEADER_BYTES
+          || header.getInt() != MAGIC
+          || header.getInt() != VERSION) {
+        log.warn("Ignoring the invalid index file {}", indexFile);
+        return null;
+      }
+      long id = header.getLong();
+      RowHashIndex index = new RowHashIndex(indexFile, keysFile, id, header.getLong());
+      index.size = header.getLong();
+      index.keysLength = header.getLong();
+      if (Long.bitCount(index.capacity) != 1
+          || channel.size() != HEADER_BYTES + index.capacity * SLOT_BYTES
+          || Files.size(keysFile) != index.keysLength
+          || readId(keysFile) != index.id) {
+        log.warn("Ignoring the index file {}, which does not match the keys file {}",
+            indexFile, keysFile);
+        return null;
+      }
+      index.slots = map(channel, FileChannel.MapMode.READ_ONLY, channel.size());
+      index.keys = mapKeys(keysFile, index.keysLength);
+      return index;
+    }
+  }
+
+  private static long readId(Path keysFile) throws IOException {
+    ByteBuffer id = ByteBuffer.allocate(Long.BYTES);
+    try (FileChannel channel = FileChannel.open(keysFile, StandardOpenOption.READ)) {
+      while (id.hasRemaining() && channel.read(id) >= 0) {
+        // read the whole identifier
+      }
+    }
+    id.flip();
+    return id.remaining() == Long.BYTES ? id.getLong() : 0L;
+  }
+
+  private static MappedByteBuffer[] mapSlots(Path file, long capacity) throws IOException {
+    try (FileChannel channel = FileChannel.open(
+        file,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE
+    )) {
+      // Mapping extends the file, which is sparse and so reads as empty slots
+      return map(channel, FileChannel.MapMode.READ_WRITE, HEADER_BYTES + capacity * SLOT_BYTES);
+    }
+  }
+
+  private static MappedByteBuffer[] mapKeys(Path file, long length) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return map(channel, FileChannel.MapMode.READ_ONLY, length);
+    }
+  }
+
+  private static MappedByteBuffer[] map(
+      FileChannel channel,
+      FileChannel.MapMode mode,
+      long length
+  ) throws IOException {
+    int count = (int) ((length + SEGMENT_BYTES - 1) >>> SEGMENT_SHIFT);
+    MappedByteBuffer[] segments = new MappedByteBuffer[count];
+    for (int i = 0; i < count; ++i) {
+      long position = (long) i << SEGMENT_SHIFT;
+      segments[i] = channel.map(mode, position, Math.min(SEGMENT_BYTES, length - position));
+    }
+    return segments;
+  }
+
+  long id() {
+    return id;
+  }
+
+  long capacity() {
+    return capacity;
+  }
+
+  long size() {
+    return size;
+  }
+
+  /**
+   * Add a key that is not yet in the index. Only allowed before the index is finished.
+   *
+   * @param key     the encoded key; may not be null
+   * @param rowHash the hash of the row
+   * @throws IOException if the files cannot be written
+   */
+  void put(byte[] key, long rowHash) throws IOException {
+    if ((size + 1) * 2 > capacity) {
+      grow();
+    }
+    long keyHash = keyHash(key);
+    long slot = keyHash & (capacity - 1);
+    while (getLong(slots, slotPosition(slot)) != 0) {
+      slot = (slot + 1) & (capacity - 1);
+    }
+    putSlot(slots, slotPosition(slot), keyHash, rowHash, keysLength, key.length);
+    keysOut.write(key);
+    keysLength += key.length;
+    ++size;
+  }
+
+  private void grow() throws IOException {
+    long newCapacity = capacity << 1;
+    Path newFile = indexFile.resolveSibling(indexFile.getFileName() + ".grow");
+    MappedByteBuffer[] newSlots = mapSlots(newFile, newCapacity);
+    for (long slot = 0; slot < capacity; ++slot) {
+      long position = slotPosition(slot);
+      long keyHash = getLong(slots, position);
+      if (keyHash == 0) {
+        continue;
+      }
+      long newSlot = keyHash & (newCapacity - 1);
+      while (getLong(newSlots, slotPosition(newSlot)) != 0) {
+        newSlot = (newSlot + 1) & (newCapacity - 1);
+      }
+      putSlot(
+          newSlots,
+          slotPosition(newSlot),
+          keyHash,
+          getLong(slots, position + 8),
+          getLong(slots, position + 16),
+          getInt(slots, position + 24)
+      );
+    }
+    // The old mapping stays valid until it is collected, even though its file is replaced
+    Files.move(newFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    slots = newSlots;
+    capacity = newCapacity;
+    log.debug("Grew the index {} to {} slots", indexFile, newCapacity);
+  }
+
+  /**
+   * Finish writing the index, after which it can be searched.
+   *
+   * @throws IOException if the files cannot be written
+   */
+  void finish() throws IOException {
+    keysOut.close();
+    keysOut = null;
+    ByteBuffer header = slots[0];
+    header.putInt(0, MAGIC);
+    header.putInt(4, VERSION);
+    header.putLong(8, id);
+    header.putLong(16, capacity);
+    header.putLong(24, size);
+    header.putLong(32, keysLength);
+    for (ByteBuffer segment : slots) {
+      ((MappedByteBuffer) segment).force();
+    }
+    keys = mapKeys(keysFile, keysLength);
+  }
+
+  /**
+   * Find the slot of a key in a finished index.
+   *
+   * @param key the encoded key; may not be null
+   * @return the slot, or -1 if the key is not in the index
+   */
+  long find(byte[] key) {
+    long keyHash = keyHash(key);
+    long slot = keyHash & (capacity - 1);
+    while (true) {
+      long position = slotPosition(slot);
+      long slotHash = getLong(slots, position);
+      if (slotHash == 0) {
+        return -1;
+      }
+      if (slotHash == keyHash
+          && getInt(slots, position + 24) == key.length
+          && Arrays.equals(key, readKey(getLong(slots, position + 16), key.length))) {
+        return slot;
+      }
+      slot = (slot + 1) & (capacity - 1);
+    }
+  }
+
+  /**
+   * Get the hash of the row in a slot of a finished index.
+   *
+   * @param slot the slot of a key
+   * @return the hash of the row
+   */
+  long rowHash(long slot) {
+    return getLong(slots, slotPosition(slot) + 8);
+  }
+
+  /**
+   * Get the key in a slot of a finished index.
+   *
+   * @param slot the slot, between 0 and the capacity
+   * @return the encoded key, or null if the slot is empty
+   */
+  byte[] keyAt(long slot) {
+    long position = slotPosition(slot);
+    if (getLong(slots, position) == 0) {
+      return null;
+    }
+    return readKey(getLong(slots, position + 16), getInt(slots, position + 24));
+  }
+
+  private byte[] readKey(long position, int length) {
+    byte[] key = new byte[length];
+    int done = 0;
+    while (done < length) {
+      long at = position + done;
+      ByteBuffer segment = keys[(int) (at >>> SEGMENT_SHIFT)].duplicate();
+      segment.position((int) (at & (SEGMENT_BYTES - 1)));
+      int count = Math.min(length - done, segment.remaining());
+      segment.get(key, done, count);
+      done += count;
+    }
+    return key;
+  }
+
+  /**
+   * Replace the files of another index with the files of this finished index.
+   *
+   * @param indexFile the index file to replace; may not be null
+   * @param keysFile  the keys file to replace; may not be null
+   * @throws IOException if the files cannot be moved
+   */
+  void moveTo(Path indexFile, Path keysFile) throws IOException {
+    // If only the keys file is moved, the identifiers no longer match and neither index is opened
+    Files.move(this.keysFile, keysFile, StandardCopyOption.REPLACE_EXISTING);
+    Files.move(this.indexFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Close this index and delete its files.
+   *
+   * @throws IOException if the files cannot be deleted
+   */
+  void delete() throws IOException {
+    close();
+    Files.deleteIfExists(indexFile);
+    Files.deleteIfExists(keysFile);
+  }
+
+  @Override
+  public void close() throws IOException {
+    // Mapped buffers are released when they are collected
+    slots = null;
+    keys = null;
+    if (keysOut != null) {
+      OutputStream out = keysOut;
+      keysOut = null;
+      out.close();
+    }
+  }
+
+  private static long keyHash(byte[] key) {
+    long hash = RowEncoder.hash64(key, key.length);
+    // Zero marks empty slots
+    return hash != 0 ? hash : 1;
+  }
+
+  private static long slotPosition(long slot) {
+    return HEADER_BYTES + slot * SLOT_BYTES;
+  }
+
+  private static void putSlot(
+      MappedByteBuffer[] segments,
+      long position,
+      long keyHash,
+      long rowHash,
+      long keyPosition,
+      int keyLength
+  ) {
+    ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+    int offset = (int) (position & (SEGMENT_BYTES - 1));
+    segment.putLong(offset + 8, rowHash);
+    segment.putLong(offset + 16, keyPosition);
+    segment.putInt(offset + 24, keyLength);
+    // The hash of the key is written last, since it marks the slot as used
+    segment.putLong(offset, keyHash);
+  }
+
+  private static long getLong(MappedByteBuffer[] segments, long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)]
+        .getLong((int) (position & (SEGMENT_BYTES - 1)));
+  }
+
+  private static int getInt(MappedByteBuffer[] segments, long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)]
+        .getInt((int) (position & (SEGMENT_BYTES - 1)));
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates of the size of converted rows, used to bound batches by bytes rather than by rows.
+ * The estimates count the bytes of the values, roughly as they are serialized, and ignore the
+ * overhead of the Java objects.
+ */
+final class RowSize {
+
+  // The size of numbers, booleans, dates and values of unknown types
+  private static final long FIXED_SIZE = 8L;
+
+  private RowSize() {
+  }
+
+  /**
+   * Estimate the size of a converted value.
+   *
+   * @param value the value; may be null
+   * @return the estimated size in bytes
+   */
+  static long estimate(Object value) {
+    if (value == null) {
+      return 0L;
+    } else if (value instanceof Struct) {
+      Struct struct = (Struct) value;
+      long size = 0L;
+      for (Field field : struct.schema().fields()) {
+        size += estimate(struct.get(field));
+      }
+      return size;
+    } else if (value instanceof String) {
+      return ((String) value).length();
+    } else if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    } else if (value instanceof ByteBuffer) {
+      return ((ByteBuffer) value).remaining();
+    } else if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1;
+    } else if (value instanceof List) {
+      long size = 0L;
+      for (Object element : (List<?>) value) {
+        size += estimate(element);
+      }
+      return size;
+    } else if (value instanceof Map) {
+      long size = 0L;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        size += estimate(entry.getKey()) + estimate(entry.getValue());
+      }
+      return size;
+    }
+    return FIXED_SIZE;
+  }
+}
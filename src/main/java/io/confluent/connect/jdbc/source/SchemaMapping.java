@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.dialect.DatabaseDialect.ColumnConverter;
@@ -76,20 +77,51 @@ public final class SchemaMapping {
       colConvertersByFieldName.put(fieldName, converter);
     }
     Schema schema = builder.build();
-    return new SchemaMapping(schema, colConvertersByFieldName);
+    return new SchemaMapping(schema, colConvertersByFieldName, fingerprint(metadata));
+  }
+
+  /**
+   * Compute the properties of the result set columns that determine the schema and the
+   * converters of a mapping. Two result sets with equal fingerprints have equivalent mappings.
+   *
+   * @param metadata the result set metadata; never null
+   * @return the fingerprint; never null
+   * @throws SQLException if there is a problem accessing the result set metadata
+   */
+  private static List<Object> fingerprint(ResultSetMetaData metadata) throws SQLException {
+    int columnCount = metadata.getColumnCount();
+    List<Object> fingerprint = new ArrayList<>(columnCount * 10);
+    for (int column = 1; column <= columnCount; ++column) {
+      fingerprint.add(metadata.getColumnLabel(column));
+      fingerprint.add(metadata.getColumnName(column));
+      fingerprint.add(metadata.getTableName(column));
+      fingerprint.add(metadata.getColumnType(column));
+      fingerprint.add(metadata.getColumnTypeName(column));
+      fingerprint.add(metadata.getColumnClassName(column));
+      fingerprint.add(metadata.getPrecision(column));
+      fingerprint.add(metadata.getScale(column));
+      fingerprint.add(metadata.isNullable(column));
+      fingerprint.add(metadata.isSigned(column));
+    }
+    return fingerprint;
   }
 
   private final Schema schema;
+  // The setters in column order, as an array so that converting a row allocates no iterator
+  private final FieldSetter[] fieldSetterArray;
   private final List<FieldSetter> fieldSetters;
+  private final List<Object> metadataFingerprint;
 
   private SchemaMapping(
       Schema schema,
-      Map<String, ColumnConverter> convertersByFieldName
+      Map<String, ColumnConverter> convertersByFieldName,
+      List<Object> metadataFingerprint
   ) {
     assert schema != null;
     assert convertersByFieldName != null;
     assert !convertersByFieldName.isEmpty();
     this.schema = schema;
+    this.metadataFingerprint = metadataFingerprint;
     List<FieldSetter> fieldSetters = new ArrayList<>(convertersByFieldName.size());
     for (Map.Entry<String, ColumnConverter> entry : convertersByFieldName.entrySet()) {
       ColumnConverter converter = entry.getValue();
@@ -97,6 +129,7 @@ public final class SchemaMapping {
       assert field != null;
       fieldSetters.add(new FieldSetter(converter, field));
     }
+    this.fieldSetterArray = fieldSetters.toArray(new FieldSetter[0]);
     this.fieldSetters = Collections.unmodifiableList(fieldSetters);
   }
 
@@ -104,6 +137,25 @@ public final class SchemaMapping {
     return schema;
   }
 
+  /**
+   * Determine whether this mapping can be used for a result set, which is the case when the
+   * result set has the same columns with the same types as the result set this mapping was
+   * created for. Reusing a mapping avoids rebuilding the schema and the column converters for
+   * every query of a table whose structure has not changed.
+   *
+   * @param schemaName the name of the schema; may be null
+   * @param metadata   the result set metadata; never null
+   * @return true if this mapping can be used for the result set, or false otherwise
+   * @throws SQLException if there is a problem accessing the result set metadata
+   */
+  public boolean matches(
+      String schemaName,
+      ResultSetMetaData metadata
+  ) throws SQLException {
+    return Objects.equals(schemaName, schema.name())
+           && metadataFingerprint.equals(fingerprint(metadata));
+  }
+
   /**
    * Get the {@link FieldSetter} functions, which contain one for each result set column whose
    * values are to be mapped/converted and then set on the corresponding {@link Field} in supplied
@@ -115,6 +167,22 @@ public final class SchemaMapping {
     return fieldSetters;
   }
 
+  /**
+   * Convert the current row of the result set into a {@link Struct} with this mapping's schema.
+   *
+   * @param resultSet the result set positioned at the row to be converted; may not be null
+   * @return the struct with the converted values of the row; never null
+   * @throws SQLException if there is an error accessing the result set
+   * @throws IOException  if there is an error accessing a streaming value from the result set
+   */
+  Struct convertRow(ResultSet resultSet) throws SQLException, IOException {
+    Struct struct = new Struct(schema);
+    for (int i = 0; i < fieldSetterArray.length; ++i) {
+      fieldSetterArray[i].setField(struct, resultSet);
+    }
+    return struct;
+  }
+
   @Override
   public String toString() {
     return "Mapping for " + schema.name();
@@ -124,6 +192,7 @@ public final class SchemaMapping {
 
     private final ColumnConverter converter;
     private final Field field;
+    private final boolean optional;
 
     private FieldSetter(
         ColumnConverter converter,
@@ -131,6 +200,7 @@ public final class SchemaMapping {
     ) {
       this.converter = converter;
       this.field = field;
+      this.optional = field.schema().isOptional();
     }
 
     /**
@@ -146,8 +216,8 @@ public final class SchemaMapping {
      * Call the {@link ColumnConverter converter} on the supplied {@link ResultSet} and set the
      * corresponding {@link #field() field} on the supplied {@link Struct}.
      *
-     * @param struct    the struct whose field is to be set with the converted value from the result
-     *                  set; may not be null
+     * @param struct    the newly created struct whose field is to be set with the converted value
+     *                  from the result set; may not be null
      * @param resultSet the result set positioned at the row to be processed; may not be null
      * @throws SQLException if there is an error accessing the result set
      * @throws IOException  if there is an error accessing a streaming value from the result set
@@ -157,11 +227,13 @@ public final class SchemaMapping {
         ResultSet resultSet
     ) throws SQLException, IOException {
       Object value = this.converter.convert(resultSet);
-      if (resultSet.wasNull()) {
-        struct.put(field, null);
-      } else {
+      if (!resultSet.wasNull()) {
         struct.put(field, value);
+      } else if (!optional) {
+        // Fails the validation of the required field
+        struct.put(field, null);
       }
+      // Otherwise the field of the new struct is already null, and needs no validation
     }
 
     @Override
@@ -0,0 +1,420 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.QuoteMethod;
+
+/**
+ * <p>
+ *   SnapshotDiffTableQuerier reads the entire table like the bulk mode, but only returns the rows
+ *   that were inserted or changed since the previous scan of the table, and a tombstone for each
+ *   row that was deleted. The records are keyed by the primary key of the table.
+ * </p>
+ * <p>
+ *   Each scan builds a {@link RowHashIndex} of the primary keys and the hashes of the rows in a
+ *   local directory, and compares each row to the index of the previous scan. Once all rows are
+ *   read, the keys of the previous index that are not in the new index are deleted rows. The new
+ *   index only replaces the previous index once the producer acknowledged every record of the
+ *   completed scan, and the table is not scanned again until then. A scan that fails or is
+ *   interrupted, or whose records were not all acknowledged, is compared again to the same
+ *   previous index, so its changes are produced again.
+ * </p>
+ * <p>
+ *   The records of a scan carry the identifier of the scan as their source offset, so that the
+ *   task can pass their acknowledgements to {@link #commitRecord(SourceRecord)}.
+ * </p>
+ * <p>
+ *   Since most rows of a table are usually unchanged, a call to {@link #next()} only reads a
+ *   bounded number of rows that produce no records before it {@link #yielded() yields} to the
+ *   task, which continues the scan with its next poll.
+ * </p>
+ */
+public class SnapshotDiffTableQuerier extends TableQuerier {
+  private static final Logger log = LoggerFactory.getLogger(SnapshotDiffTableQuerier.class);
+
+  static final String SCAN_FIELD = "diff.scan";
+
+  private final Path indexFile;
+  private final Path keysFile;
+  private final Path scanIndexFile;
+  private final Path scanKeysFile;
+  private final String topic;
+  private final Map<String, String> partition;
+  private final RowEncoder encoder = new RowEncoder();
+  // The maximum number of unchanged rows and indexed keys read by a call to next()
+  private final int maxSkippedRows;
+
+  private List<ColumnId> keyColumns;
+  private Schema valueSchema;
+  private Schema keySchema;
+  private Field[] keyFields;
+
+  // The index of the last delivered scan, or null if there is none
+  private RowHashIndex previousIndex;
+  private boolean previousIndexLoaded;
+  // The index being built by the running scan
+  private RowHashIndex scanIndex;
+  // The index of the completed scan, whose records may not have been acknowledged yet
+  private RowHashIndex completedIndex;
+  private long completedRecords;
+  // The source offset of the records of the running scan
+  private Map<String, Object> scanOffset;
+  // Whether the current query was skipped because the records of the completed scan were not
+  // all acknowledged yet
+  private boolean skipped;
+  // The scan whose records are being acknowledged and the number of its acknowledged records,
+  // which are guarded by this querier since records are acknowledged on the producer's thread
+  private long acknowledgedScan;
+  private long acknowledgedRecords;
+  // The next slot of the previous index searched for deleted keys, or -1 while reading rows
+  private long tombstoneSlot = -1;
+  private SourceRecord nextRecord;
+  private long changedRows;
+  private long deletedRows;
+  private boolean yielded;
+
+  public SnapshotDiffTableQuerier(
+      DatabaseDialect dialect,
+      QueryMode mode,
+      String name,
+      String topicPrefix,
+      String suffix,
+      Path directory,
+      TableSlice slice,
+      int maxSkippedRows
+  ) {
+    super(dialect, mode, name, topicPrefix, suffix, slice);
+    if (mode != QueryMode.TABLE) {
+      throw new ConnectException("Bulk snapshot diffs are only supported in table mode");
+    }
+    String fileName = ExpressionBuilder.create().append(tableId, QuoteMethod.NEVER).toString();
+    if (this.slice != null) {
+      fileName += "." + this.slice.id();
+    }
+    fileName = fileName.replaceAll("[^A-Za-z0-9._-]", "_");
+    this.indexFile = directory.resolve(fileName + ".index");
+    this.keysFile = directory.resolve(fileName + ".keys");
+    this.scanIndexFile = directory.resolve(fileName + ".index.tmp");
+    this.scanKeysFile = directory.resolve(fileName + ".keys.tmp");
+    this.maxSkippedRows = Math.max(1, maxSkippedRows);
+    String tableName = tableId.tableName(); // backwards compatible
+    this.topic = topicPrefix + tableName;
+    this.partition = this.slice != null
+        ? OffsetProtocols.sourcePartitionForSlice(tableId, this.slice)
+        : Collections.singletonMap(JdbcSourceConnectorConstants.TABLE_NAME_KEY, tableName);
+  }
+
+  @Override
+  protected void createPreparedStatement(Connection db) throws SQLException {
+    if (keyColumns == null) {
+      keyColumns = findKeyColumns(db);
+    }
+    ColumnId sliceColumn = slice != null ? findSliceColumn(db, null) : null;
+    List<ColumnId> requiredColumns = new ArrayList<>(keyColumns);
+    requiredColumns.add(sliceColumn);
+    ExpressionBuilder builder = dialect.expressionBuilder();
+    builder.append("SELECT ");
+    appendSelectedColumns(builder, db, requiredColumns.toArray(new ColumnId[0]));
+    builder.append(" FROM ").append(tableId);
+    ExpressionBuilder condition = dialect.expressionBuilder();
+    if (slice != null) {
+      appendSliceCondition(condition, sliceColumn);
+    }
+    String where = withFilter(condition.toString());
+    if (where != null) {
+      builder.append(" WHERE ").append(where);
+    }
+    addSuffixIfPresent(builder);
+
+    String queryString = builder.toString();
+    recordQuery(queryString);
+    log.trace("{} prepared SQL query: {}", this, queryString);
+    stmt = dialect.createPreparedStatement(db, queryString);
+  }
+
+  private List<ColumnId> findKeyColumns(Connection db) throws SQLException {
+    List<ColumnId> columns = new ArrayList<>();
+    for (ColumnId pkColumn : primaryKeyColumns(db)) {
+      columns.add(new ColumnId(tableId, pkColumn.name()));
+    }
+    if (columns.isEmpty()) {
+      throw new ConnectException(
+          "Bulk snapshot diffs of " + tableId + " require a primary key, but the table has none"
+      );
+    }
+    return columns;
+  }
+
+  @Override
+  protected ResultSet executeQuery() throws SQLException {
+    return stmt.executeQuery();
+  }
+
+  @Override
+  public void maybeStartQuery(Connection db) throws SQLException, ConnectException {
+    if (!querying()) {
+      if (completedIndex != null && !completedScanAcknowledged()) {
+        log.debug("Waiting for the records of the last scan of {} to be acknowledged", tableId);
+        // Keep the connection, so that the read transaction ends when this querier is reset
+        this.db = db;
+        skipped = true;
+        return;
+      }
+      startScan();
+    }
+    super.maybeStartQuery(db);
+  }
+
+  private void startScan() {
+    try {
+      Files.createDirectories(indexFile.getParent());
+      if (completedIndex != null) {
+        // The records of the completed scan were acknowledged, so its index can replace the
+        // previous index
+        if (previousIndex != null) {
+          previousIndex.close();
+        }
+        completedIndex.moveTo(indexFile, keysFile);
+        previousIndex = completedIndex;
+        completedIndex = null;
+      } else if (!previousIndexLoaded) {
+        previousIndex = RowHashIndex.open(indexFile, keysFile);
+        log.info("Comparing the rows of {} to {}", tableId,
+            previousIndex != null ? previousIndex.size() + " keys of " + indexFile : "no keys");
+      }
+      previousIndexLoaded = true;
+      scanIndex = RowHashIndex.create(
+          scanIndexFile,
+          scanKeysFile,
+          previousIndex != null ? previousIndex.size() : 0
+      );
+    } catch (IOException e) {
+      throw new ConnectException("Unable to prepare the snapshot index of " + tableId, e);
+    }
+    scanOffset = Collections.singletonMap(SCAN_FIELD, scanIndex.id());
+    synchronized (this) {
+      acknowledgedScan = scanIndex.id();
+      acknowledgedRecords = 0;
+    }
+    tombstoneSlot = -1;
+    changedRows = 0;
+    deletedRows = 0;
+  }
+
+  private synchronized boolean completedScanAcknowledged() {
+    return acknowledgedScan == completedIndex.id() && acknowledgedRecords >= completedRecords;
+  }
+
+  /**
+   * Record that the producer acknowledged a record of this querier. This may be called on any
+   * thread.
+   *
+   * @param record the record, as returned by this querier; may not be null
+   */
+  public synchronized void commitRecord(SourceRecord record) {
+    Map<String, ?> offset = record.sourceOffset();
+    Object scan = offset != null ? offset.get(SCAN_FIELD) : null;
+    if (scan instanceof Long && (Long) scan == acknowledgedScan) {
+      ++acknowledgedRecords;
+    }
+  }
+
+  /**
+   * Get the source partition of the records of this querier.
+   *
+   * @return the source partition; never null
+   */
+  public Map<String, String> partition() {
+    return partition;
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    yielded = false;
+    if (skipped) {
+      return false;
+    }
+    int skippedRows = 0;
+    try {
+      if (tombstoneSlot < 0) {
+        while (super.next()) {
+          Struct row = extractStruct();
+          byte[] key = encoder.encodeKey(row, keyFields(row.schema()));
+          long rowHash = encoder.hashRow(row);
+          scanIndex.put(key, rowHash);
+          long slot = previousIndex != null ? previousIndex.find(key) : -1;
+          if (slot < 0 || previousIndex.rowHash(slot) != rowHash) {
+            ++changedRows;
+            nextRecord = new SourceRecord(
+                partition, scanOffset, topic, null, keySchema, keyStruct(row), row.schema(), row
+            );
+            return true;
+          }
+          if (++skippedRows >= maxSkippedRows) {
+            return yieldToTask();
+          }
+        }
+        scanIndex.finish();
+        tombstoneSlot = 0;
+      }
+      if (previousIndex != null) {
+        while (tombstoneSlot < previousIndex.capacity()) {
+          if (++skippedRows > maxSkippedRows) {
+            return yieldToTask();
+          }
+          byte[] key = previousIndex.keyAt(tombstoneSlot++);
+          if (key != null && scanIndex.find(key) < 0) {
+            ++deletedRows;
+            Struct deletedKey = decodeKey(key);
+            // A tombstone has no value schema, so that converters write a null value
+            nextRecord = new SourceRecord(
+                partition, scanOffset, topic, null, keySchema, deletedKey, null, null
+            );
+            return true;
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new ConnectException("Unable to write the snapshot index of " + tableId, e);
+    }
+    log.info("Completed scan of {} with {} changed and {} deleted rows",
+        tableId, changedRows, deletedRows);
+    return false;
+  }
+
+  private boolean yieldToTask() {
+    log.trace("Yielding in the middle of the scan of {}", tableId);
+    yielded = true;
+    return false;
+  }
+
+  @Override
+  public boolean yielded() {
+    return yielded;
+  }
+
+  private Field[] keyFields(Schema schema) {
+    if (schema != valueSchema) {
+      Field[] fields = new Field[keyColumns.size()];
+      SchemaBuilder builder = SchemaBuilder.struct();
+      for (int i = 0; i < fields.length; ++i) {
+        String name = keyColumns.get(i).name();
+        fields[i] = schema.field(name);
+        if (fields[i] == null) {
+          throw new DataException("Primary key column " + name + " not found in " + schema);
+        }
+        builder.field(name, fields[i].schema());
+      }
+      keyFields = fields;
+      keySchema = builder.build();
+      valueSchema = schema;
+    }
+    return keyFields;
+  }
+
+  private Struct keyStruct(Struct row) {
+    Struct key = new Struct(keySchema);
+    for (Field field : keyFields) {
+      key.put(field.name(), row.get(field));
+    }
+    return key;
+  }
+
+  private Struct decodeKey(byte[] encodedKey) {
+    if (keySchema == null) {
+      // Every row of the table was deleted, so the schema comes from the empty result set
+      keyFields(schemaMapping.schema());
+    }
+    List<Object> values = RowEncoder.decodeKey(encodedKey);
+    if (values.size() != keyFields.length) {
+      throw new DataException(
+          "The indexed key of " + tableId + " does not match the primary key " + keyColumns
+      );
+    }
+    Struct key = new Struct(keySchema);
+    for (int i = 0; i < keyFields.length; ++i) {
+      key.put(keyFields[i].name(), values.get(i));
+    }
+    return key;
+  }
+
+  @Override
+  public SourceRecord extractRecord() {
+    SourceRecord record = nextRecord;
+    nextRecord = null;
+    return record;
+  }
+
+  @Override
+  public void reset(long now, boolean resetOffset) {
+    try {
+      if (scanIndex != null) {
+        if (resetOffset || tombstoneSlot < 0) {
+          // The scan did not complete, so the next scan is compared to the same index again
+          scanIndex.delete();
+        } else {
+          completedIndex = scanIndex;
+          completedRecords = changedRows + deletedRows;
+        }
+        scanIndex = null;
+      }
+      if (resetOffset && completedIndex != null) {
+        // The records of the completed scan may not have been delivered
+        completedIndex.delete();
+        completedIndex = null;
+      }
+    } catch (IOException e) {
+      log.warn("Error deleting the snapshot index of {}", tableId, e);
+    }
+    nextRecord = null;
+    skipped = false;
+    yielded = false;
+    super.reset(now, resetOffset);
+  }
+
+  @Override
+  public String toString() {
+    return "SnapshotDiffTableQuerier{"
+           + "table=" + tableId
+           + ", topicPrefix='" + topicPrefix + '\''
+           + ", index=" + indexFile
+           + '}';
+  }
+}
@@ -15,16 +15,28 @@
 
 package io.confluent.connect.jdbc.source;
 
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.errors.DataException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.TableId;
 
@@ -41,12 +53,17 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
 
   private final Logger log = LoggerFactory.getLogger(TableQuerier.class);
 
+  // The number of rows over which the average size of the rows is computed
+  private static final int AVERAGE_ROW_BYTES_WINDOW = 32;
+
   protected final DatabaseDialect dialect;
   protected final QueryMode mode;
   protected final String query;
   protected final String topicPrefix;
   protected final TableId tableId;
   protected final String suffix;
+  // The slice of the table read by this querier, or null if it reads the whole table
+  protected final TableSlice slice;
 
   // Mutable state
 
@@ -58,6 +75,19 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
   private String loggedQueryString;
 
   private int attemptedRetries;
+  // The adaptive interval between the queries of this querier, or null to use the poll interval
+  private PollInterval pollInterval;
+  private long rowsInQuery;
+  // The byte budget of each batch and the largest fetch size, or zero if rows are not measured
+  private long batchMaxBytes;
+  private int maxFetchSize;
+  private long lastRowBytes;
+  private double averageRowBytes;
+
+  private ColumnProjection columnProjection;
+  private List<ColumnId> projectedColumns;
+  private String filter;
+  private String queryName = JdbcSourceConnectorConstants.QUERY_NAME_VALUE;
 
   public TableQuerier(
       DatabaseDialect dialect,
@@ -65,6 +95,17 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
       String nameOrQuery,
       String topicPrefix,
       String suffix
+  ) {
+    this(dialect, mode, nameOrQuery, topicPrefix, suffix, null);
+  }
+
+  public TableQuerier(
+      DatabaseDialect dialect,
+      QueryMode mode,
+      String nameOrQuery,
+      String topicPrefix,
+      String suffix,
+      TableSlice slice
   ) {
     this.dialect = dialect;
     this.mode = mode;
@@ -73,6 +114,7 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
     this.topicPrefix = topicPrefix;
     this.lastUpdate = 0;
     this.suffix = suffix;
+    this.slice = mode.equals(QueryMode.TABLE) ? slice : null;
     this.attemptedRetries = 0;
   }
 
@@ -80,6 +122,104 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
     return lastUpdate;
   }
 
+  /**
+   * Get the interval between the end of the last query and the start of the next query.
+   *
+   * @param defaultIntervalMs the interval used when this querier has no adaptive interval
+   * @return the interval in milliseconds
+   */
+  public long getPollIntervalMs(long defaultIntervalMs) {
+    return pollInterval != null ? pollInterval.currentMs() : defaultIntervalMs;
+  }
+
+  /**
+   * Adapt the interval between the queries of this querier to the number of rows they return.
+   * Must not be called while this querier is in a queue ordered by its next update time.
+   *
+   * @param pollInterval the interval; may be null to use the poll interval of the task
+   */
+  public void setPollInterval(PollInterval pollInterval) {
+    this.pollInterval = pollInterval;
+  }
+
+  /**
+   * Make this querier due at the given time, because the table is known to have changed. Must not
+   * be called while this querier is in a queue ordered by its next update time.
+   *
+   * @param now               the current time in milliseconds
+   * @param defaultIntervalMs the interval used when this querier has no adaptive interval
+   */
+  public void wakeUp(long now, long defaultIntervalMs) {
+    lastUpdate = Math.min(lastUpdate, now - getPollIntervalMs(defaultIntervalMs));
+  }
+
+  /**
+   * Bound the batches of this querier by the estimated size of their rows, and adapt the fetch
+   * size to the average size of the rows so that a round trip fetches about one batch.
+   *
+   * @param batchMaxBytes the maximum size of the rows in a batch, or zero for no limit
+   * @param maxFetchSize  the largest fetch size
+   */
+  public void setBatchMaxBytes(long batchMaxBytes, int maxFetchSize) {
+    this.batchMaxBytes = batchMaxBytes;
+    this.maxFetchSize = maxFetchSize;
+  }
+
+  /**
+   * Get the maximum size of the rows in a batch.
+   *
+   * @return the size in bytes, or zero if batches are not bounded by size
+   */
+  public long getBatchMaxBytes() {
+    return batchMaxBytes;
+  }
+
+  /**
+   * Get the estimated size of the last row extracted by this querier.
+   *
+   * @return the size in bytes, or zero if batches are not bounded by size
+   */
+  public long getLastRowBytes() {
+    return lastRowBytes;
+  }
+
+  /**
+   * Select only some of the columns of the table.
+   *
+   * @param columnProjection the projection; may be null to select all columns
+   */
+  public void setColumnProjection(ColumnProjection columnProjection) {
+    this.columnProjection = columnProjection;
+    this.projectedColumns = null;
+  }
+
+  /**
+   * Select only the rows of the table that satisfy a condition.
+   *
+   * @param filter the SQL condition; may be null or empty to select all rows
+   */
+  public void setFilter(String filter) {
+    this.filter = filter != null && !filter.trim().isEmpty() ? filter.trim() : null;
+  }
+
+  /**
+   * Set the name of the query in query mode, which keys the source partition of the query.
+   *
+   * @param queryName the name; may not be null
+   */
+  public void setQueryName(String queryName) {
+    this.queryName = queryName;
+  }
+
+  /**
+   * Get the source partition of the query in query mode.
+   *
+   * @return the partition; never null
+   */
+  protected Map<String, String> queryPartition() {
+    return Collections.singletonMap(JdbcSourceConnectorConstants.QUERY_NAME_KEY, queryName);
+  }
+
   public PreparedStatement getOrCreatePreparedStatement(Connection db) throws SQLException {
     if (stmt != null) {
       return stmt;
@@ -98,30 +238,116 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
     if (resultSet == null) {
       this.db = db;
       stmt = getOrCreatePreparedStatement(db);
+      // Fetch sizes that are not positive have a special meaning to some drivers
+      if (adaptsFetchSize() && stmt.getFetchSize() > 0) {
+        stmt.setFetchSize(adaptiveFetchSize());
+      }
       resultSet = executeQuery();
       String schemaName = tableId != null ? tableId.tableName() : null; // backwards compatible
-      schemaMapping = SchemaMapping.create(schemaName, resultSet.getMetaData(), dialect);
+      ResultSetMetaData metadata = resultSet.getMetaData();
+      if (schemaMapping == null || !schemaMapping.matches(schemaName, metadata)) {
+        schemaMapping = SchemaMapping.create(schemaName, metadata, dialect);
+      }
     } else {
       log.trace("Current ResultSet {} isn't null. Continuing to seek.", resultSet.hashCode());
+      if (adaptsFetchSize() && resultSet.getFetchSize() > 0) {
+        // Only a hint for the following round trips, which drivers may ignore
+        resultSet.setFetchSize(adaptiveFetchSize());
+      }
     }
     log.trace("Prepared statement created.");
   }
 
   protected abstract ResultSet executeQuery() throws SQLException;
 
+  private boolean adaptsFetchSize() {
+    return batchMaxBytes > 0 && averageRowBytes > 0;
+  }
+
+  /**
+   * Compute the fetch size that fetches about one batch of rows of the average size.
+   *
+   * @return the fetch size; always positive
+   */
+  int adaptiveFetchSize() {
+    return adaptiveFetchSize(batchMaxBytes, averageRowBytes, maxFetchSize);
+  }
+
+  /**
+   * Compute the fetch size that fetches about one batch of rows of the given average size.
+   *
+   * @param batchMaxBytes   the maximum size of the rows in a batch
+   * @param averageRowBytes the average size of the rows, or zero if it is not known yet
+   * @param maxFetchSize    the largest fetch size
+   * @return the fetch size, between one and the largest fetch size; always positive
+   */
+  static int adaptiveFetchSize(long batchMaxBytes, double averageRowBytes, int maxFetchSize) {
+    if (!(averageRowBytes > 0)) {
+      return Math.max(1, maxFetchSize);
+    }
+    long rows = (long) (batchMaxBytes / averageRowBytes);
+    return (int) Math.max(1L, Math.min(rows, maxFetchSize));
+  }
+
   public boolean next() throws SQLException {
     return resultSet.next();
   }
 
+  /**
+   * Determine whether the last call to {@link #next()} returned false before the end of the
+   * results, to return control to the task after reading many rows that produce no records. The
+   * query then continues where it left off with the next call to {@link #next()}.
+   *
+   * @return true if the query is not complete, or false otherwise
+   */
+  public boolean yielded() {
+    return false;
+  }
+
   public abstract SourceRecord extractRecord() throws SQLException;
 
+  /**
+   * Convert the current row of the result set into a {@link Struct}.
+   *
+   * @return the struct; never null
+   * @throws ConnectException if there is an error reading a streaming value
+   * @throws DataException    if there is an error accessing the result set
+   */
+  protected Struct extractStruct() {
+    ++rowsInQuery;
+    try {
+      Struct struct = schemaMapping.convertRow(resultSet);
+      if (batchMaxBytes > 0) {
+        lastRowBytes = RowSize.estimate(struct);
+        // A moving average, so the fetch size follows changes in the size of the rows
+        averageRowBytes = averageRowBytes > 0
+            ? averageRowBytes + (lastRowBytes - averageRowBytes) / AVERAGE_ROW_BYTES_WINDOW
+            : Math.max(1L, lastRowBytes);
+      }
+      return struct;
+    } catch (IOException e) {
+      log.warn("Error mapping fields into Connect record", e);
+      throw new ConnectException(e);
+    } catch (SQLException e) {
+      log.warn("SQL error mapping fields into Connect record", e);
+      throw new DataException(e);
+    }
+  }
+
   public void reset(long now, boolean resetOffset) {
     closeResultSetQuietly();
     closeStatementQuietly();
     releaseLocksQuietly();
-    // TODO: Can we cache this and quickly check that it's identical for the next query
-    //     instead of constructing from scratch since it's almost always the same
-    schemaMapping = null;
+    // The schema mapping is kept, and reused by the next query if the result set is unchanged
+    if (pollInterval != null && !resetOffset) {
+      // Only completed queries show whether the table is changing
+      pollInterval.update(rowsInQuery);
+    }
+    if (resetOffset) {
+      // The query may have failed because the table changed, so resolve the columns again
+      projectedColumns = null;
+    }
+    rowsInQuery = 0;
     lastUpdate = now;
   }
 
@@ -176,6 +402,118 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
     }  
   }
   
+  /**
+   * Append to the builder the columns selected from the table: all columns, or the columns of the
+   * projection if one is set. The projection is resolved against the columns of the table the
+   * first time, and the resolved columns are reused by later queries.
+   *
+   * @param builder         the builder; may not be null
+   * @param db              the database connection; may not be null
+   * @param requiredColumns the columns that must be selected; may contain nulls
+   * @throws SQLException     if there is an error accessing the metadata
+   * @throws ConnectException if the projection does not match the columns of the table
+   */
+  protected void appendSelectedColumns(
+      ExpressionBuilder builder,
+      Connection db,
+      ColumnId... requiredColumns
+  ) throws SQLException {
+    if (columnProjection == null) {
+      builder.append("*");
+      return;
+    }
+    if (projectedColumns == null) {
+      projectedColumns = columnProjection.resolve(
+          tableId,
+          dialect.describeColumns(
+              db,
+              tableId.catalogName(),
+              tableId.schemaName(),
+              tableId.tableName(),
+              null
+          ).values(),
+          Arrays.asList(requiredColumns)
+      );
+      log.info("Selecting the columns {} of {}", projectedColumns, tableId);
+    }
+    builder.appendList()
+           .delimitedBy(", ")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(projectedColumns);
+  }
+
+  /**
+   * Combine the filter of this querier with a condition of the query.
+   *
+   * @param condition the condition of the query; may be null or empty if there is none
+   * @return the combined condition, or null if there is neither a filter nor a condition
+   */
+  protected String withFilter(String condition) {
+    boolean hasCondition = condition != null && !condition.isEmpty();
+    if (filter == null) {
+      return hasCondition ? condition : null;
+    }
+    return hasCondition ? "(" + filter + ") AND " + condition : filter;
+  }
+
+  /**
+   * Find the columns of the primary key of the table.
+   *
+   * @param db the database connection; may not be null
+   * @return the primary key columns; never null but possibly empty
+   * @throws SQLException if there is an error accessing the metadata
+   */
+  protected List<ColumnId> primaryKeyColumns(Connection db) throws SQLException {
+    return dialect.describeColumns(
+        db,
+        tableId.catalogName(),
+        tableId.schemaName(),
+        tableId.tableName(),
+        null
+    ).values().stream()
+        .filter(ColumnDefinition::isPrimaryKey)
+        .map(ColumnDefinition::id)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Determine the column used to select the rows of this querier's slice: the configured slice
+   * column, otherwise the supplied default column, and otherwise the single-column primary key.
+   *
+   * @param db            the database connection; may not be null
+   * @param defaultColumn the column to use if no slice column is configured; may be null
+   * @return the slice column; never null
+   * @throws SQLException     if there is an error accessing the metadata
+   * @throws ConnectException if no slice column can be determined
+   */
+  protected ColumnId findSliceColumn(Connection db, ColumnId defaultColumn) throws SQLException {
+    if (!slice.columnName().isEmpty()) {
+      return new ColumnId(tableId, slice.columnName());
+    }
+    if (defaultColumn != null) {
+      return defaultColumn;
+    }
+    List<ColumnId> pkColumns = primaryKeyColumns(db);
+    if (pkColumns.size() != 1) {
+      throw new ConnectException(
+          "Slicing " + tableId + " requires either a single-column primary key or the '"
+          + JdbcSourceConnectorConfig.TABLE_SLICE_COLUMN_CONFIG + "' property, but the primary "
+          + "key has " + pkColumns.size() + " columns"
+      );
+    }
+    return new ColumnId(tableId, pkColumns.get(0).name());
+  }
+
+  /**
+   * Append to the builder the condition that selects the rows of this querier's slice.
+   *
+   * @param builder     the builder; may not be null
+   * @param sliceColumn the column used to slice the table; may not be null
+   */
+  protected void appendSliceCondition(ExpressionBuilder builder, ColumnId sliceColumn) {
+    dialect.appendSliceCondition(builder, sliceColumn, slice.count(), slice.index());
+  }
+
   protected void recordQuery(String query) {
     if (query != null && !query.equals(loggedQueryString)) {
       // For usability, log the statement at INFO level only when it changes
@@ -186,9 +524,11 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
 
   @Override
   public int compareTo(TableQuerier other) {
-    if (this.lastUpdate < other.lastUpdate) {
+    long nextUpdate = this.lastUpdate + this.getPollIntervalMs(0);
+    long otherNextUpdate = other.lastUpdate + other.getPollIntervalMs(0);
+    if (nextUpdate < otherNextUpdate) {
       return -1;
-    } else if (this.lastUpdate > other.lastUpdate) {
+    } else if (nextUpdate > otherNextUpdate) {
       return 1;
     } else {
       return this.tableId.compareTo(other.tableId);
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import java.util.Objects;
+
+/**
+ * One of the disjoint slices of a table that is read by several tasks. A slice contains the rows
+ * whose slice column value modulo the number of slices equals the slice index.
+ */
+public final class TableSlice {
+
+  private final int index;
+  private final int count;
+  private final String columnName;
+
+  /**
+   * Create a slice.
+   *
+   * @param index      the zero-based index of the slice; must be less than {@code count}
+   * @param count      the number of slices of the table; must be positive
+   * @param columnName the name of the integer column used to slice the table, or empty to use the
+   *                   incrementing column or the single-column primary key; may be null
+   */
+  public TableSlice(int index, int count, String columnName) {
+    if (count < 1 || index < 0 || index >= count) {
+      throw new IllegalArgumentException("Invalid slice " + index + " of " + count);
+    }
+    this.index = index;
+    this.count = count;
+    this.columnName = columnName != null ? columnName : "";
+  }
+
+  public int index() {
+    return index;
+  }
+
+  public int count() {
+    return count;
+  }
+
+  public String columnName() {
+    return columnName;
+  }
+
+  /**
+   * Get the identifier of this slice that is used in the source partition.
+   *
+   * @return the identifier in the form {@code <index>/<count>}; never null
+   */
+  public String id() {
+    return index + "/" + count;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TableSlice)) {
+      return false;
+    }
+    TableSlice that = (TableSlice) o;
+    return index == that.index && count == that.count && columnName.equals(that.columnName);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(index, count, columnName);
+  }
+
+  @Override
+  public String toString() {
+    return "slice " + id();
+  }
+}
@@ -19,7 +19,6 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.TimeZone;
 
-import io.confluent.connect.jdbc.util.LruCache;
 import org.apache.kafka.connect.data.Decimal;
 import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
@@ -35,6 +34,8 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import io.confluent.connect.jdbc.util.ColumnId;
@@ -79,7 +80,13 @@ public class TimestampIncrementingCriteria {
   protected final List<ColumnId> timestampColumns;
   protected final ColumnId incrementingColumn;
   protected final TimeZone timeZone;
-  private final LruCache<Schema, List<String>> caseAdjustedTimestampColumns;
+  // The fields of the offset columns, resolved once for the schema of the rows
+  private Schema offsetSchema;
+  private Field[] timestampFields;
+  private Field incrementingField;
+  private Function<Object, Long> incrementingId;
+  private String predicate;
+  private boolean expandTimestampColumns;
 
 
   public TimestampIncrementingCriteria(
@@ -91,8 +98,40 @@ public class TimestampIncrementingCriteria {
         timestampColumns != null ? timestampColumns : Collections.<ColumnId>emptyList();
     this.incrementingColumn = incrementingColumn;
     this.timeZone = timeZone;
-    this.caseAdjustedTimestampColumns =
-        timestampColumns != null ? new LruCache<>(16) : null;
+  }
+
+  /**
+   * Set an additional condition that every row selected by this criteria must satisfy. The
+   * condition is combined with the criteria's own conditions in the WHERE clause.
+   *
+   * @param predicate the SQL condition; may be null or empty if there is none
+   * @return this criteria; never null
+   */
+  public TimestampIncrementingCriteria withPredicate(String predicate) {
+    this.predicate = predicate != null && !predicate.isEmpty() ? predicate : null;
+    return this;
+  }
+
+  /**
+   * Compare each timestamp column separately instead of comparing the first non-null timestamp
+   * column with {@code COALESCE}. The condition on the first non-null column is expanded into one
+   * disjunct per column, so that the database can use an index on each column. This has no effect
+   * with a single timestamp column.
+   *
+   * @param expand whether to expand the condition on the timestamp columns
+   * @return this criteria; never null
+   */
+  public TimestampIncrementingCriteria withExpandedTimestampColumns(boolean expand) {
+    this.expandTimestampColumns = expand;
+    return this;
+  }
+
+  protected boolean expandsTimestampColumns() {
+    return expandTimestampColumns && timestampColumns.size() > 1;
+  }
+
+  protected boolean hasPredicate() {
+    return predicate != null;
   }
 
   protected boolean hasTimestampColumns() {
@@ -146,10 +185,14 @@ public class TimestampIncrementingCriteria {
     Timestamp beginTime = values.beginTimestampValue();
     Timestamp endTime = values.endTimestampValue();
     Long incOffset = values.lastIncrementedValue();
-    stmt.setTimestamp(1, endTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
-    stmt.setTimestamp(2, beginTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
-    stmt.setLong(3, incOffset);
-    stmt.setTimestamp(4, beginTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
+    // The expanded condition repeats the parameters for every timestamp column
+    int conditions = expandsTimestampColumns() ? timestampColumns.size() : 1;
+    for (int i = 0, index = 1; i < conditions; ++i) {
+      stmt.setTimestamp(index++, endTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
+      stmt.setTimestamp(index++, beginTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
+      stmt.setLong(index++, incOffset);
+      stmt.setTimestamp(index++, beginTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
+    }
     log.debug(
         "Executing prepared statement with start time value = {} end time = {} and incrementing"
         + " value = {}", DateTimeUtils.formatTimestamp(beginTime, timeZone),
@@ -172,8 +215,11 @@ public class TimestampIncrementingCriteria {
   ) throws SQLException {
     Timestamp beginTime = values.beginTimestampValue();
     Timestamp endTime = values.endTimestampValue();
-    stmt.setTimestamp(1, beginTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
-    stmt.setTimestamp(2, endTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
+    int conditions = expandsTimestampColumns() ? timestampColumns.size() : 1;
+    for (int i = 0, index = 1; i < conditions; ++i) {
+      stmt.setTimestamp(index++, beginTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
+      stmt.setTimestamp(index++, endTime, DateTimeUtils.getTimeZoneCalendar(timeZone));
+    }
     log.debug("Executing prepared statement with timestamp value = {} end time = {}",
         DateTimeUtils.formatTimestamp(beginTime, timeZone),
         DateTimeUtils.formatTimestamp(endTime, timeZone)
@@ -228,9 +274,9 @@ public class TimestampIncrementingCriteria {
       Struct record,
       JdbcSourceConnectorConfig.TimestampGranularity timestampGranularity
   ) {
-    caseAdjustedTimestampColumns.computeIfAbsent(schema, this::findCaseSensitiveTimestampColumns);
-    for (String timestampColumn : caseAdjustedTimestampColumns.get(schema)) {
-      Timestamp ts = timestampGranularity.toTimestamp.apply(record.get(timestampColumn), timeZone);
+    resolveOffsetFields(schema);
+    for (Field timestampField : timestampFields) {
+      Timestamp ts = timestampGranularity.toTimestamp.apply(record.get(timestampField), timeZone);
       if (ts != null) {
         return ts;
       }
@@ -249,31 +295,73 @@ public class TimestampIncrementingCriteria {
       Schema schema,
       Struct record
   ) {
-    final Long extractedId;
-    final Field field = schema.field(incrementingColumn.name());
-    if (field == null) {
-      throw new DataException("Incrementing column " + incrementingColumn.name() + " not found in "
-              + schema.fields().stream().map(Field::name).collect(Collectors.joining(",")));
-    }
-
-    final Schema incrementingColumnSchema = field.schema();
-    final Object incrementingColumnValue = record.get(incrementingColumn.name());
+    resolveOffsetFields(schema);
+    final Object incrementingColumnValue = record.get(incrementingField);
     if (incrementingColumnValue == null) {
       throw new ConnectException(
-          "Null value for incrementing column of type: " + incrementingColumnSchema.type());
-    } else if (isIntegralPrimitiveType(incrementingColumnValue)) {
-      extractedId = ((Number) incrementingColumnValue).longValue();
-    } else if (incrementingColumnSchema.name() != null && incrementingColumnSchema.name().equals(
-        Decimal.LOGICAL_NAME)) {
-      extractedId = extractDecimalId(incrementingColumnValue);
-    } else {
-      throw new ConnectException(
-          "Invalid type for incrementing column: " + incrementingColumnSchema.type());
+          "Null value for incrementing column of type: " + incrementingField.schema().type());
     }
+    final Long extractedId = incrementingId.apply(incrementingColumnValue);
     log.trace("Extracted incrementing column value: {}", extractedId);
     return extractedId;
   }
 
+  /**
+   * Resolve the fields of the offset columns in the schema of the rows, so that extracting the
+   * offset of a row only reads the values of these fields. The fields are resolved again only
+   * when the rows have another schema, which happens when the result set changes.
+   *
+   * @param schema the schema of the rows; never null
+   * @throws DataException if an offset column is not found in the schema
+   */
+  private void resolveOffsetFields(Schema schema) {
+    if (schema == offsetSchema) {
+      return;
+    }
+    if (hasTimestampColumns()) {
+      timestampFields = findCaseSensitiveTimestampColumns(schema).stream()
+          .map(schema::field)
+          .toArray(Field[]::new);
+    }
+    if (hasIncrementedColumn()) {
+      incrementingField = schema.field(incrementingColumn.name());
+      if (incrementingField == null) {
+        throw new DataException("Incrementing column " + incrementingColumn.name()
+            + " not found in "
+            + schema.fields().stream().map(Field::name).collect(Collectors.joining(",")));
+      }
+      incrementingId = incrementingIdReader(incrementingField.schema());
+    }
+    offsetSchema = schema;
+  }
+
+  /**
+   * Get the function that widens the values of the incrementing column to a {@code Long}. The
+   * {@code Long} values of INT64 columns are returned as they are, so that the offset and its map
+   * share the value of the struct instead of boxing the value again for every row.
+   *
+   * @param incrementingColumnSchema the schema of the incrementing column; never null
+   * @return the function; never null
+   */
+  private Function<Object, Long> incrementingIdReader(Schema incrementingColumnSchema) {
+    if (Decimal.LOGICAL_NAME.equals(incrementingColumnSchema.name())) {
+      return this::extractDecimalId;
+    }
+    switch (incrementingColumnSchema.type()) {
+      case INT64:
+        return value -> (Long) value;
+      case INT8:
+      case INT16:
+      case INT32:
+        return value -> ((Number) value).longValue();
+      default:
+        return value -> {
+          throw new ConnectException(
+              "Invalid type for incrementing column: " + incrementingColumnSchema.type());
+        };
+    }
+  }
+
   protected Long extractDecimalId(Object incrementingColumnValue) {
     final BigDecimal decimal = ((BigDecimal) incrementingColumnValue);
     if (decimal.compareTo(LONG_MAX_VALUE_AS_BIGDEC) > 0) {
@@ -285,9 +373,17 @@ public class TimestampIncrementingCriteria {
     return decimal.longValue();
   }
 
-  protected boolean isIntegralPrimitiveType(Object incrementingColumnValue) {
-    return incrementingColumnValue instanceof Long || incrementingColumnValue instanceof Integer
-           || incrementingColumnValue instanceof Short || incrementingColumnValue instanceof Byte;
+  /**
+   * Append the WHERE keyword and, if there is one, the additional predicate so that the caller
+   * can append the criteria's own conditions.
+   *
+   * @param builder the string builder to which the clause should be appended; never null
+   */
+  protected void appendWhere(ExpressionBuilder builder) {
+    builder.append(" WHERE ");
+    if (hasPredicate()) {
+      builder.append("(").append(predicate).append(") AND ");
+    }
   }
 
   protected String coalesceTimestampColumns(ExpressionBuilder builder) {
@@ -315,25 +411,39 @@ public class TimestampIncrementingCriteria {
     //  timestamp 1235, id 22
     //  timestamp 1236, id 23
     // We should capture both id = 22 (an update) and id = 23 (a new row)
-    builder.append(" WHERE ");
+    appendWhere(builder);
+    if (expandsTimestampColumns()) {
+      expandTimestampColumns(
+          builder,
+          column -> timestampIncrementingCondition(builder, b -> b.append(column))
+      );
+    } else {
+      timestampIncrementingCondition(builder, this::coalesceTimestampColumns);
+    }
+    builder.append(" ORDER BY ");
     coalesceTimestampColumns(builder);
+    builder.append(",");
+    builder.append(incrementingColumn);
+    builder.append(" ASC");
+  }
+
+  private void timestampIncrementingCondition(
+      ExpressionBuilder builder,
+      Consumer<ExpressionBuilder> timestamp
+  ) {
+    timestamp.accept(builder);
     builder.append(" < ? AND ((");
-    coalesceTimestampColumns(builder);
+    timestamp.accept(builder);
     builder.append(" = ? AND ");
     builder.append(incrementingColumn);
     builder.append(" > ?");
     builder.append(") OR ");
-    coalesceTimestampColumns(builder);
+    timestamp.accept(builder);
     builder.append(" > ?)");
-    builder.append(" ORDER BY ");
-    coalesceTimestampColumns(builder);
-    builder.append(",");
-    builder.append(incrementingColumn);
-    builder.append(" ASC");
   }
 
   protected void incrementingWhereClause(ExpressionBuilder builder) {
-    builder.append(" WHERE ");
+    appendWhere(builder);
     builder.append(incrementingColumn);
     builder.append(" > ?");
     builder.append(" ORDER BY ");
@@ -342,15 +452,54 @@ public class TimestampIncrementingCriteria {
   }
 
   protected void timestampWhereClause(ExpressionBuilder builder) {
-    builder.append(" WHERE ");
-    coalesceTimestampColumns(builder);
-    builder.append(" > ? AND ");
-    coalesceTimestampColumns(builder);
-    builder.append(" < ? ORDER BY ");
+    appendWhere(builder);
+    if (expandsTimestampColumns()) {
+      expandTimestampColumns(builder, column -> {
+        builder.append(column);
+        builder.append(" > ? AND ");
+        builder.append(column);
+        builder.append(" < ?");
+      });
+      builder.append(" ORDER BY ");
+    } else {
+      coalesceTimestampColumns(builder);
+      builder.append(" > ? AND ");
+      coalesceTimestampColumns(builder);
+      builder.append(" < ? ORDER BY ");
+    }
     coalesceTimestampColumns(builder);
     builder.append(" ASC");
   }
 
+  /**
+   * Append a condition on the first non-null timestamp column as one disjunct per column. The
+   * disjunct of each column requires the previous columns to be null and applies the condition to
+   * the column, which the condition must only satisfy if the column is not null. The result is
+   * equivalent to applying the condition to {@code COALESCE} of the columns.
+   *
+   * @param builder         the builder; may not be null
+   * @param columnCondition appends the condition on one column; may not be null
+   */
+  protected void expandTimestampColumns(
+      ExpressionBuilder builder,
+      Consumer<ColumnId> columnCondition
+  ) {
+    builder.append("(");
+    for (int i = 0; i < timestampColumns.size(); ++i) {
+      if (i > 0) {
+        builder.append(" OR ");
+      }
+      builder.append("(");
+      for (int j = 0; j < i; ++j) {
+        builder.append(timestampColumns.get(j));
+        builder.append(" IS NULL AND ");
+      }
+      columnCondition.accept(timestampColumns.get(i));
+      builder.append(")");
+    }
+    builder.append(")");
+  }
+
   private List<String> findCaseSensitiveTimestampColumns(Schema schema) {
     Map<String, List<String>> caseInsensitiveColumns = schema.fields().stream()
         .map(Field::name)
@@ -19,7 +19,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -28,9 +31,15 @@ public class TimestampIncrementingOffset {
   static final String INCREMENTING_FIELD = "incrementing";
   static final String TIMESTAMP_FIELD = "timestamp";
   static final String TIMESTAMP_NANOS_FIELD = "timestamp_nanos";
+  // Offsets may only contain primitive values, so each keyset value has its own field with the
+  // index of the keyset column appended
+  static final String KEYSET_FIELD_PREFIX = "keyset.";
 
   private final Long incrementingOffset;
   private final Timestamp timestampOffset;
+  private final List<Object> keyOffset;
+  // Computed on first use and shared by all records with this offset
+  private Map<String, Object> map;
 
   /**
    * @param timestampOffset the timestamp offset.
@@ -40,8 +49,27 @@ public class TimestampIncrementingOffset {
    *                           If null, {@link #getIncrementingOffset()} will return -1.
    */
   public TimestampIncrementingOffset(Timestamp timestampOffset, Long incrementingOffset) {
+    this(timestampOffset, incrementingOffset, null);
+  }
+
+  /**
+   * @param timestampOffset the timestamp offset.
+   *                        If null, {@link #getTimestampOffset()} will return
+   *                        {@code new Timestamp(0)}.
+   * @param incrementingOffset the incrementing offset.
+   *                           If null, {@link #getIncrementingOffset()} will return -1.
+   * @param keyOffset the values of the keyset columns of the last row, which must be
+   *                  {@link Long} or {@link String} values. If null, there is no key offset.
+   */
+  public TimestampIncrementingOffset(
+      Timestamp timestampOffset,
+      Long incrementingOffset,
+      List<Object> keyOffset
+  ) {
     this.timestampOffset = timestampOffset;
     this.incrementingOffset = incrementingOffset;
+    this.keyOffset = keyOffset != null
+        ? Collections.unmodifiableList(new ArrayList<>(keyOffset)) : null;
   }
 
   public long getIncrementingOffset() {
@@ -56,14 +84,44 @@ public class TimestampIncrementingOffset {
     return timestampOffset != null;
   }
 
+  /**
+   * Get the values of the keyset columns of the last row.
+   *
+   * @return the unmodifiable values in the order of the keyset columns, or null if there is no
+   *     key offset
+   */
+  public List<Object> getKeyOffset() {
+    return keyOffset;
+  }
+
+  public boolean hasKeyOffset() {
+    return keyOffset != null;
+  }
+
+  /**
+   * Get the source offset map for this offset. The map is created only once, so that all the
+   * records with the same offset share one map.
+   *
+   * @return the unmodifiable offset map; never null
+   */
   public Map<String, Object> toMap() {
-    Map<String, Object> map = new HashMap<>(3);
-    if (incrementingOffset != null) {
-      map.put(INCREMENTING_FIELD, incrementingOffset);
-    }
-    if (timestampOffset != null) {
-      map.put(TIMESTAMP_FIELD, timestampOffset.getTime());
-      map.put(TIMESTAMP_NANOS_FIELD, (long) timestampOffset.getNanos());
+    if (map == null) {
+      Map<String, Object> offsetMap = new HashMap<>(
+          4 + (keyOffset != null ? keyOffset.size() : 0)
+      );
+      if (incrementingOffset != null) {
+        offsetMap.put(INCREMENTING_FIELD, incrementingOffset);
+      }
+      if (timestampOffset != null) {
+        offsetMap.put(TIMESTAMP_FIELD, timestampOffset.getTime());
+        offsetMap.put(TIMESTAMP_NANOS_FIELD, (long) timestampOffset.getNanos());
+      }
+      if (keyOffset != null) {
+        for (int i = 0; i < keyOffset.size(); ++i) {
+          offsetMap.put(KEYSET_FIELD_PREFIX + i, keyOffset.get(i));
+        }
+      }
+      map = Collections.unmodifiableMap(offsetMap);
     }
     return map;
   }
@@ -85,7 +143,16 @@ public class TimestampIncrementingOffset {
         ts.setNanos(nanos.intValue());
       }
     }
-    return new TimestampIncrementingOffset(ts, incr);
+    List<Object> keys = null;
+    for (int i = 0; map.get(KEYSET_FIELD_PREFIX + i) != null; ++i) {
+      if (keys == null) {
+        keys = new ArrayList<>();
+      }
+      // Stored integers may be read back as any type of number
+      Object value = map.get(KEYSET_FIELD_PREFIX + i);
+      keys.add(value instanceof Number ? (Object) ((Number) value).longValue() : value);
+    }
+    return new TimestampIncrementingOffset(ts, incr, keys);
   }
 
   @Override
@@ -100,13 +167,15 @@ public class TimestampIncrementingOffset {
     TimestampIncrementingOffset that = (TimestampIncrementingOffset) o;
 
     return Objects.equals(incrementingOffset, that.incrementingOffset)
-        && Objects.equals(timestampOffset, that.timestampOffset);
+        && Objects.equals(timestampOffset, that.timestampOffset)
+        && Objects.equals(keyOffset, that.keyOffset);
   }
 
   @Override
   public int hashCode() {
     int result = incrementingOffset != null ? incrementingOffset.hashCode() : 0;
     result = 31 * result + (timestampOffset != null ? timestampOffset.hashCode() : 0);
+    result = 31 * result + (keyOffset != null ? keyOffset.hashCode() : 0);
     return result;
   }
 }
@@ -17,18 +17,17 @@ package io.confluent.connect.jdbc.source;
 
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.ConnectException;
-import org.apache.kafka.connect.errors.DataException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collections;
 import java.util.TimeZone;
 import java.util.List;
@@ -36,7 +35,6 @@ import java.util.Map;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig.TimestampGranularity;
-import io.confluent.connect.jdbc.source.SchemaMapping.FieldSetter;
 import io.confluent.connect.jdbc.source.TimestampIncrementingCriteria.CriteriaValues;
 import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.ColumnId;
@@ -69,13 +67,16 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
   protected TimestampIncrementingOffset committedOffset;
   protected TimestampIncrementingOffset offset;
   protected TimestampIncrementingCriteria criteria;
-  protected final Map<String, String> partition;
+  // The source partition in table mode; the partition in query mode depends on the query name
+  private final Map<String, String> tablePartition;
   protected final String topic;
   protected final TimestampGranularity timestampGranularity;
   private final List<ColumnId> timestampColumns;
   private String incrementingColumnName;
   private final long timestampDelay;
   private final TimeZone timeZone;
+  private DatabaseClock databaseClock;
+  private boolean expandTimestampColumns;
 
   public TimestampIncrementingTableQuerier(DatabaseDialect dialect, QueryMode mode, String name,
                                            String topicPrefix,
@@ -84,7 +85,19 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
                                            Map<String, Object> offsetMap, Long timestampDelay,
                                            TimeZone timeZone, String suffix,
                                            TimestampGranularity timestampGranularity) {
-    super(dialect, mode, name, topicPrefix, suffix);
+    this(dialect, mode, name, topicPrefix, timestampColumnNames, incrementingColumnName,
+        offsetMap, timestampDelay, timeZone, suffix, timestampGranularity, null);
+  }
+
+  public TimestampIncrementingTableQuerier(DatabaseDialect dialect, QueryMode mode, String name,
+                                           String topicPrefix,
+                                           List<String> timestampColumnNames,
+                                           String incrementingColumnName,
+                                           Map<String, Object> offsetMap, Long timestampDelay,
+                                           TimeZone timeZone, String suffix,
+                                           TimestampGranularity timestampGranularity,
+                                           TableSlice slice) {
+    super(dialect, mode, name, topicPrefix, suffix, slice);
     this.incrementingColumnName = incrementingColumnName;
     this.timestampColumnNames = timestampColumnNames != null
         ? timestampColumnNames : Collections.emptyList();
@@ -102,11 +115,12 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
       case TABLE:
         String tableName = tableId.tableName();
         topic = topicPrefix + tableName; // backward compatible
-        partition = OffsetProtocols.sourcePartitionForProtocolV1(tableId);
+        tablePartition = this.slice != null
+                    ? OffsetProtocols.sourcePartitionForSlice(tableId, this.slice)
+                    : OffsetProtocols.sourcePartitionForProtocolV1(tableId);
         break;
       case QUERY:
-        partition = Collections.singletonMap(JdbcSourceConnectorConstants.QUERY_NAME_KEY,
-            JdbcSourceConnectorConstants.QUERY_NAME_VALUE);
+        tablePartition = null;
         topic = topicPrefix;
         break;
       default:
@@ -136,10 +150,16 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
       incrementingColumn = new ColumnId(tableId, incrementingColumnName);
     }
 
+    ColumnId sliceColumn = slice != null ? findSliceColumn(db, incrementingColumn) : null;
     ExpressionBuilder builder = dialect.expressionBuilder();
     switch (mode) {
       case TABLE:
-        builder.append("SELECT * FROM ");
+        List<ColumnId> requiredColumns = new ArrayList<>(timestampColumns);
+        requiredColumns.add(incrementingColumn);
+        requiredColumns.add(sliceColumn);
+        builder.append("SELECT ");
+        appendSelectedColumns(builder, db, requiredColumns.toArray(new ColumnId[0]));
+        builder.append(" FROM ");
         builder.append(tableId);
         break;
       case QUERY:
@@ -151,6 +171,12 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
 
     // Append the criteria using the columns ...
     criteria = dialect.criteriaFor(incrementingColumn, timestampColumns);
+    ExpressionBuilder sliceCondition = dialect.expressionBuilder();
+    if (slice != null) {
+      appendSliceCondition(sliceCondition, sliceColumn);
+    }
+    criteria.withPredicate(withFilter(sliceCondition.toString()))
+            .withExpandedTimestampColumns(expandTimestampColumns);
     criteria.whereClause(builder);
 
     addSuffixIfPresent(builder);
@@ -169,8 +195,10 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
       resultSet = executeQuery();
       String schemaName = tableId != null ? tableId.tableName() : null; // backwards compatible
       ResultSetMetaData metadata = resultSet.getMetaData();
-      dialect.validateSpecificColumnTypes(metadata, timestampColumns);
-      schemaMapping = SchemaMapping.create(schemaName, metadata, dialect);
+      if (schemaMapping == null || !schemaMapping.matches(schemaName, metadata)) {
+        dialect.validateSpecificColumnTypes(metadata, timestampColumns);
+        schemaMapping = SchemaMapping.create(schemaName, metadata, dialect);
+      }
       log.info("Current Result is null. Executing query.");
     } else {
       log.trace("Current ResultSet {} isn't null. Continuing to seek.", resultSet.hashCode());
@@ -220,22 +248,15 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
     return stmt.executeQuery();
   }
 
+  protected Map<String, String> sourcePartition() {
+    return tablePartition != null ? tablePartition : queryPartition();
+  }
+
   @Override
   public SourceRecord extractRecord() throws SQLException {
-    Struct record = new Struct(schemaMapping.schema());
-    for (FieldSetter setter : schemaMapping.fieldSetters()) {
-      try {
-        setter.setField(record, resultSet);
-      } catch (IOException e) {
-        log.warn("Error mapping fields into Connect record", e);
-        throw new ConnectException(e);
-      } catch (SQLException e) {
-        log.warn("SQL error mapping fields into Connect record", e);
-        throw new DataException(e);
-      }
-    }
+    Struct record = extractStruct();
     offset = criteria.extractValues(schemaMapping.schema(), record, offset, timestampGranularity);
-    return new SourceRecord(partition, offset.toMap(), topic, record.schema(), record);
+    return new SourceRecord(sourcePartition(), offset.toMap(), topic, record.schema(), record);
   }
 
   @Override
@@ -253,12 +274,32 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
     return offset.getTimestampOffset();
   }
 
+  /**
+   * Use the given clock to estimate the current database time for the upper bound of the
+   * timestamp criteria, instead of querying the database time before every query.
+   *
+   * @param databaseClock the clock shared by the queriers of the task; may be null
+   */
+  public void setDatabaseClock(DatabaseClock databaseClock) {
+    this.databaseClock = databaseClock;
+  }
+
+  /**
+   * Compare each timestamp column separately instead of comparing their {@code COALESCE}.
+   *
+   * @param expandTimestampColumns whether to expand the condition on the timestamp columns
+   * @see TimestampIncrementingCriteria#withExpandedTimestampColumns(boolean)
+   */
+  public void setExpandTimestampColumns(boolean expandTimestampColumns) {
+    this.expandTimestampColumns = expandTimestampColumns;
+  }
+
   @Override
   public Timestamp endTimestampValue()  throws SQLException {
-    final long currentDbTime = dialect.currentTimeOnDB(
-        stmt.getConnection(),
-        DateTimeUtils.getTimeZoneCalendar(timeZone)
-    ).getTime();
+    final Calendar cal = DateTimeUtils.getTimeZoneCalendar(timeZone);
+    final long currentDbTime = databaseClock != null
+        ? databaseClock.currentTimeOnDB(stmt.getConnection(), cal).getTime()
+        : dialect.currentTimeOnDB(stmt.getConnection(), cal).getTime();
     return new Timestamp(currentDbTime - timestampDelay);
   }
 
@@ -19,13 +19,10 @@ import java.util.TimeZone;
 
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
-import org.apache.kafka.connect.errors.ConnectException;
-import org.apache.kafka.connect.errors.DataException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -34,7 +31,6 @@ import java.util.Map;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig.TimestampGranularity;
-import io.confluent.connect.jdbc.source.SchemaMapping.FieldSetter;
 
 /**
  * A specialized subclass of the {@link TimestampIncrementingTableQuerier} that only advances the
@@ -65,6 +61,34 @@ public class TimestampTableQuerier extends TimestampIncrementingTableQuerier {
       TimeZone timeZone,
       String suffix,
       TimestampGranularity timestampGranularity
+  ) {
+    this(
+        dialect,
+        mode,
+        name,
+        topicPrefix,
+        timestampColumnNames,
+        offsetMap,
+        timestampDelay,
+        timeZone,
+        suffix,
+        timestampGranularity,
+        null
+    );
+  }
+
+  public TimestampTableQuerier(
+      DatabaseDialect dialect,
+      QueryMode mode,
+      String name,
+      String topicPrefix,
+      List<String> timestampColumnNames,
+      Map<String, Object> offsetMap,
+      Long timestampDelay,
+      TimeZone timeZone,
+      String suffix,
+      TimestampGranularity timestampGranularity,
+      TableSlice slice
   ) {
     super(
         dialect,
@@ -77,7 +101,8 @@ public class TimestampTableQuerier extends TimestampIncrementingTableQuerier {
         timestampDelay,
         timeZone,
         suffix,
-        timestampGranularity
+        timestampGranularity,
+        slice
     );
 
     this.latestCommittableTimestamp = this.offset.getTimestampOffset();
@@ -139,18 +164,7 @@ public class TimestampTableQuerier extends TimestampIncrementingTableQuerier {
   }
 
   private PendingRecord doExtractRecord() {
-    Struct record = new Struct(schemaMapping.schema());
-    for (FieldSetter setter : schemaMapping.fieldSetters()) {
-      try {
-        setter.setField(record, resultSet);
-      } catch (IOException e) {
-        log.warn("Error mapping fields into Connect record", e);
-        throw new ConnectException(e);
-      } catch (SQLException e) {
-        log.warn("SQL error mapping fields into Connect record", e);
-        throw new DataException(e);
-      }
-    }
+    Struct record = extractStruct();
     // Use the extracted timestamp as the record's timestamp
     TimestampIncrementingOffset timestampOffset = criteria.extractValues(
         schemaMapping.schema(),
@@ -161,7 +175,7 @@ public class TimestampTableQuerier extends TimestampIncrementingTableQuerier {
     Timestamp timestamp = timestampOffset.hasTimestampOffset()
                           ? timestampOffset.getTimestampOffset()
                           : null;
-    return new PendingRecord(partition, timestamp, topic, record.schema(), record);
+    return new PendingRecord(sourcePartition(), timestamp, topic, record.schema(), record);
   }
 
   private boolean canCommitTimestamp(Timestamp current, Timestamp next) {
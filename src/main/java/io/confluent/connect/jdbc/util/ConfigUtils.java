@@ -15,6 +15,10 @@
 
 package io.confluent.connect.jdbc.util;
 
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,4 +36,38 @@ public class ConfigUtils {
     Object nameValue = connectorProps.get("name");
     return nameValue != null ? nameValue.toString() : null;
   }
+
+  /**
+   * Parse the per-table values of the form {@code <table>=<value>}. The table name ends at the
+   * first {@code =}, and both the name and the value are trimmed.
+   *
+   * @param name    the name of the configuration property, for errors; may not be null
+   * @param entries the per-table values; may not be null
+   * @param format  the expected form of an entry, for errors; may not be null
+   * @return the values keyed by table name, in the order of the entries; never null
+   * @throws ConfigException if an entry has no table name or value, or a table is listed twice
+   */
+  public static Map<String, String> parseTableValues(
+      String name,
+      List<String> entries,
+      String format
+  ) {
+    Map<String, String> values = new LinkedHashMap<>();
+    for (String entry : entries) {
+      int equals = entry.indexOf('=');
+      String table = equals < 0 ? "" : entry.substring(0, equals).trim();
+      String value = equals < 0 ? "" : entry.substring(equals + 1).trim();
+      if (table.isEmpty() || value.isEmpty()) {
+        throw new ConfigException(name, entry, "Expected " + format);
+      }
+      if (values.put(table, value) != null) {
+        throw new ConfigException(
+            name,
+            entry,
+            "The table '" + table + "' is listed more than once"
+        );
+      }
+    }
+    return values;
+  }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A {@link ConnectionProvider} that delegates to a provider shared by several users, such as a
+ * dialect whose connections are cached by several {@link CachedConnectionProvider}s. Closing it
+ * does not close the shared provider, which is closed by its owner instead.
+ */
+public class SharedConnectionProvider implements ConnectionProvider {
+
+  private final ConnectionProvider provider;
+
+  public SharedConnectionProvider(ConnectionProvider provider) {
+    this.provider = provider;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return provider.getConnection();
+  }
+
+  @Override
+  public boolean isConnectionValid(Connection connection, int timeout) throws SQLException {
+    return provider.isConnectionValid(connection, timeout);
+  }
+
+  @Override
+  public void close() {
+    // The shared provider is closed by its owner
+  }
+
+  @Override
+  public String identifier() {
+    return provider.identifier();
+  }
+
+  @Override
+  public String toString() {
+    return provider.toString();
+  }
+}
@@ -20,8 +20,8 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 
@@ -32,7 +32,8 @@ public class TableDefinitions {
 
   private static final Logger log = LoggerFactory.getLogger(TableDefinitions.class);
 
-  private final Map<TableId, TableDefinition> cache = new HashMap<>();
+  // Concurrent, since the sink may write several tables at the same time
+  private final Map<TableId, TableDefinition> cache = new ConcurrentHashMap<>();
   private final DatabaseDialect dialect;
 
   /**
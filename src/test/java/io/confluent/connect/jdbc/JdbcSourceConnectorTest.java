@@ -226,6 +226,44 @@ public class JdbcSourceConnectorTest {
     connector.stop();
   }
 
+  @Test
+  public void testPartitioningSlicedTables() throws Exception {
+    // Tests distributing the slices of each table across multiple tasks
+    db.createTable("test1", "id", "INT NOT NULL");
+    db.createTable("test2", "id", "INT NOT NULL");
+    props.put(JdbcSourceConnectorConfig.TABLE_SLICES_CONFIG, "3");
+
+    CountDownLatch taskReconfigurationLatch = new CountDownLatch(1);
+    connectorContext.requestTaskReconfiguration();
+    EasyMock.expectLastCall().andAnswer(() -> {
+      taskReconfigurationLatch.countDown();
+      return null;
+    });
+    EasyMock.replay(connectorContext);
+    connector.initialize(connectorContext);
+
+    connector.start(props);
+    assertTrue(
+        "Connector should have request task reconfiguration after reading tables from the database",
+        taskReconfigurationLatch.await(10, TimeUnit.SECONDS)
+    );
+
+    List<Map<String, String>> configs = connector.taskConfigs(4);
+    assertEquals(4, configs.size());
+    assertTaskConfigsHaveParentConfigs(configs);
+
+    assertEquals(tables("test1", "test2"), configs.get(0).get(JdbcSourceTaskConfig.TABLES_CONFIG));
+    assertEquals("0,1", configs.get(0).get(JdbcSourceTaskConfig.TABLE_SLICE_INDEXES_CONFIG));
+    assertEquals(tables("test1", "test2"), configs.get(1).get(JdbcSourceTaskConfig.TABLES_CONFIG));
+    assertEquals("1,2", configs.get(1).get(JdbcSourceTaskConfig.TABLE_SLICE_INDEXES_CONFIG));
+    assertEquals(tables("test1"), configs.get(2).get(JdbcSourceTaskConfig.TABLES_CONFIG));
+    assertEquals("2", configs.get(2).get(JdbcSourceTaskConfig.TABLE_SLICE_INDEXES_CONFIG));
+    assertEquals(tables("test2"), configs.get(3).get(JdbcSourceTaskConfig.TABLES_CONFIG));
+    assertEquals("0", configs.get(3).get(JdbcSourceTaskConfig.TABLE_SLICE_INDEXES_CONFIG));
+
+    connector.stop();
+  }
+
   @Test
   public void testPartitioningQuery() throws Exception {
     // Tests "partitioning" when config specifies running a custom query
@@ -244,6 +282,34 @@ public class JdbcSourceConnectorTest {
     connector.stop();
   }
 
+  @Test
+  public void testPartitioningNamedQueries() throws Exception {
+    props.put(JdbcSourceConnectorConfig.QUERIES_CONFIG, "orders,customers,invoices");
+    props.put("queries.orders.sql", "SELECT * FROM orders");
+    props.put("queries.customers.sql", "SELECT * FROM customers");
+    props.put("queries.invoices.sql", "SELECT * FROM invoices");
+    connector.start(props);
+    List<Map<String, String>> configs = connector.taskConfigs(2);
+    assertEquals(2, configs.size());
+    assertTaskConfigsHaveParentConfigs(configs);
+
+    assertEquals("orders,customers",
+                 configs.get(0).get(JdbcSourceConnectorConfig.QUERIES_CONFIG));
+    assertEquals("invoices", configs.get(1).get(JdbcSourceConnectorConfig.QUERIES_CONFIG));
+    for (Map<String, String> config : configs) {
+      assertEquals("", config.get(JdbcSourceTaskConfig.TABLES_CONFIG));
+      assertEquals("SELECT * FROM invoices", config.get("queries.invoices.sql"));
+    }
+
+    connector.stop();
+  }
+
+  @Test(expected = ConnectException.class)
+  public void testNamedQueryWithoutSql() {
+    props.put(JdbcSourceConnectorConfig.QUERIES_CONFIG, "orders");
+    connector.start(props);
+  }
+
   @Test(expected = ConnectException.class)
   public void testConflictingQueryTableSettings() {
     final String sample_query = "SELECT foo, bar FROM sample_table";
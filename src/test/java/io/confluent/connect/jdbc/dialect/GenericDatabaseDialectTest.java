@@ -18,6 +18,7 @@ package io.confluent.connect.jdbc.dialect;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.data.Date;
 import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Time;
@@ -29,16 +30,21 @@ import org.junit.Before;
 import org.junit.Test;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableList;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -46,6 +52,7 @@ import java.util.Set;
 import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
 import io.confluent.connect.jdbc.sink.SqliteHelper;
 import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
+import io.confluent.connect.jdbc.source.ColumnMapping;
 import io.confluent.connect.jdbc.source.EmbeddedDerby;
 import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
 import io.confluent.connect.jdbc.util.ColumnDefinition;
@@ -68,6 +75,7 @@ import io.confluent.connect.jdbc.util.TestRefreshJdbcCredentialsProvider;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -295,6 +303,14 @@ public class GenericDatabaseDialectTest extends BaseDialectTest<GenericDatabaseD
     );
   }
 
+  @Test
+  public void testAppendSliceCondition() {
+    newDialectFor(TABLE_TYPES, null);
+    ExpressionBuilder builder = dialect.expressionBuilder();
+    dialect.appendSliceCondition(builder, columnA, 4, 3);
+    assertEquals("ABS(MOD(\"myTable\".\"columnA\", 4)) = 3", builder.toString());
+  }
+
   protected void assertTableNames(
       Set<String> tableTypes,
       String schemaPattern,
@@ -453,6 +469,72 @@ public class GenericDatabaseDialectTest extends BaseDialectTest<GenericDatabaseD
     assertTrue(defns.get(tsnull).isOptional());
   }
 
+  @Test
+  public void shouldReadLobValuesUpToMaximumSize() throws Exception {
+    assertEquals(
+        Arrays.asList("abcdefgh", "abcdefgh"),
+        readLobs(JdbcSourceConnectorConfig.LOB_MAX_BYTES_CONFIG, "8").subList(0, 2)
+    );
+    List<Object> truncated = readLobs(JdbcSourceConnectorConfig.LOB_MAX_BYTES_CONFIG, "3");
+    assertEquals(Arrays.asList("abc", "abc"), truncated.subList(0, 2));
+    assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) truncated.get(2));
+  }
+
+  @Test
+  public void shouldReplaceLargeLobValuesByPlaceholder() throws Exception {
+    List<Object> replaced = readLobs(
+        JdbcSourceConnectorConfig.LOB_MAX_BYTES_CONFIG, "3",
+        JdbcSourceConnectorConfig.LOB_OVERFLOW_HANDLING_CONFIG, "placeholder",
+        JdbcSourceConnectorConfig.LOB_PLACEHOLDER_CONFIG, "-"
+    );
+    assertEquals(Arrays.asList("-", "-"), replaced.subList(0, 2));
+    assertArrayEquals(new byte[] {'-'}, (byte[]) replaced.get(2));
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldFailOnLargeLobValues() throws Exception {
+    readLobs(
+        JdbcSourceConnectorConfig.LOB_MAX_BYTES_CONFIG, "3",
+        JdbcSourceConnectorConfig.LOB_OVERFLOW_HANDLING_CONFIG, "fail"
+    );
+  }
+
+  /**
+   * Read a row with values of 8 bytes or characters from a CLOB, a LONG VARCHAR and a BLOB column
+   * with a dialect that has the given configuration.
+   */
+  private List<Object> readLobs(String... propertyPairs) throws Exception {
+    db.createTable("lobs", "c", "CLOB", "l", "LONG VARCHAR", "b", "BLOB");
+    try (PreparedStatement insert = conn.prepareStatement(
+        "INSERT INTO \"lobs\" VALUES (?, ?, ?)")) {
+      insert.setString(1, "abcdefgh");
+      insert.setString(2, "abcdefgh");
+      insert.setBytes(3, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+      insert.executeUpdate();
+    }
+    dialect = createDialect(sourceConfigWithUrl(db.getUrl(), propertyPairs));
+    Map<String, ColumnDefinition> defns = new HashMap<>();
+    for (ColumnDefinition defn : dialect.describeColumns(conn, "lobs", null).values()) {
+      defns.put(defn.id().name(), defn);
+    }
+    List<Object> values = new ArrayList<>();
+    try (Statement select = conn.createStatement();
+         ResultSet rs = select.executeQuery("SELECT * FROM \"lobs\"")) {
+      assertTrue(rs.next());
+      int col = 0;
+      for (String column : Arrays.asList("c", "l", "b")) {
+        ColumnDefinition defn = defns.get(column);
+        ColumnMapping mapping = new ColumnMapping(
+            defn,
+            ++col,
+            new Field(column, col - 1, Schema.OPTIONAL_BYTES_SCHEMA)
+        );
+        values.add(dialect.columnConverterFor(mapping, defn, col, true).convert(rs));
+      }
+    }
+    return values;
+  }
+
   @Test(expected = ConnectException.class)
   public void shouldBuildCreateQueryStatement() {
     dialect.buildCreateTableStatement(tableId, sinkRecordFields);
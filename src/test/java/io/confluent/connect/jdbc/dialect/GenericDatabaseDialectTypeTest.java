@@ -15,6 +15,7 @@
 
 package io.confluent.connect.jdbc.dialect;
 
+import java.math.BigDecimal;
 import java.sql.Types;
 import java.util.Arrays;
 
@@ -113,6 +114,11 @@ public class GenericDatabaseDialectTypeTest extends BaseDialectTypeTest<GenericD
             {Schema.Type.FLOAT64, DOUBLE, JdbcSourceConnectorConfig.NumericMapping.BEST_FIT_EAGER_DOUBLE, NULLABLE, Types.NUMERIC, 8, 1 },
             {Schema.Type.FLOAT64, DOUBLE, JdbcSourceConnectorConfig.NumericMapping.BEST_FIT_EAGER_DOUBLE, NULLABLE, Types.NUMERIC, 19, 1 },
             {Schema.Type.FLOAT64, DOUBLE, JdbcSourceConnectorConfig.NumericMapping.BEST_FIT_EAGER_DOUBLE, NULLABLE, Types.NUMERIC, 32, 12 },
+
+            // integral decimals that fit in a long
+            {Schema.Type.BYTES, BigDecimal.valueOf(LONG), JdbcSourceConnectorConfig.NumericMapping.NONE, NOT_NULLABLE, Types.NUMERIC, 18, 0 },
+            {Schema.Type.BYTES, BigDecimal.valueOf(LONG), JdbcSourceConnectorConfig.NumericMapping.NONE, NULLABLE, Types.DECIMAL, 10, 0 },
+            {Schema.Type.BYTES, BigDecimal.valueOf(LONG), JdbcSourceConnectorConfig.NumericMapping.BEST_FIT, NULLABLE, Types.DECIMAL, 18, 0 },
         }
     );
   }
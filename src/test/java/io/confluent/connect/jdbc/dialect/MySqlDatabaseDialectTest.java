@@ -22,13 +22,26 @@ import org.apache.kafka.connect.data.Schema.Type;
 import org.apache.kafka.connect.data.Time;
 import org.apache.kafka.connect.data.Timestamp;
 import org.junit.Test;
+import org.mockito.InOrder;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
 import java.util.List;
 
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.QuoteMethod;
 import io.confluent.connect.jdbc.util.TableId;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class MySqlDatabaseDialectTest extends BaseDialectTest<MySqlDatabaseDialect> {
 
@@ -127,6 +140,24 @@ public class MySqlDatabaseDialectTest extends BaseDialectTest<MySqlDatabaseDiale
     assertEquals(expected, sql);
   }
 
+  @Test
+  public void shouldBuildMultiRowInsertAndUpsertStatements() {
+    List<ColumnId> columns = Collections.singletonList(columnA);
+    assertEquals(
+        "INSERT INTO `myTable`(`id1`,`id2`,`columnA`) VALUES(?,?,?),(?,?,?)",
+        dialect.buildMultiRowInsertStatement(
+            tableId, pkColumns, columns, null, JdbcSinkConfig.InsertMode.INSERT, 2)
+    );
+    assertEquals(
+        "insert into `myTable`(`id1`,`id2`,`columnA`) values(?,?,?),(?,?,?),(?,?,?) on "
+        + "duplicate key update `columnA`=values(`columnA`)",
+        dialect.buildMultiRowInsertStatement(
+            tableId, pkColumns, columns, null, JdbcSinkConfig.InsertMode.UPSERT, 3)
+    );
+    assertNull(dialect.buildMultiRowInsertStatement(
+        tableId, pkColumns, columns, null, JdbcSinkConfig.InsertMode.UPDATE, 2));
+  }
+
   @Test
   public void createOneColNoPk() {
     verifyCreateOneColNoPk(
@@ -255,4 +286,32 @@ public class MySqlDatabaseDialectTest extends BaseDialectTest<MySqlDatabaseDiale
         + "user=smith&password=****&other=value"
     );
   }
+
+  @Test
+  public void shouldDisableStatisticsCacheBeforeReadingChangeToken() throws Exception {
+    ResultSet expiry = mock(ResultSet.class);
+    when(expiry.next()).thenReturn(true);
+    when(expiry.getString(2)).thenReturn("86400");
+    Statement statement = mock(Statement.class);
+    when(statement.executeQuery(
+        "SHOW SESSION VARIABLES LIKE 'information_schema_stats_expiry'")).thenReturn(expiry);
+
+    ResultSet tables = mock(ResultSet.class);
+    when(tables.next()).thenReturn(true);
+    when(tables.getTimestamp(1)).thenReturn(new java.sql.Timestamp(1000L));
+    when(tables.getTimestamp(2)).thenReturn(new java.sql.Timestamp(5000L));
+    PreparedStatement query = mock(PreparedStatement.class);
+    when(query.executeQuery()).thenReturn(tables);
+
+    Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(statement);
+    when(connection.prepareStatement(anyString())).thenReturn(query);
+
+    String token = dialect.tableChangeToken(connection, new TableId(null, null, "books"));
+
+    assertEquals(new java.sql.Timestamp(1000L).toString(), token);
+    InOrder inOrder = inOrder(statement, query);
+    inOrder.verify(statement).execute("SET SESSION information_schema_stats_expiry = 0");
+    inOrder.verify(query).executeQuery();
+  }
 }
@@ -15,6 +15,10 @@
 
 package io.confluent.connect.jdbc.dialect;
 
+import io.confluent.connect.jdbc.dialect.DatabaseDialect.BulkLoader;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
 import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.QuoteMethod;
@@ -29,9 +33,17 @@ import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Schema.Type;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.sink.SinkRecord;
 import org.junit.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.JDBCType;
 import java.sql.PreparedStatement;
@@ -47,7 +59,16 @@ import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PostgreSqlDatabaseDialectTest extends BaseDialectTest<PostgreSqlDatabaseDialect> {
@@ -288,6 +309,29 @@ public class PostgreSqlDatabaseDialectTest extends BaseDialectTest<PostgreSqlDat
     );
   }
 
+  @Test
+  public void shouldBuildMultiRowInsertAndUpsertStatements() {
+    TableDefinitionBuilder builder = new TableDefinitionBuilder().withTable("myTable");
+    builder.withColumn("id1").type("int", JDBCType.INTEGER, Integer.class);
+    builder.withColumn("id2").type("int", JDBCType.INTEGER, Integer.class);
+    builder.withColumn("columnA").type("uuid", JDBCType.OTHER, UUID.class);
+    TableDefinition tableDefn = builder.build();
+    List<ColumnId> columns = Collections.singletonList(columnA);
+    assertEquals(
+        "INSERT INTO \"myTable\" (\"id1\",\"id2\",\"columnA\") VALUES (?,?,?::uuid),"
+        + "(?,?,?::uuid)",
+        dialect.buildMultiRowInsertStatement(
+            tableId, pkColumns, columns, tableDefn, JdbcSinkConfig.InsertMode.INSERT, 2)
+    );
+    assertEquals(
+        "INSERT INTO \"myTable\" (\"id1\",\"id2\",\"columnA\") VALUES (?,?,?::uuid),"
+        + "(?,?,?::uuid) ON CONFLICT (\"id1\",\"id2\") DO UPDATE SET "
+        + "\"columnA\"=EXCLUDED.\"columnA\"",
+        dialect.buildMultiRowInsertStatement(
+            tableId, pkColumns, columns, tableDefn, JdbcSinkConfig.InsertMode.UPSERT, 2)
+    );
+  }
+
   @Test
   public void shouldComputeValueTypeCast() {
     TableDefinitionBuilder builder = new TableDefinitionBuilder().withTable("myTable");
@@ -643,6 +687,254 @@ public class PostgreSqlDatabaseDialectTest extends BaseDialectTest<PostgreSqlDat
             "ARRAY[TRUE,FALSE,TRUE]");
   }
 
+  @Test
+  public void shouldBuildBulkLoadStatements() {
+    TableId stagingTable = PostgreSqlBulkLoader.stagingTableId(tableId);
+    assertEquals(
+        "COPY \"myTable\" (\"id1\",\"id2\",\"columnA\",\"columnB\",\"columnC\","
+        + "\"columnD\") FROM STDIN",
+        dialect.buildCopyStatement(tableId, pkColumns, columnsAtoD)
+    );
+    assertEquals(
+        "CREATE TEMPORARY TABLE \"pg_temp\".\"connect_stage_myTable\" ON COMMIT DROP AS "
+        + "SELECT \"id1\",\"id2\",\"columnA\" FROM \"myTable\" WITH NO DATA",
+        dialect.buildCreateStagingTableStatement(
+            stagingTable, tableId, pkColumns, Collections.singletonList(columnA))
+    );
+    assertEquals(
+        "INSERT INTO \"myTable\" (\"id1\",\"id2\",\"columnA\") SELECT \"id1\",\"id2\","
+        + "\"columnA\" FROM \"pg_temp\".\"connect_stage_myTable\" ON CONFLICT (\"id1\","
+        + "\"id2\") DO UPDATE SET \"columnA\"=EXCLUDED.\"columnA\"",
+        dialect.buildUpsertFromStatement(
+            tableId, stagingTable, pkColumns, Collections.singletonList(columnA))
+    );
+    assertEquals(
+        "INSERT INTO \"myTable\" (\"id1\",\"id2\") SELECT \"id1\",\"id2\" FROM "
+        + "\"pg_temp\".\"connect_stage_myTable\" ON CONFLICT (\"id1\",\"id2\") DO NOTHING",
+        dialect.buildUpsertFromStatement(
+            tableId, stagingTable, pkColumns, Collections.emptyList())
+    );
+  }
+
+  @Test
+  public void shouldQualifyAndLimitLengthOfStagingTableNames() {
+    TableId first = PostgreSqlBulkLoader.stagingTableId(new TableId(null, "first", "myTable"));
+    TableId second = PostgreSqlBulkLoader.stagingTableId(new TableId(null, "second", "myTable"));
+    assertEquals("pg_temp", first.schemaName());
+    assertNull(first.catalogName());
+    assertTrue(first.tableName().startsWith("connect_stage_myTable_"));
+    assertNotEquals(first, second);
+
+    String longName = String.join("", Collections.nCopies(7, "0123456789"));
+    TableId longFirst = PostgreSqlBulkLoader.stagingTableId(
+        new TableId(null, null, longName + "_first"));
+    TableId longSecond = PostgreSqlBulkLoader.stagingTableId(
+        new TableId(null, null, longName + "_second"));
+    assertEquals(
+        PostgreSqlBulkLoader.MAX_STAGING_TABLE_NAME_LENGTH,
+        longFirst.tableName().length()
+    );
+    assertTrue(longFirst.tableName().startsWith("connect_stage_0123456789"));
+    assertNotEquals(longFirst.tableName(), longSecond.tableName());
+
+    // Multi-byte characters are not split, and the name fits in the limit in bytes
+    TableId multiByte = PostgreSqlBulkLoader.stagingTableId(
+        new TableId(null, null, String.join("", Collections.nCopies(40, "\u00e9"))));
+    assertTrue(
+        multiByte.tableName().getBytes(StandardCharsets.UTF_8).length
+        <= PostgreSqlBulkLoader.MAX_STAGING_TABLE_NAME_LENGTH
+    );
+    assertTrue(multiByte.tableName().startsWith("connect_stage_\u00e9"));
+  }
+
+  @Test
+  public void shouldCopyRecordsInTextFormat() throws Exception {
+    Schema valueSchema = SchemaBuilder.struct()
+        .field("id", Schema.INT32_SCHEMA)
+        .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+        .field("data", Schema.OPTIONAL_BYTES_SCHEMA)
+        .field("updated", Timestamp.builder().optional().build())
+        .field("tags", SchemaBuilder.array(Schema.STRING_SCHEMA).optional().build())
+        .build();
+    Struct first = new Struct(valueSchema)
+        .put("id", 1)
+        .put("name", "tab\tnew\nline\\")
+        .put("data", new byte[] {0x01, (byte) 0xAB})
+        .put("updated", new java.util.Date(0L))
+        .put("tags", Arrays.asList("a\"b", null));
+    Struct second = new Struct(valueSchema).put("id", 2);
+
+    Connection connection = mock(Connection.class);
+    ByteArrayOutputStream copied = new ByteArrayOutputStream();
+    CopyManager copyManager = mockCopyManager(connection, copied);
+
+    BulkLoader loader = bulkLoader(
+        connection, valueSchema, JdbcSinkConfig.PrimaryKeyMode.NONE, JdbcSinkConfig.InsertMode.INSERT);
+    loader.bindRecord(new SinkRecord("myTable", 0, null, null, valueSchema, first, 0));
+    loader.bindRecord(new SinkRecord("myTable", 0, null, null, valueSchema, second, 1));
+    assertEquals(2, loader.executeLoad());
+    assertEquals(0, loader.executeLoad());
+
+    verify(copyManager).copyIn(
+        "COPY \"myTable\" (\"id\",\"name\",\"data\",\"updated\",\"tags\") FROM STDIN");
+    assertEquals(
+        "1\ttab\\tnew\\nline\\\\\t\\\\x01ab\t1970-01-01 00:00:00.000+00:00\t"
+        + "{\"a\\\\\"b\",NULL}\n"
+        + "2\t\\N\t\\N\t\\N\t\\N\n",
+        new String(copied.toByteArray(), StandardCharsets.UTF_8)
+    );
+    verify(connection, never()).createStatement();
+  }
+
+  @Test
+  public void shouldUpsertLastRecordOfEachKeyThroughStagingTable() throws Exception {
+    Schema valueSchema = SchemaBuilder.struct()
+        .field("id", Schema.INT32_SCHEMA)
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+
+    Connection connection = mock(Connection.class);
+    Statement statement = mock(Statement.class);
+    when(connection.createStatement()).thenReturn(statement);
+    ByteArrayOutputStream copied = new ByteArrayOutputStream();
+    CopyManager copyManager = mockCopyManager(connection, copied);
+
+    BulkLoader loader = bulkLoader(
+        connection, valueSchema, JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        JdbcSinkConfig.InsertMode.UPSERT);
+    loader.bindRecord(record(valueSchema, 1, "first", 0));
+    loader.bindRecord(record(valueSchema, 2, "second", 1));
+    loader.bindRecord(record(valueSchema, 1, "third", 2));
+    assertEquals(2, loader.executeLoad());
+
+    verify(statement).executeUpdate(
+        "CREATE TEMPORARY TABLE \"pg_temp\".\"connect_stage_myTable\" ON COMMIT DROP AS "
+        + "SELECT \"id\",\"name\" FROM \"myTable\" WITH NO DATA");
+    verify(copyManager).copyIn(
+        "COPY \"pg_temp\".\"connect_stage_myTable\" (\"id\",\"name\") FROM STDIN");
+    verify(statement).executeUpdate(
+        "INSERT INTO \"myTable\" (\"id\",\"name\") SELECT \"id\",\"name\" FROM "
+        + "\"pg_temp\".\"connect_stage_myTable\" ON CONFLICT (\"id\") DO UPDATE SET "
+        + "\"name\"=EXCLUDED.\"name\"");
+    verify(statement).executeUpdate("DROP TABLE \"pg_temp\".\"connect_stage_myTable\"");
+    assertEquals(
+        "1\tthird\n2\tsecond\n",
+        new String(copied.toByteArray(), StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test
+  public void shouldNotBulkLoadUpdates() throws Exception {
+    Schema valueSchema = SchemaBuilder.struct().field("id", Schema.INT32_SCHEMA).build();
+    Connection connection = mock(Connection.class);
+    mockCopyManager(connection, new ByteArrayOutputStream());
+    assertNull(bulkLoader(
+        connection, valueSchema, JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        JdbcSinkConfig.InsertMode.UPDATE));
+  }
+
+  @Test
+  public void shouldBuildChangeNotificationStatements() {
+    assertEquals(
+        Arrays.asList(
+            "CREATE OR REPLACE FUNCTION \"connect_jdbc_notify_table'changes\"() RETURNS trigger "
+            + "AS $$ BEGIN "
+            + "PERFORM pg_notify(TG_ARGV[0], TG_TABLE_SCHEMA || '.' || TG_TABLE_NAME); "
+            + "RETURN NULL; END; $$ LANGUAGE plpgsql",
+            "DROP TRIGGER IF EXISTS \"connect_jdbc_notify_table'changes\" ON \"myTable\"",
+            "CREATE TRIGGER \"connect_jdbc_notify_table'changes\" AFTER INSERT OR UPDATE OR "
+            + "DELETE OR TRUNCATE ON \"myTable\" FOR EACH STATEMENT EXECUTE PROCEDURE "
+            + "\"connect_jdbc_notify_table'changes\"('table''changes')"
+        ),
+        dialect.buildChangeNotificationStatements(tableId, "table'changes")
+    );
+  }
+
+  @Test
+  public void shouldNameChangeNotificationTriggersAfterTheChannel() {
+    List<String> statements = dialect.buildChangeNotificationStatements(tableId, "my\"changes");
+    assertEquals(
+        "DROP TRIGGER IF EXISTS \"connect_jdbc_notify_my\"\"changes\" ON \"myTable\"",
+        statements.get(1)
+    );
+    assertNotEquals(
+        statements.get(1),
+        dialect.buildChangeNotificationStatements(tableId, "other").get(1)
+    );
+  }
+
+  @Test
+  public void shouldListenForChangeNotifications() throws Exception {
+    Connection connection = mock(Connection.class);
+    Statement statement = mock(Statement.class);
+    PGConnection pgConnection = mock(PGConnection.class);
+    PGNotification notification = mock(PGNotification.class);
+    when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(connection.createStatement()).thenReturn(statement);
+    when(notification.getParameter()).thenReturn("public.myTable");
+    when(pgConnection.getNotifications(1))
+        .thenReturn(new PGNotification[] {notification, notification}, (PGNotification[]) null);
+
+    DatabaseDialect.ChangeListener listener = dialect.changeListener(connection, "changes");
+    verify(connection).setAutoCommit(true);
+    verify(statement).execute("LISTEN \"changes\"");
+    assertEquals(Collections.singleton("public.myTable"), listener.awaitChanges(0));
+    assertEquals(Collections.emptySet(), listener.awaitChanges(0));
+    listener.close();
+    verify(connection).close();
+  }
+
+  @Test
+  public void shouldNotListenOnOtherConnections() throws Exception {
+    Connection connection = mock(Connection.class);
+    assertNull(dialect.changeListener(connection, "changes"));
+    verify(connection, never()).createStatement();
+  }
+
+  private SinkRecord record(Schema valueSchema, int id, String name, long offset) {
+    Struct value = new Struct(valueSchema).put("id", id).put("name", name);
+    return new SinkRecord("myTable", 0, null, null, valueSchema, value, offset);
+  }
+
+  private BulkLoader bulkLoader(
+      Connection connection,
+      Schema valueSchema,
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      JdbcSinkConfig.InsertMode insertMode
+  ) throws SQLException {
+    SchemaPair schemaPair = new SchemaPair(null, valueSchema);
+    FieldsMetadata fieldsMetadata = FieldsMetadata.extract(
+        tableId.tableName(),
+        pkMode,
+        pkMode == JdbcSinkConfig.PrimaryKeyMode.NONE
+            ? Collections.emptyList() : Collections.singletonList("id"),
+        Collections.emptySet(),
+        schemaPair
+    );
+    return dialect.bulkLoader(
+        connection, tableId, pkMode, schemaPair, fieldsMetadata, null, insertMode);
+  }
+
+  private CopyManager mockCopyManager(
+      Connection connection,
+      ByteArrayOutputStream copied
+  ) throws SQLException {
+    PGConnection pgConnection = mock(PGConnection.class);
+    CopyManager copyManager = mock(CopyManager.class);
+    CopyIn copyIn = mock(CopyIn.class);
+    when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+    doAnswer(invocation -> {
+      Object[] args = invocation.getArguments();
+      copied.write((byte[]) args[0], (Integer) args[1], (Integer) args[2]);
+      return null;
+    }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    return copyManager;
+  }
+
   private <T> void verifyArrayFormatting(PostgreSqlDatabaseDialect dialect, ExpressionBuilder builder,
                                          List<T> input, String expected) {
     dialect.formatColumnValue(builder, null, null, Schema.Type.ARRAY, input);
@@ -15,7 +15,9 @@
 
 package io.confluent.connect.jdbc.dialect;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -28,6 +30,7 @@ import java.util.concurrent.ThreadLocalRandom;
 
 import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.data.Date;
 import org.apache.kafka.connect.data.Decimal;
@@ -43,6 +46,8 @@ import io.confluent.connect.jdbc.util.TableId;
 import org.mockito.Mockito;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.contains;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -436,6 +441,13 @@ public class SqlServerDatabaseDialectTest extends BaseDialectTest<SqlServerDatab
   }
 
 
+  @Test
+  public void shouldAppendSliceConditionWithModuloOperator() {
+    ExpressionBuilder builder = dialect.expressionBuilder();
+    dialect.appendSliceCondition(builder, columnA, 4, 3);
+    assertEquals("ABS([myTable].[columnA] % 4) = 3", builder.toString());
+  }
+
   @Test
   public void shouldSanitizeUrlWithoutCredentialsInProperties() {
     assertSanitizedUrl(
@@ -488,4 +500,32 @@ public class SqlServerDatabaseDialectTest extends BaseDialectTest<SqlServerDatab
     dialect.bindField(stmtNvarchar, index, schema, value, colDefNvarchar);
     verify(stmtNvarchar, times(1)).setNString(index, value);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldNotReturnChangeTokenWhileBulkLoadHoldsTableLock() throws Exception {
+    ResultSet usage = mock(ResultSet.class);
+    when(usage.next()).thenReturn(true);
+    when(usage.getTimestamp(1)).thenReturn(new java.sql.Timestamp(1000L));
+    PreparedStatement usageQuery = mock(PreparedStatement.class);
+    when(usageQuery.executeQuery()).thenReturn(usage);
+
+    // An uncommitted BULK INSERT ... WITH (TABLOCK) holds a BU lock on the table
+    ResultSet locks = mock(ResultSet.class);
+    when(locks.next()).thenReturn(true);
+    when(locks.getInt(1)).thenReturn(1);
+    PreparedStatement lockQuery = mock(PreparedStatement.class);
+    when(lockQuery.executeQuery()).thenReturn(locks);
+
+    Connection connection = mock(Connection.class);
+    when(connection.prepareStatement(contains("dm_db_index_usage_stats"))).thenReturn(usageQuery);
+    when(connection.prepareStatement(contains("'BU'"))).thenReturn(lockQuery);
+
+    assertNull(dialect.tableChangeToken(connection, new TableId(null, "dbo", "books")));
+
+    when(locks.getInt(1)).thenReturn(0);
+    assertEquals(
+        new java.sql.Timestamp(1000L).toString(),
+        dialect.tableChangeToken(connection, new TableId(null, "dbo", "books"))
+    );
+  }
+}
@@ -25,14 +25,23 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
 import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
 import io.confluent.connect.jdbc.sink.SqliteHelper;
+import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.DateTimeUtils;
 import io.confluent.connect.jdbc.util.QuoteMethod;
@@ -100,6 +109,41 @@ public class SqliteDatabaseDialectTest extends BaseDialectTest<SqliteDatabaseDia
     verifyDataTypeMapping("NUMERIC", Timestamp.SCHEMA);
   }
 
+  @Test
+  public void shouldReadDecimalsWithTheDeclaredScale() throws Exception {
+    sqliteHelper.createTable(
+        "create table prices (id INTEGER PRIMARY KEY, whole DECIMAL(10,0), cents DECIMAL(10,2))");
+    sqliteHelper.execute("insert into prices values (1, 7, 1.5)");
+    sqliteHelper.execute("insert into prices values (2, 7.6, '12.345')");
+    sqliteHelper.execute("insert into prices values (3, null, null)");
+    ColumnDefinition whole = new ColumnDefinition(
+        new ColumnId(tableId, "whole"), Types.DECIMAL, "DECIMAL", null, null, null, 10, 0, true,
+        10, false, false, false, false, false
+    );
+    ColumnDefinition cents = new ColumnDefinition(
+        new ColumnId(tableId, "cents"), Types.DECIMAL, "DECIMAL", null, null, null, 10, 2, true,
+        10, false, false, false, false, false
+    );
+    DatabaseDialect.ColumnConverter wholeConverter = dialect.decimalConverterFor(whole, 1, 0);
+    DatabaseDialect.ColumnConverter centsConverter = dialect.decimalConverterFor(cents, 2, 2);
+    List<Object> values = new ArrayList<>();
+    try (Statement statement = sqliteHelper.connection.createStatement();
+         ResultSet rs = statement.executeQuery("select whole, cents from prices order by id")) {
+      while (rs.next()) {
+        values.add(wholeConverter.convert(rs));
+        values.add(centsConverter.convert(rs));
+      }
+    }
+    assertEquals(
+        Arrays.asList(
+            new BigDecimal("7"), new BigDecimal("1.50"),
+            new BigDecimal("8"), new BigDecimal("12.35"),
+            null, null
+        ),
+        values
+    );
+  }
+
   @Test
   public void shouldMapDateSchemaTypeToDateSqlType() {
     assertDateMapping("NUMERIC");
@@ -193,6 +237,22 @@ public class SqliteDatabaseDialectTest extends BaseDialectTest<SqliteDatabaseDia
     assertEquals(expected, sql);
   }
 
+  @Test
+  public void shouldBuildMultiRowInsertAndUpsertStatements() {
+    List<ColumnId> columns = Collections.singletonList(columnA);
+    assertEquals(
+        "INSERT INTO `myTable`(`id1`,`id2`,`columnA`) VALUES(?,?,?),(?,?,?)",
+        dialect.buildMultiRowInsertStatement(
+            tableId, pkColumns, columns, null, JdbcSinkConfig.InsertMode.INSERT, 2)
+    );
+    assertEquals(
+        "INSERT OR REPLACE INTO `myTable`(`id1`,`id2`,`columnA`) VALUES(?,?,?),(?,?,?)",
+        dialect.buildMultiRowInsertStatement(
+            tableId, pkColumns, columns, null, JdbcSinkConfig.InsertMode.UPSERT, 2)
+    );
+    assertEquals(999, dialect.maxStatementParameters());
+  }
+
   @Test
   public void createOneColNoPk() {
     verifyCreateOneColNoPk(
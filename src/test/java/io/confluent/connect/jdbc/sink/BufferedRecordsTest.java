@@ -44,9 +44,11 @@ import java.util.List;
 import java.util.Map;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect.StatementBinder;
 import io.confluent.connect.jdbc.dialect.DatabaseDialects;
 import io.confluent.connect.jdbc.dialect.SqliteDatabaseDialect;
 import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
 import io.confluent.connect.jdbc.util.TableId;
 
 import static org.junit.Assert.assertEquals;
@@ -538,6 +540,119 @@ public class BufferedRecordsTest {
 
   }
 
+  @Test
+  public void multiRowInsertWritesFullAndPartialChunks() throws SQLException {
+    props.put("insert.rows.per.statement", 3);
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+    final DatabaseDialect dbDialect = DatabaseDialects.findBestFor(sqliteHelper.sqliteUri(), config);
+    final TableId tableId = new TableId(null, null, "dummy");
+    final BufferedRecords buffer = new BufferedRecords(
+        config, tableId, dbDialect, new DbStructure(dbDialect), sqliteHelper.connection);
+
+    final Schema schema = SchemaBuilder.struct()
+        .field("id", Schema.INT32_SCHEMA)
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+    for (int i = 0; i < 5; ++i) {
+      Struct value = new Struct(schema).put("id", i).put("name", "name" + i);
+      buffer.add(new SinkRecord("dummy", 0, null, null, schema, value, i));
+    }
+    assertEquals(5, buffer.flush().size());
+    buffer.close();
+
+    sqliteHelper.select(
+        "select count(*), sum(id) from dummy",
+        rs -> {
+          assertEquals(5, rs.getInt(1));
+          assertEquals(10, rs.getInt(2));
+        }
+    );
+  }
+
+  @Test
+  public void multiRowInsertFallsBackToSingleRowsForBinderWithoutIndexedBinding()
+      throws SQLException {
+    props.put("insert.rows.per.statement", 3);
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+    final DatabaseDialect dbDialect = new SqliteDatabaseDialect(config) {
+      @Override
+      public StatementBinder statementBinder(
+          PreparedStatement statement,
+          JdbcSinkConfig.PrimaryKeyMode pkMode,
+          SchemaPair schemaPair,
+          FieldsMetadata fieldsMetadata,
+          TableDefinition tableDefinition,
+          JdbcSinkConfig.InsertMode insertMode
+      ) {
+        final StatementBinder binder = super.statementBinder(
+            statement, pkMode, schemaPair, fieldsMetadata, tableDefinition, insertMode);
+        // Only implements the binding of one record per statement
+        return binder::bindRecord;
+      }
+    };
+    final TableId tableId = new TableId(null, null, "dummy");
+    final BufferedRecords buffer = new BufferedRecords(
+        config, tableId, dbDialect, new DbStructure(dbDialect), sqliteHelper.connection);
+
+    final Schema schema = SchemaBuilder.struct()
+        .field("id", Schema.INT32_SCHEMA)
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+    for (int i = 0; i < 5; ++i) {
+      Struct value = new Struct(schema).put("id", i).put("name", "name" + i);
+      buffer.add(new SinkRecord("dummy", 0, null, null, schema, value, i));
+    }
+    assertEquals(5, buffer.flush().size());
+    for (int i = 5; i < 7; ++i) {
+      Struct value = new Struct(schema).put("id", i).put("name", "name" + i);
+      buffer.add(new SinkRecord("dummy", 0, null, null, schema, value, i));
+    }
+    assertEquals(2, buffer.flush().size());
+    buffer.close();
+
+    sqliteHelper.select(
+        "select count(*), sum(id) from dummy",
+        rs -> {
+          assertEquals(7, rs.getInt(1));
+          assertEquals(21, rs.getInt(2));
+        }
+    );
+  }
+
+  @Test
+  public void multiRowUpsertWritesLastRecordOfEachKey() throws SQLException {
+    props.put("insert.rows.per.statement", 2);
+    props.put("insert.mode", "upsert");
+    props.put("pk.mode", "record_value");
+    props.put("pk.fields", "id");
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+    final DatabaseDialect dbDialect = DatabaseDialects.findBestFor(sqliteHelper.sqliteUri(), config);
+    final TableId tableId = new TableId(null, null, "dummy");
+    final BufferedRecords buffer = new BufferedRecords(
+        config, tableId, dbDialect, new DbStructure(dbDialect), sqliteHelper.connection);
+
+    final Schema schema = SchemaBuilder.struct()
+        .field("id", Schema.INT32_SCHEMA)
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+    final int[] ids = {1, 2, 1, 3, 4};
+    for (int i = 0; i < ids.length; ++i) {
+      Struct value = new Struct(schema).put("id", ids[i]).put("name", "name" + i);
+      buffer.add(new SinkRecord("dummy", 0, null, null, schema, value, i));
+    }
+    assertEquals(5, buffer.flush().size());
+    buffer.close();
+
+    sqliteHelper.select(
+        "select count(*) from dummy",
+        rs -> assertEquals(4, rs.getInt(1))
+    );
+    sqliteHelper.select(
+        "select name from dummy where id = 1",
+        rs -> assertEquals("name2", rs.getString(1))
+    );
+  }
+
   @Test
   public void testAddRecordDeleteNotEnabledAndNonePkMode() throws SQLException {
     props.put("pk.mode", "none");
@@ -34,8 +34,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -48,8 +50,11 @@ import io.confluent.connect.jdbc.util.TableId;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
@@ -168,6 +173,249 @@ public class JdbcDbWriterTest {
     return e;
   }
 
+  @Test
+  public void reusesPreparedStatementsAcrossWrites() throws SQLException {
+    Connection mockConnection = mock(Connection.class);
+    PreparedStatement mockStatement = mock(PreparedStatement.class);
+    JdbcDbWriter writer = newCachingWriterWithMockConnection(mockConnection, mockStatement, "32");
+
+    writer.write(Collections.singleton(bookRecord(1L)));
+    writer.write(Collections.singleton(bookRecord(2L)));
+
+    verify(dialect, times(1)).createPreparedStatement(any(), any());
+    verify(mockStatement, never()).close();
+    verify(mockConnection, times(2)).commit();
+
+    writer.closeQuietly();
+    verify(mockStatement, times(1)).close();
+  }
+
+  @Test
+  public void closesPreparedStatementsAfterEachWriteWhenCacheIsDisabled() throws SQLException {
+    Connection mockConnection = mock(Connection.class);
+    PreparedStatement mockStatement = mock(PreparedStatement.class);
+    JdbcDbWriter writer = newCachingWriterWithMockConnection(mockConnection, mockStatement, "0");
+
+    writer.write(Collections.singleton(bookRecord(1L)));
+    writer.write(Collections.singleton(bookRecord(2L)));
+
+    verify(dialect, times(2)).createPreparedStatement(any(), any());
+    verify(mockStatement, times(2)).close();
+  }
+
+  @Test
+  public void preparesStatementsAgainAfterFailedWrite() throws SQLException {
+    Connection mockConnection = mock(Connection.class);
+    PreparedStatement mockStatement = mock(PreparedStatement.class);
+    JdbcDbWriter writer = newCachingWriterWithMockConnection(mockConnection, mockStatement, "32");
+    doThrow(new SQLException()).doNothing().when(mockConnection).commit();
+
+    assertThrows(SQLException.class, () -> writer.write(Collections.singleton(bookRecord(1L))));
+    verify(mockStatement, times(1)).close();
+
+    writer.write(Collections.singleton(bookRecord(1L)));
+    verify(dialect, times(2)).createPreparedStatement(any(), any());
+  }
+
+  @Test
+  public void flushesTablesInParallelOnSeparateConnections() throws SQLException {
+    Connection firstConnection = mock(Connection.class);
+    Connection secondConnection = mock(Connection.class);
+    PreparedStatement mockStatement = mock(PreparedStatement.class);
+    JdbcDbWriter writer = newParallelWriterWithMockConnections(
+        firstConnection, secondConnection, mockStatement);
+    String[] topics = topicsOnDifferentConnections(2);
+
+    writer.write(Arrays.asList(
+        topicRecord(topics[0], 1L),
+        topicRecord(topics[1], 2L),
+        topicRecord(topics[0], 3L)
+    ));
+
+    verify(dialect, times(1)).createPreparedStatement(eq(firstConnection), any());
+    verify(dialect, times(1)).createPreparedStatement(eq(secondConnection), any());
+    verify(firstConnection, times(1)).commit();
+    verify(secondConnection, times(1)).commit();
+  }
+
+  @Test
+  public void rollsBackAllConnectionsWhenOneTableFails() throws SQLException {
+    Connection firstConnection = mock(Connection.class);
+    Connection secondConnection = mock(Connection.class);
+    PreparedStatement mockStatement = mock(PreparedStatement.class);
+    JdbcDbWriter writer = newParallelWriterWithMockConnections(
+        firstConnection, secondConnection, mockStatement);
+    PreparedStatement failingStatement = mock(PreparedStatement.class);
+    when(failingStatement.executeBatch()).thenThrow(new SQLException("boom"));
+    when(dialect.createPreparedStatement(eq(secondConnection), any()))
+        .thenReturn(failingStatement);
+    String[] topics = topicsOnDifferentConnections(2);
+
+    assertThrows(SQLException.class, () -> writer.write(Arrays.asList(
+        topicRecord(topics[0], 1L),
+        topicRecord(topics[1], 2L)
+    )));
+
+    verify(firstConnection, never()).commit();
+    verify(secondConnection, never()).commit();
+    verify(firstConnection, times(1)).rollback();
+    verify(secondConnection, times(1)).rollback();
+  }
+
+  private JdbcDbWriter newParallelWriterWithMockConnections(
+      Connection firstConnection,
+      Connection secondConnection,
+      PreparedStatement mockStatement
+  ) throws SQLException {
+    Map<String, String> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("pk.mode", "record_key");
+    props.put("pk.fields", "id");
+    props.put("table.flush.parallelism", "2");
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+    dialect = mock(DatabaseDialect.class);
+    Iterator<Connection> connections = Arrays.asList(firstConnection, secondConnection).iterator();
+    writer = new JdbcDbWriter(config, dialect, mock(DbStructure.class)) {
+      protected CachedConnectionProvider connectionProvider(int maxConnAttempts, long retryBackoff) {
+        CachedConnectionProvider mockConnectionProvider = mock(CachedConnectionProvider.class);
+        when(mockConnectionProvider.getConnection()).thenReturn(connections.next());
+        return mockConnectionProvider;
+      }
+    };
+    when(dialect.parseTableIdentifier(any())).thenAnswer(
+        invocation -> new TableId(null, null, (String) invocation.getArguments()[0]));
+    when(dialect.createPreparedStatement(any(), any())).thenReturn(mockStatement);
+    when(dialect.statementBinder(any(), any(), any(), any(), any(), any()))
+        .thenReturn(mock(PreparedStatementBinder.class));
+    when(mockStatement.executeBatch()).thenReturn(new int[1]);
+    return writer;
+  }
+
+  @Test
+  public void reconnectingWriterDoesNotCloseOtherWriterConnections() throws SQLException {
+    Connection firstConnection = mock(Connection.class);
+    Connection secondConnection = mock(Connection.class);
+    Connection reconnected = mock(Connection.class);
+    PreparedStatement mockStatement = mock(PreparedStatement.class);
+    Map<String, String> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("pk.mode", "record_key");
+    props.put("pk.fields", "id");
+    props.put("table.flush.parallelism", "2");
+    dialect = mock(DatabaseDialect.class);
+    when(dialect.getConnection()).thenReturn(firstConnection, secondConnection, reconnected);
+    when(dialect.isConnectionValid(any(), anyInt())).thenReturn(true);
+    when(dialect.parseTableIdentifier(any())).thenAnswer(
+        invocation -> new TableId(null, null, (String) invocation.getArguments()[0]));
+    when(dialect.createPreparedStatement(any(), any())).thenReturn(mockStatement);
+    when(dialect.statementBinder(any(), any(), any(), any(), any(), any()))
+        .thenReturn(mock(PreparedStatementBinder.class));
+    when(mockStatement.executeBatch()).thenReturn(new int[1]);
+    writer = new JdbcDbWriter(new JdbcSinkConfig(props), dialect, mock(DbStructure.class));
+    String[] topics = topicsOnDifferentConnections(2);
+
+    writer.write(Arrays.asList(topicRecord(topics[0], 1L), topicRecord(topics[1], 2L)));
+    // The first writer reconnects while the second writes on its open connection
+    when(dialect.isConnectionValid(eq(firstConnection), anyInt())).thenReturn(false);
+    writer.write(Arrays.asList(topicRecord(topics[0], 3L), topicRecord(topics[1], 4L)));
+
+    verify(firstConnection, times(1)).close();
+    verify(secondConnection, never()).close();
+    verify(secondConnection, times(2)).commit();
+    verify(reconnected, times(1)).commit();
+    verify(dialect, never()).close();
+
+    writer.closeQuietly();
+    verify(dialect, times(1)).close();
+    writer = null;
+  }
+
+  @Test
+  public void commitsParallelWritesOnTheConnectionsTheyWereFlushedOn() throws SQLException {
+    Connection firstConnection = mock(Connection.class);
+    Connection secondConnection = mock(Connection.class);
+    Connection reconnected = mock(Connection.class);
+    PreparedStatement mockStatement = mock(PreparedStatement.class);
+    Map<String, String> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("pk.mode", "record_key");
+    props.put("pk.fields", "id");
+    props.put("table.flush.parallelism", "2");
+    dialect = mock(DatabaseDialect.class);
+    when(dialect.getConnection()).thenReturn(firstConnection, secondConnection, reconnected);
+    when(dialect.isConnectionValid(any(), anyInt())).thenReturn(true);
+    // The first connection is valid when its tables are flushed, and invalid afterwards
+    when(dialect.isConnectionValid(eq(firstConnection), anyInt())).thenReturn(true, false);
+    when(dialect.parseTableIdentifier(any())).thenAnswer(
+        invocation -> new TableId(null, null, (String) invocation.getArguments()[0]));
+    when(dialect.createPreparedStatement(any(), any())).thenReturn(mockStatement);
+    when(dialect.statementBinder(any(), any(), any(), any(), any(), any()))
+        .thenReturn(mock(PreparedStatementBinder.class));
+    when(mockStatement.executeBatch()).thenReturn(new int[1]);
+    writer = new JdbcDbWriter(new JdbcSinkConfig(props), dialect, mock(DbStructure.class));
+    String[] topics = topicsOnDifferentConnections(2);
+
+    writer.write(Arrays.asList(topicRecord(topics[0], 1L), topicRecord(topics[1], 2L)));
+
+    verify(firstConnection, times(1)).commit();
+    verify(secondConnection, times(1)).commit();
+    verify(reconnected, never()).commit();
+  }
+
+  /**
+   * Find topics whose tables are written on the first and the second connection of the writer.
+   */
+  private String[] topicsOnDifferentConnections(int connections) {
+    String[] topics = new String[connections];
+    for (int i = 0; topics[0] == null || topics[1] == null; ++i) {
+      String topic = "table" + i;
+      int index = Math.floorMod(new TableId(null, null, topic).hashCode(), connections);
+      if (index < 2 && topics[index] == null) {
+        topics[index] = topic;
+      }
+    }
+    return topics;
+  }
+
+  private SinkRecord topicRecord(String topic, long id) {
+    Schema valueSchema = SchemaBuilder.struct()
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+    Struct valueStruct = new Struct(valueSchema).put("name", "name" + id);
+    return new SinkRecord(topic, 0, Schema.INT64_SCHEMA, id, valueSchema, valueStruct, id);
+  }
+
+  private JdbcDbWriter newCachingWriterWithMockConnection(
+      Connection mockConnection,
+      PreparedStatement mockStatement,
+      String cacheSize
+  ) throws SQLException {
+    Map<String, String> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("pk.mode", "record_key");
+    props.put("pk.fields", "id");
+    props.put("table.statement.cache.size", cacheSize);
+
+    JdbcDbWriter writer = newWriterWithMockConnection(props, mockConnection);
+    when(dialect.parseTableIdentifier(any())).thenReturn(new TableId(null, null, "books"));
+    when(dialect.createPreparedStatement(any(), any())).thenReturn(mockStatement);
+    when(dialect.statementBinder(any(), any(), any(), any(), any(), any()))
+        .thenReturn(mock(PreparedStatementBinder.class));
+    when(mockStatement.executeBatch()).thenReturn(new int[1]);
+    return writer;
+  }
+
+  private SinkRecord bookRecord(long id) {
+    Schema valueSchema = SchemaBuilder.struct()
+        .field("author", Schema.STRING_SCHEMA)
+        .field("title", Schema.STRING_SCHEMA)
+        .build();
+    Struct valueStruct = new Struct(valueSchema)
+        .put("author", "Tom Robbins")
+        .put("title", "Villa Incognito");
+    return new SinkRecord("books", 0, Schema.INT64_SCHEMA, id, valueSchema, valueStruct, id);
+  }
+
   @Test
   public void autoCreateWithAutoEvolve() throws SQLException {
     String topic = "books";
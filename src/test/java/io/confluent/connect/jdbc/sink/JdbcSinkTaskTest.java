@@ -40,6 +40,8 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.CompletableFuture;
 
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
@@ -54,6 +56,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.util.DateTimeUtils;
 
 public class JdbcSinkTaskTest extends EasyMockSupport {
@@ -305,6 +308,68 @@ public class JdbcSinkTaskTest extends EasyMockSupport {
     verifyAll();
   }
 
+  @Test
+  public void stopClosesDialectOnce() {
+    DatabaseDialect mockDialect = createMock(DatabaseDialect.class);
+    DbStructure dbStructure = createMock(DbStructure.class);
+    mockDialect.close();
+    expectLastCall().once();
+
+    JdbcSinkTask task = new JdbcSinkTask() {
+      @Override
+      void initWriter() {
+        this.dialect = mockDialect;
+        this.writer = new JdbcDbWriter(config, mockDialect, dbStructure);
+      }
+    };
+    task.initialize(ctx);
+    expect(ctx.errantRecordReporter()).andReturn(null);
+    replayAll();
+
+    task.start(setupBasicProps(0, 0));
+    task.stop();
+    verifyAll();
+  }
+
+  @Test
+  public void asyncWritesRetryOnWriterThreadAndCommitWrittenOffsets() throws SQLException {
+    List<SinkRecord> records = createRecordsList(1);
+
+    mockWriter.write(records);
+    expectLastCall().andThrow(new SQLException("cause 1"));
+    mockWriter.closeQuietly();
+    expectLastCall();
+    mockWriter.write(records);
+    expectLastCall();
+    // Closed again when the task is stopped
+    mockWriter.closeQuietly();
+    expectLastCall();
+
+    JdbcSinkTask task = new JdbcSinkTask() {
+      @Override
+      void initWriter() {
+        this.writer = mockWriter;
+      }
+    };
+    task.initialize(ctx);
+    expect(ctx.errantRecordReporter()).andReturn(null);
+    replayAll();
+
+    Map<String, String> props = setupBasicProps(1, 0);
+    props.put(JdbcSinkConfig.ASYNC_WRITES_ENABLED, "true");
+    task.start(props);
+
+    TopicPartition partition = new TopicPartition(RECORD.topic(), RECORD.kafkaPartition());
+    Map<TopicPartition, OffsetAndMetadata> currentOffsets =
+        Collections.singletonMap(partition, new OffsetAndMetadata(1));
+    task.put(records);
+    task.close(Collections.emptyList());
+    assertEquals(currentOffsets, task.preCommit(currentOffsets));
+
+    task.stop();
+    verifyAll();
+  }
+
   @Test
   public void errorReporting() throws SQLException {
     List<SinkRecord> records = createRecordsList(1);
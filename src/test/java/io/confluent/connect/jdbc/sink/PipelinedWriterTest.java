@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PipelinedWriterTest {
+
+  private static final long TIMEOUT_MS = 10000L;
+
+  private static final TopicPartition PARTITION_0 = new TopicPartition("topic", 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition("topic", 1);
+
+  private PipelinedWriter writer;
+
+  @After
+  public void tearDown() {
+    if (writer != null) {
+      writer.stop();
+    }
+  }
+
+  @Test
+  public void shouldOnlyReportOffsetsOfWrittenBatches() throws Exception {
+    CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    List<Collection<SinkRecord>> written = Collections.synchronizedList(new ArrayList<>());
+    writer = new PipelinedWriter("test-writer", records -> {
+      if (written.isEmpty()) {
+        firstBatchStarted.countDown();
+        assertTrue(releaseFirstBatch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+      }
+      written.add(records);
+    }, 2);
+    writer.start();
+
+    writer.submit(Arrays.asList(record(0, 10), record(1, 5)));
+    writer.submit(Collections.singletonList(record(0, 11)));
+    assertTrue(firstBatchStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    Map<TopicPartition, OffsetAndMetadata> partitions = currentOffsets(PARTITION_0, PARTITION_1);
+    assertTrue(writer.writtenOffsets(partitions).isEmpty());
+
+    releaseFirstBatch.countDown();
+    writer.closePartitions(Collections.emptyList());
+    assertEquals(2, written.size());
+
+    Map<TopicPartition, OffsetAndMetadata> offsets = writer.writtenOffsets(partitions);
+    assertEquals(12, offsets.get(PARTITION_0).offset());
+    assertEquals(6, offsets.get(PARTITION_1).offset());
+    assertEquals(1, writer.writtenOffsets(currentOffsets(PARTITION_1)).size());
+
+    writer.closePartitions(Collections.singletonList(PARTITION_1));
+    assertEquals(1, writer.writtenOffsets(partitions).size());
+  }
+
+  @Test
+  public void shouldCommitCurrentOffsetsOnceRecordsOfRenamedTopicsAreWritten() throws Exception {
+    CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    List<Collection<SinkRecord>> written = Collections.synchronizedList(new ArrayList<>());
+    writer = new PipelinedWriter("test-writer", records -> {
+      if (written.isEmpty()) {
+        assertTrue(releaseFirstBatch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+      }
+      written.add(records);
+    }, 2);
+    writer.start();
+
+    // The topic was renamed by a transformation, so it does not match the consumed partition
+    writer.submit(Collections.singletonList(record("renamed", 0, 10)));
+    Map<TopicPartition, OffsetAndMetadata> consumed =
+        Collections.singletonMap(PARTITION_0, new OffsetAndMetadata(11));
+    assertTrue(writer.writtenOffsets(consumed).isEmpty());
+
+    releaseFirstBatch.countDown();
+    writer.submit(Collections.singletonList(record("renamed", 0, 11)));
+    writer.closePartitions(Collections.emptyList());
+    consumed = Collections.singletonMap(PARTITION_0, new OffsetAndMetadata(12));
+    assertEquals(consumed, writer.writtenOffsets(consumed));
+    assertEquals(2, written.size());
+  }
+
+  @Test
+  public void shouldInterruptWriterWaitingToRetryWhenStopped() throws Exception {
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    writer = new PipelinedWriter("test-writer", records -> {
+      writing.countDown();
+      try {
+        // Like a write that backs off before retrying
+        Thread.sleep(TIMEOUT_MS * 10);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+    }, 1);
+    writer.start();
+
+    writer.submit(Collections.singletonList(record(0, 10)));
+    assertTrue(writing.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    writer.stop();
+    assertEquals(0, interrupted.getCount());
+    assertTrue(writer.writtenOffsets(currentOffsets(PARTITION_0)).isEmpty());
+    writer = null;
+  }
+
+  @Test
+  public void shouldRethrowWriteFailure() throws Exception {
+    writer = new PipelinedWriter("test-writer", records -> {
+      throw new SQLException("boom");
+    }, 1);
+    writer.start();
+
+    writer.submit(Collections.singletonList(record(0, 1)));
+    try {
+      writer.closePartitions(Collections.emptyList());
+      fail("Expected the write failure to be rethrown");
+    } catch (ConnectException e) {
+      assertTrue(e.getCause() instanceof SQLException);
+    }
+    try {
+      writer.submit(Collections.singletonList(record(0, 2)));
+      fail("Expected the write failure to be rethrown");
+    } catch (ConnectException e) {
+      assertTrue(e.getCause() instanceof SQLException);
+    }
+  }
+
+  private static SinkRecord record(int partition, long offset) {
+    return record("topic", partition, offset);
+  }
+
+  private static SinkRecord record(String topic, int partition, long offset) {
+    return new SinkRecord(topic, partition, null, null, null, null, offset);
+  }
+
+  private static Map<TopicPartition, OffsetAndMetadata> currentOffsets(
+      TopicPartition... partitions
+  ) {
+    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    for (TopicPartition partition : partitions) {
+      offsets.put(partition, new OffsetAndMetadata(0));
+    }
+    return offsets;
+  }
+}
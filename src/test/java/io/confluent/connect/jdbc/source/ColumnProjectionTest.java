@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnProjectionTest {
+
+  private static final TableId TABLE = new TableId(null, null, "orders");
+  private static final ColumnId ID = new ColumnId(TABLE, "ID");
+  private static final ColumnId NAME = new ColumnId(TABLE, "NAME");
+  private static final ColumnId NOTES = new ColumnId(TABLE, "NOTES");
+  private static final ColumnId MODIFIED = new ColumnId(TABLE, "MODIFIED");
+
+  private final List<ColumnDefinition> columns = Arrays.asList(
+      new ColumnDefinition(ID, 0, null, null, null, null, 0, 0, false, 0, false, false, false,
+                           false, true),
+      new ColumnDefinition(NAME, 0, null, null, null, null, 0, 0, false, 0, false, false, false,
+                           false, false),
+      new ColumnDefinition(NOTES, 0, null, null, null, null, 0, 0, false, 0, false, false, false,
+                           false, false),
+      new ColumnDefinition(MODIFIED, 0, null, null, null, null, 0, 0, false, 0, false, false,
+                           false, false, false)
+  );
+
+  @Test
+  public void shouldSelectIncludedColumnsInTableOrder() {
+    ColumnProjection projection = new ColumnProjection(
+        Arrays.asList("notes", "id"),
+        Collections.emptyList()
+    );
+    assertEquals(
+        Arrays.asList(ID, NOTES),
+        projection.resolve(TABLE, columns, Collections.emptyList())
+    );
+  }
+
+  @Test
+  public void shouldRemoveExcludedColumns() {
+    ColumnProjection projection = new ColumnProjection(
+        Collections.emptyList(),
+        Collections.singletonList("Notes")
+    );
+    assertEquals(
+        Arrays.asList(ID, NAME, MODIFIED),
+        projection.resolve(TABLE, columns, Collections.emptyList())
+    );
+  }
+
+  @Test
+  public void shouldAlwaysSelectRequiredColumns() {
+    ColumnProjection projection = new ColumnProjection(
+        Collections.singletonList("name"),
+        Arrays.asList("id", "modified")
+    );
+    assertEquals(
+        Arrays.asList(ID, NAME, MODIFIED),
+        projection.resolve(
+            TABLE,
+            columns,
+            Arrays.asList(new ColumnId(TABLE, "id"), new ColumnId(TABLE, "modified"), null)
+        )
+    );
+  }
+
+  @Test(expected = ConnectException.class)
+  public void shouldFailOnMissingIncludedColumn() {
+    new ColumnProjection(Collections.singletonList("missing"), Collections.emptyList())
+        .resolve(TABLE, columns, Collections.emptyList());
+  }
+
+  @Test(expected = ConnectException.class)
+  public void shouldFailWhenNoColumnIsSelected() {
+    new ColumnProjection(
+        Collections.emptyList(),
+        Arrays.asList("id", "name", "notes", "modified")
+    ).resolve(TABLE, columns, Collections.emptyList());
+  }
+
+  @Test
+  public void shouldParseColumnListsOfSeveralTables() {
+    Map<String, ColumnProjection> projections = ColumnProjection.parse(
+        Arrays.asList("orders=id;name", "sales.customers = id ; email"),
+        Collections.singletonList("orders=name")
+    );
+    assertEquals(2, projections.size());
+    assertEquals(
+        Collections.singletonList(ID),
+        projections.get("orders").resolve(TABLE, columns, new ArrayList<>())
+    );
+    assertTrue(projections.containsKey("sales.customers"));
+  }
+
+  @Test(expected = ConfigException.class)
+  public void shouldFailOnListWithoutTable() {
+    ColumnProjection.parseColumnLists("table.columns.include", Collections.singletonList("id"));
+  }
+
+  @Test(expected = ConfigException.class)
+  public void shouldFailOnEmptyColumnName() {
+    ColumnProjection.parseColumnLists(
+        "table.columns.include",
+        Collections.singletonList("orders=id;;name")
+    );
+  }
+
+  @Test(expected = ConfigException.class)
+  public void shouldFailOnTableListedTwice() {
+    ColumnProjection.parseColumnLists(
+        "table.columns.include",
+        Arrays.asList("orders=id", "orders=name")
+    );
+  }
+}
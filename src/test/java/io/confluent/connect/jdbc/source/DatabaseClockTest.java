@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DatabaseClockTest {
+
+  private static final long SYNC_INTERVAL_MS = 1000L;
+  private static final long MAX_DRIFT_MS = 10L;
+
+  private final Connection connection = mock(Connection.class);
+  private final Calendar cal = Calendar.getInstance();
+  private DatabaseDialect dialect;
+  private MockTime time;
+  private DatabaseClock clock;
+
+  @Before
+  public void setUp() {
+    dialect = mock(DatabaseDialect.class);
+    time = new MockTime();
+    clock = new DatabaseClock(dialect, time, SYNC_INTERVAL_MS, MAX_DRIFT_MS);
+  }
+
+  @Test
+  public void shouldEstimateDatabaseTimeBetweenSyncs() throws Exception {
+    when(dialect.currentTimeOnDB(connection, cal)).thenReturn(new Timestamp(50000L));
+
+    assertEquals(50000L - MAX_DRIFT_MS, clock.currentTimeOnDB(connection, cal).getTime());
+    time.sleep(400L);
+    assertEquals(50400L - MAX_DRIFT_MS, clock.currentTimeOnDB(connection, cal).getTime());
+    time.sleep(599L);
+    assertEquals(50999L - MAX_DRIFT_MS, clock.currentTimeOnDB(connection, cal).getTime());
+
+    verify(dialect, times(1))
+        .currentTimeOnDB(Matchers.any(Connection.class), Matchers.any(Calendar.class));
+  }
+
+  @Test
+  public void shouldQueryDatabaseTimeAgainAfterSyncInterval() throws Exception {
+    when(dialect.currentTimeOnDB(connection, cal))
+        .thenReturn(new Timestamp(50000L), new Timestamp(52000L));
+
+    clock.currentTimeOnDB(connection, cal);
+    time.sleep(SYNC_INTERVAL_MS);
+    // The database clock ran faster than the local clock, and the estimate catches up
+    assertEquals(52000L - MAX_DRIFT_MS, clock.currentTimeOnDB(connection, cal).getTime());
+    time.sleep(100L);
+    assertEquals(52100L - MAX_DRIFT_MS, clock.currentTimeOnDB(connection, cal).getTime());
+
+    verify(dialect, times(2))
+        .currentTimeOnDB(Matchers.any(Connection.class), Matchers.any(Calendar.class));
+  }
+}
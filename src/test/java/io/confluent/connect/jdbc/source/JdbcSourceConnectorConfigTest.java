@@ -254,6 +254,25 @@ public class JdbcSourceConnectorConfigTest {
     assertFalse(connectionAttemptsConfig.errorMessages().isEmpty());
   }
 
+  @Test
+  public void testDuplicateAndReservedQueryNames() {
+    props.put(JdbcSourceConnectorConfig.QUERIES_CONFIG, "orders,customers");
+    Map<String, ConfigValue> validatedConfig =
+        JdbcSourceConnectorConfig.baseConfigDef().validateAll(props);
+    assertTrue(
+        validatedConfig.get(JdbcSourceConnectorConfig.QUERIES_CONFIG).errorMessages().isEmpty());
+
+    props.put(JdbcSourceConnectorConfig.QUERIES_CONFIG, "orders,customers,orders");
+    validatedConfig = JdbcSourceConnectorConfig.baseConfigDef().validateAll(props);
+    assertFalse(
+        validatedConfig.get(JdbcSourceConnectorConfig.QUERIES_CONFIG).errorMessages().isEmpty());
+
+    props.put(JdbcSourceConnectorConfig.QUERIES_CONFIG, "orders,query");
+    validatedConfig = JdbcSourceConnectorConfig.baseConfigDef().validateAll(props);
+    assertFalse(
+        validatedConfig.get(JdbcSourceConnectorConfig.QUERIES_CONFIG).errorMessages().isEmpty());
+  }
+
   @Test
   public void testCredentialsProviderClassConfig() {
     // Configuring MockTime Class here which does not extends JdbcCredentialsProvider Interface
@@ -19,7 +19,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -28,6 +30,7 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -37,11 +40,16 @@ import java.util.Map;
 import java.util.TimeZone;
 
 import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.storage.OffsetUtils;
 import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.powermock.api.easymock.PowerMock;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -60,6 +68,9 @@ public class JdbcSourceTaskUpdateTest extends JdbcSourceTaskTestBase {
 
   private static final TimeZone UTC_TIME_ZONE = TimeZone.getTimeZone(ZoneOffset.UTC);
 
+  @Rule
+  public TemporaryFolder diffDir = new TemporaryFolder();
+
   @After
   public void tearDown() throws Exception {
     task.stop();
@@ -97,6 +108,387 @@ public class JdbcSourceTaskUpdateTest extends JdbcSourceTaskTestBase {
     assertRecordsTopic(records, TOPIC_PREFIX + SINGLE_TABLE_NAME);
   }
 
+  @Test
+  public void testBulkPeriodicLoadReusesSchemaUntilTableChanges() throws Exception {
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL");
+    db.insert(SINGLE_TABLE_NAME, "id", 1);
+
+    task.start(singleTableConfig());
+
+    List<SourceRecord> records = task.poll();
+    Schema firstSchema = records.get(0).valueSchema();
+
+    records = task.poll();
+    assertSame(firstSchema, records.get(0).valueSchema());
+
+    db.execute("ALTER TABLE \"" + SINGLE_TABLE_NAME + "\" ADD COLUMN \"name\" VARCHAR(20)");
+    records = task.poll();
+    assertNotSame(firstSchema, records.get(0).valueSchema());
+    assertNotNull(records.get(0).valueSchema().field("name"));
+  }
+
+  @Test
+  public void testBulkPeriodicLoadBoundedByBatchMaxBytes() throws Exception {
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL", "name", "VARCHAR(100)");
+    for (int id = 1; id <= 3; ++id) {
+      db.insert(SINGLE_TABLE_NAME, "id", id, "name", String.format("%040d", id));
+    }
+
+    Map<String, String> config = singleTableConfig();
+    config.put(JdbcSourceConnectorConfig.BATCH_MAX_BYTES_CONFIG, "10");
+    task.start(config);
+
+    // Every row is larger than the budget, but each batch still has one row
+    for (int id = 1; id <= 3; ++id) {
+      List<SourceRecord> records = task.poll();
+      assertEquals(Collections.singletonMap(id, 1), countIntValues(records, "id"));
+    }
+  }
+
+  @Test
+  public void testBulkPeriodicLoadWithExcludedColumns() throws Exception {
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL", "name", "VARCHAR(20)",
+                   "payload", "VARCHAR(100)");
+    db.insert(SINGLE_TABLE_NAME, "id", 1, "name", "one", "payload", "ignored");
+
+    Map<String, String> config = singleTableConfig();
+    config.put(JdbcSourceConnectorConfig.TABLE_COLUMNS_EXCLUDE_CONFIG,
+               SINGLE_TABLE_NAME + "=PAYLOAD");
+    task.start(config);
+
+    List<SourceRecord> records = task.poll();
+    assertEquals(1, records.size());
+    Schema schema = records.get(0).valueSchema();
+    assertEquals(2, schema.fields().size());
+    assertNotNull(schema.field("id"));
+    assertNotNull(schema.field("name"));
+  }
+
+  @Test
+  public void testBulkPeriodicLoadWithTableFilter() throws Exception {
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL", "deleted", "INT NOT NULL");
+    db.insert(SINGLE_TABLE_NAME, "id", 1, "deleted", 0);
+    db.insert(SINGLE_TABLE_NAME, "id", 2, "deleted", 1);
+    db.insert(SINGLE_TABLE_NAME, "id", 3, "deleted", 0);
+
+    Map<String, String> config = singleTableConfig();
+    config.put(JdbcSourceConnectorConfig.TABLE_FILTER_PREFIX + SINGLE_TABLE_NAME,
+               "\"deleted\" = 0");
+    task.start(config);
+
+    Map<Integer, Integer> expected = new HashMap<>();
+    expected.put(1, 1);
+    expected.put(3, 1);
+    assertEquals(expected, countIntValues(task.poll(), "id"));
+  }
+
+  @Test
+  public void testIncrementingWithIncludedColumnsKeepsIncrementingColumn() throws Exception {
+    expectInitializeNoOffsets(Arrays.asList(
+        SINGLE_TABLE_PARTITION_WITH_VERSION,
+        SINGLE_TABLE_PARTITION)
+    );
+
+    PowerMock.replayAll();
+
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL", "name", "VARCHAR(20)",
+                   "payload", "VARCHAR(100)");
+    db.insert(SINGLE_TABLE_NAME, "id", 1, "name", "one", "payload", "ignored");
+
+    initializeTask();
+    Map<String, String> config = singleTableConfig();
+    config.put(JdbcSourceConnectorConfig.MODE_CONFIG,
+               JdbcSourceConnectorConfig.MODE_INCREMENTING);
+    config.put(JdbcSourceConnectorConfig.INCREMENTING_COLUMN_NAME_CONFIG, "id");
+    config.put(JdbcSourceConnectorConfig.TABLE_COLUMNS_INCLUDE_CONFIG,
+               SINGLE_TABLE_NAME + "=name");
+    task.start(config);
+
+    List<SourceRecord> records = task.poll();
+    assertEquals(Collections.singletonMap(1, 1), countIntValues(records, "id"));
+    assertEquals(2, records.get(0).valueSchema().fields().size());
+    assertNull(records.get(0).valueSchema().field("payload"));
+
+    db.insert(SINGLE_TABLE_NAME, "id", 2, "name", "two", "payload", "ignored");
+    records = task.poll();
+    assertEquals(Collections.singletonMap(2, 1), countIntValues(records, "id"));
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testBulkChunkedLoad() throws Exception {
+    expectInitializeNoOffsets(Arrays.asList(
+        SINGLE_TABLE_PARTITION_WITH_VERSION,
+        SINGLE_TABLE_PARTITION)
+    );
+
+    PowerMock.replayAll();
+
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL");
+    for (int id = 1; id <= 5; ++id) {
+      db.insert(SINGLE_TABLE_NAME, "id", id);
+    }
+
+    startBulkChunkedTask(2);
+
+    List<SourceRecord> records = task.poll();
+    assertEquals(5, records.size());
+    assertRecordsTopic(records, TOPIC_PREFIX + SINGLE_TABLE_NAME);
+    // Each record carries the start of the chunk it was read from: [1, 2], [3, 4] and [5, 5]
+    for (SourceRecord record : records) {
+      int id = ((Struct) record.value()).getInt32("id");
+      assertEquals((long) (id - (id - 1) % 2),
+                   record.sourceOffset().get(BulkTableQuerier.CHUNK_START_FIELD));
+      assertEquals(5L, record.sourceOffset().get(BulkTableQuerier.SNAPSHOT_END_FIELD));
+    }
+    // Only the last record marks the snapshot as complete
+    for (SourceRecord record : records.subList(0, 4)) {
+      assertNull(record.sourceOffset().get(BulkTableQuerier.SNAPSHOT_COMPLETE_FIELD));
+    }
+    assertEquals(true, records.get(4).sourceOffset().get(BulkTableQuerier.SNAPSHOT_COMPLETE_FIELD));
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testBulkChunkedLoadStartsNewSnapshotAfterCompletedSnapshot() throws Exception {
+    Map<String, Object> offset = new HashMap<>();
+    offset.put(BulkTableQuerier.CHUNK_START_FIELD, 5L);
+    offset.put(BulkTableQuerier.SNAPSHOT_END_FIELD, 5L);
+    offset.put(BulkTableQuerier.SNAPSHOT_COMPLETE_FIELD, true);
+    Map<Map<String, String>, Map<String, Object>> offsets = new HashMap<>();
+    offsets.put(SINGLE_TABLE_PARTITION_WITH_VERSION, null);
+    offsets.put(SINGLE_TABLE_PARTITION, offset);
+    expectInitialize(Arrays.asList(
+        SINGLE_TABLE_PARTITION_WITH_VERSION,
+        SINGLE_TABLE_PARTITION),
+        offsets
+    );
+
+    PowerMock.replayAll();
+
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL");
+    for (int id = 1; id <= 6; ++id) {
+      db.insert(SINGLE_TABLE_NAME, "id", id);
+    }
+
+    startBulkChunkedTask(2);
+
+    // The restarted task reads the whole table instead of the tail of the completed snapshot
+    List<SourceRecord> records = task.poll();
+    assertEquals(6, records.size());
+    assertEquals(1L, records.get(0).sourceOffset().get(BulkTableQuerier.CHUNK_START_FIELD));
+    assertEquals(6L, records.get(5).sourceOffset().get(BulkTableQuerier.SNAPSHOT_END_FIELD));
+    assertEquals(true, records.get(5).sourceOffset().get(BulkTableQuerier.SNAPSHOT_COMPLETE_FIELD));
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testBulkChunkedLoadResumesSnapshot() throws Exception {
+    Map<String, Object> offset = new HashMap<>();
+    offset.put(BulkTableQuerier.CHUNK_START_FIELD, 3L);
+    offset.put(BulkTableQuerier.SNAPSHOT_END_FIELD, 5L);
+    Map<Map<String, String>, Map<String, Object>> offsets = new HashMap<>();
+    offsets.put(SINGLE_TABLE_PARTITION_WITH_VERSION, null);
+    offsets.put(SINGLE_TABLE_PARTITION, offset);
+    expectInitialize(Arrays.asList(
+        SINGLE_TABLE_PARTITION_WITH_VERSION,
+        SINGLE_TABLE_PARTITION),
+        offsets
+    );
+
+    PowerMock.replayAll();
+
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL");
+    for (int id = 1; id <= 6; ++id) {
+      db.insert(SINGLE_TABLE_NAME, "id", id);
+    }
+
+    startBulkChunkedTask(2);
+
+    // The interrupted snapshot resumes at its last recorded chunk and keeps its original bounds
+    List<SourceRecord> records = task.poll();
+    Map<Integer, Integer> expected = new HashMap<>();
+    expected.put(3, 1);
+    expected.put(4, 1);
+    expected.put(5, 1);
+    assertEquals(expected, countIntValues(records, "id"));
+
+    // The next snapshot covers the whole table again
+    records = task.poll();
+    assertEquals(6, records.size());
+    assertEquals(6L, records.get(5).sourceOffset().get(BulkTableQuerier.SNAPSHOT_END_FIELD));
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testBulkDiffLoadReturnsChangedRowsAndTombstones() throws Exception {
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL PRIMARY KEY", "name", "VARCHAR(20)");
+    db.insert(SINGLE_TABLE_NAME, "id", 1, "name", "a");
+    db.insert(SINGLE_TABLE_NAME, "id", 2, "name", "b");
+    db.insert(SINGLE_TABLE_NAME, "id", 3, "name", "c");
+
+    Map<String, String> taskConfig = singleTableConfig();
+    taskConfig.put(
+        JdbcSourceConnectorConfig.BULK_DIFF_DIR_CONFIG,
+        diffDir.getRoot().getAbsolutePath()
+    );
+    task.start(taskConfig);
+
+    // The first scan returns every row, keyed by the primary key
+    List<SourceRecord> records = task.poll();
+    assertEquals(3, records.size());
+    assertRecordsTopic(records, TOPIC_PREFIX + SINGLE_TABLE_NAME);
+    for (SourceRecord record : records) {
+      assertEquals(
+          ((Struct) record.value()).getInt32("id"),
+          ((Struct) record.key()).getInt32("id")
+      );
+    }
+
+    db.execute("UPDATE \"" + SINGLE_TABLE_NAME + "\" SET \"name\" = 'z' WHERE \"id\" = 2");
+    db.delete(SINGLE_TABLE_NAME, new EmbeddedDerby.EqualsCondition(
+        new EmbeddedDerby.ColumnName("id"), 3));
+    db.insert(SINGLE_TABLE_NAME, "id", 4, "name", "d");
+
+    // The table is not scanned again until the records of the first scan are acknowledged
+    assertNull(task.poll());
+    for (SourceRecord record : records) {
+      task.commitRecord(record, null);
+    }
+
+    // Only the changed and inserted rows are returned, followed by the deleted key
+    records = task.poll();
+    assertEquals(3, records.size());
+    assertRecordsTopic(records, TOPIC_PREFIX + SINGLE_TABLE_NAME);
+    Map<Integer, Integer> changedRows = new HashMap<>();
+    changedRows.put(2, 1);
+    changedRows.put(4, 1);
+    assertEquals(changedRows, countIntValues(records.subList(0, 2), "id"));
+    SourceRecord tombstone = records.get(2);
+    assertNull(tombstone.value());
+    assertNull(tombstone.valueSchema());
+    assertEquals(3, ((Struct) tombstone.key()).getInt32("id").intValue());
+
+    // Converters write a null value, which log compaction removes
+    JsonConverter converter = new JsonConverter();
+    converter.configure(Collections.singletonMap("schemas.enable", "true"), false);
+    assertNull(converter.fromConnectData(
+        tombstone.topic(),
+        tombstone.valueSchema(),
+        tombstone.value()
+    ));
+  }
+
+  @Test
+  public void testBulkDiffLoadYieldsWhileSkippingUnchangedRows() throws Exception {
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL PRIMARY KEY", "name", "VARCHAR(20)");
+    for (int id = 1; id <= 8; ++id) {
+      db.insert(SINGLE_TABLE_NAME, "id", id, "name", "a");
+    }
+
+    Map<String, String> taskConfig = singleTableConfig();
+    taskConfig.put(
+        JdbcSourceConnectorConfig.BULK_DIFF_DIR_CONFIG,
+        diffDir.getRoot().getAbsolutePath()
+    );
+    taskConfig.put(JdbcSourceConnectorConfig.BATCH_MAX_ROWS_CONFIG, "2");
+    task.start(taskConfig);
+
+    // The first scan returns every row in batches, which are acknowledged as they are polled
+    int polled = 0;
+    for (int i = 0; i < 4; ++i) {
+      List<SourceRecord> records = task.poll();
+      assertEquals(2, records.size());
+      for (SourceRecord record : records) {
+        task.commitRecord(record, null);
+      }
+      polled += records.size();
+    }
+    assertEquals(8, polled);
+
+    db.execute("UPDATE \"" + SINGLE_TABLE_NAME + "\" SET \"name\" = 'z' WHERE \"id\" = 8");
+
+    // Reading past 2 unchanged rows yields to the task, so the polls return without records
+    // until the scan, which continues where it left off, reaches the changed row
+    List<SourceRecord> records = null;
+    int emptyPolls = 0;
+    while (records == null && emptyPolls < 10) {
+      records = task.poll();
+      if (records == null) {
+        ++emptyPolls;
+      }
+    }
+    assertTrue(emptyPolls > 0);
+    assertNotNull(records);
+    assertEquals(1, records.size());
+    assertEquals(8, ((Struct) records.get(0).key()).getInt32("id").intValue());
+  }
+
+  @Test
+  public void testKeysetLoadReadsCompositeKeysInPages() throws Exception {
+    expectInitializeNoOffsets(Arrays.asList(
+        SINGLE_TABLE_PARTITION_WITH_VERSION,
+        SINGLE_TABLE_PARTITION)
+    );
+
+    PowerMock.replayAll();
+
+    db.createTable(SINGLE_TABLE_NAME, "a", "INT NOT NULL", "b", "INT NOT NULL");
+    insertKeys(1, 1, 1, 2, 2, 1, 2, 2, 3, 1);
+
+    startKeysetTask(2);
+
+    // The table is read in pages of [(1,1), (1,2)], [(2,1), (2,2)] and [(3,1)]
+    List<SourceRecord> records = task.poll();
+    assertEquals(5, records.size());
+    assertRecordsTopic(records, TOPIC_PREFIX + SINGLE_TABLE_NAME);
+    Map<String, ?> lastOffset = records.get(4).sourceOffset();
+    assertEquals(3L, lastOffset.get(TimestampIncrementingOffset.KEYSET_FIELD_PREFIX + 0));
+    assertEquals(1L, lastOffset.get(TimestampIncrementingOffset.KEYSET_FIELD_PREFIX + 1));
+    OffsetUtils.validateFormat(lastOffset);
+
+    // Only keys after the last key are read
+    insertKeys(1, 3, 3, 2);
+    records = task.poll();
+    assertEquals(1, records.size());
+    assertEquals(3, ((Struct) records.get(0).value()).getInt32("a").intValue());
+    assertEquals(2, ((Struct) records.get(0).value()).getInt32("b").intValue());
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testKeysetLoadRestoresKeyOffset() throws Exception {
+    Map<String, Object> offset = new TimestampIncrementingOffset(
+        null, null, Arrays.asList(2L, 1L)).toMap();
+    Map<Map<String, String>, Map<String, Object>> offsets = new HashMap<>();
+    offsets.put(SINGLE_TABLE_PARTITION_WITH_VERSION, offset);
+    offsets.put(SINGLE_TABLE_PARTITION, null);
+    expectInitialize(Arrays.asList(
+        SINGLE_TABLE_PARTITION_WITH_VERSION,
+        SINGLE_TABLE_PARTITION),
+        offsets
+    );
+
+    PowerMock.replayAll();
+
+    db.createTable(SINGLE_TABLE_NAME, "a", "INT NOT NULL", "b", "INT NOT NULL");
+    insertKeys(1, 1, 2, 1, 2, 2, 3, 1);
+
+    startKeysetTask(10);
+
+    Map<Integer, Integer> expected = new HashMap<>();
+    expected.put(2, 1);
+    expected.put(3, 1);
+    assertEquals(expected, countIntValues(task.poll(), "a"));
+
+    PowerMock.verifyAll();
+  }
+
   @Test
   public void testIncrementingInvalidColumn() throws Exception {
     expectInitializeNoOffsets(Arrays.asList(
@@ -868,6 +1260,48 @@ public class JdbcSourceTaskUpdateTest extends JdbcSourceTaskTestBase {
     assertRecordsSourcePartition(records, QUERY_SOURCE_PARTITION);
   }
 
+  @Test
+  public void testNamedQueriesHaveTheirOwnTopicsAndPartitions() throws Exception {
+    Map<String, String> recentPartition = Collections.singletonMap(
+        JdbcSourceConnectorConstants.QUERY_NAME_KEY, "recent");
+    Map<String, String> allPartition = Collections.singletonMap(
+        JdbcSourceConnectorConstants.QUERY_NAME_KEY, "all");
+    expectInitializeNoOffsets(Arrays.asList(recentPartition, allPartition));
+
+    PowerMock.replayAll();
+
+    db.createTable(SINGLE_TABLE_NAME, "id", "INT NOT NULL");
+    db.insert(SINGLE_TABLE_NAME, "id", 1);
+    db.insert(SINGLE_TABLE_NAME, "id", 2);
+
+    initializeTask();
+    Map<String, String> config = singleTableConfig();
+    config.put(JdbcSourceTaskConfig.TABLES_CONFIG, "");
+    config.put(JdbcSourceConnectorConfig.QUERIES_CONFIG, "recent,all");
+    config.put("queries.recent.sql", "SELECT * FROM \"test\"");
+    config.put("queries.recent.mode", JdbcSourceConnectorConfig.MODE_INCREMENTING);
+    config.put("queries.recent.incrementing.column.name", "id");
+    config.put("queries.recent.topic", "recent-topic");
+    config.put("queries.all.sql", "SELECT * FROM \"test\"");
+    task.start(config);
+
+    List<SourceRecord> records = new ArrayList<>(task.poll());
+    records.addAll(task.poll());
+    List<SourceRecord> recent = new ArrayList<>();
+    List<SourceRecord> all = new ArrayList<>();
+    for (SourceRecord record : records) {
+      (record.topic().equals("recent-topic") ? recent : all).add(record);
+    }
+    assertEquals(2, recent.size());
+    assertRecordsSourcePartition(recent, recentPartition);
+    assertEquals(2L, recent.get(1).sourceOffset().get(TimestampIncrementingOffset.INCREMENTING_FIELD));
+    assertEquals(2, all.size());
+    assertRecordsTopic(all, TOPIC_PREFIX + "all");
+    assertRecordsSourcePartition(all, allPartition);
+
+    PowerMock.verifyAll();
+  }
+
   @Test
   public void testCustomQueryWithTimestamp() throws Exception {
     expectInitializeNoOffsets(Arrays.asList(JOIN_QUERY_PARTITION));
@@ -1010,6 +1444,29 @@ public class JdbcSourceTaskUpdateTest extends JdbcSourceTaskTestBase {
     PowerMock.verifyAll();
   }
 
+  private void startBulkChunkedTask(long chunkSize) {
+    initializeTask();
+    Map<String, String> taskConfig = singleTableConfig();
+    taskConfig.put(JdbcSourceConnectorConfig.BULK_CHUNK_SIZE_CONFIG, Long.toString(chunkSize));
+    taskConfig.put(JdbcSourceConnectorConfig.BULK_CHUNK_COLUMN_CONFIG, "id");
+    task.start(taskConfig);
+  }
+
+  private void startKeysetTask(int pageSize) {
+    initializeTask();
+    Map<String, String> taskConfig = singleTableConfig();
+    taskConfig.put(JdbcSourceConnectorConfig.MODE_CONFIG, JdbcSourceConnectorConfig.MODE_KEYSET);
+    taskConfig.put(JdbcSourceConnectorConfig.KEYSET_COLUMN_NAMES_CONFIG, "a,b");
+    taskConfig.put(JdbcSourceConnectorConfig.KEYSET_PAGE_SIZE_CONFIG, Integer.toString(pageSize));
+    task.start(taskConfig);
+  }
+
+  private void insertKeys(int... keys) throws SQLException {
+    for (int i = 0; i < keys.length; i += 2) {
+      db.insert(SINGLE_TABLE_NAME, "a", keys[i], "b", keys[i + 1]);
+    }
+  }
+
   private void startTask(String timestampColumn, String incrementingColumn, String query) {
     startTask(timestampColumn, incrementingColumn, query, 0L, "UTC");
   }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PollIntervalTest {
+
+  @Test
+  public void shouldBackOffWhileQueriesReturnNoRows() {
+    PollInterval interval = new PollInterval(1000L, 5000L);
+    assertEquals(1000L, interval.currentMs());
+    interval.update(0);
+    assertEquals(2000L, interval.currentMs());
+    interval.update(0);
+    assertEquals(4000L, interval.currentMs());
+    interval.update(0);
+    assertEquals(5000L, interval.currentMs());
+    interval.update(0);
+    assertEquals(5000L, interval.currentMs());
+    interval.update(3);
+    assertEquals(1000L, interval.currentMs());
+  }
+
+  @Test
+  public void shouldNotBackOffBeyondMinimumWhenMaximumIsSmaller() {
+    PollInterval interval = new PollInterval(1000L, 0L);
+    interval.update(0);
+    assertEquals(1000L, interval.currentMs());
+  }
+
+  @Test
+  public void shouldParseOverrides() {
+    Map<String, PollInterval> overrides = PollInterval.parseOverrides(
+        "poll.interval.overrides",
+        Arrays.asList("orders=100:1000", " audit.log = 60000:3600000 ")
+    );
+    assertEquals(2, overrides.size());
+    assertEquals(100L, overrides.get("orders").minMs());
+    assertEquals(1000L, overrides.get("orders").maxMs());
+    assertEquals(60000L, overrides.get("audit.log").minMs());
+    assertEquals(3600000L, overrides.get("audit.log").maxMs());
+    assertTrue(PollInterval.parseOverrides("name", Collections.emptyList()).isEmpty());
+  }
+
+  @Test(expected = ConfigException.class)
+  public void shouldRejectOverrideWithoutMaximum() {
+    PollInterval.parseOverrides("name", Collections.singletonList("orders=100"));
+  }
+
+  @Test(expected = ConfigException.class)
+  public void shouldRejectOverrideWithMinimumAboveMaximum() {
+    PollInterval.parseOverrides("name", Collections.singletonList("orders=1000:100"));
+  }
+
+  @Test(expected = ConfigException.class)
+  public void shouldRejectOverrideWithoutTable() {
+    PollInterval.parseOverrides("name", Collections.singletonList(" =100:1000"));
+  }
+
+  @Test(expected = ConfigException.class)
+  public void shouldRejectTableOverriddenTwice() {
+    PollInterval.parseOverrides("name", Arrays.asList("orders=100:1000", "orders = 10:100"));
+  }
+}
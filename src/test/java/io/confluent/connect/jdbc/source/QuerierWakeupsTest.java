@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.PriorityQueue;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.source.TableQuerier.QueryMode;
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QuerierWakeupsTest {
+
+  private static final long POLL_INTERVAL_MS = 60000L;
+  private static final long NOW = 1000000L;
+
+  private final PriorityQueue<TableQuerier> queue = new PriorityQueue<>();
+  private TableQuerier orders;
+  private TableQuerier customers;
+  private QuerierWakeups wakeups;
+
+  @Before
+  public void setUp() {
+    DatabaseDialect dialect = mock(DatabaseDialect.class);
+    when(dialect.parseTableIdentifier("orders")).thenReturn(new TableId(null, null, "orders"));
+    when(dialect.parseTableIdentifier("sales.customers"))
+        .thenReturn(new TableId(null, "sales", "customers"));
+    orders = new BulkTableQuerier(dialect, QueryMode.TABLE, "orders", "", "");
+    customers = new BulkTableQuerier(dialect, QueryMode.TABLE, "sales.customers", "", "");
+    orders.reset(NOW - 10, false);
+    customers.reset(NOW - 20, false);
+    queue.addAll(Arrays.asList(orders, customers));
+    wakeups = new QuerierWakeups(queue, queue);
+  }
+
+  @Test
+  public void shouldMakeNotifiedQuerierDue() {
+    assertSame(customers, queue.peek());
+    wakeups.wakeUp(Collections.singleton("public.orders"));
+    wakeups.apply(queue, NOW, POLL_INTERVAL_MS);
+    assertSame(orders, queue.peek());
+    assertEquals(NOW - POLL_INTERVAL_MS, orders.getLastUpdate());
+    assertEquals(NOW - 20, customers.getLastUpdate());
+  }
+
+  @Test
+  public void shouldIgnoreTablesInOtherSchemasAndOtherTables() {
+    wakeups.wakeUp(Arrays.asList("public.customers", "invoices"));
+    wakeups.apply(queue, NOW, POLL_INTERVAL_MS);
+    assertEquals(NOW - 10, orders.getLastUpdate());
+    assertEquals(NOW - 20, customers.getLastUpdate());
+  }
+
+  @Test
+  public void shouldKeepWakeupOfQuerierUntilItIsBackInTheQueue() {
+    queue.remove(orders);
+    wakeups.wakeUp(Collections.singleton("orders"));
+    wakeups.apply(queue, NOW, POLL_INTERVAL_MS);
+    assertEquals(NOW - 10, orders.getLastUpdate());
+
+    queue.add(orders);
+    wakeups.apply(queue, NOW, POLL_INTERVAL_MS);
+    assertEquals(NOW - POLL_INTERVAL_MS, orders.getLastUpdate());
+  }
+
+  @Test
+  public void shouldMatchQualifiedAndUnqualifiedNames() {
+    TableId unqualified = new TableId(null, null, "orders");
+    TableId qualified = new TableId(null, "sales", "orders");
+    assertTrue(QuerierWakeups.matches(unqualified, "orders"));
+    assertTrue(QuerierWakeups.matches(unqualified, "public.orders"));
+    assertTrue(QuerierWakeups.matches(qualified, "orders"));
+    assertTrue(QuerierWakeups.matches(qualified, "sales.orders"));
+    assertFalse(QuerierWakeups.matches(qualified, "public.orders"));
+    assertFalse(QuerierWakeups.matches(qualified, "sales.orders_archive"));
+    assertFalse(QuerierWakeups.matches(null, "orders"));
+  }
+}
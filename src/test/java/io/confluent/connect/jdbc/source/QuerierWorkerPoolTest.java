@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.utils.SystemTime;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import java.sql.Connection;
+import java.sql.SQLNonTransientException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.confluent.connect.jdbc.util.CachedConnectionProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QuerierWorkerPoolTest {
+
+  private static final int POLL_INTERVAL_MS = 60000;
+  private static final long POLL_TIMEOUT_MS = 10000L;
+
+  private final PriorityQueue<TableQuerier> tableQueue = new PriorityQueue<>();
+  private QuerierWorkerPool pool;
+
+  @After
+  public void tearDown() {
+    if (pool != null) {
+      pool.stop();
+    }
+  }
+
+  @Test
+  public void shouldRunQueriersConcurrentlyOnSeparateConnections() throws Exception {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    TableQuerier first = querier(bothStarted, 3);
+    TableQuerier second = querier(bothStarted, 3);
+    tableQueue.addAll(Arrays.asList(first, second));
+    CachedConnectionProvider firstProvider = connectionProvider();
+    CachedConnectionProvider secondProvider = connectionProvider();
+
+    pool = new QuerierWorkerPool(
+        tableQueue,
+        Arrays.asList(firstProvider, secondProvider),
+        new SystemTime(),
+        POLL_INTERVAL_MS,
+        2,
+        -1
+    );
+    pool.start();
+
+    // Each querier produces one full batch of 2 records and one batch with the last record
+    List<SourceRecord> records = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      List<SourceRecord> batch = pool.poll(POLL_TIMEOUT_MS);
+      if (batch == null) {
+        fail("Timed out waiting for records from the workers");
+      }
+      assertTrue(batch.size() <= 2);
+      records.addAll(batch);
+    }
+    assertEquals(6, records.size());
+
+    verify(first, timeout(POLL_TIMEOUT_MS)).reset(Matchers.anyLong(), Matchers.eq(false));
+    verify(second, timeout(POLL_TIMEOUT_MS)).reset(Matchers.anyLong(), Matchers.eq(false));
+    verify(firstProvider, atLeastOnce()).getConnection();
+    verify(secondProvider, atLeastOnce()).getConnection();
+
+    pool.stop();
+    assertEquals(2, tableQueue.size());
+  }
+
+  @Test
+  public void shouldReadBatchesAheadWithSingleWorker() throws Exception {
+    TableQuerier querier = querier(new CountDownLatch(0), 5);
+    // The worker may hold one batch in hand in addition to the 2 buffered batches, so each record
+    // must only be extracted once all but 3 of the previous batches were polled. The worker
+    // fails with the assertion error, which the pool then rethrows from poll().
+    AtomicInteger extracted = new AtomicInteger();
+    AtomicInteger polled = new AtomicInteger();
+    doAnswer(invocation -> {
+      if (extracted.incrementAndGet() > polled.get() + 3) {
+        throw new AssertionError("Worker read more than 2 batches ahead of the task thread");
+      }
+      return mock(SourceRecord.class);
+    }).when(querier).extractRecord();
+    tableQueue.add(querier);
+
+    pool = new QuerierWorkerPool(
+        tableQueue,
+        Collections.singletonList(connectionProvider()),
+        new SystemTime(),
+        POLL_INTERVAL_MS,
+        1,
+        -1,
+        null,
+        2
+    );
+    pool.start();
+
+    // Without polling, the worker fills the buffer of 2 batches and reads a third batch
+    verify(querier, timeout(POLL_TIMEOUT_MS).times(3)).extractRecord();
+
+    for (int i = 0; i < 5; ++i) {
+      polled.incrementAndGet();
+      List<SourceRecord> batch = pool.poll(POLL_TIMEOUT_MS);
+      if (batch == null) {
+        fail("Timed out waiting for records from the worker");
+      }
+      assertEquals(1, batch.size());
+    }
+    verify(querier, timeout(POLL_TIMEOUT_MS)).reset(Matchers.anyLong(), Matchers.eq(false));
+
+    pool.stop();
+    assertEquals(1, tableQueue.size());
+  }
+
+  @Test
+  public void shouldFailOnNonTransientSqlException() throws Exception {
+    TableQuerier querier = mock(TableQuerier.class);
+    when(querier.getLastUpdate()).thenReturn(0L, Long.MAX_VALUE / 2);
+    doThrow(new SQLNonTransientException("boom"))
+        .when(querier).maybeStartQuery(Matchers.any(Connection.class));
+    tableQueue.add(querier);
+
+    pool = new QuerierWorkerPool(
+        tableQueue,
+        Collections.singletonList(connectionProvider()),
+        new SystemTime(),
+        POLL_INTERVAL_MS,
+        2,
+        -1
+    );
+    pool.start();
+
+    try {
+      pool.poll(POLL_TIMEOUT_MS);
+      fail("Expected the worker failure to be rethrown");
+    } catch (ConnectException e) {
+      assertTrue(e.getCause() instanceof SQLNonTransientException);
+    }
+    verify(querier).reset(Matchers.anyLong(), Matchers.eq(true));
+  }
+
+  private TableQuerier querier(CountDownLatch started, int rows) throws Exception {
+    TableQuerier querier = mock(TableQuerier.class);
+    // Due immediately the first time, then not again for the rest of the test
+    when(querier.getLastUpdate()).thenReturn(0L, Long.MAX_VALUE / 2);
+    doAnswer(invocation -> {
+      started.countDown();
+      // Both queriers must be running at the same time for this latch to open
+      if (!started.await(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        throw new AssertionError("Queriers were not run concurrently");
+      }
+      return null;
+    }).when(querier).maybeStartQuery(Matchers.any(Connection.class));
+    Boolean[] remaining = new Boolean[rows];
+    Arrays.fill(remaining, true);
+    remaining[rows - 1] = false;
+    when(querier.next()).thenReturn(true, remaining);
+    when(querier.extractRecord()).thenReturn(mock(SourceRecord.class));
+    return querier;
+  }
+
+  private CachedConnectionProvider connectionProvider() {
+    CachedConnectionProvider provider = mock(CachedConnectionProvider.class);
+    when(provider.getConnection()).thenReturn(mock(Connection.class));
+    return provider;
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RowHashIndexTest {
+
+  private static final Schema SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT32_SCHEMA)
+      .field("region", Schema.STRING_SCHEMA)
+      .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+      .build();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final RowEncoder encoder = new RowEncoder();
+  private Field[] keyFields;
+  private Path indexFile;
+  private Path keysFile;
+
+  @Before
+  public void setUp() {
+    keyFields = new Field[] {SCHEMA.field("id"), SCHEMA.field("region")};
+    indexFile = folder.getRoot().toPath().resolve("test.index");
+    keysFile = folder.getRoot().toPath().resolve("test.keys");
+  }
+
+  @Test
+  public void shouldFindKeysAndRowHashesAfterGrowing() throws Exception {
+    // Start small so that the index grows several times
+    RowHashIndex index = RowHashIndex.create(indexFile, keysFile, 0);
+    int count = 5000;
+    for (int i = 0; i < count; ++i) {
+      Struct row = row(i, "r" + (i % 7), "n" + i);
+      index.put(encoder.encodeKey(row, keyFields), encoder.hashRow(row));
+    }
+    index.finish();
+
+    assertEquals(count, index.size());
+    assertTrue(index.capacity() >= 2L * count);
+    for (int i = 0; i < count; ++i) {
+      Struct row = row(i, "r" + (i % 7), "n" + i);
+      long slot = index.find(encoder.encodeKey(row, keyFields));
+      assertTrue(slot >= 0);
+      assertEquals(encoder.hashRow(row), index.rowHash(slot));
+    }
+    assertEquals(-1, index.find(encoder.encodeKey(row(1, "r0", null), keyFields)));
+    index.close();
+  }
+
+  @Test
+  public void shouldListEveryKeyOnce() throws Exception {
+    RowHashIndex index = RowHashIndex.create(indexFile, keysFile, 10);
+    Set<String> expected = new HashSet<>();
+    for (int i = 0; i < 100; ++i) {
+      Struct row = row(i, "r", null);
+      index.put(encoder.encodeKey(row, keyFields), encoder.hashRow(row));
+      expected.add(Arrays.asList(i, "r").toString());
+    }
+    index.finish();
+
+    Set<String> keys = new HashSet<>();
+    for (long slot = 0; slot < index.capacity(); ++slot) {
+      byte[] key = index.keyAt(slot);
+      if (key != null) {
+        assertTrue(keys.add(RowEncoder.decodeKey(key).toString()));
+      }
+    }
+    assertEquals(expected, keys);
+    index.close();
+  }
+
+  @Test
+  public void shouldReopenMovedIndex() throws Exception {
+    Path scanIndexFile = folder.getRoot().toPath().resolve("test.index.tmp");
+    Path scanKeysFile = folder.getRoot().toPath().resolve("test.keys.tmp");
+    RowHashIndex index = RowHashIndex.create(scanIndexFile, scanKeysFile, 0);
+    Struct row = row(1, "r", "a");
+    byte[] key = encoder.encodeKey(row, keyFields);
+    index.put(key, encoder.hashRow(row));
+    index.finish();
+    index.moveTo(indexFile, keysFile);
+    index.close();
+
+    RowHashIndex reopened = RowHashIndex.open(indexFile, keysFile);
+    assertEquals(1, reopened.size());
+    long slot = reopened.find(key);
+    assertEquals(encoder.hashRow(row), reopened.rowHash(slot));
+    assertArrayEquals(key, reopened.keyAt(slot));
+    reopened.close();
+  }
+
+  @Test
+  public void shouldNotOpenMissingOrUnfinishedIndex() throws Exception {
+    assertNull(RowHashIndex.open(indexFile, keysFile));
+
+    RowHashIndex index = RowHashIndex.create(indexFile, keysFile, 0);
+    Struct row = row(1, "r", "a");
+    index.put(encoder.encodeKey(row, keyFields), encoder.hashRow(row));
+    index.close();
+    assertNull(RowHashIndex.open(indexFile, keysFile));
+  }
+
+  @Test
+  public void shouldNotOpenIndexWithKeysOfAnotherIndex() throws Exception {
+    RowHashIndex first = RowHashIndex.create(indexFile, keysFile, 0);
+    first.finish();
+    first.close();
+    Path otherKeysFile = folder.getRoot().toPath().resolve("other.keys");
+    RowHashIndex second = RowHashIndex.create(
+        folder.getRoot().toPath().resolve("other.index"), otherKeysFile, 0);
+    second.finish();
+    second.close();
+
+    Files.copy(otherKeysFile, keysFile, StandardCopyOption.REPLACE_EXISTING);
+    assertNull(RowHashIndex.open(indexFile, keysFile));
+  }
+
+  @Test
+  public void shouldHashChangedRowsDifferently() {
+    assertEquals(encoder.hashRow(row(1, "r", "a")), encoder.hashRow(row(1, "r", "a")));
+    assertNotEquals(encoder.hashRow(row(1, "r", "a")), encoder.hashRow(row(1, "r", "b")));
+    assertNotEquals(encoder.hashRow(row(1, "r", "a")), encoder.hashRow(row(1, "r", null)));
+  }
+
+  private static Struct row(int id, String region, String name) {
+    return new Struct(SCHEMA).put("id", id).put("region", region).put("name", name);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+public class RowSizeTest {
+
+  @Test
+  public void shouldEstimateNullAndEmptyValuesAsZero() {
+    assertEquals(0L, RowSize.estimate(null));
+    assertEquals(0L, RowSize.estimate(""));
+    assertEquals(0L, RowSize.estimate(new byte[0]));
+    assertEquals(0L, RowSize.estimate(Collections.emptyList()));
+    assertEquals(0L, RowSize.estimate(Collections.emptyMap()));
+  }
+
+  @Test
+  public void shouldEstimateVariableLengthValuesByTheirLength() {
+    assertEquals(5L, RowSize.estimate("hello"));
+    assertEquals(3L, RowSize.estimate(new byte[3]));
+    ByteBuffer buffer = ByteBuffer.allocate(10);
+    buffer.position(4);
+    assertEquals(6L, RowSize.estimate(buffer));
+    assertEquals(1L, RowSize.estimate(BigDecimal.ZERO));
+    assertEquals(9L, RowSize.estimate(new BigDecimal(Long.MAX_VALUE).add(BigDecimal.ONE)));
+  }
+
+  @Test
+  public void shouldEstimateFixedAndUnknownValuesByTheFixedSize() {
+    assertEquals(8L, RowSize.estimate(1));
+    assertEquals(8L, RowSize.estimate(1L));
+    assertEquals(8L, RowSize.estimate(true));
+    assertEquals(8L, RowSize.estimate(new Date(0L)));
+    assertEquals(8L, RowSize.estimate(new Object()));
+  }
+
+  @Test
+  public void shouldEstimateNestedValuesByTheirElements() {
+    assertEquals(8L + 3L, RowSize.estimate(Arrays.asList(1, "abc", null)));
+    assertEquals(2L + 8L, RowSize.estimate(Collections.singletonMap("id", 7)));
+  }
+
+  @Test
+  public void shouldEstimateVeryWideRows() {
+    SchemaBuilder builder = SchemaBuilder.struct();
+    for (int i = 0; i < 1000; ++i) {
+      builder.field("text" + i, Schema.OPTIONAL_STRING_SCHEMA);
+      builder.field("number" + i, Schema.OPTIONAL_INT64_SCHEMA);
+    }
+    Schema schema = builder.build();
+    Struct struct = new Struct(schema);
+    char[] text = new char[100];
+    Arrays.fill(text, 'x');
+    for (int i = 0; i < 1000; ++i) {
+      struct.put("text" + i, new String(text));
+      // Null values do not count
+      struct.put("number" + i, i % 2 == 0 ? Long.valueOf(i) : null);
+    }
+    assertEquals(1000L * 100L + 500L * 8L, RowSize.estimate(struct));
+  }
+}
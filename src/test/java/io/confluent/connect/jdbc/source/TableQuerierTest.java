@@ -22,12 +22,19 @@ import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.TableId;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Matchers;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -51,10 +58,18 @@ public class TableQuerierTest {
     when(databaseDialectMock.parseTableIdentifier(Matchers.anyString()))
       .thenReturn(new TableId(null,null,TABLE_NAME));	  
     when(databaseDialectMock.expressionBuilder())
-      .thenReturn(ExpressionBuilder.create());
+      .thenAnswer(invocation -> ExpressionBuilder.create());
     when(databaseDialectMock.criteriaFor(Matchers.any(ColumnId.class), Matchers.anyListOf(ColumnId.class)))
       .thenReturn(new TimestampIncrementingCriteria(new ColumnId(new TableId(null,null,TABLE_NAME),INCREMENTING_COLUMN_NAME), null,null));
 	    
+    doAnswer(invocation -> {
+      ExpressionBuilder builder = (ExpressionBuilder) invocation.getArguments()[0];
+      builder.append("MOD(").append(invocation.getArguments()[1]).append(", ")
+          .append(invocation.getArguments()[2]).append(") = ").append(invocation.getArguments()[3]);
+      return null;
+    }).when(databaseDialectMock).appendSliceCondition(Matchers.any(ExpressionBuilder.class),
+        Matchers.any(ColumnId.class), Matchers.anyInt(), Matchers.anyInt());
+
     connectionMock = mock(Connection.class);	  
   }
   
@@ -115,6 +130,226 @@ public class TableQuerierTest {
     verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" /* SUFFIX */"));
   }
 
+  @Test
+  public void testBulkTableQuerierSkipsUnchangedTable() throws SQLException {
+    PreparedStatement stmtMock = mock(PreparedStatement.class);
+    ResultSet resultSetMock = mock(ResultSet.class);
+    when(databaseDialectMock.createPreparedStatement(Matchers.any(), Matchers.anyString()))
+      .thenReturn(stmtMock);
+    when(stmtMock.executeQuery()).thenReturn(resultSetMock);
+    when(resultSetMock.getMetaData()).thenReturn(mock(ResultSetMetaData.class));
+    when(databaseDialectMock.tableChangeToken(Matchers.any(), Matchers.any(TableId.class)))
+      .thenReturn("1", "1", "2");
+    BulkTableQuerier querier = new BulkTableQuerier(
+                                   databaseDialectMock,
+                                   QueryMode.TABLE,
+                                   TABLE_NAME,
+                                   null,
+                                   ""
+                               );
+    querier.setSkipUnchanged(true);
+
+    querier.maybeStartQuery(connectionMock);
+    assertFalse(querier.next());
+    querier.reset(0L, false);
+    verify(stmtMock, times(1)).executeQuery();
+
+    // The token did not change, so the table is not read
+    querier.maybeStartQuery(connectionMock);
+    assertFalse(querier.next());
+    querier.reset(0L, false);
+    verify(stmtMock, times(1)).executeQuery();
+
+    querier.maybeStartQuery(connectionMock);
+    assertFalse(querier.next());
+    querier.reset(0L, false);
+    verify(stmtMock, times(2)).executeQuery();
+  }
+
+  @Test
+  public void testChunkedBulkTableQuerierInTableModeWithSuffix() throws SQLException {
+    BulkTableQuerier querier = new BulkTableQuerier(
+                                   databaseDialectMock,
+                                   QueryMode.TABLE,
+                                   TABLE_NAME,
+                                   null,
+                                   SUFFIX,
+                                   INCREMENTING_COLUMN_NAME,
+                                   1000L,
+                                   null
+                               );
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" WHERE \"name\".\"column\" >= ? AND \"name\".\"column\" <= ? /* SUFFIX */"));
+  }
+
+  @Test
+  public void testSlicedTimestampIncrementingTableQuerierInTableModeWithSuffix() throws SQLException {
+    TimestampIncrementingTableQuerier querier = new TimestampIncrementingTableQuerier(
+                                                    databaseDialectMock,
+                                                    QueryMode.TABLE,
+                                                    TABLE_NAME,
+                                                    null,
+                                                    null,
+                                                    INCREMENTING_COLUMN_NAME,
+                                                    null,
+                                                    TIMESTAMP_DELAY,
+                                                    null,
+                                                    SUFFIX,
+                                                    JdbcSourceConnectorConfig.TimestampGranularity.CONNECT_LOGICAL,
+                                                    new TableSlice(1, 4, "")
+                                                );
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" WHERE (MOD(\"name\".\"column\", 4) = 1) AND \"name\".\"column\" > ? ORDER BY \"name\".\"column\" ASC /* SUFFIX */"));
+  }
+
+  @Test
+  public void testSlicedChunkedBulkTableQuerierInTableModeWithSuffix() throws SQLException {
+    BulkTableQuerier querier = new BulkTableQuerier(
+                                   databaseDialectMock,
+                                   QueryMode.TABLE,
+                                   TABLE_NAME,
+                                   null,
+                                   SUFFIX,
+                                   INCREMENTING_COLUMN_NAME,
+                                   1000L,
+                                   null,
+                                   new TableSlice(0, 2, "other")
+                               );
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" WHERE MOD(\"name\".\"other\", 2) = 0 AND \"name\".\"column\" >= ? AND \"name\".\"column\" <= ? /* SUFFIX */"));
+  }
+
+  @Test
+  public void testFilteredTimestampIncrementingTableQuerierInTableMode() throws SQLException {
+    TimestampIncrementingTableQuerier querier = new TimestampIncrementingTableQuerier(
+                                                    databaseDialectMock,
+                                                    QueryMode.TABLE,
+                                                    TABLE_NAME,
+                                                    null,
+                                                    null,
+                                                    INCREMENTING_COLUMN_NAME,
+                                                    null,
+                                                    TIMESTAMP_DELAY,
+                                                    null,
+                                                    "",
+                                                    JdbcSourceConnectorConfig.TimestampGranularity.CONNECT_LOGICAL
+                                                );
+    querier.setFilter(" deleted = 0 OR tenant = 'x' ");
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" WHERE (deleted = 0 OR tenant = 'x') AND \"name\".\"column\" > ? ORDER BY \"name\".\"column\" ASC"));
+  }
+
+  @Test
+  public void testFilteredSlicedChunkedBulkTableQuerierInTableMode() throws SQLException {
+    BulkTableQuerier querier = new BulkTableQuerier(
+                                   databaseDialectMock,
+                                   QueryMode.TABLE,
+                                   TABLE_NAME,
+                                   null,
+                                   "",
+                                   INCREMENTING_COLUMN_NAME,
+                                   1000L,
+                                   null,
+                                   new TableSlice(0, 2, "other")
+                               );
+    querier.setFilter("deleted = 0 OR tenant = 'x'");
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" WHERE (deleted = 0 OR tenant = 'x') AND MOD(\"name\".\"other\", 2) = 0 AND \"name\".\"column\" >= ? AND \"name\".\"column\" <= ?"));
+  }
+
+  @Test
+  public void testFilteredBulkTableQuerierInTableMode() throws SQLException {
+    BulkTableQuerier querier = new BulkTableQuerier(
+                                   databaseDialectMock,
+                                   QueryMode.TABLE,
+                                   TABLE_NAME,
+                                   null,
+                                   ""
+                               );
+    querier.setFilter("deleted = 0");
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" WHERE deleted = 0"));
+  }
+
+  @Test
+  public void testKeysetTableQuerierInTableModeWithSuffix() throws SQLException {
+    doAnswer(invocation -> {
+      ((ExpressionBuilder) invocation.getArguments()[0]).append(" LIMIT ")
+          .append(invocation.getArguments()[1]);
+      return null;
+    }).when(databaseDialectMock).appendLimit(Matchers.any(ExpressionBuilder.class),
+        Matchers.anyInt());
+    KeysetTableQuerier querier = new KeysetTableQuerier(
+                                     databaseDialectMock,
+                                     QueryMode.TABLE,
+                                     TABLE_NAME,
+                                     null,
+                                     Arrays.asList("a", "b", "c"),
+                                     100,
+                                     new TimestampIncrementingOffset(
+                                         null, null, Arrays.asList(1L, "x", 2L)).toMap(),
+                                     SUFFIX,
+                                     null
+                                 );
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" WHERE ((\"name\".\"a\" > ?) OR (\"name\".\"a\" = ? AND \"name\".\"b\" > ?) OR (\"name\".\"a\" = ? AND \"name\".\"b\" = ? AND \"name\".\"c\" > ?)) ORDER BY \"name\".\"a\",\"name\".\"b\",\"name\".\"c\" LIMIT 100 /* SUFFIX */"));
+  }
+
+  @Test
+  public void testKeysetTableQuerierWithRowValuesInQueryMode() throws SQLException {
+    when(databaseDialectMock.supportsRowValueComparison()).thenReturn(true);
+    KeysetTableQuerier querier = new KeysetTableQuerier(
+                                     databaseDialectMock,
+                                     QueryMode.QUERY,
+                                     QUERY,
+                                     null,
+                                     Arrays.asList("a", "b"),
+                                     100,
+                                     new TimestampIncrementingOffset(
+                                         null, null, Arrays.asList(1L, 2L)).toMap(),
+                                     "",
+                                     null
+                                 );
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM name WHERE (\"a\",\"b\") > (?,?) ORDER BY \"a\",\"b\""));
+  }
+
+  @Test
+  public void testKeysetTableQuerierWithoutKeyOffset() throws SQLException {
+    KeysetTableQuerier querier = new KeysetTableQuerier(
+                                     databaseDialectMock,
+                                     QueryMode.TABLE,
+                                     TABLE_NAME,
+                                     null,
+                                     Arrays.asList("a", "b"),
+                                     100,
+                                     null,
+                                     "",
+                                     null
+                                 );
+    querier.setFilter("deleted = 0");
+
+    querier.createPreparedStatement(connectionMock);
+
+    verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM \"name\" WHERE deleted = 0 ORDER BY \"name\".\"a\",\"name\".\"b\""));
+  }
+
   @Test
   public void testBulkTableQuerierInQueryModeWithSuffix() throws SQLException {
 	BulkTableQuerier querier = new BulkTableQuerier(
@@ -144,4 +379,27 @@ public class TableQuerierTest {
 
     verify(databaseDialectMock, times(1)).createPreparedStatement(Matchers.any(),Matchers.eq("SELECT * FROM name"));
   }  
+
+  @Test
+  public void testAdaptiveFetchSizeFetchesAboutOneBatch() {
+    assertEquals(100, TableQuerier.adaptiveFetchSize(10000L, 100.0, 1000));
+    assertEquals(3, TableQuerier.adaptiveFetchSize(1000L, 300.0, 1000));
+  }
+
+  @Test
+  public void testAdaptiveFetchSizeIsClampedToTheMaximum() {
+    assertEquals(1000, TableQuerier.adaptiveFetchSize(10000000L, 1.0, 1000));
+  }
+
+  @Test
+  public void testAdaptiveFetchSizeIsAtLeastOneForVeryWideRows() {
+    assertEquals(1, TableQuerier.adaptiveFetchSize(1000L, 1000000.0, 1000));
+    assertEquals(1, TableQuerier.adaptiveFetchSize(1000L, 1000.0, 0));
+  }
+
+  @Test
+  public void testAdaptiveFetchSizeUsesTheMaximumForUnknownRowSizes() {
+    assertEquals(1000, TableQuerier.adaptiveFetchSize(1000L, 0.0, 1000));
+    assertEquals(1000, TableQuerier.adaptiveFetchSize(1000L, Double.NaN, 1000));
+  }
 }
@@ -43,6 +43,7 @@ import io.confluent.connect.jdbc.util.QuoteMethod;
 import io.confluent.connect.jdbc.util.TableId;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class TimestampIncrementingCriteriaTest {
 
@@ -114,6 +115,16 @@ public class TimestampIncrementingCriteriaTest {
     assertExtractedOffset(42L, TS0, schema, record, TimestampGranularity.CONNECT_LOGICAL);
   }
 
+  @Test
+  public void extractLongOffsetWithoutBoxingAgain() {
+    schema = SchemaBuilder.struct().field("id", SchemaBuilder.INT64_SCHEMA).build();
+    final Long id = 1234567L;
+    record = new Struct(schema).put("id", id);
+    TimestampIncrementingOffset offset =
+        criteriaInc.extractValues(schema, record, null, TimestampGranularity.CONNECT_LOGICAL);
+    assertSame(id, offset.toMap().get(TimestampIncrementingOffset.INCREMENTING_FIELD));
+  }
+
   @Test
   public void extractDecimalOffset() throws SQLException {
     final Schema decimalSchema = Decimal.schema(0);
@@ -370,6 +381,36 @@ public class TimestampIncrementingCriteriaTest {
     assertEquals(TS1, offset.getTimestampOffset());
   }
 
+  @Test
+  public void extractWithChangedSchemaResolvesColumnsAgain() throws Exception {
+    schema = SchemaBuilder.struct()
+        .field("id", SchemaBuilder.INT32_SCHEMA)
+        .field(TS1_COLUMN.name(), Timestamp.SCHEMA)
+        .field(TS2_COLUMN.name(), Timestamp.SCHEMA)
+        .build();
+    record = new Struct(schema)
+        .put("id", 42)
+        .put(TS1_COLUMN.name(), TS1);
+    TimestampIncrementingOffset offset = criteriaIncTs.extractValues(schema, record, null,
+        TimestampGranularity.CONNECT_LOGICAL);
+    assertEquals(42L, offset.getIncrementingOffset());
+    assertEquals(TS1, offset.getTimestampOffset());
+
+    // The columns are in other positions, with another case and another type
+    schema = SchemaBuilder.struct()
+        .field(TS2_COLUMN.name(), Timestamp.SCHEMA)
+        .field(TS1_COLUMN.name().toUpperCase(), Timestamp.builder().optional().build())
+        .field("id", Decimal.schema(0))
+        .build();
+    record = new Struct(schema)
+        .put("id", new BigDecimal(43))
+        .put(TS2_COLUMN.name(), TS2);
+    offset = criteriaIncTs.extractValues(schema, record, null,
+        TimestampGranularity.CONNECT_LOGICAL);
+    assertEquals(43L, offset.getIncrementingOffset());
+    assertEquals(TS2, offset.getTimestampOffset());
+  }
+
   @Test
   public void createIncrementingWhereClause() {
     builder = builder();
@@ -450,6 +491,56 @@ public class TimestampIncrementingCriteriaTest {
     );
   }
 
+  @Test
+  public void createExpandedTimestampWhereClause() {
+    identifierQuoting = QuoteMethod.NEVER;
+    builder = builder();
+    criteriaTs.withExpandedTimestampColumns(true).timestampWhereClause(builder);
+    assertEquals(
+        " WHERE (("
+        + "myTable.ts1 > ? AND myTable.ts1 < ?) "
+        + "OR "
+        + "(myTable.ts1 IS NULL AND myTable.ts2 > ? AND myTable.ts2 < ?)) "
+        + "ORDER BY "
+        + "COALESCE(myTable.ts1,myTable.ts2) "
+        + "ASC",
+        builder.toString()
+    );
+  }
+
+  @Test
+  public void createExpandedTimestampIncrementingWhereClause() {
+    identifierQuoting = QuoteMethod.NEVER;
+    builder = builder();
+    criteriaIncTs.withExpandedTimestampColumns(true).timestampIncrementingWhereClause(builder);
+    assertEquals(
+        " WHERE (("
+        + "myTable.ts1 < ? AND ((myTable.ts1 = ? AND myTable.id > ?) OR myTable.ts1 > ?)) "
+        + "OR "
+        + "(myTable.ts1 IS NULL AND myTable.ts2 < ? "
+        + "AND ((myTable.ts2 = ? AND myTable.id > ?) OR myTable.ts2 > ?))) "
+        + "ORDER BY COALESCE(myTable.ts1,myTable.ts2),"
+        + "myTable.id ASC",
+        builder.toString()
+    );
+  }
+
+  @Test
+  public void shouldNotExpandSingleTimestampColumn() {
+    identifierQuoting = QuoteMethod.NEVER;
+    criteriaTs = new TimestampIncrementingCriteria(
+        null,
+        Collections.singletonList(TS1_COLUMN),
+        utcTimeZone
+    ).withExpandedTimestampColumns(true);
+    builder = builder();
+    criteriaTs.timestampWhereClause(builder);
+    assertEquals(
+        " WHERE myTable.ts1 > ? AND myTable.ts1 < ? ORDER BY myTable.ts1 ASC",
+        builder.toString()
+    );
+  }
+
   protected ExpressionBuilder builder() {
     ExpressionBuilder result = new ExpressionBuilder(rules);
     result.setQuoteIdentifiers(identifierQuoting);
@@ -15,15 +15,21 @@
 
 package io.confluent.connect.jdbc.source;
 
+import org.apache.kafka.connect.storage.OffsetUtils;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class TimestampIncrementingOffsetTest {
   private final Timestamp ts = new Timestamp(100L);
@@ -61,6 +67,18 @@ public class TimestampIncrementingOffsetTest {
     assertEquals(2, nanosOffset.toMap().size());
   }
 
+  @Test
+  public void testToMapIsSharedAndUnmodifiable() {
+    assertSame(tsInc.toMap(), tsInc.toMap());
+    try {
+      tsInc.toMap().put("other", 1L);
+      fail("Expected the shared offset map to be unmodifiable");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+    assertEquals(3, tsInc.toMap().size());
+  }
+
   @Test
   public void testGetIncrementingOffset() {
     assertEquals(-1, unset.getIncrementingOffset());
@@ -98,6 +116,22 @@ public class TimestampIncrementingOffsetTest {
     assertEquals(nanosOffset, TimestampIncrementingOffset.fromMap(nanosOffset.toMap()));
   }
 
+  @Test
+  public void testKeyOffsetMapHasOnlyPrimitiveValues() {
+    TimestampIncrementingOffset keyset =
+        new TimestampIncrementingOffset(null, null, Arrays.asList(3L, "b"));
+    Map<String, Object> map = keyset.toMap();
+    // Fails like the offset storage writer does when a value is not primitive
+    OffsetUtils.validateFormat(map);
+    assertEquals(keyset, TimestampIncrementingOffset.fromMap(map));
+
+    // Integers may be read back from the offset storage as other types of numbers
+    Map<String, Object> stored = new HashMap<>(map);
+    stored.put(TimestampIncrementingOffset.KEYSET_FIELD_PREFIX + 0, 3);
+    assertEquals(keyset, TimestampIncrementingOffset.fromMap(stored));
+    assertFalse(TimestampIncrementingOffset.fromMap(tsInc.toMap()).hasKeyOffset());
+  }
+
   @Test
   public void testEquals() {
     assertEquals(nanosOffset, nanosOffset);